@@ -0,0 +1,71 @@
+package com.example.ledgerx.loadgen;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class AccountProvisioner {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+            VALUES (gen_random_uuid(), ?, ?, ?, ?, 0, now(), now())
+            ON CONFLICT (account_number) DO UPDATE
+                SET currency = EXCLUDED.currency,
+                    balance = EXCLUDED.balance,
+                    status = EXCLUDED.status,
+                    updated_at = now()
+            """;
+
+    private final LoadConfig config;
+
+    public AccountProvisioner(LoadConfig config) {
+        this.config = config;
+    }
+
+    public void provision() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", config.dbUser());
+        properties.setProperty("password", config.dbPassword());
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), properties)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                int pending = 0;
+                for (int i = 0; i < config.accounts(); i++) {
+                    pending = add(statement, config.activeAccountNumber(i), config.initialBalance(), "ACTIVE", pending);
+                }
+                for (int i = 0; i < config.frozenAccounts(); i++) {
+                    pending = add(statement, config.frozenAccountNumber(i), config.initialBalance(), "FROZEN", pending);
+                }
+                for (int i = 0; i < config.dryAccounts(); i++) {
+                    pending = add(statement, config.dryAccountNumber(i), BigDecimal.ZERO, "ACTIVE", pending);
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private int add(PreparedStatement statement, String accountNumber, BigDecimal balance, String status, int pending)
+            throws SQLException {
+        statement.setString(1, accountNumber);
+        statement.setString(2, config.currency());
+        statement.setBigDecimal(3, balance);
+        statement.setString(4, status);
+        statement.addBatch();
+
+        if (pending + 1 >= BATCH_SIZE) {
+            statement.executeBatch();
+            return 0;
+        }
+        return pending + 1;
+    }
+}
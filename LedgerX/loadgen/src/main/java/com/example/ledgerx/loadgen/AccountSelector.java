@@ -0,0 +1,20 @@
+package com.example.ledgerx.loadgen;
+
+import java.util.SplittableRandom;
+
+public interface AccountSelector {
+
+    int next(SplittableRandom random);
+
+    static AccountSelector create(LoadConfig config) {
+        return switch (config.distribution()) {
+            case UNIFORM -> new UniformAccountSelector(config.accounts());
+            case ZIPF -> new ZipfianAccountSelector(config.accounts(), config.zipfExponent());
+            case HOTSET -> new HotSetAccountSelector(
+                    config.accounts(),
+                    config.hotSetFraction(),
+                    config.hotTrafficFraction()
+            );
+        };
+    }
+}
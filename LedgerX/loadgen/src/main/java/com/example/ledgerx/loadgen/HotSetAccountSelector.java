@@ -0,0 +1,24 @@
+package com.example.ledgerx.loadgen;
+
+import java.util.SplittableRandom;
+
+public class HotSetAccountSelector implements AccountSelector {
+
+    private final int accounts;
+    private final int hotAccounts;
+    private final double hotTrafficFraction;
+
+    public HotSetAccountSelector(int accounts, double hotSetFraction, double hotTrafficFraction) {
+        this.accounts = accounts;
+        this.hotAccounts = Math.max(1, Math.min(accounts - 1, (int) Math.round(accounts * hotSetFraction)));
+        this.hotTrafficFraction = hotTrafficFraction;
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        if (random.nextDouble() < hotTrafficFraction) {
+            return random.nextInt(hotAccounts);
+        }
+        return hotAccounts + random.nextInt(accounts - hotAccounts);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ledgerx.loadgen;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public record LoadConfig(
+        String baseUrl,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        boolean provision,
+        int accounts,
+        int frozenAccounts,
+        int dryAccounts,
+        String accountPrefix,
+        String currency,
+        BigDecimal initialBalance,
+        BigDecimal amount,
+        double ratePerSecond,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        Distribution distribution,
+        double zipfExponent,
+        double hotSetFraction,
+        double hotTrafficFraction,
+        double replayRatio,
+        double insufficientFundsRatio,
+        double frozenRatio,
+        long seed,
+        Path output
+) {
+
+    public enum Distribution {
+        UNIFORM,
+        ZIPF,
+        HOTSET
+    }
+
+    public static LoadConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+                option(options, "base-url", "http://localhost:8080"),
+                option(options, "jdbc-url", "jdbc:postgresql://localhost:5432/ledgerx"),
+                option(options, "db-user", "postgres"),
+                option(options, "db-password", "postgres"),
+                Boolean.parseBoolean(option(options, "provision", "true")),
+                Integer.parseInt(option(options, "accounts", "1000")),
+                Integer.parseInt(option(options, "frozen-accounts", "10")),
+                Integer.parseInt(option(options, "dry-accounts", "10")),
+                option(options, "account-prefix", "LG"),
+                option(options, "currency", "USD"),
+                new BigDecimal(option(options, "initial-balance", "1000000000.0000")),
+                new BigDecimal(option(options, "amount", "1.00")),
+                Double.parseDouble(option(options, "rate", "200")),
+                Duration.ofSeconds(Long.parseLong(option(options, "duration-seconds", "60"))),
+                Duration.ofSeconds(Long.parseLong(option(options, "warmup-seconds", "10"))),
+                Integer.parseInt(option(options, "max-in-flight", "2000")),
+                Distribution.valueOf(option(options, "distribution", "uniform").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(option(options, "zipf-exponent", "1.0")),
+                Double.parseDouble(option(options, "hot-set-fraction", "0.01")),
+                Double.parseDouble(option(options, "hot-traffic-fraction", "0.9")),
+                Double.parseDouble(option(options, "replay-ratio", "0.0")),
+                Double.parseDouble(option(options, "insufficient-funds-ratio", "0.0")),
+                Double.parseDouble(option(options, "frozen-ratio", "0.0")),
+                Long.parseLong(option(options, "seed", "42")),
+                Path.of(option(options, "output", "build/loadgen/report.json"))
+        );
+
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        config.validate();
+        return config;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private void validate() {
+        if (accounts < 2) {
+            throw new IllegalArgumentException("accounts must be at least 2");
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be greater than zero");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("max-in-flight must be greater than zero");
+        }
+        if (insufficientFundsRatio > 0 && dryAccounts <= 0) {
+            throw new IllegalArgumentException("insufficient-funds-ratio requires dry-accounts > 0");
+        }
+        if (frozenRatio > 0 && frozenAccounts <= 0) {
+            throw new IllegalArgumentException("frozen-ratio requires frozen-accounts > 0");
+        }
+        double injected = replayRatio + insufficientFundsRatio + frozenRatio;
+        if (replayRatio < 0 || insufficientFundsRatio < 0 || frozenRatio < 0 || injected > 1.0) {
+            throw new IllegalArgumentException("Injected ratios must be non-negative and sum to at most 1.0");
+        }
+        if (hotSetFraction <= 0 || hotSetFraction > 1 || hotTrafficFraction < 0 || hotTrafficFraction > 1) {
+            throw new IllegalArgumentException("hot-set-fraction must be in (0, 1] and hot-traffic-fraction in [0, 1]");
+        }
+    }
+
+    public String activeAccountNumber(int index) {
+        return String.format(Locale.ROOT, "%s-%08d", accountPrefix, index);
+    }
+
+    public String frozenAccountNumber(int index) {
+        return String.format(Locale.ROOT, "%s-FRZ-%05d", accountPrefix, index);
+    }
+
+    public String dryAccountNumber(int index) {
+        return String.format(Locale.ROOT, "%s-DRY-%05d", accountPrefix, index);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.ledgerx.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadGenerator {
+
+    private static final int REPLAY_HISTORY = 10_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final LoadConfig config;
+    private final AccountSelector selector;
+    private final SplittableRandom random;
+    private final LoadReport report = new LoadReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReferenceArray<PlannedRequest> history = new AtomicReferenceArray<>(REPLAY_HISTORY);
+    private final AtomicLong historySize = new AtomicLong();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI transfersUri;
+
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.selector = AccountSelector.create(config);
+        this.random = new SplittableRandom(config.seed());
+        this.transfersUri = URI.create(config.baseUrl() + "/api/v1/transfers");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromArgs(args);
+
+        if (config.provision()) {
+            long provisionStart = System.nanoTime();
+            new AccountProvisioner(config).provision();
+            System.out.printf(Locale.ROOT, "provisioned %d active, %d frozen, %d dry accounts in %d ms%n",
+                    config.accounts(),
+                    config.frozenAccounts(),
+                    config.dryAccounts(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - provisionStart));
+        }
+
+        new LoadGenerator(config).run();
+    }
+
+    public void run() throws Exception {
+        double intervalNanos = 1_000_000_000.0 / config.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        System.out.printf(Locale.ROOT, "driving %s at %.1f req/s (%s), warmup %ds, measuring %ds%n",
+                transfersUri,
+                config.ratePerSecond(),
+                config.distribution(),
+                config.warmup().toSeconds(),
+                config.duration().toSeconds());
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = intendedStart >= measureFrom;
+            PlannedRequest request = plan();
+
+            if (inFlight.get() >= config.maxInFlight()) {
+                if (measured) {
+                    report.recordShed();
+                }
+                continue;
+            }
+            dispatch(request, intendedStart, measured);
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        report.write(config, end - measureFrom, System.out);
+    }
+
+    private void dispatch(PlannedRequest request, long intendedStart, boolean measured) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(transfersUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", request.idempotencyKey())
+                .POST(HttpRequest.BodyPublishers.ofString(request.body()))
+                .build();
+
+        inFlight.incrementAndGet();
+        report.recordSent();
+        client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    try {
+                        int status = error != null ? LoadReport.CLIENT_ERROR_STATUS : response.statusCode();
+                        if (measured) {
+                            report.recordResponse(request.kind(), status, System.nanoTime() - intendedStart);
+                        }
+                        if (request.kind() == RequestKind.TRANSFER && status >= 200 && status < 300) {
+                            remember(request);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    private PlannedRequest plan() {
+        double roll = random.nextDouble();
+
+        long remembered = historySize.get();
+        if (roll < config.replayRatio() && remembered > 0) {
+            int slot = (int) (random.nextLong(Math.min(remembered, REPLAY_HISTORY)));
+            PlannedRequest original = history.get(slot);
+            if (original != null) {
+                return new PlannedRequest(RequestKind.REPLAY, original.idempotencyKey(), original.body());
+            }
+        }
+        roll -= config.replayRatio();
+
+        if (roll >= 0 && roll < config.insufficientFundsRatio()) {
+            String from = config.dryAccountNumber(random.nextInt(config.dryAccounts()));
+            String to = config.activeAccountNumber(selector.next(random));
+            return newRequest(RequestKind.INSUFFICIENT_FUNDS, from, to);
+        }
+        roll -= config.insufficientFundsRatio();
+
+        if (roll >= 0 && roll < config.frozenRatio()) {
+            String active = config.activeAccountNumber(selector.next(random));
+            String frozen = config.frozenAccountNumber(random.nextInt(config.frozenAccounts()));
+            return random.nextBoolean()
+                    ? newRequest(RequestKind.FROZEN_ACCOUNT, active, frozen)
+                    : newRequest(RequestKind.FROZEN_ACCOUNT, frozen, active);
+        }
+
+        int fromIndex = selector.next(random);
+        int toIndex = selector.next(random);
+        if (toIndex == fromIndex) {
+            toIndex = (fromIndex + 1 + random.nextInt(config.accounts() - 1)) % config.accounts();
+        }
+        return newRequest(
+                RequestKind.TRANSFER,
+                config.activeAccountNumber(fromIndex),
+                config.activeAccountNumber(toIndex)
+        );
+    }
+
+    private void remember(PlannedRequest request) {
+        long slot = historySize.getAndIncrement();
+        history.set((int) (slot % REPLAY_HISTORY), request);
+    }
+
+    private PlannedRequest newRequest(RequestKind kind, String fromAccount, String toAccount) {
+        String body = "{\"fromAccount\":\"" + fromAccount
+                + "\",\"toAccount\":\"" + toAccount
+                + "\",\"amount\":" + config.amount().toPlainString()
+                + ",\"currency\":\"" + config.currency() + "\"}";
+        return new PlannedRequest(kind, new UUID(random.nextLong(), random.nextLong()).toString(), body);
+    }
+
+    private record PlannedRequest(RequestKind kind, String idempotencyKey, String body) {
+    }
+}
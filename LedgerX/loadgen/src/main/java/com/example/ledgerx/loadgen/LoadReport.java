@@ -0,0 +1,170 @@
+package com.example.ledgerx.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadReport {
+
+    public static final int CLIENT_ERROR_STATUS = -1;
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50.0, 75.0, 90.0, 95.0, 99.0, 99.9, 99.99};
+
+    private final Map<RequestKind, Recorder> recorders = new EnumMap<>(RequestKind.class);
+    private final Map<RequestKind, ConcurrentMap<Integer, LongAdder>> statusCounts = new EnumMap<>(RequestKind.class);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public LoadReport() {
+        for (RequestKind kind : RequestKind.values()) {
+            recorders.put(kind, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            statusCounts.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void recordSent() {
+        sent.increment();
+    }
+
+    public void recordShed() {
+        shed.increment();
+    }
+
+    public void recordResponse(RequestKind kind, int status, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(kind).recordValue(Math.max(1, micros));
+        statusCounts.get(kind).computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    public void write(LoadConfig config, long measuredNanos, PrintStream console) throws IOException {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Map<RequestKind, Histogram> perKind = new EnumMap<>(RequestKind.class);
+        for (Map.Entry<RequestKind, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            perKind.put(entry.getKey(), histogram);
+            total.add(histogram);
+        }
+
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        statusCounts.values().forEach(counts -> counts.forEach(
+                (status, count) -> totalStatuses.merge(status, count.sum(), Long::sum)
+        ));
+
+        double measuredSeconds = measuredNanos / 1_000_000_000.0;
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"config\": {\n");
+        json.append("    \"baseUrl\": ").append(quote(config.baseUrl())).append(",\n");
+        json.append("    \"accounts\": ").append(config.accounts()).append(",\n");
+        json.append("    \"distribution\": ").append(quote(config.distribution().name())).append(",\n");
+        json.append("    \"zipfExponent\": ").append(number(config.zipfExponent())).append(",\n");
+        json.append("    \"hotSetFraction\": ").append(number(config.hotSetFraction())).append(",\n");
+        json.append("    \"hotTrafficFraction\": ").append(number(config.hotTrafficFraction())).append(",\n");
+        json.append("    \"targetRatePerSecond\": ").append(number(config.ratePerSecond())).append(",\n");
+        json.append("    \"durationSeconds\": ").append(config.duration().toSeconds()).append(",\n");
+        json.append("    \"warmupSeconds\": ").append(config.warmup().toSeconds()).append(",\n");
+        json.append("    \"replayRatio\": ").append(number(config.replayRatio())).append(",\n");
+        json.append("    \"insufficientFundsRatio\": ").append(number(config.insufficientFundsRatio())).append(",\n");
+        json.append("    \"frozenRatio\": ").append(number(config.frozenRatio())).append(",\n");
+        json.append("    \"seed\": ").append(config.seed()).append("\n");
+        json.append("  },\n");
+        json.append("  \"sent\": ").append(sent.sum()).append(",\n");
+        json.append("  \"shed\": ").append(shed.sum()).append(",\n");
+        json.append("  \"measured\": ").append(total.getTotalCount()).append(",\n");
+        json.append("  \"achievedRatePerSecond\": ")
+                .append(number(measuredSeconds > 0 ? total.getTotalCount() / measuredSeconds : 0))
+                .append(",\n");
+        json.append("  \"latencyMicros\": ");
+        appendHistogram(json, total, "  ");
+        json.append(",\n");
+        json.append("  \"statusCodes\": ");
+        appendStatuses(json, totalStatuses);
+        json.append(",\n");
+        json.append("  \"byKind\": {\n");
+        RequestKind[] kinds = RequestKind.values();
+        for (int i = 0; i < kinds.length; i++) {
+            RequestKind kind = kinds[i];
+            Map<Integer, Long> statuses = new TreeMap<>();
+            statusCounts.get(kind).forEach((status, count) -> statuses.put(status, count.sum()));
+            json.append("    ").append(quote(kind.name())).append(": {\n");
+            json.append("      \"count\": ").append(perKind.get(kind).getTotalCount()).append(",\n");
+            json.append("      \"latencyMicros\": ");
+            appendHistogram(json, perKind.get(kind), "      ");
+            json.append(",\n");
+            json.append("      \"statusCodes\": ");
+            appendStatuses(json, statuses);
+            json.append("\n    }").append(i < kinds.length - 1 ? "," : "").append("\n");
+        }
+        json.append("  }\n");
+        json.append("}\n");
+
+        Path output = config.output().toAbsolutePath();
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, json.toString(), StandardCharsets.UTF_8);
+
+        console.printf(Locale.ROOT, "measured=%d shed=%d rate=%.1f/s p50=%dus p99=%dus p99.9=%dus max=%dus%n",
+                total.getTotalCount(),
+                shed.sum(),
+                measuredSeconds > 0 ? total.getTotalCount() / measuredSeconds : 0,
+                total.getValueAtPercentile(50.0),
+                total.getValueAtPercentile(99.0),
+                total.getValueAtPercentile(99.9),
+                total.getMaxValue());
+        console.println("status codes: " + totalStatuses);
+        console.println("report written to " + output);
+    }
+
+    private void appendHistogram(StringBuilder json, Histogram histogram, String indent) {
+        json.append("{\n");
+        json.append(indent).append("  \"min\": ").append(histogram.getTotalCount() > 0 ? histogram.getMinValue() : 0).append(",\n");
+        json.append(indent).append("  \"mean\": ").append(number(histogram.getMean())).append(",\n");
+        for (double percentile : PERCENTILES) {
+            json.append(indent).append("  ").append(quote("p" + number(percentile)))
+                    .append(": ").append(histogram.getValueAtPercentile(percentile)).append(",\n");
+        }
+        json.append(indent).append("  \"max\": ").append(histogram.getMaxValue()).append("\n");
+        json.append(indent).append("}");
+    }
+
+    private void appendStatuses(StringBuilder json, Map<Integer, Long> statuses) {
+        json.append("{");
+        boolean first = true;
+        for (Map.Entry<Integer, Long> entry : statuses.entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            String label = entry.getKey() == CLIENT_ERROR_STATUS ? "error" : String.valueOf(entry.getKey());
+            json.append(quote(label)).append(": ").append(entry.getValue());
+            first = false;
+        }
+        json.append("}");
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%.4f", value).replaceAll("0+$", "");
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
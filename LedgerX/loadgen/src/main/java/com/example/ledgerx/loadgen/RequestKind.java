@@ -0,0 +1,8 @@
+package com.example.ledgerx.loadgen;
+
+public enum RequestKind {
+    TRANSFER,
+    REPLAY,
+    INSUFFICIENT_FUNDS,
+    FROZEN_ACCOUNT
+}
@@ -0,0 +1,17 @@
+package com.example.ledgerx.loadgen;
+
+import java.util.SplittableRandom;
+
+public class UniformAccountSelector implements AccountSelector {
+
+    private final int accounts;
+
+    public UniformAccountSelector(int accounts) {
+        this.accounts = accounts;
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        return random.nextInt(accounts);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ledgerx.loadgen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class ZipfianAccountSelector implements AccountSelector {
+
+    private final double[] cumulative;
+
+    public ZipfianAccountSelector(int accounts, double exponent) {
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("zipf-exponent must be greater than zero");
+        }
+        cumulative = new double[accounts];
+        double sum = 0;
+        for (int rank = 0; rank < accounts; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < accounts; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
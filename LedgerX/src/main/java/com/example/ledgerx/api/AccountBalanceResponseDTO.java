@@ -0,0 +1,12 @@
+package com.example.ledgerx.api;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record AccountBalanceResponseDTO(
+        String accountNumber,
+        String currency,
+        BigDecimal balance,
+        Instant asOf
+) {
+}
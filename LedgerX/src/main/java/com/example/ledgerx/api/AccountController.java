@@ -1,22 +1,107 @@
 package com.example.ledgerx.api;
 
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.directory.AccountDirectoryEntry;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
 import com.example.ledgerx.exception.AccountNotFoundException;
 import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import com.example.ledgerx.service.AccountHistoryService;
+import com.example.ledgerx.service.AccountStatusService;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import com.example.ledgerx.velocity.VelocityUsage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 public class AccountController {
 
     private final AccountRepository accountRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountHistoryService accountHistoryService;
+    private final AccountStatusService accountStatusService;
+    private final AccountDirectory accountDirectory;
+    private final VelocityLimitService velocityLimitService;
+    private final Bulkheads bulkheads;
 
     @GetMapping("/api/v1/accounts/{accountNumber}")
-    public AccountResponseDTO getAccount(@PathVariable String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
-                .map(AccountResponseDTO::from)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+    public CompletableFuture<ResponseEntity<AccountResponseDTO>> getAccount(
+            @PathVariable String accountNumber,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return bulkheads.read().submit(() -> {
+            Optional<AccountDirectoryEntry> entry = accountDirectory.find(accountNumber);
+            if (ifNoneMatch != null && entry.isPresent()) {
+                UUID id = entry.get().id();
+                Optional<String> current = accountRepository.findVersionById(id)
+                        .map(version -> EntityTags.account(id, version));
+                if (current.isPresent() && EntityTags.matches(ifNoneMatch, current.get())) {
+                    return EntityTags.notModified(current.get());
+                }
+            }
+            Account account = entry.flatMap(found -> accountRepository.findById(found.id()))
+                    .or(() -> accountDirectory.reload(accountNumber).flatMap(found -> accountRepository.findById(found.id())))
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.account(account.getId(), account.getVersion()))
+                    .body(AccountResponseDTO.from(account));
+        });
+    }
+
+    @PostMapping("/api/v1/accounts/{accountNumber}/freeze")
+    public CompletableFuture<AccountResponseDTO> freezeAccount(@PathVariable String accountNumber) {
+        return bulkheads.transfer().submit(() -> AccountResponseDTO.from(
+                accountStatusService.changeStatus(accountNumber, AccountStatus.FROZEN)));
+    }
+
+    @PostMapping("/api/v1/accounts/{accountNumber}/unfreeze")
+    public CompletableFuture<AccountResponseDTO> unfreezeAccount(@PathVariable String accountNumber) {
+        return bulkheads.transfer().submit(() -> AccountResponseDTO.from(
+                accountStatusService.changeStatus(accountNumber, AccountStatus.ACTIVE)));
+    }
+
+    @GetMapping("/api/v1/accounts/{accountNumber}/balance")
+    public CompletableFuture<AccountBalanceResponseDTO> getBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf
+    ) {
+        return bulkheads.read().submit(() -> accountBalanceService.getBalance(accountNumber, asOf));
+    }
+
+    @GetMapping("/api/v1/accounts/{accountNumber}/transactions")
+    public CompletableFuture<AccountHistoryResponseDTO> getTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return bulkheads.read().submit(() -> accountHistoryService.getHistory(
+                accountNumber, direction, status, minAmount, maxAmount, cursor, size));
+    }
+
+    @GetMapping("/api/v1/accounts/{accountNumber}/velocity")
+    public List<VelocityUsage> getVelocity(@PathVariable String accountNumber) {
+        return velocityLimitService.usage(accountNumber);
     }
 }
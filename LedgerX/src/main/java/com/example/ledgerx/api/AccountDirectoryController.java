@@ -0,0 +1,19 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.directory.AccountDirectoryStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class AccountDirectoryController {
+
+    private final AccountDirectory accountDirectory;
+
+    @GetMapping("/api/v1/account-directory/stats")
+    public AccountDirectoryStats getStats() {
+        return accountDirectory.stats();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.ledgerx.api;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record AccountHistoryEntryDTO(
+        UUID transactionId,
+        Instant createdAt,
+        String status,
+        String direction,
+        BigDecimal amount,
+        BigDecimal balanceAfter
+) {
+}
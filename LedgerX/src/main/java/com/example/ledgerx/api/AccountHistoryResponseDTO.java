@@ -0,0 +1,10 @@
+package com.example.ledgerx.api;
+
+import java.util.List;
+
+public record AccountHistoryResponseDTO(
+        String accountNumber,
+        List<AccountHistoryEntryDTO> entries,
+        String nextCursor
+) {
+}
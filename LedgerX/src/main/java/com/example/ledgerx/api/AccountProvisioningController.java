@@ -0,0 +1,48 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.provisioning.AccountFileFormat;
+import com.example.ledgerx.provisioning.AccountProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class AccountProvisioningController {
+
+    private final AccountProvisioningService accountProvisioningService;
+
+    @PostMapping(value = "/api/v1/accounts/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public AccountProvisioningResponseDTO provision(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        AccountFileFormat format = contentType.contains("ndjson") ? AccountFileFormat.NDJSON : AccountFileFormat.CSV;
+        return accountProvisioningService.provision(body, format);
+    }
+
+    @GetMapping("/api/v1/accounts/bulk/{jobId}/errors")
+    public ResponseEntity<Resource> getErrors(@PathVariable UUID jobId) {
+        Path file = accountProvisioningService.errorReport(jobId);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".csv\"")
+                .body(new FileSystemResource(file));
+    }
+}
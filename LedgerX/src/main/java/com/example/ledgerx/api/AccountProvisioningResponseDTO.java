@@ -0,0 +1,13 @@
+package com.example.ledgerx.api;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record AccountProvisioningResponseDTO(
+        UUID jobId,
+        long rows,
+        Map<String, Long> statusCounts,
+        String errorReport,
+        long elapsedMillis
+) {
+}
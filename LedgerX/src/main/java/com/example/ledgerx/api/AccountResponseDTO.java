@@ -12,6 +12,8 @@ public record AccountResponseDTO(
         String accountNumber,
         String currency,
         BigDecimal balance,
+        BigDecimal heldAmount,
+        BigDecimal availableBalance,
         AccountStatus status,
         Instant createdAt,
         Instant updatedAt
@@ -22,6 +24,8 @@ public record AccountResponseDTO(
                 account.getAccountNumber(),
                 account.getCurrency(),
                 account.getBalance(),
+                account.getHeldAmount(),
+                account.getAvailableBalance(),
                 account.getStatus(),
                 account.getCreatedAt(),
                 account.getUpdatedAt()
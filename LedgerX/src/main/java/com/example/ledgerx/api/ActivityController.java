@@ -0,0 +1,46 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.audit.AccountActivity;
+import com.example.ledgerx.audit.ActivityGranularity;
+import com.example.ledgerx.audit.ActivityRollupService;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityRollupService activityRollupService;
+    private final Bulkheads bulkheads;
+
+    @GetMapping("/api/v1/accounts/{accountNumber}/activity")
+    public CompletableFuture<AccountActivity> getActivity(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "HOUR") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        ActivityGranularity bucket = parseGranularity(granularity);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(bucket == ActivityGranularity.DAY ? Duration.ofDays(30) : Duration.ofDays(1));
+        return bulkheads.read().submit(() -> activityRollupService.activity(accountNumber, bucket, start, end));
+    }
+
+    private ActivityGranularity parseGranularity(String granularity) {
+        try {
+            return ActivityGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new LedgerException("granularity must be HOUR or DAY: " + granularity);
+        }
+    }
+}
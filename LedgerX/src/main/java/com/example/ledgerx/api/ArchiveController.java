@@ -0,0 +1,37 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.archive.ArchiveSegmentInfo;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchiveVerification;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/api/v1/archive/run")
+    public CompletableFuture<List<ArchiveSegmentInfo>> runArchive() {
+        return bulkheads.background().submit(archiveService::archiveClosedMonths);
+    }
+
+    @GetMapping("/api/v1/archive/segments")
+    public List<ArchiveSegmentInfo> getSegments() {
+        return archiveService.segments();
+    }
+
+    @GetMapping("/api/v1/archive/segments/{fileName}/verify")
+    public CompletableFuture<ArchiveVerification> verifySegment(@PathVariable String fileName) {
+        return bulkheads.background().submit(() -> archiveService.verify(fileName));
+    }
+}
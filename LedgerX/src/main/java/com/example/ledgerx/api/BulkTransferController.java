@@ -0,0 +1,57 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulk.BulkTransferFormat;
+import com.example.ledgerx.bulk.BulkTransferIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class BulkTransferController {
+
+    private final BulkTransferIngestionService bulkTransferIngestionService;
+
+    @PostMapping(value = "/api/v1/transfers/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BulkTransferResponseDTO> ingest(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        BulkTransferFormat format = contentType.contains("ndjson") ? BulkTransferFormat.NDJSON : BulkTransferFormat.CSV;
+        BulkTransferResponseDTO job = bulkTransferIngestionService.submit(body, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/transfers/bulk/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/api/v1/transfers/bulk/{jobId}")
+    public ResponseEntity<BulkTransferResponseDTO> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.of(bulkTransferIngestionService.job(jobId));
+    }
+
+    @GetMapping("/api/v1/transfers/bulk/{jobId}/results")
+    public ResponseEntity<Resource> getResults(@PathVariable UUID jobId) {
+        Path file = bulkTransferIngestionService.resultFile(jobId);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".csv\"")
+                .body(new FileSystemResource(file));
+    }
+}
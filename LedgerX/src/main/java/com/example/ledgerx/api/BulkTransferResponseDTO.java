@@ -0,0 +1,17 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulk.BulkTransferJobStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record BulkTransferResponseDTO(
+        UUID jobId,
+        BulkTransferJobStatus status,
+        long rows,
+        Map<String, Long> statusCounts,
+        String resultFile,
+        Long elapsedMillis,
+        String errorMessage
+) {
+}
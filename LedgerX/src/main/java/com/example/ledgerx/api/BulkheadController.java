@@ -0,0 +1,21 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulkhead.BulkheadStats;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class BulkheadController {
+
+    private final Bulkheads bulkheads;
+
+    @GetMapping("/api/v1/bulkheads")
+    public List<BulkheadStats> getStats() {
+        return bulkheads.stats();
+    }
+}
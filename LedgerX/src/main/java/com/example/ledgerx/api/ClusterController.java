@@ -0,0 +1,19 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.cluster.ClusterService;
+import com.example.ledgerx.cluster.ClusterStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final ClusterService clusterService;
+
+    @GetMapping("/api/v1/cluster")
+    public ClusterStatus getStatus() {
+        return clusterService.status();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ledgerx.api;
+
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record HoldCaptureRequestDTO(
+        @Positive BigDecimal amount
+) {
+}
@@ -0,0 +1,65 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.hold.Hold;
+import com.example.ledgerx.hold.HoldService;
+import com.example.ledgerx.hold.HoldStats;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/api/v1/holds")
+    public CompletableFuture<ResponseEntity<Hold>> placeHold(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @Valid @RequestBody HoldRequestDTO request
+    ) {
+        return bulkheads.transfer().submit(() -> ResponseEntity.status(HttpStatus.CREATED).body(holdService.place(
+                request.fromAccount(),
+                request.toAccount(),
+                request.amount(),
+                request.currency(),
+                request.ttlSeconds(),
+                idempotencyKey
+        )));
+    }
+
+    @PostMapping("/api/v1/holds/{holdId}/capture")
+    public CompletableFuture<Hold> captureHold(
+            @PathVariable UUID holdId,
+            @Valid @RequestBody(required = false) HoldCaptureRequestDTO request
+    ) {
+        return bulkheads.transfer().submit(() -> holdService.capture(holdId, request == null ? null : request.amount()));
+    }
+
+    @PostMapping("/api/v1/holds/{holdId}/void")
+    public CompletableFuture<Hold> voidHold(@PathVariable UUID holdId) {
+        return bulkheads.transfer().submit(() -> holdService.release(holdId));
+    }
+
+    @GetMapping("/api/v1/holds/{holdId}")
+    public CompletableFuture<Hold> getHold(@PathVariable UUID holdId) {
+        return bulkheads.read().submit(() -> holdService.get(holdId));
+    }
+
+    @GetMapping("/api/v1/holds/stats")
+    public HoldStats getStats() {
+        return holdService.stats();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ledgerx.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record HoldRequestDTO(
+        @NotBlank String fromAccount,
+        @NotBlank String toAccount,
+        @NotNull @Positive BigDecimal amount,
+        @NotBlank String currency,
+        @Positive Long ttlSeconds
+) {
+}
@@ -0,0 +1,56 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.merkle.MerkleRoot;
+import com.example.ledgerx.merkle.MerkleService;
+import com.example.ledgerx.merkle.MerkleVerification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class MerkleController {
+
+    private final MerkleService merkleService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/api/v1/integrity/seal")
+    public CompletableFuture<ResponseEntity<MerkleRoot>> seal() {
+        return bulkheads.background().submit(() -> ResponseEntity.of(merkleService.seal()));
+    }
+
+    @GetMapping("/api/v1/integrity/root")
+    public ResponseEntity<MerkleRoot> getRoot() {
+        return ResponseEntity.of(merkleService.latest());
+    }
+
+    @GetMapping("/api/v1/integrity/verify")
+    public CompletableFuture<MerkleVerification> verify(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        return bulkheads.background().submit(() -> merkleService.verify(start, end));
+    }
+
+    @GetMapping("/api/v1/integrity/accounts/{accountNumber}/verify")
+    public CompletableFuture<MerkleVerification> verifyAccount(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        return bulkheads.background().submit(() -> merkleService.verifyAccount(accountNumber, start, end));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.netting.NettingService;
+import com.example.ledgerx.netting.NettingStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class NettingController {
+
+    private final NettingService nettingService;
+
+    @GetMapping("/api/v1/netting/stats")
+    public NettingStats getStats() {
+        return nettingService.stats();
+    }
+}
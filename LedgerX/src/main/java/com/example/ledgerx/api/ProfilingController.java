@@ -0,0 +1,60 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.profiling.ProfilingService;
+import com.example.ledgerx.profiling.RecordingSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+public class ProfilingController {
+
+    private static final long SUMMARY_GRACE_MILLIS = 60_000;
+
+    private final ProfilingService profilingService;
+
+    @PostMapping("/api/v1/admin/recordings")
+    public DeferredResult<RecordingSummary> record(
+            @RequestParam(defaultValue = "profile") String profile,
+            @RequestParam(defaultValue = "30") long durationSeconds
+    ) {
+        DeferredResult<RecordingSummary> result = new DeferredResult<>(
+                TimeUnit.SECONDS.toMillis(durationSeconds) + SUMMARY_GRACE_MILLIS
+        );
+        profilingService.record(profile, durationSeconds).whenComplete((summary, ex) -> {
+            if (ex != null) {
+                result.setErrorResult(ex);
+            } else {
+                result.setResult(summary);
+            }
+        });
+        return result;
+    }
+
+    @GetMapping("/api/v1/admin/recordings/{recordingId}")
+    public ResponseEntity<Resource> getRecording(@PathVariable UUID recordingId) {
+        Path file = profilingService.recordingFile(recordingId);
+        if (!Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + recordingId + ".jfr\"")
+                .body(new FileSystemResource(file));
+    }
+}
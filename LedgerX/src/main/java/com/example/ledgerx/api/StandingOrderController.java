@@ -0,0 +1,59 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.standing.StandingOrder;
+import com.example.ledgerx.standing.StandingOrderRun;
+import com.example.ledgerx.standing.StandingOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/api/v1/standing-orders")
+    public CompletableFuture<ResponseEntity<StandingOrder>> createStandingOrder(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @Valid @RequestBody StandingOrderRequestDTO request
+    ) {
+        return bulkheads.transfer().submit(() -> ResponseEntity.status(HttpStatus.CREATED).body(standingOrderService.create(
+                request.fromAccount(),
+                request.toAccount(),
+                request.amount(),
+                request.currency(),
+                request.frequency(),
+                request.startAt(),
+                request.endAt(),
+                idempotencyKey
+        )));
+    }
+
+    @GetMapping("/api/v1/standing-orders/{orderId}")
+    public CompletableFuture<StandingOrder> getStandingOrder(@PathVariable UUID orderId) {
+        return bulkheads.read().submit(() -> standingOrderService.get(orderId));
+    }
+
+    @PostMapping("/api/v1/standing-orders/{orderId}/cancel")
+    public CompletableFuture<StandingOrder> cancelStandingOrder(@PathVariable UUID orderId) {
+        return bulkheads.transfer().submit(() -> standingOrderService.cancel(orderId));
+    }
+
+    @PostMapping("/api/v1/standing-orders/run")
+    public CompletableFuture<StandingOrderRun> runDue() {
+        return bulkheads.background().submit(standingOrderService::runDue);
+    }
+}
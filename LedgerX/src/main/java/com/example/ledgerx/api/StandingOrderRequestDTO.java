@@ -0,0 +1,19 @@
+package com.example.ledgerx.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record StandingOrderRequestDTO(
+        @NotBlank String fromAccount,
+        @NotBlank String toAccount,
+        @NotNull @Positive BigDecimal amount,
+        @NotBlank String currency,
+        @NotBlank String frequency,
+        Instant startAt,
+        Instant endAt
+) {
+}
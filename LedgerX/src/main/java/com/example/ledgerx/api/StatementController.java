@@ -0,0 +1,49 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.statement.AccountStatement;
+import com.example.ledgerx.statement.StatementRun;
+import com.example.ledgerx.statement.StatementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class StatementController {
+
+    private final StatementService statementService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/api/v1/statements/{month}")
+    public CompletableFuture<StatementRun> generateStatements(@PathVariable String month) {
+        YearMonth period = parseMonth(month);
+        return bulkheads.background().submit(() -> statementService.generate(period));
+    }
+
+    @GetMapping("/api/v1/statements/{month}")
+    public StatementRun getStatementRun(@PathVariable String month) {
+        return statementService.run(parseMonth(month));
+    }
+
+    @GetMapping("/api/v1/accounts/{accountNumber}/statements/{month}")
+    public CompletableFuture<AccountStatement> getStatement(@PathVariable String accountNumber, @PathVariable String month) {
+        YearMonth period = parseMonth(month);
+        return bulkheads.read().submit(() -> statementService.find(accountNumber, period));
+    }
+
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new LedgerException("Month must be formatted as yyyy-MM: " + month);
+        }
+    }
+}
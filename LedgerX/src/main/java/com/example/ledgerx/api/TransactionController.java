@@ -1,23 +1,50 @@
 package com.example.ledgerx.api;
 
+import com.example.ledgerx.bulkhead.Bulkheads;
 import com.example.ledgerx.service.TransactionService;
+import com.example.ledgerx.service.TransactionWatermark;
+import com.example.ledgerx.stream.TransactionStreamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionStreamService transactionStreamService;
+    private final TransactionWatermark transactionWatermark;
+    private final Bulkheads bulkheads;
 
     @GetMapping("/api/v1/transactions")
-    public Page<TransactionResponseDTO> getTransactions(
+    public CompletableFuture<ResponseEntity<Page<TransactionResponseDTO>>> getTransactions(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return bulkheads.read().submit(() -> {
+            String tag = EntityTags.quote(transactionWatermark.current(page, size));
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return EntityTags.notModified(tag);
+            }
+            return ResponseEntity.ok().eTag(tag).body(transactionService.getTransactions(page, size));
+        });
+    }
+
+    @GetMapping(value = "/api/v1/transactions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransactions(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
     ) {
-        return transactionService.getTransactions(page, size);
+        return transactionStreamService.subscribe(lastEventId);
     }
 }
@@ -14,4 +14,16 @@ public record TransactionResponseDTO(
         String currency,
         String idempotencyKey
 ) {
+    public static TransactionResponseDTO from(TransferResponseDTO transfer) {
+        return new TransactionResponseDTO(
+                transfer.id(),
+                transfer.createdAt(),
+                transfer.status() != null ? transfer.status().name() : null,
+                transfer.fromAccount(),
+                transfer.toAccount(),
+                transfer.amount(),
+                transfer.currency(),
+                transfer.idempotencyKey()
+        );
+    }
 }
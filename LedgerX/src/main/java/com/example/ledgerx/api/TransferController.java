@@ -1,31 +1,65 @@
 package com.example.ledgerx.api;
 
-import com.example.ledgerx.entity.Transaction;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.cluster.ClusterNode;
+import com.example.ledgerx.cluster.ClusterService;
+import com.example.ledgerx.cluster.TransferForwarder;
+import com.example.ledgerx.netting.NettingService;
 import com.example.ledgerx.service.TransferService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 public class TransferController {
 
     private final TransferService transferService;
+    private final NettingService nettingService;
+    private final Bulkheads bulkheads;
+    private final ClusterService clusterService;
+    private final TransferForwarder transferForwarder;
 
     @PostMapping("/api/v1/transfers")
-    public Transaction transfer(
+    public CompletableFuture<ResponseEntity<?>> transfer(
             @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestHeader(value = TransferForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = TransferForwarder.FORWARD_SIGNATURE_HEADER, required = false) String signature,
             @Valid @RequestBody TransferRequestDTO request
     ) {
-        return transferService.processTransfer(
-                request.fromAccount(),
-                request.toAccount(),
-                request.amount(),
-                request.currency(),
-                idempotencyKey
-        );
+        if (!transferForwarder.acceptForward(forwardedBy, signature, idempotencyKey, request)) {
+            Optional<ClusterNode> owner = clusterService.remoteOwner(request.fromAccount());
+            if (owner.isPresent()) {
+                return transferForwarder.forward(owner.get(), idempotencyKey, request)
+                        .exceptionallyCompose(ex -> processLocally(idempotencyKey, request));
+            }
+        }
+        return processLocally(idempotencyKey, request);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> processLocally(String idempotencyKey, TransferRequestDTO request) {
+        return bulkheads.transfer().submit(() -> nettingService.tryAccept(
+                        request.fromAccount(),
+                        request.toAccount(),
+                        request.amount(),
+                        request.currency(),
+                        idempotencyKey
+                )
+                .<ResponseEntity<?>>map(accepted -> ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted))
+                .orElseGet(() -> ResponseEntity.ok(transferService.processTransfer(
+                        request.fromAccount(),
+                        request.toAccount(),
+                        request.amount(),
+                        request.currency(),
+                        idempotencyKey
+                ))));
     }
 }
@@ -0,0 +1,89 @@
+package com.example.ledgerx.api;
+
+import com.example.ledgerx.archive.ArchivedEntry;
+import com.example.ledgerx.archive.ArchivedTransaction;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.LedgerEntry;
+import com.example.ledgerx.entity.Transaction;
+import com.example.ledgerx.entity.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record TransferResponseDTO(
+        UUID id,
+        String idempotencyKey,
+        TransactionStatus status,
+        String fromAccount,
+        String toAccount,
+        BigDecimal amount,
+        String currency,
+        Instant createdAt,
+        Instant completedAt
+) {
+    public static TransferResponseDTO from(Transaction transaction) {
+        if (transaction.getAmount() != null) {
+            return new TransferResponseDTO(
+                    transaction.getId(),
+                    transaction.getIdempotencyKey(),
+                    transaction.getStatus(),
+                    transaction.getFromAccountNumber(),
+                    transaction.getToAccountNumber(),
+                    transaction.getAmount(),
+                    transaction.getCurrency(),
+                    transaction.getCreatedAt(),
+                    transaction.getCompletedAt()
+            );
+        }
+
+        List<LedgerEntry> entries = transaction.getLedgerEntries() != null ? transaction.getLedgerEntries() : List.of();
+        LedgerEntry debitEntry = findEntry(entries, EntryDirection.DEBIT);
+        LedgerEntry creditEntry = findEntry(entries, EntryDirection.CREDIT);
+        LedgerEntry anyEntry = debitEntry != null ? debitEntry : creditEntry;
+        Account anyAccount = anyEntry != null ? anyEntry.getAccount() : null;
+
+        return new TransferResponseDTO(
+                transaction.getId(),
+                transaction.getIdempotencyKey(),
+                transaction.getStatus(),
+                accountNumber(debitEntry),
+                accountNumber(creditEntry),
+                anyEntry != null ? anyEntry.getAmount() : null,
+                anyAccount != null ? anyAccount.getCurrency() : null,
+                transaction.getCreatedAt(),
+                transaction.getCompletedAt()
+        );
+    }
+
+    public static TransferResponseDTO from(ArchivedTransaction transaction) {
+        ArchivedEntry debitEntry = transaction.entry(EntryDirection.DEBIT);
+        ArchivedEntry creditEntry = transaction.entry(EntryDirection.CREDIT);
+        ArchivedEntry anyEntry = debitEntry != null ? debitEntry : creditEntry;
+
+        return new TransferResponseDTO(
+                transaction.id(),
+                transaction.idempotencyKey(),
+                transaction.status(),
+                debitEntry != null ? debitEntry.accountNumber() : null,
+                creditEntry != null ? creditEntry.accountNumber() : null,
+                anyEntry != null ? anyEntry.amount() : null,
+                anyEntry != null ? anyEntry.currency() : null,
+                transaction.createdAt(),
+                transaction.completedAt()
+        );
+    }
+
+    private static LedgerEntry findEntry(List<LedgerEntry> entries, EntryDirection direction) {
+        return entries.stream()
+                .filter(entry -> entry.getDirection() == direction)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String accountNumber(LedgerEntry entry) {
+        return entry != null && entry.getAccount() != null ? entry.getAccount().getAccountNumber() : null;
+    }
+}
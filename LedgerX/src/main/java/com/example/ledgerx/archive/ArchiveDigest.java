@@ -0,0 +1,74 @@
+package com.example.ledgerx.archive;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.UUID;
+
+final class ArchiveDigest {
+
+    private final MessageDigest digest = sha256();
+    private final DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+
+    void add(ArchivedTransaction transaction) {
+        try {
+            out.writeByte('T');
+            writeUuid(transaction.id());
+            writeText(transaction.idempotencyKey());
+            writeText(transaction.status().name());
+            writeText(transaction.errorMessage());
+            out.writeLong(ArchiveSegmentFile.toMicros(transaction.createdAt()));
+            out.writeLong(ArchiveSegmentFile.toMicros(transaction.completedAt()));
+            for (ArchivedEntry entry : transaction.entries().stream().sorted(Comparator.comparing(ArchivedEntry::id)).toList()) {
+                out.writeByte('E');
+                writeUuid(entry.id());
+                writeUuid(entry.accountId());
+                writeDecimal(entry.amount());
+                writeText(entry.direction().name());
+                out.writeLong(ArchiveSegmentFile.toMicros(entry.createdAt()));
+                writeDecimal(entry.balanceAfter());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    String hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void writeUuid(UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeDecimal(BigDecimal value) throws IOException {
+        writeText(value == null ? null : value.toPlainString());
+    }
+}
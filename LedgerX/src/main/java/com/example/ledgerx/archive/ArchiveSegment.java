@@ -0,0 +1,129 @@
+package com.example.ledgerx.archive;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+final class ArchiveSegment {
+
+    private final String fileName;
+    private final String fileSha256;
+    private final String contentSha256;
+    private final List<ArchivedTransaction> transactions;
+    private final long[] keyHashes;
+    private final int[] keyOrdinals;
+    private final UUID[] accountIds;
+    private final int[] accountFirst;
+    private final int[] accountSize;
+    private final ArchivedEntry[] entries;
+
+    ArchiveSegment(
+            String fileName,
+            String fileSha256,
+            String contentSha256,
+            List<ArchivedTransaction> transactions,
+            long[] keyHashes,
+            int[] keyOrdinals,
+            UUID[] accountIds,
+            int[] accountFirst,
+            int[] accountSize,
+            ArchivedEntry[] entries
+    ) {
+        this.fileName = fileName;
+        this.fileSha256 = fileSha256;
+        this.contentSha256 = contentSha256;
+        this.transactions = List.copyOf(transactions);
+        this.keyHashes = keyHashes;
+        this.keyOrdinals = keyOrdinals;
+        this.accountIds = accountIds;
+        this.accountFirst = accountFirst;
+        this.accountSize = accountSize;
+        this.entries = entries;
+    }
+
+    String fileName() {
+        return fileName;
+    }
+
+    String fileSha256() {
+        return fileSha256;
+    }
+
+    String contentSha256() {
+        return contentSha256;
+    }
+
+    List<ArchivedTransaction> transactions() {
+        return transactions;
+    }
+
+    int entryCount() {
+        return entries.length;
+    }
+
+    Optional<ArchivedTransaction> findByIdempotencyKey(String idempotencyKey) {
+        long hash = ArchiveSegmentFile.hashKey(idempotencyKey);
+        int index = Arrays.binarySearch(keyHashes, hash);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        while (index > 0 && keyHashes[index - 1] == hash) {
+            index--;
+        }
+        for (; index < keyHashes.length && keyHashes[index] == hash; index++) {
+            ArchivedTransaction transaction = transactions.get(keyOrdinals[index]);
+            if (transaction.idempotencyKey().equals(idempotencyKey)) {
+                return Optional.of(transaction);
+            }
+        }
+        return Optional.empty();
+    }
+
+    Optional<ArchivedEntry> latestEntry(UUID accountId, Instant asOf) {
+        int account = Arrays.binarySearch(accountIds, accountId);
+        if (account < 0) {
+            return Optional.empty();
+        }
+        int after = firstAfter(account, asOf);
+        return after == accountFirst[account] ? Optional.empty() : Optional.of(entries[after - 1]);
+    }
+
+    Optional<ArchivedEntry> earliestEntryAfter(UUID accountId, Instant asOf) {
+        int account = Arrays.binarySearch(accountIds, accountId);
+        if (account < 0) {
+            return Optional.empty();
+        }
+        int after = firstAfter(account, asOf);
+        return after == accountFirst[account] + accountSize[account] ? Optional.empty() : Optional.of(entries[after]);
+    }
+
+    BigDecimal sumSignedAmountsAfter(UUID accountId, Instant asOf) {
+        int account = Arrays.binarySearch(accountIds, accountId);
+        if (account < 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        int end = accountFirst[account] + accountSize[account];
+        for (int i = firstAfter(account, asOf); i < end; i++) {
+            sum = sum.add(entries[i].signedAmount());
+        }
+        return sum;
+    }
+
+    private int firstAfter(int account, Instant asOf) {
+        int low = accountFirst[account];
+        int high = low + accountSize[account];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].createdAt().isAfter(asOf)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,509 @@
+package com.example.ledgerx.archive;
+
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+final class ArchiveSegmentFile {
+
+    static final String EXTENSION = ".lxseg";
+
+    private static final int MAGIC = 0x4C584152;
+    private static final short VERSION = 1;
+    private static final int SHA256_LENGTH = 32;
+    private static final long NULL_MICROS = Long.MIN_VALUE;
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final EntryDirection[] DIRECTIONS = EntryDirection.values();
+
+    private static final String TX_ID = "tx.id";
+    private static final String TX_KEY = "tx.idempotency_key";
+    private static final String TX_STATUS = "tx.status";
+    private static final String TX_ERROR = "tx.error_message";
+    private static final String TX_CREATED = "tx.created_at";
+    private static final String TX_COMPLETED = "tx.completed_at";
+    private static final String TX_KEY_HASH = "tx.key_hash";
+    private static final String ACCOUNT_ID = "account.id";
+    private static final String ACCOUNT_NUMBER = "account.number";
+    private static final String ACCOUNT_CURRENCY = "account.currency";
+    private static final String ACCOUNT_ENTRIES = "account.entry_count";
+    private static final String ENTRY_ID = "entry.id";
+    private static final String ENTRY_TX = "entry.tx_ordinal";
+    private static final String ENTRY_AMOUNT = "entry.amount";
+    private static final String ENTRY_DIRECTION = "entry.direction";
+    private static final String ENTRY_CREATED = "entry.created_at";
+    private static final String ENTRY_BALANCE = "entry.balance_after";
+
+    private ArchiveSegmentFile() {
+    }
+
+    static WrittenSegment write(Path target, List<ArchivedTransaction> transactions) throws IOException {
+        List<ArchivedTransaction> ordered = transactions.stream()
+                .sorted(Comparator.comparing(ArchivedTransaction::createdAt).thenComparing(ArchivedTransaction::id))
+                .toList();
+        ArchiveDigest digest = new ArchiveDigest();
+        ordered.forEach(digest::add);
+
+        List<EntryRef> entries = new ArrayList<>();
+        for (int ordinal = 0; ordinal < ordered.size(); ordinal++) {
+            for (ArchivedEntry entry : ordered.get(ordinal).entries()) {
+                entries.add(new EntryRef(entry, ordinal));
+            }
+        }
+        entries.sort(Comparator.comparing((EntryRef ref) -> ref.entry().accountId())
+                .thenComparing(ref -> ref.entry().createdAt())
+                .thenComparing(ref -> ref.entry().id()));
+
+        Map<String, ByteArrayOutputStream> columns = new LinkedHashMap<>();
+        DataOutputStream txId = column(columns, TX_ID);
+        DataOutputStream txKey = column(columns, TX_KEY);
+        DataOutputStream txStatus = column(columns, TX_STATUS);
+        DataOutputStream txError = column(columns, TX_ERROR);
+        DataOutputStream txCreated = column(columns, TX_CREATED);
+        DataOutputStream txCompleted = column(columns, TX_COMPLETED);
+        DataOutputStream txKeyHash = column(columns, TX_KEY_HASH);
+        DataOutputStream accountId = column(columns, ACCOUNT_ID);
+        DataOutputStream accountNumber = column(columns, ACCOUNT_NUMBER);
+        DataOutputStream accountCurrency = column(columns, ACCOUNT_CURRENCY);
+        DataOutputStream accountEntries = column(columns, ACCOUNT_ENTRIES);
+        DataOutputStream entryId = column(columns, ENTRY_ID);
+        DataOutputStream entryTx = column(columns, ENTRY_TX);
+        DataOutputStream entryAmount = column(columns, ENTRY_AMOUNT);
+        DataOutputStream entryDirection = column(columns, ENTRY_DIRECTION);
+        DataOutputStream entryCreated = column(columns, ENTRY_CREATED);
+        DataOutputStream entryBalance = column(columns, ENTRY_BALANCE);
+
+        long previousCreated = 0;
+        long[][] keyHashes = new long[ordered.size()][];
+        for (int ordinal = 0; ordinal < ordered.size(); ordinal++) {
+            ArchivedTransaction transaction = ordered.get(ordinal);
+            writeUuid(txId, transaction.id());
+            txKey.writeUTF(transaction.idempotencyKey());
+            txStatus.writeByte(transaction.status().ordinal());
+            writeNullableText(txError, transaction.errorMessage());
+            long created = toMicros(transaction.createdAt());
+            txCreated.writeLong(created - previousCreated);
+            previousCreated = created;
+            txCompleted.writeLong(toMicros(transaction.completedAt()));
+            keyHashes[ordinal] = new long[]{hashKey(transaction.idempotencyKey()), ordinal};
+        }
+        Arrays.sort(keyHashes, Comparator.comparingLong((long[] pair) -> pair[0]).thenComparingLong(pair -> pair[1]));
+        for (long[] pair : keyHashes) {
+            txKeyHash.writeLong(pair[0]);
+            txKeyHash.writeInt((int) pair[1]);
+        }
+
+        int accountCount = 0;
+        int runLength = 0;
+        UUID currentAccount = null;
+        previousCreated = 0;
+        for (EntryRef ref : entries) {
+            ArchivedEntry entry = ref.entry();
+            if (!entry.accountId().equals(currentAccount)) {
+                if (currentAccount != null) {
+                    accountEntries.writeInt(runLength);
+                }
+                currentAccount = entry.accountId();
+                runLength = 0;
+                accountCount++;
+                writeUuid(accountId, entry.accountId());
+                accountNumber.writeUTF(entry.accountNumber());
+                accountCurrency.writeUTF(entry.currency());
+            }
+            runLength++;
+            writeUuid(entryId, entry.id());
+            entryTx.writeInt(ref.transactionOrdinal());
+            writeDecimal(entryAmount, entry.amount());
+            entryDirection.writeByte(entry.direction().ordinal());
+            long created = toMicros(entry.createdAt());
+            entryCreated.writeLong(created - previousCreated);
+            previousCreated = created;
+            writeDecimal(entryBalance, entry.balanceAfter());
+        }
+        if (currentAccount != null) {
+            accountEntries.writeInt(runLength);
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(ordered.size());
+        out.writeInt(accountCount);
+        out.writeInt(entries.size());
+        out.writeInt(columns.size());
+        List<byte[]> blobs = new ArrayList<>(columns.size());
+        for (Map.Entry<String, ByteArrayOutputStream> column : columns.entrySet()) {
+            byte[] raw = column.getValue().toByteArray();
+            byte[] compressed = deflate(raw);
+            out.writeUTF(column.getKey());
+            out.writeInt(raw.length);
+            out.writeInt(compressed.length);
+            out.writeLong(crc(raw));
+            blobs.add(compressed);
+        }
+        for (byte[] blob : blobs) {
+            out.write(blob);
+        }
+        out.flush();
+
+        byte[] bytes = body.toByteArray();
+        byte[] fileSha256 = ArchiveDigest.sha256().digest(bytes);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            ByteBuffer trailer = ByteBuffer.wrap(fileSha256);
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return new WrittenSegment(HexFormat.of().formatHex(fileSha256), digest.hex(), ordered.size(), entries.size());
+    }
+
+    static ArchiveSegment read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length < SHA256_LENGTH) {
+            throw new IOException("Archive segment " + path.getFileName() + " is truncated");
+        }
+        byte[] expected = Arrays.copyOfRange(bytes, bytes.length - SHA256_LENGTH, bytes.length);
+        MessageDigest sha256 = ArchiveDigest.sha256();
+        sha256.update(bytes, 0, bytes.length - SHA256_LENGTH);
+        if (!MessageDigest.isEqual(expected, sha256.digest())) {
+            throw new IOException("Archive segment " + path.getFileName() + " failed its file checksum");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - SHA256_LENGTH));
+        Header header = readHeader(in, path);
+        Map<String, DataInputStream> columns = new LinkedHashMap<>();
+        for (ColumnInfo column : header.columns()) {
+            byte[] compressed = in.readNBytes(column.compressedLength());
+            columns.put(column.name(), new DataInputStream(new ByteArrayInputStream(inflate(column, compressed, path))));
+        }
+
+        DataInputStream txId = require(columns, TX_ID, path);
+        DataInputStream txKey = require(columns, TX_KEY, path);
+        DataInputStream txStatus = require(columns, TX_STATUS, path);
+        DataInputStream txError = require(columns, TX_ERROR, path);
+        DataInputStream txCreated = require(columns, TX_CREATED, path);
+        DataInputStream txCompleted = require(columns, TX_COMPLETED, path);
+        DataInputStream txKeyHash = require(columns, TX_KEY_HASH, path);
+        DataInputStream accountId = require(columns, ACCOUNT_ID, path);
+        DataInputStream accountNumber = require(columns, ACCOUNT_NUMBER, path);
+        DataInputStream accountCurrency = require(columns, ACCOUNT_CURRENCY, path);
+        DataInputStream accountEntries = require(columns, ACCOUNT_ENTRIES, path);
+        DataInputStream entryId = require(columns, ENTRY_ID, path);
+        DataInputStream entryTx = require(columns, ENTRY_TX, path);
+        DataInputStream entryAmount = require(columns, ENTRY_AMOUNT, path);
+        DataInputStream entryDirection = require(columns, ENTRY_DIRECTION, path);
+        DataInputStream entryCreated = require(columns, ENTRY_CREATED, path);
+        DataInputStream entryBalance = require(columns, ENTRY_BALANCE, path);
+
+        UUID[] transactionIds = new UUID[header.transactionCount()];
+        String[] keys = new String[header.transactionCount()];
+        TransactionStatus[] statuses = new TransactionStatus[header.transactionCount()];
+        String[] errors = new String[header.transactionCount()];
+        Instant[] created = new Instant[header.transactionCount()];
+        Instant[] completed = new Instant[header.transactionCount()];
+        long previousCreated = 0;
+        for (int ordinal = 0; ordinal < header.transactionCount(); ordinal++) {
+            transactionIds[ordinal] = readUuid(txId);
+            keys[ordinal] = txKey.readUTF();
+            statuses[ordinal] = STATUSES[txStatus.readUnsignedByte()];
+            errors[ordinal] = readNullableText(txError);
+            previousCreated += txCreated.readLong();
+            created[ordinal] = fromMicros(previousCreated);
+            completed[ordinal] = fromMicros(txCompleted.readLong());
+        }
+        long[] keyHashes = new long[header.transactionCount()];
+        int[] keyOrdinals = new int[header.transactionCount()];
+        for (int i = 0; i < header.transactionCount(); i++) {
+            keyHashes[i] = txKeyHash.readLong();
+            keyOrdinals[i] = txKeyHash.readInt();
+        }
+
+        UUID[] accountIds = new UUID[header.accountCount()];
+        int[] accountFirst = new int[header.accountCount()];
+        int[] accountSize = new int[header.accountCount()];
+        ArchivedEntry[] entries = new ArchivedEntry[header.entryCount()];
+        List<List<ArchivedEntry>> entriesByTransaction = new ArrayList<>(header.transactionCount());
+        for (int ordinal = 0; ordinal < header.transactionCount(); ordinal++) {
+            entriesByTransaction.add(new ArrayList<>(2));
+        }
+        int next = 0;
+        previousCreated = 0;
+        for (int account = 0; account < header.accountCount(); account++) {
+            accountIds[account] = readUuid(accountId);
+            String number = accountNumber.readUTF();
+            String currency = accountCurrency.readUTF();
+            accountFirst[account] = next;
+            accountSize[account] = accountEntries.readInt();
+            for (int i = 0; i < accountSize[account]; i++) {
+                UUID id = readUuid(entryId);
+                int transactionOrdinal = entryTx.readInt();
+                BigDecimal amount = readDecimal(entryAmount);
+                EntryDirection direction = DIRECTIONS[entryDirection.readUnsignedByte()];
+                previousCreated += entryCreated.readLong();
+                BigDecimal balanceAfter = readDecimal(entryBalance);
+                ArchivedEntry entry = new ArchivedEntry(
+                        id,
+                        transactionIds[transactionOrdinal],
+                        accountIds[account],
+                        number,
+                        currency,
+                        amount,
+                        direction,
+                        fromMicros(previousCreated),
+                        balanceAfter
+                );
+                entries[next++] = entry;
+                entriesByTransaction.get(transactionOrdinal).add(entry);
+            }
+        }
+        if (next != header.entryCount()) {
+            throw new IOException("Archive segment " + path.getFileName() + " has inconsistent entry counts");
+        }
+
+        List<ArchivedTransaction> transactions = new ArrayList<>(header.transactionCount());
+        ArchiveDigest digest = new ArchiveDigest();
+        for (int ordinal = 0; ordinal < header.transactionCount(); ordinal++) {
+            ArchivedTransaction transaction = new ArchivedTransaction(
+                    transactionIds[ordinal],
+                    keys[ordinal],
+                    statuses[ordinal],
+                    errors[ordinal],
+                    created[ordinal],
+                    completed[ordinal],
+                    List.copyOf(entriesByTransaction.get(ordinal))
+            );
+            transactions.add(transaction);
+            digest.add(transaction);
+        }
+
+        return new ArchiveSegment(
+                path.getFileName().toString(),
+                HexFormat.of().formatHex(expected),
+                digest.hex(),
+                transactions,
+                keyHashes,
+                keyOrdinals,
+                accountIds,
+                accountFirst,
+                accountSize,
+                entries
+        );
+    }
+
+    static KeyIndex readKeyIndex(Path path) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
+            DataInputStream in = new DataInputStream(stream);
+            Header header = readHeader(in, path);
+            for (ColumnInfo column : header.columns()) {
+                if (!column.name().equals(TX_KEY_HASH)) {
+                    in.skipNBytes(column.compressedLength());
+                    continue;
+                }
+                DataInputStream hashes = new DataInputStream(new ByteArrayInputStream(
+                        inflate(column, in.readNBytes(column.compressedLength()), path)));
+                long[] keyHashes = new long[header.transactionCount()];
+                for (int i = 0; i < keyHashes.length; i++) {
+                    keyHashes[i] = hashes.readLong();
+                    hashes.readInt();
+                }
+                return new KeyIndex(keyHashes);
+            }
+        }
+        throw new IOException("Archive segment " + path.getFileName() + " has no key index");
+    }
+
+    static long hashKey(String idempotencyKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : idempotencyKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static long toMicros(Instant instant) {
+        if (instant == null) {
+            return NULL_MICROS;
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000L);
+    }
+
+    static Instant fromMicros(long micros) {
+        if (micros == NULL_MICROS) {
+            return null;
+        }
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static Header readHeader(DataInputStream in, Path path) throws IOException {
+        if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            throw new IOException("Archive segment " + path.getFileName() + " has an unsupported format");
+        }
+        int transactionCount = in.readInt();
+        int accountCount = in.readInt();
+        int entryCount = in.readInt();
+        int columnCount = in.readInt();
+        List<ColumnInfo> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(new ColumnInfo(in.readUTF(), in.readInt(), in.readInt(), in.readLong()));
+        }
+        return new Header(transactionCount, accountCount, entryCount, columns);
+    }
+
+    private static DataOutputStream column(Map<String, ByteArrayOutputStream> columns, String name) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        columns.put(name, buffer);
+        return new DataOutputStream(buffer);
+    }
+
+    private static DataInputStream require(Map<String, DataInputStream> columns, String name, Path path) throws IOException {
+        DataInputStream column = columns.get(name);
+        if (column == null) {
+            throw new IOException("Archive segment " + path.getFileName() + " is missing column " + name);
+        }
+        return column;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ColumnInfo column, byte[] compressed, Path path) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[column.rawLength()];
+            int offset = 0;
+            while (offset < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, offset, raw.length - offset);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += read;
+            }
+            if (offset != raw.length || crc(raw) != column.crc32()) {
+                throw new IOException("Archive segment " + path.getFileName() + " failed the checksum of column " + column.name());
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IOException("Archive segment " + path.getFileName() + " has a corrupt column " + column.name(), ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long crc(byte[] raw) {
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        return crc.getValue();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableText(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableText(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeShort(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        short scale = in.readShort();
+        if (scale == -1) {
+            return null;
+        }
+        byte[] unscaled = in.readNBytes(in.readUnsignedByte());
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    record WrittenSegment(String fileSha256, String contentSha256, int transactionCount, int entryCount) {
+    }
+
+    record KeyIndex(long[] keyHashes) {
+
+        boolean mightContain(long hash) {
+            return Arrays.binarySearch(keyHashes, hash) >= 0;
+        }
+    }
+
+    private record EntryRef(ArchivedEntry entry, int transactionOrdinal) {
+    }
+
+    private record ColumnInfo(String name, int rawLength, int compressedLength, long crc32) {
+    }
+
+    private record Header(int transactionCount, int accountCount, int entryCount, List<ColumnInfo> columns) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ledgerx.archive;
+
+import java.time.Instant;
+
+public record ArchiveSegmentInfo(
+        String fileName,
+        Instant periodStart,
+        Instant periodEnd,
+        Instant firstCreatedAt,
+        Instant lastCreatedAt,
+        int transactionCount,
+        int entryCount,
+        String fileSha256,
+        String contentSha256,
+        Instant archivedAt
+) {
+}
@@ -0,0 +1,577 @@
+package com.example.ledgerx.archive;
+
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.LedgerException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveService {
+
+    private static final String SEGMENTS_SQL = """
+            select file_name, period_start, period_end, first_created_at, last_created_at,
+                   transaction_count, entry_count, file_sha256, content_sha256, archived_at
+            from archive_segments
+            order by last_created_at desc, file_name desc
+            """;
+
+    private static final String SEGMENT_SQL = """
+            select file_name, period_start, period_end, first_created_at, last_created_at,
+                   transaction_count, entry_count, file_sha256, content_sha256, archived_at
+            from archive_segments
+            where file_name = ?
+            """;
+
+    private static final String INSERT_SEGMENT_SQL = """
+            insert into archive_segments (file_name, period_start, period_end, first_created_at, last_created_at,
+                                          transaction_count, entry_count, file_sha256, content_sha256, archived_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String MONTH_ROWS_SQL = """
+            select t.id, t.idempotency_key, t.status, t.error_message, t.created_at, t.completed_at,
+                   e.id as entry_id, e.account_id, a.account_number, a.currency, e.amount, e.direction,
+                   e.created_at as entry_created_at, e.balance_after
+            from transactions t
+            left join account_entries e on e.transaction_id = t.id
+            left join accounts a on a.id = e.account_id
+            where t.created_at >= ? and t.created_at < ?
+            order by t.created_at, t.id, e.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock archiveLock = new ReentrantLock();
+    private final Map<String, KeyedSegment> keyIndexes = new HashMap<>();
+    private final Map<String, ArchiveSegment> segmentCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArchiveSegment> eldest) {
+            return size() > Math.max(1, cachedSegments);
+        }
+    };
+
+    private TransactionTemplate archiveTransaction;
+    private volatile List<KeyedSegment> catalog = List.of();
+
+    @Value("${ledgerx.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.archive.dir:${java.io.tmpdir}/ledgerx-archive}")
+    private String archiveDir;
+
+    @Value("${ledgerx.archive.hot-days:30}")
+    private int hotDays;
+
+    @Value("${ledgerx.archive.segment-transactions:100000}")
+    private int segmentTransactions;
+
+    @Value("${ledgerx.archive.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${ledgerx.archive.cached-segments:4}")
+    private int cachedSegments;
+
+    @PostConstruct
+    void init() {
+        archiveTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        archiveTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshCatalog();
+    }
+
+    @Scheduled(cron = "${ledgerx.archive.cron:0 15 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveClosedMonths();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.archive.catalog-refresh-ms:60000}")
+    public void scheduledCatalogRefresh() {
+        refreshCatalog();
+    }
+
+    public List<ArchiveSegmentInfo> archiveClosedMonths() {
+        if (!archiveLock.tryLock()) {
+            throw new LedgerException("An archive run is already in progress");
+        }
+        try {
+            Instant cutoff = YearMonth.from(Instant.now().minus(Duration.ofDays(hotDays)).atOffset(ZoneOffset.UTC))
+                    .atDay(1)
+                    .atStartOfDay()
+                    .toInstant(ZoneOffset.UTC);
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                    "select min(created_at) from transactions where created_at < ?",
+                    Timestamp.class,
+                    Timestamp.from(cutoff)
+            );
+            List<ArchiveSegmentInfo> archived = new ArrayList<>();
+            if (oldest != null) {
+                YearMonth cutoffMonth = YearMonth.from(cutoff.atOffset(ZoneOffset.UTC));
+                for (YearMonth month = YearMonth.from(oldest.toInstant().atOffset(ZoneOffset.UTC));
+                     month.isBefore(cutoffMonth);
+                     month = month.plusMonths(1)) {
+                    archived.addAll(archiveMonth(month));
+                }
+            }
+            refreshCatalog();
+            return archived;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    public List<ArchiveSegmentInfo> segments() {
+        return catalog.stream().map(KeyedSegment::info).toList();
+    }
+
+    public ArchiveVerification verify(String fileName) {
+        ArchiveSegmentInfo info = jdbcTemplate.query(SEGMENT_SQL, (rs, rowNum) -> toInfo(rs), fileName).stream()
+                .findFirst()
+                .orElseThrow(() -> new LedgerException("Archive segment not found: " + fileName));
+
+        ArchiveSegment segment;
+        try {
+            segment = ArchiveSegmentFile.read(archivePath().resolve(info.fileName()));
+        } catch (IOException ex) {
+            return new ArchiveVerification(info.fileName(), false, false, false, false, ex.getMessage());
+        }
+        boolean fileChecksumMatches = segment.fileSha256().equals(info.fileSha256());
+        boolean contentChecksumMatches = segment.contentSha256().equals(info.contentSha256());
+        boolean countsMatch = segment.transactions().size() == info.transactionCount()
+                && segment.entryCount() == info.entryCount();
+        boolean valid = fileChecksumMatches && contentChecksumMatches && countsMatch;
+        return new ArchiveVerification(
+                info.fileName(),
+                valid,
+                fileChecksumMatches,
+                contentChecksumMatches,
+                countsMatch,
+                valid ? "Segment matches the rows it replaced" : "Segment does not match its catalog record"
+        );
+    }
+
+    public boolean reaches(Instant instant) {
+        List<KeyedSegment> segments = catalog;
+        return !segments.isEmpty() && !instant.isAfter(segments.get(0).info().lastCreatedAt());
+    }
+
+    public long archivedTransactionCount() {
+        return catalog.stream().mapToLong(segment -> segment.info().transactionCount()).sum();
+    }
+
+    public List<ArchivedTransaction> recentTransactions(long offset, int limit) {
+        List<ArchivedTransaction> result = new ArrayList<>(limit);
+        long skip = offset;
+        for (KeyedSegment keyed : catalog) {
+            if (result.size() == limit) {
+                break;
+            }
+            int count = keyed.info().transactionCount();
+            if (skip >= count) {
+                skip -= count;
+                continue;
+            }
+            List<ArchivedTransaction> transactions = segment(keyed.info()).transactions();
+            for (int i = count - 1 - (int) skip; i >= 0 && result.size() < limit; i--) {
+                result.add(transactions.get(i));
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    public Optional<ArchivedTransaction> findByIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        long hash = ArchiveSegmentFile.hashKey(idempotencyKey);
+        for (KeyedSegment keyed : catalog) {
+            if (keyed.keys() != null && !keyed.keys().mightContain(hash)) {
+                continue;
+            }
+            Optional<ArchivedTransaction> found = segment(keyed.info()).findByIdempotencyKey(idempotencyKey);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<ArchivedEntry> findLatestEntry(UUID accountId, Instant asOf) {
+        for (KeyedSegment keyed : catalog) {
+            if (keyed.info().firstCreatedAt().isAfter(asOf)) {
+                continue;
+            }
+            Optional<ArchivedEntry> entry = segment(keyed.info()).latestEntry(accountId, asOf);
+            if (entry.isPresent()) {
+                return entry;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<ArchivedEntry> findEarliestEntryAfter(UUID accountId, Instant asOf) {
+        List<KeyedSegment> segments = catalog;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegmentInfo info = segments.get(i).info();
+            if (!info.lastCreatedAt().isAfter(asOf)) {
+                continue;
+            }
+            Optional<ArchivedEntry> entry = segment(info).earliestEntryAfter(accountId, asOf);
+            if (entry.isPresent()) {
+                return entry;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public BigDecimal sumSignedAmountsAfter(UUID accountId, Instant asOf) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (KeyedSegment keyed : catalog) {
+            if (keyed.info().lastCreatedAt().isAfter(asOf)) {
+                sum = sum.add(segment(keyed.info()).sumSignedAmountsAfter(accountId, asOf));
+            }
+        }
+        return sum;
+    }
+
+    public void refreshCatalog() {
+        List<ArchiveSegmentInfo> infos = jdbcTemplate.query(SEGMENTS_SQL, (rs, rowNum) -> toInfo(rs));
+        List<KeyedSegment> refreshed = new ArrayList<>(infos.size());
+        synchronized (keyIndexes) {
+            for (ArchiveSegmentInfo info : infos) {
+                KeyedSegment keyed = keyIndexes.get(info.fileName());
+                if (keyed == null || !keyed.info().equals(info)) {
+                    keyed = new KeyedSegment(info, readKeyIndex(info));
+                    keyIndexes.put(info.fileName(), keyed);
+                }
+                refreshed.add(keyed);
+            }
+            keyIndexes.keySet().retainAll(infos.stream().map(ArchiveSegmentInfo::fileName).toList());
+        }
+        catalog = List.copyOf(refreshed);
+    }
+
+    private List<ArchiveSegmentInfo> archiveMonth(YearMonth month) {
+        Instant periodStart = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant periodEnd = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        List<Path> written = new ArrayList<>();
+        try {
+            List<ArchiveSegmentInfo> segments = archiveTransaction.execute(status ->
+                    archiveMonth(month, periodStart, periodEnd, written));
+            if (segments != null && !segments.isEmpty()) {
+                log.info("Archived {} transactions for {} into {} segment(s)",
+                        segments.stream().mapToInt(ArchiveSegmentInfo::transactionCount).sum(), month, segments.size());
+            }
+            return segments != null ? segments : List.of();
+        } catch (RuntimeException ex) {
+            written.forEach(this::deleteQuietly);
+            throw ex;
+        }
+    }
+
+    private List<ArchiveSegmentInfo> archiveMonth(YearMonth month, Instant periodStart, Instant periodEnd, List<Path> written) {
+        Integer pending = jdbcTemplate.queryForObject(
+                "select count(*) from transactions where created_at >= ? and created_at < ? and status = 'PENDING'",
+                Integer.class,
+                Timestamp.from(periodStart),
+                Timestamp.from(periodEnd)
+        );
+        if (pending != null && pending > 0) {
+            log.warn("Skipping archive of {}: {} transactions are still pending", month, pending);
+            return List.of();
+        }
+
+        Integer existingSegments = jdbcTemplate.queryForObject(
+                "select count(*) from archive_segments where period_start = ?",
+                Integer.class,
+                Timestamp.from(periodStart)
+        );
+        SegmentWriter writer = new SegmentWriter(month, periodStart, periodEnd,
+                existingSegments != null ? existingSegments : 0, written);
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(MONTH_ROWS_SQL);
+                    statement.setFetchSize(fetchSize);
+                    statement.setTimestamp(1, Timestamp.from(periodStart));
+                    statement.setTimestamp(2, Timestamp.from(periodEnd));
+                    return statement;
+                },
+                writer::accept
+        );
+        List<ArchiveSegmentInfo> segments = writer.finish();
+        if (segments.isEmpty()) {
+            return segments;
+        }
+
+        for (ArchiveSegmentInfo info : segments) {
+            jdbcTemplate.update(INSERT_SEGMENT_SQL,
+                    info.fileName(),
+                    Timestamp.from(info.periodStart()),
+                    Timestamp.from(info.periodEnd()),
+                    Timestamp.from(info.firstCreatedAt()),
+                    Timestamp.from(info.lastCreatedAt()),
+                    info.transactionCount(),
+                    info.entryCount(),
+                    info.fileSha256(),
+                    info.contentSha256(),
+                    Timestamp.from(info.archivedAt())
+            );
+        }
+
+        Integer derivedEntries = jdbcTemplate.queryForObject(
+                "select count(*) * 2 from transactions where compact and created_at >= ? and created_at < ?",
+                Integer.class,
+                Timestamp.from(periodStart),
+                Timestamp.from(periodEnd)
+        );
+        int expectedEntries = segments.stream().mapToInt(ArchiveSegmentInfo::entryCount).sum()
+                - (derivedEntries != null ? derivedEntries : 0);
+        int expectedTransactions = segments.stream().mapToInt(ArchiveSegmentInfo::transactionCount).sum();
+        int deletedEntries = jdbcTemplate.update("""
+                        delete from ledger_entries e using transactions t
+                        where e.transaction_id = t.id and t.created_at >= ? and t.created_at < ?
+                        """,
+                Timestamp.from(periodStart),
+                Timestamp.from(periodEnd)
+        );
+        int deletedTransactions = jdbcTemplate.update(
+                "delete from transactions where created_at >= ? and created_at < ?",
+                Timestamp.from(periodStart),
+                Timestamp.from(periodEnd)
+        );
+        if (deletedEntries != expectedEntries || deletedTransactions != expectedTransactions) {
+            throw new LedgerException("Archive of " + month + " does not match the rows it replaced: expected "
+                    + expectedTransactions + "/" + expectedEntries + " rows, deleted "
+                    + deletedTransactions + "/" + deletedEntries);
+        }
+        jdbcTemplate.update("update transaction_epoch set epoch = epoch + 1");
+        return segments;
+    }
+
+    private ArchiveSegment segment(ArchiveSegmentInfo info) {
+        synchronized (segmentCache) {
+            ArchiveSegment cached = segmentCache.get(info.fileName());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ArchiveSegment segment;
+        try {
+            segment = ArchiveSegmentFile.read(archivePath().resolve(info.fileName()));
+        } catch (IOException ex) {
+            throw new LedgerException("Failed to read archive segment " + info.fileName(), ex);
+        }
+        synchronized (segmentCache) {
+            segmentCache.put(info.fileName(), segment);
+        }
+        return segment;
+    }
+
+    private ArchiveSegmentFile.KeyIndex readKeyIndex(ArchiveSegmentInfo info) {
+        try {
+            return ArchiveSegmentFile.readKeyIndex(archivePath().resolve(info.fileName()));
+        } catch (IOException ex) {
+            log.error("Archive segment {} is unreadable; idempotency lookups will scan it", info.fileName(), ex);
+            return null;
+        }
+    }
+
+    private Path archivePath() {
+        Path path = Path.of(archiveDir);
+        try {
+            return Files.createDirectories(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Failed to remove abandoned archive segment {}", path, ex);
+        }
+    }
+
+    private static ArchiveSegmentInfo toInfo(ResultSet rs) throws SQLException {
+        return new ArchiveSegmentInfo(
+                rs.getString("file_name"),
+                rs.getTimestamp("period_start").toInstant(),
+                rs.getTimestamp("period_end").toInstant(),
+                rs.getTimestamp("first_created_at").toInstant(),
+                rs.getTimestamp("last_created_at").toInstant(),
+                rs.getInt("transaction_count"),
+                rs.getInt("entry_count"),
+                rs.getString("file_sha256"),
+                rs.getString("content_sha256"),
+                rs.getTimestamp("archived_at").toInstant()
+        );
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private record KeyedSegment(ArchiveSegmentInfo info, ArchiveSegmentFile.KeyIndex keys) {
+    }
+
+    private final class SegmentWriter {
+
+        private final YearMonth month;
+        private final Instant periodStart;
+        private final Instant periodEnd;
+        private final List<Path> written;
+        private final List<ArchiveSegmentInfo> segments = new ArrayList<>();
+        private final List<ArchivedTransaction> chunk = new ArrayList<>();
+        private int sequence;
+
+        private UUID currentId;
+        private ResultSetTransaction current;
+
+        private SegmentWriter(YearMonth month, Instant periodStart, Instant periodEnd, int sequence, List<Path> written) {
+            this.month = month;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.sequence = sequence;
+            this.written = written;
+        }
+
+        private void accept(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject("id", UUID.class);
+            if (!id.equals(currentId)) {
+                completeTransaction();
+                currentId = id;
+                current = new ResultSetTransaction(
+                        id,
+                        rs.getString("idempotency_key"),
+                        TransactionStatus.valueOf(rs.getString("status")),
+                        rs.getString("error_message"),
+                        instant(rs, "created_at"),
+                        instant(rs, "completed_at"),
+                        new ArrayList<>(2)
+                );
+            }
+            UUID entryId = rs.getObject("entry_id", UUID.class);
+            if (entryId != null) {
+                current.entries().add(new ArchivedEntry(
+                        entryId,
+                        id,
+                        rs.getObject("account_id", UUID.class),
+                        rs.getString("account_number"),
+                        rs.getString("currency"),
+                        rs.getBigDecimal("amount"),
+                        EntryDirection.valueOf(rs.getString("direction")),
+                        instant(rs, "entry_created_at"),
+                        rs.getBigDecimal("balance_after")
+                ));
+            }
+        }
+
+        private List<ArchiveSegmentInfo> finish() {
+            completeTransaction();
+            flush();
+            return segments;
+        }
+
+        private void completeTransaction() {
+            if (current == null) {
+                return;
+            }
+            chunk.add(current.toArchived());
+            current = null;
+            if (chunk.size() >= Math.max(1, segmentTransactions)) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            String fileName = "ledger-%s-%04d%s".formatted(month, ++sequence, ArchiveSegmentFile.EXTENSION);
+            Path target = archivePath().resolve(fileName);
+            try {
+                ArchiveSegmentFile.WrittenSegment segment = ArchiveSegmentFile.write(target, chunk);
+                written.add(target);
+                ArchiveSegment decoded = ArchiveSegmentFile.read(target);
+                if (!decoded.contentSha256().equals(segment.contentSha256())
+                        || decoded.transactions().size() != segment.transactionCount()
+                        || decoded.entryCount() != segment.entryCount()) {
+                    throw new LedgerException("Archive segment " + fileName + " failed verification after write");
+                }
+                segments.add(new ArchiveSegmentInfo(
+                        fileName,
+                        periodStart,
+                        periodEnd,
+                        chunk.stream().map(ArchivedTransaction::createdAt).min(Comparator.naturalOrder()).orElseThrow(),
+                        chunk.stream().map(ArchivedTransaction::createdAt).max(Comparator.naturalOrder()).orElseThrow(),
+                        segment.transactionCount(),
+                        segment.entryCount(),
+                        segment.fileSha256(),
+                        segment.contentSha256(),
+                        Instant.now()
+                ));
+            } catch (IOException ex) {
+                written.add(target);
+                throw new LedgerException("Failed to write archive segment " + fileName, ex);
+            }
+            chunk.clear();
+        }
+    }
+
+    private record ResultSetTransaction(
+            UUID id,
+            String idempotencyKey,
+            TransactionStatus status,
+            String errorMessage,
+            Instant createdAt,
+            Instant completedAt,
+            List<ArchivedEntry> entries
+    ) {
+        private ArchivedTransaction toArchived() {
+            return new ArchivedTransaction(id, idempotencyKey, status, errorMessage, createdAt, completedAt, List.copyOf(entries));
+        }
+    }
+}
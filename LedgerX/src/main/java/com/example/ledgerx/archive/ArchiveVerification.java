@@ -0,0 +1,11 @@
+package com.example.ledgerx.archive;
+
+public record ArchiveVerification(
+        String fileName,
+        boolean valid,
+        boolean fileChecksumMatches,
+        boolean contentChecksumMatches,
+        boolean countsMatch,
+        String message
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.ledgerx.archive;
+
+import com.example.ledgerx.entity.EntryDirection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ArchivedEntry(
+        UUID id,
+        UUID transactionId,
+        UUID accountId,
+        String accountNumber,
+        String currency,
+        BigDecimal amount,
+        EntryDirection direction,
+        Instant createdAt,
+        BigDecimal balanceAfter
+) {
+    public BigDecimal signedAmount() {
+        return direction == EntryDirection.CREDIT ? amount : amount.negate();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ledgerx.archive;
+
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record ArchivedTransaction(
+        UUID id,
+        String idempotencyKey,
+        TransactionStatus status,
+        String errorMessage,
+        Instant createdAt,
+        Instant completedAt,
+        List<ArchivedEntry> entries
+) {
+    public ArchivedEntry entry(EntryDirection direction) {
+        return entries.stream()
+                .filter(entry -> entry.direction() == direction)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ledgerx.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+public record AccountActivity(
+        String accountNumber,
+        ActivityGranularity granularity,
+        Instant from,
+        Instant to,
+        List<ActivityBucket> buckets
+) {
+}
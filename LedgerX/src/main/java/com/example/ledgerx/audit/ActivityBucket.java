@@ -0,0 +1,13 @@
+package com.example.ledgerx.audit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ActivityBucket(
+        Instant bucketStart,
+        long transfersIn,
+        BigDecimal volumeIn,
+        long transfersOut,
+        BigDecimal volumeOut
+) {
+}
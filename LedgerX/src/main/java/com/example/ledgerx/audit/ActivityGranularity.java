@@ -0,0 +1,18 @@
+package com.example.ledgerx.audit;
+
+import java.time.Duration;
+
+public enum ActivityGranularity {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration size;
+
+    ActivityGranularity(Duration size) {
+        this.size = size;
+    }
+
+    public Duration size() {
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ledgerx.audit;
+
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.entity.AuditLog;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class ActivityRollupService {
+
+    private static final String UPSERT_SQL = """
+            insert into account_activity_rollups (account_number, bucket_start, action, event_count, total_amount)
+            values (?, ?, ?, ?, ?)
+            on conflict (account_number, bucket_start, action) do update
+            set event_count = account_activity_rollups.event_count + excluded.event_count,
+                total_amount = account_activity_rollups.total_amount + excluded.total_amount
+            """;
+
+    private static final String ACTIVITY_SQL = """
+            select date_trunc(?, bucket_start, 'UTC') as bucket,
+                   coalesce(sum(event_count) filter (where action = 'TRANSFER_IN'), 0) as transfers_in,
+                   coalesce(sum(total_amount) filter (where action = 'TRANSFER_IN'), 0) as volume_in,
+                   coalesce(sum(event_count) filter (where action = 'TRANSFER_OUT'), 0) as transfers_out,
+                   coalesce(sum(total_amount) filter (where action = 'TRANSFER_OUT'), 0) as volume_out
+            from account_activity_rollups
+            where account_number = ? and bucket_start >= ? and bucket_start < ?
+            group by 1
+            order by 1
+            """;
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::accountNumber)
+            .thenComparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::action);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountDirectory accountDirectory;
+
+    @Value("${ledgerx.activity.max-buckets:2000}")
+    private long maxBuckets;
+
+    public int record(List<AuditLog> audits) {
+        Map<RollupKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (AuditLog audit : audits) {
+            RollupKey key = new RollupKey(audit.getAccountNumber(), audit.getTimestamp().truncatedTo(ChronoUnit.HOURS),
+                    audit.getAction());
+            deltas.merge(key, new Delta(1, audit.getAmount()), Delta::plus);
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(new Object[]{
+                key.accountNumber(), Timestamp.from(key.bucketStart()), key.action(), delta.count(), delta.amount()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+
+    public AccountActivity activity(String accountNumber, ActivityGranularity granularity, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new LedgerException("from must be before to");
+        }
+        Instant start = alignDown(from, granularity);
+        Instant end = alignDown(to, granularity);
+        if (end.isBefore(to)) {
+            end = end.plus(granularity.size());
+        }
+        long buckets = (end.getEpochSecond() - start.getEpochSecond()) / granularity.size().getSeconds();
+        if (buckets > maxBuckets) {
+            throw new LedgerException("Activity range spans " + buckets + " buckets, the limit is " + maxBuckets);
+        }
+        accountDirectory.find(accountNumber)
+                .or(() -> accountDirectory.reload(accountNumber))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        List<ActivityBucket> rows = jdbcTemplate.query(ACTIVITY_SQL, (rs, rowNum) -> new ActivityBucket(
+                rs.getTimestamp("bucket").toInstant(),
+                rs.getLong("transfers_in"),
+                rs.getBigDecimal("volume_in"),
+                rs.getLong("transfers_out"),
+                rs.getBigDecimal("volume_out")
+        ), granularity.name().toLowerCase(Locale.ROOT), accountNumber, Timestamp.from(start), Timestamp.from(end));
+        return new AccountActivity(accountNumber, granularity, start, end, rows);
+    }
+
+    private Instant alignDown(Instant instant, ActivityGranularity granularity) {
+        long size = granularity.size().getSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), size) * size);
+    }
+
+    private record RollupKey(String accountNumber, Instant bucketStart, String action) {
+    }
+
+    private record Delta(long count, BigDecimal amount) {
+
+        private Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+    }
+}
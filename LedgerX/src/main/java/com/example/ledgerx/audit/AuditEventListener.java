@@ -1,41 +1,165 @@
 package com.example.ledgerx.audit;
 
+import com.example.ledgerx.bulkhead.Bulkheads;
 import com.example.ledgerx.entity.AuditLog;
-import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.exception.BulkheadFullException;
+import com.example.ledgerx.profiling.AuditWriteEvent;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuditEventListener {
 
-    private final AuditLogRepository auditLogRepository;
+    private static final String INSERT_OUTBOX_SQL = """
+            insert into audit_outbox (transaction_id, from_account_number, to_account_number, amount)
+            values (?, ?, ?, ?)
+            """;
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    private static final String CLAIM_OUTBOX_SQL = """
+            delete from audit_outbox
+            where id in (select id from audit_outbox order by id limit ? for update skip locked)
+            returning id, from_account_number, to_account_number, amount
+            """;
+
+    private static final String INSERT_AUDIT_SQL = """
+            insert into audit_logs (id, account_number, action, amount, "timestamp")
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityRollupService activityRollupService;
+    private final Bulkheads bulkheads;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final LongAdder deferredDrains = new LongAdder();
+
+    private TransactionTemplate auditTransaction;
+
+    @Value("${ledgerx.audit.batch-size:500}")
+    private int batchSize;
+
+    @PostConstruct
+    void init() {
+        auditTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        auditTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener
+    public void enqueue(TransferCompletedEvent event) {
+        jdbcTemplate.update(INSERT_OUTBOX_SQL,
+                event.transactionId(), event.fromAccountNumber(), event.toAccountNumber(), event.amount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onTransferCompleted(TransferCompletedEvent event) {
-        Instant now = Instant.now();
+        if (!drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            bulkheads.background().execute(this::drain);
+        } catch (BulkheadFullException ex) {
+            drainRequested.set(false);
+            deferredDrains.increment();
+            log.debug("Background bulkhead is full, audit outbox is left to the scheduled drain");
+        }
+    }
 
-        AuditLog senderAudit = AuditLog.builder()
-                .accountNumber(event.fromAccountNumber())
-                .action("TRANSFER_OUT")
-                .amount(event.amount())
-                .timestamp(now)
-                .build();
+    @Scheduled(fixedDelayString = "${ledgerx.audit.drain-interval-ms:1000}")
+    public void scheduledDrain() {
+        drain();
+    }
+
+    public int drain() {
+        drainRequested.set(false);
+        int drained = 0;
+        try {
+            int batch;
+            do {
+                batch = drainBatch();
+                drained += batch;
+            } while (batch == batchSize);
+        } catch (DataAccessException ex) {
+            log.warn("Audit outbox drain stopped after {} transfers, the rest stay queued", drained, ex);
+        }
+        return drained;
+    }
 
-        AuditLog receiverAudit = AuditLog.builder()
-                .accountNumber(event.toAccountNumber())
-                .action("TRANSFER_IN")
-                .amount(event.amount())
-                .timestamp(now)
+    public long deferredDrains() {
+        return deferredDrains.sum();
+    }
+
+    private int drainBatch() {
+        AuditWriteEvent recorded = AuditWriteEvent.begin(AuditWriteEvent.OUTBOX);
+        try {
+            Integer written = auditTransaction.execute(status -> {
+                List<OutboxRow> rows = new ArrayList<>(jdbcTemplate.query(CLAIM_OUTBOX_SQL, (rs, rowNum) -> new OutboxRow(
+                        rs.getLong("id"),
+                        rs.getString("from_account_number"),
+                        rs.getString("to_account_number"),
+                        rs.getBigDecimal("amount")
+                ), batchSize));
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                rows.sort(Comparator.comparingLong(OutboxRow::id));
+                Instant now = Instant.now();
+                List<AuditLog> audits = new ArrayList<>(rows.size() * 2);
+                for (OutboxRow row : rows) {
+                    audits.add(audit(row.fromAccountNumber(), "TRANSFER_OUT", row.amount(), now));
+                    audits.add(audit(row.toAccountNumber(), "TRANSFER_IN", row.amount(), now));
+                }
+                jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, audits.stream()
+                        .map(audit -> new Object[]{audit.getId(), audit.getAccountNumber(), audit.getAction(),
+                                audit.getAmount(), Timestamp.from(audit.getTimestamp())})
+                        .toList());
+                activityRollupService.record(audits);
+                return rows.size();
+            });
+            int transfers = written == null ? 0 : written;
+            if (transfers > 0) {
+                recorded.finish(transfers, AuditWriteEvent.OK);
+            }
+            return transfers;
+        } catch (RuntimeException ex) {
+            recorded.finish(0, ex.getClass().getSimpleName());
+            throw ex;
+        }
+    }
+
+    private AuditLog audit(String accountNumber, String action, BigDecimal amount, Instant timestamp) {
+        return AuditLog.builder()
+                .id(UUID.randomUUID())
+                .accountNumber(accountNumber)
+                .action(action)
+                .amount(amount)
+                .timestamp(timestamp)
                 .build();
+    }
 
-        auditLogRepository.save(senderAudit);
-        auditLogRepository.save(receiverAudit);
+    private record OutboxRow(long id, String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
     }
 }
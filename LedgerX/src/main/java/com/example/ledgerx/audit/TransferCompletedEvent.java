@@ -1,10 +1,16 @@
 package com.example.ledgerx.audit;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
 
 public record TransferCompletedEvent(
+        UUID transactionId,
+        String idempotencyKey,
         String fromAccountNumber,
         String toAccountNumber,
-        BigDecimal amount
+        BigDecimal amount,
+        String currency,
+        Instant createdAt
 ) {
 }
@@ -0,0 +1,195 @@
+package com.example.ledgerx.bulk;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+class BulkStagingReader extends Reader {
+
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final BufferedReader source;
+    private final BulkTransferFormat format;
+    private final ObjectMapper objectMapper;
+    private final String jobId;
+
+    private String pending = "";
+    private int position;
+    private long lineNumber;
+    private boolean firstLine = true;
+
+    BulkStagingReader(Reader source, BulkTransferFormat format, ObjectMapper objectMapper, UUID jobId) {
+        this.source = new BufferedReader(source, 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.jobId = jobId.toString();
+    }
+
+    long rowsStaged() {
+        return lineNumber;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= pending.length()) {
+            String next = nextStagingLine();
+            if (next == null) {
+                return -1;
+            }
+            pending = next;
+            position = 0;
+        }
+        int count = Math.min(length, pending.length() - position);
+        pending.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private String nextStagingLine() throws IOException {
+        while (true) {
+            String line = source.readLine();
+            if (line == null) {
+                return null;
+            }
+            boolean header = firstLine && format == BulkTransferFormat.CSV
+                    && line.toLowerCase(Locale.ROOT).startsWith("idempotency");
+            firstLine = false;
+            if (line.isBlank() || header) {
+                continue;
+            }
+            lineNumber++;
+            return toStagingRow(parse(line));
+        }
+    }
+
+    private ParsedLine parse(String line) {
+        BulkTransferLine parsed;
+        if (format == BulkTransferFormat.NDJSON) {
+            try {
+                parsed = objectMapper.readValue(line, BulkTransferLine.class);
+            } catch (RuntimeException ex) {
+                return ParsedLine.rejected("Malformed NDJSON row");
+            }
+        } else {
+            List<String> fields = splitCsv(line);
+            if (fields.size() != 5) {
+                return ParsedLine.rejected("Expected 5 columns: idempotency_key,from_account,to_account,amount,currency");
+            }
+            BigDecimal amount;
+            try {
+                amount = fields.get(3).isBlank() ? null : new BigDecimal(fields.get(3).trim());
+            } catch (NumberFormatException ex) {
+                return ParsedLine.rejected("Invalid transfer amount");
+            }
+            parsed = new BulkTransferLine(fields.get(0), fields.get(1), fields.get(2), amount, fields.get(4));
+        }
+
+        String key = trimToNull(parsed.idempotencyKey());
+        String from = trimToNull(parsed.fromAccount());
+        String to = trimToNull(parsed.toAccount());
+        String currency = trimToNull(parsed.currency());
+        if (key == null) {
+            return ParsedLine.rejected("Idempotency key is required");
+        }
+        if (tooLong(key) || tooLong(from) || tooLong(to) || tooLong(currency)) {
+            return ParsedLine.rejected("Field exceeds " + MAX_TEXT_LENGTH + " characters");
+        }
+        BigDecimal amount = parsed.amount();
+        if (amount != null && amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            return ParsedLine.rejected("Transfer amount is out of range");
+        }
+        return new ParsedLine(key, from, to, amount, currency, BulkTransferRowStatus.STAGED, null);
+    }
+
+    private String toStagingRow(ParsedLine line) {
+        StringBuilder row = new StringBuilder(128);
+        row.append(jobId).append(',').append(lineNumber).append(',');
+        appendText(row, line.idempotencyKey()).append(',');
+        appendText(row, line.fromAccount()).append(',');
+        appendText(row, line.toAccount()).append(',');
+        if (line.amount() != null) {
+            row.append(line.amount().toPlainString());
+        }
+        row.append(',');
+        appendText(row, line.currency()).append(',');
+        row.append(line.status().name()).append(',');
+        appendText(row, line.errorMessage()).append('\n');
+        return row.toString();
+    }
+
+    private StringBuilder appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private record ParsedLine(
+            String idempotencyKey,
+            String fromAccount,
+            String toAccount,
+            BigDecimal amount,
+            String currency,
+            BulkTransferRowStatus status,
+            String errorMessage
+    ) {
+        static ParsedLine rejected(String errorMessage) {
+            return new ParsedLine(null, null, null, null, null, BulkTransferRowStatus.REJECTED, errorMessage);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.ledgerx.bulk;
+
+public enum BulkTransferFormat {
+    CSV,
+    NDJSON
+}
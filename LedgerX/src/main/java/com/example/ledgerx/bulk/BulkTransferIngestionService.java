@@ -0,0 +1,615 @@
+package com.example.ledgerx.bulk;
+
+import com.example.ledgerx.api.BulkTransferResponseDTO;
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import com.example.ledgerx.service.LedgerPoster;
+import com.example.ledgerx.service.TransferRules;
+import com.example.ledgerx.service.TransferService;
+import com.example.ledgerx.velocity.VelocityBudget;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkTransferIngestionService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final int STREAM_FETCH_SIZE = 10_000;
+    private static final String LOCK_BUSY_MESSAGE = "System busy, please retry the transaction";
+
+    private static final String COPY_IN_SQL = """
+            COPY bulk_transfer_rows (job_id, line_number, idempotency_key, from_account, to_account,
+                                     amount, currency, status, error_message)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String UPDATE_ROW_SQL = """
+            update bulk_transfer_rows set status = ?, error_message = ?, transaction_id = ?
+            where job_id = ? and line_number = ?
+            """;
+
+    private static final String INSERT_JOB_SQL = """
+            insert into bulk_transfer_jobs (id, status, row_count, created_at) values (?, ?, ?, ?)
+            """;
+
+    private static final String COUNT_JOB_ROWS_SQL = """
+            insert into bulk_transfer_job_counts (job_id, status, row_count)
+            select job_id, status, count(*) from bulk_transfer_rows where job_id = ? group by job_id, status
+            """;
+
+    private static final String FINISH_JOB_SQL = """
+            update bulk_transfer_jobs
+            set status = ?, result_file = ?, error_message = ?, elapsed_millis = ?, completed_at = ?
+            where id = ?
+            """;
+
+    private static final String SELECT_JOB_SQL = """
+            select id, status, row_count, result_file, error_message, elapsed_millis
+            from bulk_transfer_jobs
+            where id = ?
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final LedgerPoster ledgerPoster;
+    private final TransferService transferService;
+    private final ArchiveService archiveService;
+    private final VelocityLimitService velocityLimitService;
+    private final Bulkheads bulkheads;
+
+    @Value("${ledgerx.bulk.parallelism:8}")
+    private int parallelism;
+
+    @Value("${ledgerx.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${ledgerx.bulk.result-dir:${java.io.tmpdir}/ledgerx-bulk}")
+    private String resultDir;
+
+    public BulkTransferResponseDTO submit(InputStream body, BulkTransferFormat format) {
+        UUID jobId = UUID.randomUUID();
+        long started = System.nanoTime();
+
+        try {
+            long rows = Bulkhead.BACKGROUND.call(() -> stage(jobId, body, format));
+            jdbcTemplate.update(INSERT_JOB_SQL, jobId, BulkTransferJobStatus.RUNNING.name(), rows, Timestamp.from(Instant.now()));
+            bulkheads.background().execute(() -> runJob(jobId, rows, started));
+        } catch (RuntimeException ex) {
+            jdbcTemplate.update("delete from bulk_transfer_jobs where id = ?", jobId);
+            purge(jobId);
+            throw ex;
+        }
+        return job(jobId).orElseThrow();
+    }
+
+    public Optional<BulkTransferResponseDTO> job(UUID jobId) {
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        List<BulkTransferResponseDTO> jobs = jdbcTemplate.query(SELECT_JOB_SQL,
+                (rs, rowNum) -> new BulkTransferResponseDTO(
+                        rs.getObject("id", UUID.class),
+                        BulkTransferJobStatus.valueOf(rs.getString("status")),
+                        rs.getLong("row_count"),
+                        statusCounts,
+                        rs.getString("result_file"),
+                        rs.getObject("elapsed_millis", Long.class),
+                        rs.getString("error_message")
+                ),
+                jobId);
+        if (jobs.isEmpty()) {
+            return Optional.empty();
+        }
+        jdbcTemplate.query(
+                "select status, row_count from bulk_transfer_job_counts where job_id = ? order by status",
+                rs -> {
+                    statusCounts.put(rs.getString("status"), rs.getLong("row_count"));
+                },
+                jobId
+        );
+        return Optional.of(jobs.get(0));
+    }
+
+    private void runJob(UUID jobId, long rows, long started) {
+        try {
+            markDuplicateKeys(jobId);
+            List<long[]> partitions = partition(jobId);
+            applyPartitions(jobId, partitions);
+            resolveDuplicates(jobId);
+            Path resultFile = writeResults(jobId);
+
+            long elapsedMillis = finish(jobId, BulkTransferJobStatus.COMPLETED, resultFile.toString(), null, started);
+            log.info("Bulk transfer job {} applied {} rows in {} partitions in {} ms", jobId, rows, partitions.size(), elapsedMillis);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk transfer job {} failed", jobId, ex);
+            finish(jobId, BulkTransferJobStatus.FAILED, null, sanitizeError(ex.getMessage()), started);
+        } finally {
+            purge(jobId);
+        }
+    }
+
+    private long finish(UUID jobId, BulkTransferJobStatus status, String resultFile, String error, long started) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.update(COUNT_JOB_ROWS_SQL, jobId);
+                jdbcTemplate.update(FINISH_JOB_SQL, status.name(), resultFile, error, elapsedMillis,
+                        Timestamp.from(Instant.now()), jobId);
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Failed to record the outcome of bulk transfer job {}: {}", jobId, ex.getMessage());
+        }
+        return elapsedMillis;
+    }
+
+    public Path resultFile(UUID jobId) {
+        return Path.of(resultDir).resolve(jobId + ".csv");
+    }
+
+    private long stage(UUID jobId, InputStream body, BulkTransferFormat format) {
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            BulkStagingReader reader = new BulkStagingReader(
+                    new InputStreamReader(body, StandardCharsets.UTF_8),
+                    format,
+                    objectMapper,
+                    jobId
+            );
+            copyManager.copyIn(COPY_IN_SQL, reader);
+            return reader.rowsStaged();
+        } catch (SQLException | IOException ex) {
+            throw new LedgerException("Failed to stage bulk transfer file", ex);
+        }
+    }
+
+    private void markDuplicateKeys(UUID jobId) {
+        jdbcTemplate.update("""
+                update bulk_transfer_rows r
+                set status = 'DUPLICATE'
+                from (
+                    select idempotency_key, min(line_number) as first_line
+                    from bulk_transfer_rows
+                    where job_id = ? and status = 'STAGED'
+                    group by idempotency_key
+                    having count(*) > 1
+                ) d
+                where r.job_id = ? and r.status = 'STAGED'
+                  and r.idempotency_key = d.idempotency_key and r.line_number > d.first_line
+                """, jobId, jobId);
+    }
+
+    private List<long[]> partition(UUID jobId) {
+        RowGraph graph = new RowGraph();
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(STREAM_FETCH_SIZE);
+        transactionTemplate.executeWithoutResult(status -> streaming.query(
+                """
+                        select line_number, from_account, to_account
+                        from bulk_transfer_rows
+                        where job_id = ? and status = 'STAGED'
+                        order by line_number
+                        """,
+                rs -> {
+                    graph.add(rs.getLong("line_number"), rs.getString("from_account"), rs.getString("to_account"));
+                },
+                jobId
+        ));
+        return graph.partitions(Math.max(1, parallelism));
+    }
+
+    private void applyPartitions(UUID jobId, List<long[]> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(partitions.size(), Bulkhead.BACKGROUND.threadFactory("bulk"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] lines : partitions) {
+                futures.add(executor.submit(() -> applyPartition(jobId, lines)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LedgerException("Bulk transfer job interrupted: " + jobId, ex);
+        } catch (ExecutionException ex) {
+            throw new LedgerException("Bulk transfer job failed: " + jobId, ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void applyPartition(UUID jobId, long[] lines) {
+        for (int start = 0; start < lines.length; start += chunkSize) {
+            long[] chunk = Arrays.copyOfRange(lines, start, Math.min(lines.length, start + chunkSize));
+            List<StagedRow> rows = loadRows(jobId, chunk);
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(jobId, rows));
+            } catch (DataAccessException ex) {
+                log.warn("Bulk chunk for job {} fell back to single transfers: {}", jobId, ex.getMessage());
+                rows.forEach(row -> applyIndividually(jobId, row));
+            }
+        }
+    }
+
+    private List<StagedRow> loadRows(UUID jobId, long[] lines) {
+        return jdbcTemplate.query("""
+                        select line_number, idempotency_key, from_account, to_account, amount, currency
+                        from bulk_transfer_rows
+                        where job_id = ? and line_number = any(?)
+                        order by line_number
+                        """,
+                (rs, rowNum) -> new StagedRow(
+                        rs.getLong("line_number"),
+                        rs.getString("idempotency_key"),
+                        rs.getString("from_account"),
+                        rs.getString("to_account"),
+                        rs.getBigDecimal("amount"),
+                        rs.getString("currency")
+                ),
+                jobId,
+                lines
+        );
+    }
+
+    private void applyChunk(UUID jobId, List<StagedRow> rows) {
+        jdbcTemplate.execute("set local lock_timeout = '3s'");
+
+        Map<String, ExistingTransaction> existing = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, idempotency_key, status from transactions where idempotency_key = any(?)",
+                rs -> {
+                    existing.put(rs.getString("idempotency_key"), new ExistingTransaction(
+                            rs.getObject("id", UUID.class),
+                            TransactionStatus.valueOf(rs.getString("status"))
+                    ));
+                },
+                (Object) rows.stream().map(StagedRow::idempotencyKey).toArray(String[]::new)
+        );
+
+        for (StagedRow row : rows) {
+            if (!existing.containsKey(row.idempotencyKey())) {
+                archiveService.findByIdempotencyKey(row.idempotencyKey()).ifPresent(archived -> existing.put(
+                        row.idempotencyKey(), new ExistingTransaction(archived.id(), archived.status())));
+            }
+        }
+
+        String[] accountNumbers = rows.stream()
+                .filter(row -> !existing.containsKey(row.idempotencyKey()))
+                .flatMap(row -> Stream.of(row.fromAccount(), row.toAccount()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(String[]::new);
+        Map<String, Account> accounts = new HashMap<>();
+        jdbcTemplate.query(
+                """
+                        select id, account_number, currency, balance, held_amount, status
+                        from accounts
+                        where account_number = any(?)
+                        order by id
+                        for update
+                        """,
+                rs -> {
+                    Account account = Account.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .accountNumber(rs.getString("account_number"))
+                            .currency(rs.getString("currency"))
+                            .balance(rs.getBigDecimal("balance"))
+                            .heldAmount(rs.getBigDecimal("held_amount"))
+                            .status(AccountStatus.valueOf(rs.getString("status")))
+                            .build();
+                    accounts.put(account.getAccountNumber(), account);
+                },
+                (Object) accountNumbers
+        );
+        VelocityBudget velocityBudget = velocityLimitService.budget(accounts.values());
+
+        Instant now = LedgerPoster.now();
+        List<LedgerPoster.Posting> postings = new ArrayList<>();
+        List<LedgerPoster.Failure> failures = new ArrayList<>();
+        List<Object[]> rowUpdates = new ArrayList<>(rows.size());
+        Map<UUID, Account> touched = new LinkedHashMap<>();
+
+        for (StagedRow row : rows) {
+            ExistingTransaction previous = existing.get(row.idempotencyKey());
+            if (previous != null) {
+                rowUpdates.add(replayOutcome(jobId, row, previous));
+                continue;
+            }
+
+            UUID transactionId = UUID.randomUUID();
+            try {
+                TransferRules.validateRequest(
+                        row.fromAccount(), row.toAccount(), row.amount(), row.currency(), row.idempotencyKey()
+                );
+                velocityLimitService.reserve(row.fromAccount(), row.amount());
+                String firstNumber = row.fromAccount().compareTo(row.toAccount()) <= 0 ? row.fromAccount() : row.toAccount();
+                String secondNumber = firstNumber.equals(row.fromAccount()) ? row.toAccount() : row.fromAccount();
+                requireAccount(accounts, firstNumber);
+                requireAccount(accounts, secondNumber);
+                Account from = accounts.get(row.fromAccount());
+                Account to = accounts.get(row.toAccount());
+
+                TransferRules.validateBusinessRules(from, to, row.amount(), row.currency());
+                velocityBudget.reserve(from, row.amount());
+
+                from.setBalance(from.getBalance().subtract(row.amount()));
+                to.setBalance(to.getBalance().add(row.amount()));
+                touched.put(from.getId(), from);
+                touched.put(to.getId(), to);
+
+                postings.add(new LedgerPoster.Posting(transactionId, row.idempotencyKey(), from, to, row.amount(),
+                        row.currency(), from.getBalance(), to.getBalance(), now));
+                rowUpdates.add(new Object[]{
+                        BulkTransferRowStatus.COMPLETED.name(), null, transactionId, jobId, row.lineNumber()
+                });
+            } catch (VelocityLimitExceededException ex) {
+                rowUpdates.add(new Object[]{
+                        BulkTransferRowStatus.FAILED.name(), sanitizeError(ex.getMessage()), null, jobId, row.lineNumber()
+                });
+            } catch (LedgerException ex) {
+                String error = sanitizeError(ex.getMessage());
+                failures.add(new LedgerPoster.Failure(transactionId, row.idempotencyKey(), error, now));
+                rowUpdates.add(new Object[]{
+                        BulkTransferRowStatus.FAILED.name(), error, transactionId, jobId, row.lineNumber()
+                });
+            }
+        }
+
+        ledgerPoster.post(postings, touched.values());
+        ledgerPoster.recordFailed(failures);
+        jdbcTemplate.batchUpdate(UPDATE_ROW_SQL, rowUpdates);
+    }
+
+    private void applyIndividually(UUID jobId, StagedRow row) {
+        Object[] update;
+        try {
+            TransferResponseDTO transaction = transferService.processTransfer(
+                    row.fromAccount(), row.toAccount(), row.amount(), row.currency(), row.idempotencyKey()
+            );
+            update = new Object[]{
+                    BulkTransferRowStatus.COMPLETED.name(), null, transaction.id(), jobId, row.lineNumber()
+            };
+        } catch (IdempotencyConflictException | VelocityLimitExceededException ex) {
+            update = new Object[]{
+                    BulkTransferRowStatus.FAILED.name(), sanitizeError(ex.getMessage()), null, jobId, row.lineNumber()
+            };
+        } catch (LedgerException ex) {
+            UUID transactionId = jdbcTemplate.query(
+                    "select id from transactions where idempotency_key = ?",
+                    rs -> rs.next() ? rs.getObject("id", UUID.class) : null,
+                    row.idempotencyKey()
+            );
+            update = new Object[]{
+                    BulkTransferRowStatus.FAILED.name(), sanitizeError(ex.getMessage()), transactionId, jobId, row.lineNumber()
+            };
+        } catch (DataAccessException ex) {
+            update = new Object[]{
+                    BulkTransferRowStatus.FAILED.name(), LOCK_BUSY_MESSAGE, null, jobId, row.lineNumber()
+            };
+        }
+        jdbcTemplate.update(UPDATE_ROW_SQL, update);
+    }
+
+    private Object[] replayOutcome(UUID jobId, StagedRow row, ExistingTransaction previous) {
+        if (previous.status() == TransactionStatus.COMPLETED) {
+            return new Object[]{BulkTransferRowStatus.REPLAYED.name(), null, previous.id(), jobId, row.lineNumber()};
+        }
+        String error = previous.status() == TransactionStatus.PENDING
+                ? "Transfer is already being processed for idempotency key: " + row.idempotencyKey()
+                : "Idempotency key cannot be reused with transaction status: " + previous.status();
+        return new Object[]{BulkTransferRowStatus.FAILED.name(), sanitizeError(error), null, jobId, row.lineNumber()};
+    }
+
+    private void resolveDuplicates(UUID jobId) {
+        jdbcTemplate.update("""
+                update bulk_transfer_rows r
+                set status = case when f.status in ('COMPLETED', 'REPLAYED') then 'REPLAYED' else 'FAILED' end,
+                    transaction_id = case when f.status in ('COMPLETED', 'REPLAYED') then f.transaction_id end,
+                    error_message = case when f.status in ('COMPLETED', 'REPLAYED') then null
+                                         else 'Idempotency key cannot be reused with transaction status: FAILED' end
+                from bulk_transfer_rows f
+                where r.job_id = ? and r.status = 'DUPLICATE'
+                  and f.job_id = r.job_id and f.idempotency_key = r.idempotency_key and f.status <> 'DUPLICATE'
+                """, jobId);
+    }
+
+    private Path writeResults(UUID jobId) {
+        Path file = resultFile(jobId);
+        try (Connection connection = dataSource.getConnection()) {
+            Files.createDirectories(file.getParent());
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                copyManager.copyOut("""
+                        COPY (
+                            select line_number, idempotency_key, status, transaction_id, error_message
+                            from bulk_transfer_rows
+                            where job_id = '%s'
+                            order by line_number
+                        ) TO STDOUT WITH (FORMAT csv, HEADER)
+                        """.formatted(jobId), writer);
+            }
+            return file;
+        } catch (SQLException | IOException ex) {
+            throw new LedgerException("Failed to write bulk transfer results for job: " + jobId, ex);
+        }
+    }
+
+    private void purge(UUID jobId) {
+        try {
+            jdbcTemplate.update("delete from bulk_transfer_rows where job_id = ?", jobId);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to purge staging rows of bulk transfer job {}: {}", jobId, ex.getMessage());
+        }
+    }
+
+    private void requireAccount(Map<String, Account> accounts, String accountNumber) {
+        if (!accounts.containsKey(accountNumber)) {
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+        }
+    }
+
+    private String sanitizeError(String error) {
+        if (error == null || error.isBlank()) {
+            return "Transfer failed";
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record StagedRow(
+            long lineNumber,
+            String idempotencyKey,
+            String fromAccount,
+            String toAccount,
+            BigDecimal amount,
+            String currency
+    ) {
+    }
+
+    private record ExistingTransaction(UUID id, TransactionStatus status) {
+    }
+
+    private static final class RowGraph {
+
+        private final Map<String, Integer> accountIndex = new HashMap<>();
+        private long[] lines = new long[1024];
+        private int[] nodes = new int[1024];
+        private int[] parent = new int[1024];
+        private int rowCount;
+        private int nodeCount;
+
+        void add(long lineNumber, String fromAccount, String toAccount) {
+            int from = node(fromAccount);
+            int to = node(toAccount);
+            union(from, to);
+            if (rowCount == lines.length) {
+                lines = Arrays.copyOf(lines, rowCount * 2);
+                nodes = Arrays.copyOf(nodes, rowCount * 2);
+            }
+            lines[rowCount] = lineNumber;
+            nodes[rowCount] = from;
+            rowCount++;
+        }
+
+        List<long[]> partitions(int workers) {
+            Map<Integer, List<Long>> components = new HashMap<>();
+            for (int i = 0; i < rowCount; i++) {
+                components.computeIfAbsent(find(nodes[i]), ignored -> new ArrayList<>()).add(lines[i]);
+            }
+
+            List<List<Long>> ordered = new ArrayList<>(components.values());
+            ordered.sort(Comparator.comparingInt((List<Long> component) -> component.size()).reversed());
+
+            int bucketCount = Math.min(workers, ordered.size());
+            List<List<Long>> buckets = new ArrayList<>(bucketCount);
+            PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                    Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size())
+            );
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(new ArrayList<>());
+                lightest.add(i);
+            }
+            for (List<Long> component : ordered) {
+                int bucket = lightest.poll();
+                buckets.get(bucket).addAll(component);
+                lightest.add(bucket);
+            }
+
+            List<long[]> partitions = new ArrayList<>(bucketCount);
+            for (List<Long> bucket : buckets) {
+                long[] sorted = bucket.stream().mapToLong(Long::longValue).sorted().toArray();
+                partitions.add(sorted);
+            }
+            return partitions;
+        }
+
+        private int node(String accountNumber) {
+            if (accountNumber == null) {
+                return newNode();
+            }
+            Integer existing = accountIndex.get(accountNumber);
+            if (existing != null) {
+                return existing;
+            }
+            int created = newNode();
+            accountIndex.put(accountNumber, created);
+            return created;
+        }
+
+        private int newNode() {
+            if (nodeCount == parent.length) {
+                parent = Arrays.copyOf(parent, nodeCount * 2);
+            }
+            parent[nodeCount] = nodeCount;
+            return nodeCount++;
+        }
+
+        private int find(int node) {
+            while (parent[node] != node) {
+                parent[node] = parent[parent[node]];
+                node = parent[node];
+            }
+            return node;
+        }
+
+        private void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA != rootB) {
+                parent[rootA] = rootB;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ledgerx.bulk;
+
+public enum BulkTransferJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.example.ledgerx.bulk;
+
+import java.math.BigDecimal;
+
+public record BulkTransferLine(
+        String idempotencyKey,
+        String fromAccount,
+        String toAccount,
+        BigDecimal amount,
+        String currency
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.ledgerx.bulk;
+
+public enum BulkTransferRowStatus {
+    STAGED,
+    REJECTED,
+    DUPLICATE,
+    COMPLETED,
+    REPLAYED,
+    FAILED
+}
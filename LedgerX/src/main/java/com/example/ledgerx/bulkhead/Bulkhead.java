@@ -0,0 +1,56 @@
+package com.example.ledgerx.bulkhead;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public enum Bulkhead {
+    TRANSFER,
+    READ,
+    BACKGROUND;
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Bulkhead bulkhead) {
+        CURRENT.set(bulkhead);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        Bulkhead previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public ThreadFactory threadFactory(String name) {
+        String prefix = "ledgerx-" + name.toLowerCase(Locale.ROOT) + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                bind(this);
+                runnable.run();
+            }, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
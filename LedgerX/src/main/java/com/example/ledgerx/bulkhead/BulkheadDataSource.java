@@ -0,0 +1,37 @@
+package com.example.ledgerx.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BulkheadDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Bulkhead, HikariDataSource> pools;
+
+    BulkheadDataSource(HikariDataSource primary, Map<Bulkhead, HikariDataSource> dedicated) {
+        this.pools = new EnumMap<>(Bulkhead.class);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            pools.put(bulkhead, dedicated.getOrDefault(bulkhead, primary));
+        }
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public HikariDataSource pool(Bulkhead bulkhead) {
+        return pools.get(bulkhead);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Bulkhead.current();
+    }
+
+    @Override
+    public void close() {
+        pools.values().stream().distinct().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ledgerx.bulkhead;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource primary)
+                || !environment.getProperty("ledgerx.bulkhead.enabled", Boolean.class, true)) {
+            return bean;
+        }
+        Map<Bulkhead, HikariDataSource> dedicated = new EnumMap<>(Bulkhead.class);
+        dedicated.put(Bulkhead.READ, dedicatedPool(primary, Bulkhead.READ,
+                environment.getProperty("ledgerx.bulkhead.read.pool-size", Integer.class, 4)));
+        dedicated.put(Bulkhead.BACKGROUND, dedicatedPool(primary, Bulkhead.BACKGROUND,
+                environment.getProperty("ledgerx.bulkhead.background.pool-size", Integer.class, 2)));
+        return new BulkheadDataSource(primary, dedicated);
+    }
+
+    private HikariDataSource dedicatedPool(HikariDataSource primary, Bulkhead bulkhead, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        String primaryName = primary.getPoolName() != null ? primary.getPoolName() : "ledgerx";
+        config.setPoolName(primaryName + "-" + bulkhead.name().toLowerCase(Locale.ROOT));
+        config.setMaximumPoolSize(Math.max(1, poolSize));
+        config.setMinimumIdle(Math.min(Math.max(0, primary.getMinimumIdle()), config.getMaximumPoolSize()));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ledgerx.bulkhead;
+
+import com.example.ledgerx.exception.BulkheadFullException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public final class BulkheadExecutor {
+
+    private final Bulkhead bulkhead;
+    private final int threads;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    BulkheadExecutor(Bulkhead bulkhead, int threads, int queueCapacity) {
+        this.bulkhead = bulkhead;
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.executor = new ThreadPoolExecutor(
+                this.threads,
+                this.threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                bulkhead.threadFactory(bulkhead.name()),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    public void execute(Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                maxQueueWaitNanos.accumulateAndGet(System.nanoTime() - enqueuedAt, Math::max);
+                task.run();
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new BulkheadFullException("System busy, please retry the request");
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                future.complete(work.get());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    BulkheadStats stats(int poolSize, int activeConnections, int idleConnections, int threadsAwaitingConnection) {
+        int active = executor.getActiveCount();
+        int queued = executor.getQueue().size();
+        return new BulkheadStats(
+                bulkhead,
+                threads,
+                active,
+                queued,
+                queueCapacity,
+                executor.getCompletedTaskCount(),
+                rejected.sum(),
+                TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.getAndSet(0)),
+                poolSize,
+                activeConnections,
+                idleConnections,
+                threadsAwaitingConnection,
+                (double) (active + queued) / (threads + queueCapacity)
+        );
+    }
+
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
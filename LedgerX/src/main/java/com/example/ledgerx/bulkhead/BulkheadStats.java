@@ -0,0 +1,18 @@
+package com.example.ledgerx.bulkhead;
+
+public record BulkheadStats(
+        Bulkhead bulkhead,
+        int threads,
+        int activeThreads,
+        int queued,
+        int queueCapacity,
+        long completed,
+        long rejected,
+        long maxQueueWaitMillis,
+        int poolSize,
+        int activeConnections,
+        int idleConnections,
+        int threadsAwaitingConnection,
+        double saturation
+) {
+}
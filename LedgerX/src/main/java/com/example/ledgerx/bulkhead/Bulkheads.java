@@ -0,0 +1,93 @@
+package com.example.ledgerx.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class Bulkheads {
+
+    private final DataSource dataSource;
+
+    private final Map<Bulkhead, BulkheadExecutor> executors = new EnumMap<>(Bulkhead.class);
+
+    @Value("${ledgerx.bulkhead.transfer.threads:10}")
+    private int transferThreads;
+
+    @Value("${ledgerx.bulkhead.transfer.queue:256}")
+    private int transferQueue;
+
+    @Value("${ledgerx.bulkhead.read.threads:4}")
+    private int readThreads;
+
+    @Value("${ledgerx.bulkhead.read.queue:64}")
+    private int readQueue;
+
+    @Value("${ledgerx.bulkhead.background.threads:2}")
+    private int backgroundThreads;
+
+    @Value("${ledgerx.bulkhead.background.queue:10000}")
+    private int backgroundQueue;
+
+    @PostConstruct
+    void init() {
+        executors.put(Bulkhead.TRANSFER, new BulkheadExecutor(Bulkhead.TRANSFER, transferThreads, transferQueue));
+        executors.put(Bulkhead.READ, new BulkheadExecutor(Bulkhead.READ, readThreads, readQueue));
+        executors.put(Bulkhead.BACKGROUND, new BulkheadExecutor(Bulkhead.BACKGROUND, backgroundThreads, backgroundQueue));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(BulkheadExecutor::shutdown);
+    }
+
+    public BulkheadExecutor transfer() {
+        return executors.get(Bulkhead.TRANSFER);
+    }
+
+    public BulkheadExecutor read() {
+        return executors.get(Bulkhead.READ);
+    }
+
+    public BulkheadExecutor background() {
+        return executors.get(Bulkhead.BACKGROUND);
+    }
+
+    public List<BulkheadStats> stats() {
+        BulkheadDataSource routing = routingDataSource();
+        return executors.values().stream()
+                .map(executor -> {
+                    HikariDataSource pool = routing != null ? routing.pool(executor.bulkhead()) : null;
+                    HikariPoolMXBean metrics = pool != null ? pool.getHikariPoolMXBean() : null;
+                    if (metrics == null) {
+                        return executor.stats(pool != null ? pool.getMaximumPoolSize() : 0, 0, 0, 0);
+                    }
+                    return executor.stats(
+                            pool.getMaximumPoolSize(),
+                            metrics.getActiveConnections(),
+                            metrics.getIdleConnections(),
+                            metrics.getThreadsAwaitingConnection()
+                    );
+                })
+                .toList();
+    }
+
+    private BulkheadDataSource routingDataSource() {
+        try {
+            return dataSource.isWrapperFor(BulkheadDataSource.class) ? dataSource.unwrap(BulkheadDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
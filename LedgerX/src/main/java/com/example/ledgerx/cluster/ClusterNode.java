@@ -0,0 +1,7 @@
+package com.example.ledgerx.cluster;
+
+public record ClusterNode(
+        String nodeId,
+        String baseUrl
+) {
+}
@@ -0,0 +1,282 @@
+package com.example.ledgerx.cluster;
+
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterService {
+
+    public static final int LOCK_NAMESPACE = 0x4c58;
+
+    private static final String REGISTER_NODE_SQL = """
+            insert into cluster_nodes (node_id, base_url, backend_pid, started_at, heartbeat_at)
+            values (?, ?, ?, now(), now())
+            on conflict (node_id) do update
+            set base_url = excluded.base_url, backend_pid = excluded.backend_pid, heartbeat_at = now()
+            """;
+
+    private static final String LIVE_NODES_SQL = """
+            select node_id, base_url
+            from cluster_nodes
+            where heartbeat_at > now() - make_interval(secs => ?)
+            order by node_id
+            """;
+
+    private static final String OWNERS_SQL = """
+            select l.objid::bigint as partition_id, n.node_id, n.base_url
+            from pg_locks l
+            join cluster_nodes n on n.backend_pid = l.pid
+            where l.locktype = 'advisory'
+              and l.granted
+              and l.objsubid = 2
+              and l.classid::bigint = ?
+              and l.database = (select oid from pg_database where datname = current_database())
+              and n.heartbeat_at > now() - make_interval(secs => ?)
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+
+    private final TreeSet<Integer> ownedPartitions = new TreeSet<>();
+    private final LongAdder forwardedTransfers = new LongAdder();
+    private final LongAdder forwardFailures = new LongAdder();
+    private final LongAdder receivedForwards = new LongAdder();
+    private final LongAdder rejectedForwards = new LongAdder();
+
+    private Connection lockConnection;
+    private volatile Map<Integer, ClusterNode> owners = Map.of();
+    private volatile List<ClusterNode> liveNodes = List.of();
+    private String nodeId;
+
+    @Value("${ledgerx.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${ledgerx.cluster.advertised-url:}")
+    private String advertisedUrl;
+
+    @Value("${ledgerx.cluster.partitions:64}")
+    private int partitions;
+
+    @Value("${ledgerx.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${ledgerx.cluster.node-timeout-ms:10000}")
+    private long nodeTimeoutMs;
+
+    @PostConstruct
+    void init() {
+        if (partitions <= 0 || virtualNodes <= 0) {
+            throw new IllegalStateException("ledgerx.cluster.partitions and virtual-nodes must be positive");
+        }
+        nodeId = configuredNodeId.isBlank() ? UUID.randomUUID().toString() : configuredNodeId.trim();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int partitionOf(String accountNumber) {
+        return PartitionRing.partitionOf(accountNumber, partitions);
+    }
+
+    public Optional<ClusterNode> remoteOwner(String accountNumber) {
+        if (!enabled || accountNumber == null) {
+            return Optional.empty();
+        }
+        ClusterNode owner = owners.get(partitionOf(accountNumber));
+        if (owner == null || owner.nodeId().equals(nodeId)) {
+            return Optional.empty();
+        }
+        return Optional.of(owner);
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.cluster.heartbeat-ms:2000}")
+    public synchronized void heartbeat() {
+        if (enabled) {
+            Bulkhead.TRANSFER.run(this::renewMembership);
+        }
+    }
+
+    private void renewMembership() {
+        try {
+            Connection connection = lockConnection();
+            jdbcTemplate.update(REGISTER_NODE_SQL, nodeId, baseUrl(), backendPid(connection));
+
+            double timeoutSeconds = nodeTimeoutMs / 1000.0;
+            List<ClusterNode> nodes = jdbcTemplate.query(LIVE_NODES_SQL,
+                    (rs, rowNum) -> new ClusterNode(rs.getString("node_id"), rs.getString("base_url")),
+                    timeoutSeconds);
+            PartitionRing ring = new PartitionRing(nodes.stream().map(ClusterNode::nodeId).toList(), virtualNodes);
+
+            int claimed = 0;
+            int released = 0;
+            for (int partition = 0; partition < partitions; partition++) {
+                boolean assigned = nodeId.equals(ring.ownerOf(partition));
+                boolean owned = ownedPartitions.contains(partition);
+                if (assigned && !owned && advisoryLock(connection, "pg_try_advisory_lock", partition)) {
+                    ownedPartitions.add(partition);
+                    claimed++;
+                } else if (!assigned && owned) {
+                    advisoryLock(connection, "pg_advisory_unlock", partition);
+                    ownedPartitions.remove(partition);
+                    released++;
+                }
+            }
+            if (claimed > 0 || released > 0) {
+                log.info("Node {} claimed {} and released {} partitions, now owns {}/{} across {} live nodes",
+                        nodeId, claimed, released, ownedPartitions.size(), partitions, nodes.size());
+            }
+
+            Map<Integer, ClusterNode> refreshed = new HashMap<>();
+            jdbcTemplate.query(OWNERS_SQL, rs -> {
+                refreshed.put((int) rs.getLong("partition_id"),
+                        new ClusterNode(rs.getString("node_id"), rs.getString("base_url")));
+            }, (long) LOCK_NAMESPACE, timeoutSeconds);
+            owners = Map.copyOf(refreshed);
+            liveNodes = List.copyOf(nodes);
+        } catch (SQLException | DataAccessException ex) {
+            log.warn("Cluster heartbeat for node {} failed, dropping partition ownership", nodeId, ex);
+            closeLockConnection();
+        }
+    }
+
+    public synchronized ClusterStatus status() {
+        Map<String, Integer> partitionsByNode = new TreeMap<>();
+        owners.values().forEach(owner -> partitionsByNode.merge(owner.nodeId(), 1, Integer::sum));
+        return new ClusterStatus(
+                enabled,
+                nodeId,
+                enabled ? baseUrl() : null,
+                partitions,
+                liveNodes,
+                new ArrayList<>(ownedPartitions),
+                partitionsByNode,
+                enabled ? partitions - owners.size() : partitions,
+                forwardedTransfers.sum(),
+                forwardFailures.sum(),
+                receivedForwards.sum(),
+                rejectedForwards.sum()
+        );
+    }
+
+    public boolean isLiveNode(String candidate) {
+        return enabled && liveNodes.stream().anyMatch(node -> node.nodeId().equals(candidate));
+    }
+
+    public void recordReceivedForward() {
+        receivedForwards.increment();
+    }
+
+    public void recordRejectedForward() {
+        rejectedForwards.increment();
+    }
+
+    void recordForward(boolean delivered) {
+        if (delivered) {
+            forwardedTransfers.increment();
+        } else {
+            forwardFailures.increment();
+        }
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        closeLockConnection();
+        try {
+            jdbcTemplate.update("delete from cluster_nodes where node_id = ?", nodeId);
+        } catch (DataAccessException ex) {
+            log.debug("Could not deregister cluster node {}", nodeId, ex);
+        }
+    }
+
+    private Connection lockConnection() throws SQLException {
+        if (lockConnection != null && lockConnection.isValid(2)) {
+            return lockConnection;
+        }
+        closeLockConnection();
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        lockConnection = DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword());
+        lockConnection.setAutoCommit(true);
+        return lockConnection;
+    }
+
+    private void closeLockConnection() {
+        ownedPartitions.clear();
+        owners = Map.of();
+        if (lockConnection == null) {
+            return;
+        }
+        try {
+            lockConnection.close();
+        } catch (SQLException ex) {
+            log.debug("Failed to close cluster lock connection", ex);
+        }
+        lockConnection = null;
+    }
+
+    private int backendPid(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select pg_backend_pid()");
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private boolean advisoryLock(Connection connection, String function, int partition) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select " + function + "(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, partition);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private String baseUrl() {
+        if (!advertisedUrl.isBlank()) {
+            return advertisedUrl.trim();
+        }
+        String port = environment.getProperty("local.server.port", environment.getProperty("server.port", "8080"));
+        return "http://localhost:" + port;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ledgerx.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+public record ClusterStatus(
+        boolean enabled,
+        String nodeId,
+        String baseUrl,
+        int partitions,
+        List<ClusterNode> liveNodes,
+        List<Integer> ownedPartitions,
+        Map<String, Integer> partitionsByNode,
+        int unownedPartitions,
+        long forwardedTransfers,
+        long forwardFailures,
+        long receivedForwards,
+        long rejectedForwards
+) {
+}
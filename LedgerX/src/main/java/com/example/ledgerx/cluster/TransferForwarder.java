@@ -0,0 +1,103 @@
+package com.example.ledgerx.cluster;
+
+import com.example.ledgerx.api.TransferRequestDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransferForwarder {
+
+    public static final String FORWARDED_BY_HEADER = "X-LedgerX-Forwarded-By";
+    public static final String FORWARD_SIGNATURE_HEADER = "X-LedgerX-Forward-Signature";
+
+    private final ClusterService clusterService;
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Value("${ledgerx.cluster.forward-timeout-ms:5000}")
+    private long forwardTimeoutMs;
+
+    @Value("${ledgerx.cluster.forward-key:${LEDGERX_CLUSTER_FORWARD_KEY:ledgerx-local-forward-key}}")
+    private String forwardKey;
+
+    public CompletableFuture<ResponseEntity<?>> forward(ClusterNode owner, String idempotencyKey, TransferRequestDTO request) {
+        HttpRequest forwarded = HttpRequest.newBuilder(URI.create(owner.baseUrl() + "/api/v1/transfers"))
+                .timeout(Duration.ofMillis(forwardTimeoutMs))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("Idempotency-Key", idempotencyKey)
+                .header(FORWARDED_BY_HEADER, clusterService.nodeId())
+                .header(FORWARD_SIGNATURE_HEADER, sign(clusterService.nodeId(), idempotencyKey, request))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                .build();
+
+        return httpClient.sendAsync(forwarded, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, ex) -> {
+                    clusterService.recordForward(ex == null);
+                    if (ex != null) {
+                        log.warn("Forwarding transfer {} to node {} at {} failed", idempotencyKey, owner.nodeId(),
+                                owner.baseUrl(), ex);
+                        throw new IllegalStateException("Forwarding to node " + owner.nodeId() + " failed", ex);
+                    }
+                    return ResponseEntity.status(response.statusCode())
+                            .contentType(response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                                    .map(MediaType::parseMediaType)
+                                    .orElse(MediaType.APPLICATION_JSON))
+                            .body(response.body());
+                });
+    }
+
+    public boolean acceptForward(String forwardedBy, String signature, String idempotencyKey, TransferRequestDTO request) {
+        if (forwardedBy == null) {
+            return false;
+        }
+        boolean trusted = signature != null
+                && clusterService.isLiveNode(forwardedBy)
+                && MessageDigest.isEqual(
+                        sign(forwardedBy, idempotencyKey, request).getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII));
+        if (trusted) {
+            clusterService.recordReceivedForward();
+        } else {
+            clusterService.recordRejectedForward();
+            log.warn("Ignoring unauthenticated {} header {} on transfer {}", FORWARDED_BY_HEADER, forwardedBy, idempotencyKey);
+        }
+        return trusted;
+    }
+
+    private String sign(String nodeId, String idempotencyKey, TransferRequestDTO request) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(forwardKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String payload = nodeId + "|" + idempotencyKey + "|" + request.fromAccount() + "|" + request.toAccount()
+                    + "|" + (request.amount() == null ? null : request.amount().stripTrailingZeros().toPlainString())
+                    + "|" + request.currency();
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to sign forwarded transfer", ex);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.ledgerx.directory;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountDirectory {
+
+    private static final String ESTIMATE_SQL =
+            "select greatest(reltuples, 0)::bigint from pg_class where oid = 'accounts'::regclass";
+    private static final String SCAN_SQL = "select id, account_number, currency, status from accounts";
+    private static final String LOOKUP_SQL =
+            "select id, account_number, currency, status from accounts where account_number = ?";
+    private static final int LOAD_BATCH_SIZE = 1_024;
+    private static final int MAX_RESERVED_CAPACITY = 1 << 27;
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final StampedLock lock = new StampedLock();
+    private final List<String> currencyCodes = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> currencyIndexes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile Table table;
+    private volatile boolean loaded;
+    private volatile long loadMillis = -1;
+
+    @Value("${ledgerx.account-directory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ledgerx.account-directory.initial-capacity:1024}")
+    private int initialCapacity;
+
+    @Value("${ledgerx.account-directory.fetch-size:10000}")
+    private int fetchSize;
+
+    @PostConstruct
+    void init() {
+        table = new Table(Math.max(16, initialCapacity));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    public void load() {
+        long started = System.nanoTime();
+        Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+        if (estimate != null && estimate > 0) {
+            reserve((int) Math.min(estimate, MAX_RESERVED_CAPACITY));
+        }
+
+        List<AccountRow> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                rs -> {
+                    batch.add(toRow(rs));
+                    if (batch.size() == LOAD_BATCH_SIZE) {
+                        putAll(batch);
+                        batch.clear();
+                    }
+                }
+        ));
+        putAll(batch);
+
+        loadMillis = (System.nanoTime() - started) / 1_000_000;
+        loaded = true;
+        AccountDirectoryStats stats = stats();
+        log.info("Account directory loaded {} accounts in {} ms, footprint {} bytes",
+                stats.entries(), stats.loadMillis(), stats.footprintBytes());
+    }
+
+    public Optional<AccountDirectoryEntry> find(String accountNumber) {
+        if (enabled) {
+            byte[] key = accountNumber.getBytes(StandardCharsets.UTF_8);
+            AccountDirectoryEntry entry = lookup(key, hash(key));
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry);
+            }
+            misses.increment();
+        }
+        return reload(accountNumber);
+    }
+
+    public Optional<AccountDirectoryEntry> reload(String accountNumber) {
+        List<AccountRow> rows = jdbcTemplate.query(LOOKUP_SQL, (rs, rowNum) -> toRow(rs), accountNumber);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        AccountRow row = rows.get(0);
+        if (!enabled) {
+            return Optional.of(new AccountDirectoryEntry(row.id(), row.currency(), row.status(), -1));
+        }
+        return Optional.of(put(row));
+    }
+
+    public void observe(Account account) {
+        if (!enabled) {
+            return;
+        }
+        byte[] key = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        AccountDirectoryEntry current = lookup(key, hash(key));
+        if (current == null
+                || !current.id().equals(account.getId())
+                || current.status() != account.getStatus()
+                || !current.currency().equals(account.getCurrency())) {
+            put(new AccountRow(account.getId(), account.getAccountNumber(), account.getCurrency(), account.getStatus()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountStatusChanged(AccountStatusChangedEvent event) {
+        if (enabled) {
+            put(new AccountRow(event.accountId(), event.accountNumber(), event.currency(), event.status()));
+        }
+    }
+
+    public AccountDirectoryStats stats() {
+        long stamp = lock.readLock();
+        try {
+            Table current = table;
+            return new AccountDirectoryStats(
+                    enabled,
+                    loaded,
+                    current.size,
+                    current.slots.length,
+                    current.footprintBytes(),
+                    loadMillis,
+                    hits.sum(),
+                    misses.sum()
+            );
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private AccountDirectoryEntry lookup(byte[] key, int hash) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                AccountDirectoryEntry entry = read(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return entry;
+                }
+            } catch (RuntimeException ex) {
+                if (lock.validate(stamp)) {
+                    throw ex;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return read(table, key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private AccountDirectoryEntry read(Table current, byte[] key, int hash) {
+        int ordinal = current.indexOf(key, hash);
+        if (ordinal < 0) {
+            return null;
+        }
+        return new AccountDirectoryEntry(
+                new UUID(current.idHigh[ordinal], current.idLow[ordinal]),
+                currencyCodes.get(current.currencies[ordinal]),
+                STATUSES[current.statuses[ordinal]],
+                ordinal
+        );
+    }
+
+    private AccountDirectoryEntry put(AccountRow row) {
+        long stamp = lock.writeLock();
+        try {
+            return write(row);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void putAll(List<AccountRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            rows.forEach(this::write);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void reserve(int capacity) {
+        long stamp = lock.writeLock();
+        try {
+            if (table.capacity() < capacity) {
+                table = table.resize(capacity);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private AccountDirectoryEntry write(AccountRow row) {
+        byte[] key = row.accountNumber().getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        short currency = (short) currencyIndex(row.currency());
+        byte status = (byte) row.status().ordinal();
+
+        int ordinal = table.indexOf(key, hash);
+        if (ordinal < 0) {
+            if (table.isFull()) {
+                table = table.resize(table.capacity() * 2);
+            }
+            ordinal = table.insert(key, hash);
+        }
+        table.idHigh[ordinal] = row.id().getMostSignificantBits();
+        table.idLow[ordinal] = row.id().getLeastSignificantBits();
+        table.currencies[ordinal] = currency;
+        table.statuses[ordinal] = status;
+        return new AccountDirectoryEntry(row.id(), row.currency(), row.status(), ordinal);
+    }
+
+    private int currencyIndex(String currency) {
+        return currencyIndexes.computeIfAbsent(currency, code -> {
+            currencyCodes.add(code);
+            return currencyCodes.size() - 1;
+        });
+    }
+
+    private static AccountRow toRow(ResultSet rs) throws SQLException {
+        return new AccountRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("account_number"),
+                rs.getString("currency"),
+                AccountStatus.valueOf(rs.getString("status"))
+        );
+    }
+
+    private static int hash(byte[] key) {
+        int h = Arrays.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private record AccountRow(UUID id, String accountNumber, String currency, AccountStatus status) {
+    }
+
+    private static final class Table {
+
+        private static final int BYTES_PER_ENTRY = Integer.BYTES + Long.BYTES * 2 + Integer.BYTES
+                + Short.BYTES + Byte.BYTES + Short.BYTES;
+
+        private final int[] slots;
+        private final int[] hashes;
+        private final long[] idHigh;
+        private final long[] idLow;
+        private final int[] keyOffsets;
+        private final short[] keyLengths;
+        private final byte[] statuses;
+        private final short[] currencies;
+        private byte[] keys;
+        private int keyBytes;
+        private int size;
+
+        private Table(int capacity) {
+            slots = new int[Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1];
+            hashes = new int[capacity];
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            keyOffsets = new int[capacity];
+            keyLengths = new short[capacity];
+            statuses = new byte[capacity];
+            currencies = new short[capacity];
+            keys = new byte[capacity * 12];
+        }
+
+        private int capacity() {
+            return hashes.length;
+        }
+
+        private boolean isFull() {
+            return size == hashes.length;
+        }
+
+        private long footprintBytes() {
+            return (long) slots.length * Integer.BYTES + (long) hashes.length * BYTES_PER_ENTRY + keys.length;
+        }
+
+        private int indexOf(byte[] key, int hash) {
+            int mask = slots.length - 1;
+            int index = hash & mask;
+            for (int probe = 0; probe < slots.length; probe++) {
+                int ref = slots[index];
+                if (ref == 0) {
+                    return -1;
+                }
+                int ordinal = ref - 1;
+                if (hashes[ordinal] == hash && keyEquals(ordinal, key)) {
+                    return ordinal;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private boolean keyEquals(int ordinal, byte[] key) {
+            int offset = keyOffsets[ordinal];
+            return keyLengths[ordinal] == key.length
+                    && Arrays.equals(keys, offset, offset + key.length, key, 0, key.length);
+        }
+
+        private int insert(byte[] key, int hash) {
+            int ordinal = size;
+            if (keyBytes + key.length > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyBytes + key.length));
+            }
+            System.arraycopy(key, 0, keys, keyBytes, key.length);
+            keyOffsets[ordinal] = keyBytes;
+            keyLengths[ordinal] = (short) key.length;
+            keyBytes += key.length;
+            hashes[ordinal] = hash;
+            link(ordinal, hash);
+            size++;
+            return ordinal;
+        }
+
+        private void link(int ordinal, int hash) {
+            int mask = slots.length - 1;
+            int index = hash & mask;
+            while (slots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = ordinal + 1;
+        }
+
+        private Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            System.arraycopy(hashes, 0, resized.hashes, 0, size);
+            System.arraycopy(idHigh, 0, resized.idHigh, 0, size);
+            System.arraycopy(idLow, 0, resized.idLow, 0, size);
+            System.arraycopy(keyOffsets, 0, resized.keyOffsets, 0, size);
+            System.arraycopy(keyLengths, 0, resized.keyLengths, 0, size);
+            System.arraycopy(statuses, 0, resized.statuses, 0, size);
+            System.arraycopy(currencies, 0, resized.currencies, 0, size);
+            if (resized.keys.length < keyBytes) {
+                resized.keys = new byte[keyBytes * 2];
+            }
+            System.arraycopy(keys, 0, resized.keys, 0, keyBytes);
+            resized.keyBytes = keyBytes;
+            resized.size = size;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                resized.link(ordinal, hashes[ordinal]);
+            }
+            return resized;
+        }
+    }
+}
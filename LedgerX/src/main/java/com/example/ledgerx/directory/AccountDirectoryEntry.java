@@ -0,0 +1,13 @@
+package com.example.ledgerx.directory;
+
+import com.example.ledgerx.entity.AccountStatus;
+
+import java.util.UUID;
+
+public record AccountDirectoryEntry(
+        UUID id,
+        String currency,
+        AccountStatus status,
+        int ordinal
+) {
+}
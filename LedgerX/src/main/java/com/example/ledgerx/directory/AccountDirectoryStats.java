@@ -0,0 +1,13 @@
+package com.example.ledgerx.directory;
+
+public record AccountDirectoryStats(
+        boolean enabled,
+        boolean loaded,
+        int entries,
+        int slotCapacity,
+        long footprintBytes,
+        long loadMillis,
+        long hits,
+        long misses
+) {
+}
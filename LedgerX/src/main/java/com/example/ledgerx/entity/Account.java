@@ -29,7 +29,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "accounts")
-@Check(constraints = "balance >= 0")
+@Check(constraints = "balance >= 0 and held_amount >= 0 and held_amount <= balance")
 @Getter
 @Setter
 @Builder
@@ -50,6 +50,10 @@ public class Account {
     @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal balance;
 
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AccountStatus status;
@@ -70,6 +74,10 @@ public class Account {
     @OneToMany(mappedBy = "account", fetch = FetchType.LAZY)
     private List<LedgerEntry> ledgerEntries = new ArrayList<>();
 
+    public BigDecimal getAvailableBalance() {
+        return balance.subtract(heldAmount);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -51,6 +51,9 @@ public class LedgerEntry {
     @Column(nullable = false)
     private EntryDirection direction;
 
+    @Column(precision = 19, scale = 4)
+    private BigDecimal balanceAfter;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -17,6 +17,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -53,6 +54,33 @@ public class Transaction {
     @Column
     private Instant completedAt;
 
+    @Column
+    private UUID fromAccountId;
+
+    @Column
+    private UUID toAccountId;
+
+    @Column
+    private String fromAccountNumber;
+
+    @Column
+    private String toAccountNumber;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal fromBalanceAfter;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal toBalanceAfter;
+
+    @Column(nullable = false)
+    private boolean compact;
+
     @Builder.Default
     @OneToMany(mappedBy = "transaction", fetch = FetchType.LAZY)
     private List<LedgerEntry> ledgerEntries = new ArrayList<>();
@@ -0,0 +1,8 @@
+package com.example.ledgerx.exception;
+
+public class BulkheadFullException extends LedgerException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
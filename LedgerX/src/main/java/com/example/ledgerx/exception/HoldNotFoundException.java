@@ -0,0 +1,8 @@
+package com.example.ledgerx.exception;
+
+public class HoldNotFoundException extends LedgerException {
+
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.ledgerx.exception;
+
+public class StandingOrderNotFoundException extends LedgerException {
+
+    public StandingOrderNotFoundException(String message) {
+        super(message);
+    }
+}
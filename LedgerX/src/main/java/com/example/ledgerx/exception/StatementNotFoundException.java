@@ -0,0 +1,8 @@
+package com.example.ledgerx.exception;
+
+public class StatementNotFoundException extends LedgerException {
+
+    public StatementNotFoundException(String message) {
+        super(message);
+    }
+}
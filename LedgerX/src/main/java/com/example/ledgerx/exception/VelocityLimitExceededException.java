@@ -0,0 +1,8 @@
+package com.example.ledgerx.exception;
+
+public class VelocityLimitExceededException extends LedgerException {
+
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ledgerx.hold;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record Hold(
+        UUID id,
+        String idempotencyKey,
+        HoldStatus status,
+        String fromAccount,
+        String toAccount,
+        BigDecimal amount,
+        String currency,
+        BigDecimal capturedAmount,
+        UUID transactionId,
+        Instant createdAt,
+        Instant expiresAt,
+        Instant resolvedAt
+) {
+}
@@ -0,0 +1,369 @@
+package com.example.ledgerx.hold;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.HoldNotFoundException;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.service.AccountLockService;
+import com.example.ledgerx.service.AccountSnapshotCache;
+import com.example.ledgerx.service.LedgerPoster;
+import com.example.ledgerx.service.TransferRules;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldService {
+
+    private static final String CAPTURE_KEY_PREFIX = "hold-capture:";
+
+    private static final String SELECT_HOLD_SQL = """
+            select h.id, h.idempotency_key, h.status, payer.account_number as from_account,
+                   payee.account_number as to_account, h.amount, h.currency, h.captured_amount,
+                   h.transaction_id, h.created_at, h.expires_at, h.resolved_at
+            from holds h
+            join accounts payer on payer.id = h.account_id
+            join accounts payee on payee.id = h.payee_account_id
+            """;
+
+    private static final String SELECT_ACCOUNTS_SQL = """
+            select id, account_number, currency, balance, held_amount, status, version
+            from accounts
+            where account_number in (?, ?)
+            """;
+
+    private static final String RESERVE_SQL = """
+            update accounts
+            set held_amount = held_amount + ?, version = version + 1, updated_at = now()
+            where id = ? and status = 'ACTIVE' and balance - held_amount >= ?
+            """;
+
+    private static final String INSERT_HOLD_SQL = """
+            insert into holds (id, idempotency_key, account_id, payee_account_id, amount, currency, status,
+                               created_at, expires_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String RELEASE_SQL = """
+            update accounts a
+            set held_amount = a.held_amount - h.amount, version = a.version + 1, updated_at = now()
+            from holds h
+            where h.id = ? and a.id = h.account_id
+            """;
+
+    private static final String RESOLVE_SQL = """
+            update holds
+            set status = ?, captured_amount = ?, transaction_id = ?, resolved_at = now()
+            where id = ?
+            """;
+
+    private static final String EXPIRE_BATCH_SQL = """
+            with expired as (
+                select id
+                from holds
+                where status = 'ACTIVE' and expires_at <= now()
+                order by expires_at
+                limit ?
+                for update skip locked
+            ), resolved as (
+                update holds h
+                set status = 'EXPIRED', resolved_at = now()
+                from expired e
+                where h.id = e.id
+                returning h.account_id, h.amount
+            )
+            select account_id, sum(amount) as amount, count(*) as holds
+            from resolved
+            group by account_id
+            order by account_id
+            """;
+
+    private static final String RELEASE_EXPIRED_SQL = """
+            update accounts
+            set held_amount = held_amount - ?, version = version + 1, updated_at = now()
+            where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountLockService accountLockService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final LedgerPoster ledgerPoster;
+    private final VelocityLimitService velocityLimitService;
+
+    private final LongAdder placed = new LongAdder();
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder voided = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder sweeps = new LongAdder();
+
+    @Value("${ledgerx.holds.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${ledgerx.holds.max-ttl-seconds:604800}")
+    private long maxTtlSeconds;
+
+    @Value("${ledgerx.holds.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public Hold place(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            Long ttlSeconds,
+            String idempotencyKey
+    ) {
+        Hold existing = findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing != null) {
+            if (!existing.fromAccount().equals(fromAccountNum)
+                    || !existing.toAccount().equals(toAccountNum)
+                    || existing.amount().compareTo(amount) != 0
+                    || !existing.currency().equals(currency)) {
+                throw new IdempotencyConflictException(
+                        "Idempotency key was already used for a different hold: " + idempotencyKey
+                );
+            }
+            return existing;
+        }
+
+        TransferRules.validateRequest(fromAccountNum, toAccountNum, amount, currency, idempotencyKey);
+        long ttl = ttlSeconds == null ? defaultTtlSeconds : ttlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new LedgerException("Hold TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+
+        Map<String, Account> accounts = readAccounts(fromAccountNum, toAccountNum);
+        Account payer = accounts.get(fromAccountNum);
+        Account payee = accounts.get(toAccountNum);
+        TransferRules.validateBusinessRules(payer, payee, amount, currency);
+
+        if (jdbcTemplate.update(RESERVE_SQL, amount, payer.getId(), amount) == 0) {
+            Map<String, Account> current = readAccounts(fromAccountNum, toAccountNum);
+            TransferRules.validateBusinessRules(current.get(fromAccountNum), current.get(toAccountNum), amount, currency);
+            throw new InsufficientFundsException("Insufficient funds in account: " + fromAccountNum);
+        }
+
+        Instant now = Instant.now();
+        Hold hold = new Hold(
+                UUID.randomUUID(),
+                idempotencyKey,
+                HoldStatus.ACTIVE,
+                fromAccountNum,
+                toAccountNum,
+                amount,
+                currency,
+                null,
+                null,
+                now,
+                now.plus(Duration.ofSeconds(ttl)),
+                null
+        );
+        try {
+            jdbcTemplate.update(
+                    INSERT_HOLD_SQL,
+                    hold.id(),
+                    idempotencyKey,
+                    payer.getId(),
+                    payee.getId(),
+                    amount,
+                    currency,
+                    HoldStatus.ACTIVE.name(),
+                    Timestamp.from(hold.createdAt()),
+                    Timestamp.from(hold.expiresAt())
+            );
+        } catch (DuplicateKeyException ex) {
+            throw new IdempotencyConflictException("Hold is already being placed for idempotency key: " + idempotencyKey);
+        }
+        placed.increment();
+        return hold;
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public Hold capture(UUID holdId, BigDecimal amount) {
+        Hold hold = lockHold(holdId);
+        if (hold.status() == HoldStatus.CAPTURED) {
+            if (amount != null && amount.compareTo(hold.capturedAmount()) != 0) {
+                throw new IdempotencyConflictException("Hold was already captured for a different amount: " + holdId);
+            }
+            return hold;
+        }
+        requireActive(hold);
+        if (!hold.expiresAt().isAfter(Instant.now())) {
+            throw new LedgerException("Hold has expired: " + holdId);
+        }
+        BigDecimal captureAmount = amount == null ? hold.amount() : amount;
+        if (captureAmount.signum() <= 0 || captureAmount.compareTo(hold.amount()) > 0) {
+            throw new LedgerException("Capture amount must be greater than zero and no more than the held amount");
+        }
+
+        velocityLimitService.reserve(hold.fromAccount(), captureAmount);
+        Map<String, Account> locked = accountLockService.lockRowsForUpdate(List.of(hold.fromAccount(), hold.toAccount()));
+        Account payer = locked.get(hold.fromAccount());
+        Account payee = locked.get(hold.toAccount());
+        payer.setHeldAmount(payer.getHeldAmount().subtract(hold.amount()));
+        TransferRules.validateBusinessRules(payer, payee, captureAmount, hold.currency());
+
+        payer.setBalance(payer.getBalance().subtract(captureAmount));
+        payee.setBalance(payee.getBalance().add(captureAmount));
+
+        UUID transactionId = UUID.randomUUID();
+        ledgerPoster.post(
+                List.of(new LedgerPoster.Posting(transactionId, CAPTURE_KEY_PREFIX + holdId, payer, payee, captureAmount,
+                        hold.currency(), payer.getBalance(), payee.getBalance(), LedgerPoster.now())),
+                List.of(payer, payee)
+        );
+
+        jdbcTemplate.update(RESOLVE_SQL, HoldStatus.CAPTURED.name(), captureAmount, transactionId, holdId);
+        accountSnapshotCache.observeAfterCommit(payer, payee);
+        captured.increment();
+        return get(holdId);
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public Hold release(UUID holdId) {
+        Hold hold = lockHold(holdId);
+        if (hold.status() == HoldStatus.VOIDED) {
+            return hold;
+        }
+        requireActive(hold);
+        jdbcTemplate.update(RELEASE_SQL, holdId);
+        jdbcTemplate.update(RESOLVE_SQL, HoldStatus.VOIDED.name(), null, null, holdId);
+        voided.increment();
+        return get(holdId);
+    }
+
+    @Transactional(readOnly = true)
+    public Hold get(UUID holdId) {
+        return jdbcTemplate.query(SELECT_HOLD_SQL + " where h.id = ?", this::mapHold, holdId).stream()
+                .findFirst()
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found: " + holdId));
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.holds.sweep-interval-ms:1000}")
+    public void scheduledSweep() {
+        sweepExpired();
+    }
+
+    public long sweepExpired() {
+        long total = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> expireBatch());
+            int released = batch == null ? 0 : batch;
+            total += released;
+            if (released < sweepBatchSize) {
+                break;
+            }
+        }
+        sweeps.increment();
+        if (total > 0) {
+            expired.add(total);
+            log.info("Expired {} holds", total);
+        }
+        return total;
+    }
+
+    public HoldStats stats() {
+        return new HoldStats(placed.sum(), captured.sum(), voided.sum(), expired.sum(), sweeps.sum());
+    }
+
+    private int expireBatch() {
+        List<Object[]> releases = new ArrayList<>();
+        int[] holds = {0};
+        jdbcTemplate.query(EXPIRE_BATCH_SQL, rs -> {
+            releases.add(new Object[]{rs.getBigDecimal("amount"), rs.getObject("account_id", UUID.class)});
+            holds[0] += rs.getInt("holds");
+        }, sweepBatchSize);
+        if (!releases.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_EXPIRED_SQL, releases);
+        }
+        return holds[0];
+    }
+
+    private Optional<Hold> findByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.query(SELECT_HOLD_SQL + " where h.idempotency_key = ?", this::mapHold, idempotencyKey)
+                .stream()
+                .findFirst();
+    }
+
+    private Hold lockHold(UUID holdId) {
+        return jdbcTemplate.query(SELECT_HOLD_SQL + " where h.id = ? for update of h", this::mapHold, holdId).stream()
+                .findFirst()
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found: " + holdId));
+    }
+
+    private void requireActive(Hold hold) {
+        if (hold.status() != HoldStatus.ACTIVE) {
+            throw new LedgerException("Hold " + hold.id() + " is already " + hold.status());
+        }
+    }
+
+    private Map<String, Account> readAccounts(String fromAccountNum, String toAccountNum) {
+        Map<String, Account> accounts = new HashMap<>(4);
+        jdbcTemplate.query(SELECT_ACCOUNTS_SQL, rs -> {
+            Account account = Account.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .accountNumber(rs.getString("account_number"))
+                    .currency(rs.getString("currency"))
+                    .balance(rs.getBigDecimal("balance"))
+                    .heldAmount(rs.getBigDecimal("held_amount"))
+                    .status(AccountStatus.valueOf(rs.getString("status")))
+                    .version(rs.getLong("version"))
+                    .build();
+            accounts.put(account.getAccountNumber(), account);
+        }, fromAccountNum, toAccountNum);
+        for (String accountNumber : List.of(fromAccountNum, toAccountNum).stream().sorted().toList()) {
+            if (!accounts.containsKey(accountNumber)) {
+                throw new AccountNotFoundException("Account not found: " + accountNumber);
+            }
+        }
+        return accounts;
+    }
+
+    private Hold mapHold(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp resolvedAt = rs.getTimestamp("resolved_at");
+        return new Hold(
+                rs.getObject("id", UUID.class),
+                rs.getString("idempotency_key"),
+                HoldStatus.valueOf(rs.getString("status")),
+                rs.getString("from_account"),
+                rs.getString("to_account"),
+                rs.getBigDecimal("amount"),
+                rs.getString("currency"),
+                rs.getBigDecimal("captured_amount"),
+                rs.getObject("transaction_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getTimestamp("expires_at").toInstant(),
+                resolvedAt == null ? null : resolvedAt.toInstant()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ledgerx.hold;
+
+public record HoldStats(
+        long placed,
+        long captured,
+        long voided,
+        long expired,
+        long sweeps
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.ledgerx.hold;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    VOIDED,
+    EXPIRED
+}
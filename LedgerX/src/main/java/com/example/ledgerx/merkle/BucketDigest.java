@@ -0,0 +1,92 @@
+package com.example.ledgerx.merkle;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+final class BucketDigest {
+
+    private final MessageDigest entryDigest = MerkleHashes.sha256();
+    private final MessageDigest auditDigest = MerkleHashes.sha256();
+    private final DataOutputStream entries = stream(entryDigest);
+    private final DataOutputStream audits = stream(auditDigest);
+    private int entryCount;
+    private int auditCount;
+
+    void addEntry(ResultSet rs, Instant createdAt) throws SQLException {
+        try {
+            writeUuid(entries, rs.getObject("id", UUID.class));
+            writeUuid(entries, rs.getObject("transaction_id", UUID.class));
+            writeUuid(entries, rs.getObject("account_id", UUID.class));
+            writeDecimal(entries, rs.getBigDecimal("amount"));
+            writeText(entries, rs.getString("direction"));
+            entries.writeLong(MerkleHashes.toMicros(createdAt));
+            writeDecimal(entries, rs.getBigDecimal("balance_after"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        entryCount++;
+    }
+
+    void addAudit(ResultSet rs, Instant timestamp) throws SQLException {
+        try {
+            writeUuid(audits, rs.getObject("id", UUID.class));
+            writeText(audits, rs.getString("account_number"));
+            writeText(audits, rs.getString("action"));
+            writeDecimal(audits, rs.getBigDecimal("amount"));
+            audits.writeLong(MerkleHashes.toMicros(timestamp));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        auditCount++;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    int auditCount() {
+        return auditCount;
+    }
+
+    byte[] leafHash(Instant bucketStart, Instant bucketEnd) {
+        return MerkleHashes.leaf(bucketStart, bucketEnd, entryCount, entryDigest.digest(), auditCount, auditDigest.digest());
+    }
+
+    private static DataOutputStream stream(MessageDigest digest) {
+        return new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeText(out, value == null ? null : value.toPlainString());
+    }
+}
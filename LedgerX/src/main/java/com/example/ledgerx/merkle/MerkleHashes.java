@@ -0,0 +1,83 @@
+package com.example.ledgerx.merkle;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+final class MerkleHashes {
+
+    private static final byte LEAF_PREFIX = 0;
+    private static final byte NODE_PREFIX = 1;
+
+    private MerkleHashes() {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static byte[] leaf(Instant bucketStart, Instant bucketEnd, int entryCount, byte[] entryHash,
+                       int auditCount, byte[] auditHash) {
+        MessageDigest digest = sha256();
+        digest.update(LEAF_PREFIX);
+        digest.update(ByteBuffer.allocate(Long.BYTES * 2 + Integer.BYTES * 2)
+                .putLong(toMicros(bucketStart))
+                .putLong(toMicros(bucketEnd))
+                .putInt(entryCount)
+                .putInt(auditCount)
+                .array());
+        digest.update(entryHash);
+        digest.update(auditHash);
+        return digest.digest();
+    }
+
+    static byte[] node(byte[] left, byte[] right) {
+        MessageDigest digest = sha256();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    static byte[] bag(List<byte[]> peaks) {
+        if (peaks.isEmpty()) {
+            return sha256().digest();
+        }
+        byte[] root = peaks.get(peaks.size() - 1);
+        for (int i = peaks.size() - 2; i >= 0; i--) {
+            root = node(peaks.get(i), root);
+        }
+        return root;
+    }
+
+    static List<Peak> peaks(long leafCount) {
+        List<Peak> peaks = new ArrayList<>();
+        long firstLeaf = 0;
+        for (int level = Long.SIZE - 2; level >= 0; level--) {
+            long size = 1L << level;
+            if ((leafCount & size) != 0) {
+                peaks.add(new Peak(level, firstLeaf >> level, firstLeaf));
+                firstLeaf += size;
+            }
+        }
+        return peaks;
+    }
+
+    static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    record Peak(int level, long position, long firstLeaf) {
+
+        boolean covers(long leafIndex) {
+            return leafIndex >= firstLeaf && leafIndex < firstLeaf + (1L << level);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ledgerx.merkle;
+
+import java.time.Instant;
+
+public record MerkleRoot(
+        long leafCount,
+        Instant sealedUntil,
+        String rootHash,
+        String signature,
+        boolean signatureValid,
+        Instant createdAt
+) {
+}
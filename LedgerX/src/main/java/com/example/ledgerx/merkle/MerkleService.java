@@ -0,0 +1,428 @@
+package com.example.ledgerx.merkle;
+
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MerkleService {
+
+    private static final int LOCK_NAMESPACE = 0x4c4d;
+
+    private static final String ENTRIES_SQL = """
+            select id, transaction_id, account_id, amount, direction, created_at, balance_after
+            from account_entries
+            where created_at >= ? and created_at < ?
+            order by created_at, id
+            """;
+
+    private static final String AUDITS_SQL = """
+            select id, account_number, action, amount, "timestamp"
+            from audit_logs
+            where "timestamp" >= ? and "timestamp" < ?
+            order by "timestamp", id
+            """;
+
+    private static final String EARLIEST_SQL = """
+            select least((select min(created_at) from account_entries), (select min("timestamp") from audit_logs))
+            """;
+
+    private static final String LATEST_ROOT_SQL = """
+            select leaf_count, sealed_until, root_hash, signature, created_at
+            from ledger_merkle_roots
+            order by leaf_count desc
+            limit 1
+            """;
+
+    private static final String INSERT_LEAF_SQL = """
+            insert into ledger_merkle_leaves (leaf_index, bucket_start, bucket_end, entry_count, audit_count, leaf_hash)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_NODE_SQL = "insert into ledger_merkle_nodes (level, position, hash) values (?, ?, ?)";
+
+    private static final String NODE_SQL = "select hash from ledger_merkle_nodes where level = ? and position = ?";
+
+    private static final String UPSERT_ROOT_SQL = """
+            insert into ledger_merkle_roots (leaf_count, sealed_until, root_hash, signature, created_at)
+            values (?, ?, ?, ?, now())
+            on conflict (leaf_count) do update
+            set sealed_until = excluded.sealed_until, root_hash = excluded.root_hash,
+                signature = excluded.signature, created_at = excluded.created_at
+            """;
+
+    private static final String LEAVES_SQL = """
+            select leaf_index, bucket_start, bucket_end, leaf_hash
+            from ledger_merkle_leaves
+            where bucket_start >= ? and bucket_start < ? and leaf_index < ?
+            order by leaf_index
+            """;
+
+    private static final String ACCOUNT_BUCKETS_SQL = """
+            select distinct floor(extract(epoch from activity.at) * 1000 / ?)::bigint as bucket
+            from (
+                select created_at as at from account_entries where account_id = ? and created_at >= ? and created_at < ?
+                union all
+                select "timestamp" from audit_logs where account_number = ? and "timestamp" >= ? and "timestamp" < ?
+            ) activity
+            order by bucket
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveService archiveService;
+
+    @Value("${ledgerx.merkle.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.merkle.bucket-seconds:60}")
+    private long bucketSeconds;
+
+    @Value("${ledgerx.merkle.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Value("${ledgerx.merkle.max-buckets-per-run:1440}")
+    private long maxBucketsPerRun;
+
+    @Value("${ledgerx.merkle.signing-key:${LEDGERX_MERKLE_SIGNING_KEY:ledgerx-local-signing-key}}")
+    private String signingKey;
+
+    @Scheduled(fixedDelayString = "${ledgerx.merkle.interval-ms:10000}")
+    public void scheduledSeal() {
+        if (enabled) {
+            seal();
+        }
+    }
+
+    public Optional<MerkleRoot> seal() {
+        Instant cutoff = alignDown(Instant.now().minusSeconds(settleSeconds));
+        return Optional.ofNullable(transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?, ?)", Boolean.class,
+                    LOCK_NAMESPACE, 0);
+            RootRow latest = latestRoot();
+            if (!Boolean.TRUE.equals(locked)) {
+                return latest != null ? toRoot(latest) : null;
+            }
+
+            Instant from = latest != null ? latest.sealedUntil() : earliestActivity();
+            if (from == null) {
+                return null;
+            }
+            from = alignDown(from);
+            Instant to = from.plusSeconds(bucketSeconds * Math.max(1, maxBucketsPerRun));
+            if (to.isAfter(cutoff)) {
+                to = cutoff;
+            }
+            if (!to.isAfter(from)) {
+                return latest != null ? toRoot(latest) : null;
+            }
+
+            long leafCount = latest != null ? latest.leafCount() : 0;
+            Deque<PeakHash> peaks = new ArrayDeque<>();
+            for (MerkleHashes.Peak peak : MerkleHashes.peaks(leafCount)) {
+                byte[] hash = node(peak.level(), peak.position());
+                if (hash == null) {
+                    throw new LedgerException("Merkle tree is missing node " + peak.level() + "/" + peak.position());
+                }
+                peaks.addLast(new PeakHash(peak.level(), hash));
+            }
+
+            List<Object[]> leaves = new ArrayList<>();
+            List<Object[]> nodes = new ArrayList<>();
+            for (Map.Entry<Long, BucketDigest> bucket : digest(from, to).entrySet()) {
+                long index = leafCount++;
+                Instant bucketStart = bucketStart(bucket.getKey());
+                Instant bucketEnd = bucketStart(bucket.getKey() + 1);
+                BucketDigest digest = bucket.getValue();
+                byte[] hash = digest.leafHash(bucketStart, bucketEnd);
+                leaves.add(new Object[]{index, Timestamp.from(bucketStart), Timestamp.from(bucketEnd),
+                        digest.entryCount(), digest.auditCount(), hash});
+                nodes.add(new Object[]{0, index, hash});
+                peaks.addLast(new PeakHash(0, hash));
+                while (peaks.size() > 1) {
+                    PeakHash right = peaks.removeLast();
+                    PeakHash left = peaks.peekLast();
+                    if (left.level() != right.level()) {
+                        peaks.addLast(right);
+                        break;
+                    }
+                    peaks.removeLast();
+                    int level = right.level() + 1;
+                    byte[] parent = MerkleHashes.node(left.hash(), right.hash());
+                    nodes.add(new Object[]{level, index >> level, parent});
+                    peaks.addLast(new PeakHash(level, parent));
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_LEAF_SQL, leaves);
+            jdbcTemplate.batchUpdate(INSERT_NODE_SQL, nodes);
+            byte[] root = MerkleHashes.bag(peaks.stream().map(PeakHash::hash).toList());
+            String signature = sign(leafCount, to, root);
+            jdbcTemplate.update(UPSERT_ROOT_SQL, leafCount, Timestamp.from(to), root, signature);
+            if (!leaves.isEmpty()) {
+                log.info("Sealed {} ledger buckets up to {}, {} leaves in total", leaves.size(), to, leafCount);
+            }
+            return new MerkleRoot(leafCount, to, HexFormat.of().formatHex(root), signature, true, Instant.now());
+        }));
+    }
+
+    public Optional<MerkleRoot> latest() {
+        return Optional.ofNullable(latestRoot()).map(this::toRoot);
+    }
+
+    public MerkleVerification verify(Instant from, Instant to) {
+        Verification verification = new Verification(latestRoot());
+        verification.check(from, to);
+        return verification.result(from, to);
+    }
+
+    public MerkleVerification verifyAccount(String accountNumber, Instant from, Instant to) {
+        List<UUID> ids = jdbcTemplate.queryForList("select id from accounts where account_number = ?", UUID.class,
+                accountNumber);
+        if (ids.isEmpty()) {
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+        }
+        Verification verification = new Verification(latestRoot());
+        if (verification.root != null) {
+            Instant end = to.isAfter(verification.root.sealedUntil()) ? verification.root.sealedUntil() : to;
+            List<Long> buckets = jdbcTemplate.queryForList(ACCOUNT_BUCKETS_SQL, Long.class,
+                    bucketSeconds * 1000, ids.get(0), Timestamp.from(from), Timestamp.from(end),
+                    accountNumber, Timestamp.from(from), Timestamp.from(end));
+            int i = 0;
+            while (i < buckets.size()) {
+                int j = i;
+                while (j + 1 < buckets.size() && buckets.get(j + 1) == buckets.get(j) + 1) {
+                    j++;
+                }
+                verification.check(bucketStart(buckets.get(i)), bucketStart(buckets.get(j) + 1));
+                i = j + 1;
+            }
+        }
+        return verification.result(from, to);
+    }
+
+    private NavigableMap<Long, BucketDigest> digest(Instant from, Instant to) {
+        TreeMap<Long, BucketDigest> buckets = new TreeMap<>();
+        jdbcTemplate.query(ENTRIES_SQL, rs -> {
+            Instant createdAt = rs.getTimestamp("created_at").toInstant();
+            buckets.computeIfAbsent(bucketOf(createdAt), bucket -> new BucketDigest()).addEntry(rs, createdAt);
+        }, Timestamp.from(from), Timestamp.from(to));
+        jdbcTemplate.query(AUDITS_SQL, rs -> {
+            Instant timestamp = rs.getTimestamp("timestamp").toInstant();
+            buckets.computeIfAbsent(bucketOf(timestamp), bucket -> new BucketDigest()).addAudit(rs, timestamp);
+        }, Timestamp.from(from), Timestamp.from(to));
+        return buckets;
+    }
+
+    private Instant earliestActivity() {
+        Timestamp earliest = jdbcTemplate.queryForObject(EARLIEST_SQL, Timestamp.class);
+        return earliest != null ? earliest.toInstant() : null;
+    }
+
+    private RootRow latestRoot() {
+        return jdbcTemplate.query(LATEST_ROOT_SQL, (rs, rowNum) -> new RootRow(
+                rs.getLong("leaf_count"),
+                rs.getTimestamp("sealed_until").toInstant(),
+                rs.getBytes("root_hash"),
+                rs.getString("signature"),
+                rs.getTimestamp("created_at").toInstant()
+        )).stream().findFirst().orElse(null);
+    }
+
+    private byte[] node(int level, long position) {
+        List<byte[]> hashes = jdbcTemplate.query(NODE_SQL, (rs, rowNum) -> rs.getBytes("hash"), level, position);
+        return hashes.isEmpty() ? null : hashes.get(0);
+    }
+
+    private MerkleRoot toRoot(RootRow row) {
+        return new MerkleRoot(
+                row.leafCount(),
+                row.sealedUntil(),
+                HexFormat.of().formatHex(row.rootHash()),
+                row.signature(),
+                signatureValid(row),
+                row.createdAt()
+        );
+    }
+
+    private boolean signatureValid(RootRow row) {
+        return MessageDigest.isEqual(
+                sign(row.leafCount(), row.sealedUntil(), row.rootHash()).getBytes(StandardCharsets.US_ASCII),
+                row.signature().getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private String sign(long leafCount, Instant sealedUntil, byte[] rootHash) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String payload = leafCount + "|" + MerkleHashes.toMicros(sealedUntil) + "|" + HexFormat.of().formatHex(rootHash);
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to sign Merkle root", ex);
+        }
+    }
+
+    private long bucketOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketSeconds * 1000);
+    }
+
+    private Instant bucketStart(long bucket) {
+        return Instant.ofEpochMilli(bucket * bucketSeconds * 1000);
+    }
+
+    private Instant alignDown(Instant instant) {
+        return bucketStart(bucketOf(instant));
+    }
+
+    private record RootRow(long leafCount, Instant sealedUntil, byte[] rootHash, String signature, Instant createdAt) {
+    }
+
+    private record PeakHash(int level, byte[] hash) {
+    }
+
+    private record StoredLeaf(long index, Instant bucketStart, Instant bucketEnd, byte[] hash) {
+    }
+
+    private record NodeKey(int level, long position) {
+    }
+
+    private final class Verification {
+
+        private final RootRow root;
+        private final boolean signatureValid;
+        private final List<MerkleHashes.Peak> peaks;
+        private final Map<NodeKey, Optional<byte[]>> nodes = new HashMap<>();
+        private final List<TamperedBucket> tampered = new ArrayList<>();
+        private long bucketsChecked;
+        private long archivedBuckets;
+        private long proofHashes;
+
+        private Verification(RootRow root) {
+            this.root = root;
+            this.signatureValid = root != null && signatureValid(root);
+            this.peaks = root != null ? MerkleHashes.peaks(root.leafCount()) : List.of();
+        }
+
+        private void check(Instant from, Instant to) {
+            if (root == null) {
+                return;
+            }
+            Instant start = alignDown(from);
+            Instant end = to.isAfter(root.sealedUntil()) ? root.sealedUntil() : to;
+            if (!end.isAfter(start)) {
+                return;
+            }
+
+            NavigableMap<Long, BucketDigest> recomputed = digest(start, end);
+            List<StoredLeaf> leaves = jdbcTemplate.query(LEAVES_SQL, (rs, rowNum) -> toLeaf(rs),
+                    Timestamp.from(start), Timestamp.from(end), root.leafCount());
+            for (StoredLeaf leaf : leaves) {
+                BucketDigest digest = recomputed.remove(bucketOf(leaf.bucketStart()));
+                if (archiveService.reaches(leaf.bucketStart())) {
+                    archivedBuckets++;
+                    continue;
+                }
+                bucketsChecked++;
+                byte[] hash = (digest != null ? digest : new BucketDigest()).leafHash(leaf.bucketStart(), leaf.bucketEnd());
+                if (!MessageDigest.isEqual(hash, leaf.hash())) {
+                    tampered.add(new TamperedBucket(leaf.bucketStart(), leaf.bucketEnd(), leaf.index(), TamperReason.DATA_CHANGED));
+                } else if (!proves(leaf.index(), leaf.hash())) {
+                    tampered.add(new TamperedBucket(leaf.bucketStart(), leaf.bucketEnd(), leaf.index(), TamperReason.PROOF_MISMATCH));
+                }
+            }
+            for (Long bucket : recomputed.keySet()) {
+                Instant bucketStart = bucketStart(bucket);
+                if (!archiveService.reaches(bucketStart)) {
+                    tampered.add(new TamperedBucket(bucketStart, bucketStart(bucket + 1), null, TamperReason.UNTRACKED_ROWS));
+                }
+            }
+        }
+
+        private boolean proves(long leafIndex, byte[] leafHash) {
+            List<byte[]> bagged = new ArrayList<>(peaks.size());
+            for (MerkleHashes.Peak peak : peaks) {
+                if (!peak.covers(leafIndex)) {
+                    byte[] hash = cachedNode(peak.level(), peak.position());
+                    if (hash == null) {
+                        return false;
+                    }
+                    bagged.add(hash);
+                    continue;
+                }
+                byte[] hash = leafHash;
+                for (int level = 0; level < peak.level(); level++) {
+                    long position = leafIndex >> level;
+                    byte[] sibling = cachedNode(level, position ^ 1);
+                    if (sibling == null) {
+                        return false;
+                    }
+                    hash = (position & 1) == 0 ? MerkleHashes.node(hash, sibling) : MerkleHashes.node(sibling, hash);
+                    proofHashes++;
+                }
+                bagged.add(hash);
+            }
+            proofHashes += Math.max(0, bagged.size() - 1);
+            return MessageDigest.isEqual(MerkleHashes.bag(bagged), root.rootHash());
+        }
+
+        private byte[] cachedNode(int level, long position) {
+            return nodes.computeIfAbsent(new NodeKey(level, position),
+                    key -> Optional.ofNullable(node(key.level(), key.position()))).orElse(null);
+        }
+
+        private MerkleVerification result(Instant from, Instant to) {
+            return new MerkleVerification(
+                    from,
+                    to,
+                    root != null ? root.leafCount() : 0,
+                    root != null ? root.sealedUntil() : null,
+                    signatureValid,
+                    bucketsChecked,
+                    archivedBuckets,
+                    proofHashes,
+                    signatureValid && tampered.isEmpty(),
+                    List.copyOf(tampered)
+            );
+        }
+
+        private StoredLeaf toLeaf(ResultSet rs) throws SQLException {
+            return new StoredLeaf(
+                    rs.getLong("leaf_index"),
+                    rs.getTimestamp("bucket_start").toInstant(),
+                    rs.getTimestamp("bucket_end").toInstant(),
+                    rs.getBytes("leaf_hash")
+            );
+        }
+    }
+}
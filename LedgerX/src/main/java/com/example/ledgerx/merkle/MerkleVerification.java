@@ -0,0 +1,18 @@
+package com.example.ledgerx.merkle;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MerkleVerification(
+        Instant from,
+        Instant to,
+        long rootLeafCount,
+        Instant sealedUntil,
+        boolean rootSignatureValid,
+        long bucketsChecked,
+        long archivedBuckets,
+        long proofHashes,
+        boolean valid,
+        List<TamperedBucket> tamperedBuckets
+) {
+}
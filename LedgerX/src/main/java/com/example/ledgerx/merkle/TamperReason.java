@@ -0,0 +1,7 @@
+package com.example.ledgerx.merkle;
+
+public enum TamperReason {
+    DATA_CHANGED,
+    UNTRACKED_ROWS,
+    PROOF_MISMATCH
+}
@@ -0,0 +1,11 @@
+package com.example.ledgerx.merkle;
+
+import java.time.Instant;
+
+public record TamperedBucket(
+        Instant bucketStart,
+        Instant bucketEnd,
+        Long leafIndex,
+        TamperReason reason
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.ledgerx.netting;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record NettedTransfer(
+        UUID transactionId,
+        String idempotencyKey,
+        String fromAccountNumber,
+        String toAccountNumber,
+        BigDecimal amount,
+        String currency,
+        Instant acceptedAt
+) {
+}
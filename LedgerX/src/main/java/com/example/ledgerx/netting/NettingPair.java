@@ -0,0 +1,50 @@
+package com.example.ledgerx.netting;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class NettingPair {
+
+    private final String firstAccountNumber;
+    private final String secondAccountNumber;
+    private final AtomicReference<NettingWindow> currentWindow = new AtomicReference<>(new NettingWindow());
+    private volatile String currency;
+    private volatile boolean acceptingTransfers;
+
+    NettingPair(String firstAccountNumber, String secondAccountNumber) {
+        this.firstAccountNumber = firstAccountNumber;
+        this.secondAccountNumber = secondAccountNumber;
+    }
+
+    static String key(String accountA, String accountB) {
+        return accountA.compareTo(accountB) <= 0 ? accountA + "|" + accountB : accountB + "|" + accountA;
+    }
+
+    String firstAccountNumber() {
+        return firstAccountNumber;
+    }
+
+    String secondAccountNumber() {
+        return secondAccountNumber;
+    }
+
+    boolean isLoaded() {
+        return currency != null;
+    }
+
+    boolean accepts(String requestedCurrency) {
+        return acceptingTransfers && requestedCurrency.equals(currency);
+    }
+
+    void refresh(String currency, boolean acceptingTransfers) {
+        this.acceptingTransfers = acceptingTransfers;
+        this.currency = currency;
+    }
+
+    NettingWindow currentWindow() {
+        return currentWindow.get();
+    }
+
+    NettingWindow rotate() {
+        return currentWindow.getAndSet(new NettingWindow());
+    }
+}
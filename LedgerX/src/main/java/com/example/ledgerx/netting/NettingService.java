@@ -0,0 +1,280 @@
+package com.example.ledgerx.netting;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchivedTransaction;
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.Transaction;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.LedgerPoster;
+import com.example.ledgerx.service.TransferRules;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NettingService {
+
+    private static final int AMOUNT_SCALE = 4;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final NettingSettlementService nettingSettlementService;
+    private final ArchiveService archiveService;
+    private final VelocityLimitService velocityLimitService;
+
+    private final Map<String, NettingPair> pairs = new HashMap<>();
+    private final ConcurrentHashMap<String, NettedTransfer> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder acceptedTransfers = new LongAdder();
+    private final LongAdder settledTransfers = new LongAdder();
+    private final LongAdder failedTransfers = new LongAdder();
+    private final LongAdder settlements = new LongAdder();
+    private final LongAdder rowLocksAcquired = new LongAdder();
+
+    @Value("${ledgerx.netting.pairs:}")
+    private String configuredPairs;
+
+    @Value("${ledgerx.netting.reserved-limit:1000.0000}")
+    private BigDecimal reservedLimit;
+
+    private long reservedLimitUnits;
+
+    @PostConstruct
+    void init() {
+        reservedLimitUnits = toUnits(reservedLimit);
+        for (String entry : configuredPairs.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] accounts = trimmed.split(":");
+            if (accounts.length != 2 || accounts[0].isBlank() || accounts[1].isBlank() || accounts[0].equals(accounts[1])) {
+                throw new IllegalStateException("Invalid netting pair '" + trimmed + "', expected FROM:TO");
+            }
+            String first = accounts[0].trim();
+            String second = accounts[1].trim();
+            if (first.compareTo(second) > 0) {
+                String swap = first;
+                first = second;
+                second = swap;
+            }
+            pairs.put(NettingPair.key(first, second), new NettingPair(first, second));
+        }
+    }
+
+    public boolean isEnabled() {
+        return !pairs.isEmpty();
+    }
+
+    public Optional<TransferResponseDTO> tryAccept(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey
+    ) {
+        if (pairs.isEmpty() || fromAccountNum == null || toAccountNum == null) {
+            return Optional.empty();
+        }
+        NettingPair pair = pairs.get(NettingPair.key(fromAccountNum, toAccountNum));
+        if (pair == null) {
+            return Optional.empty();
+        }
+
+        TransferRules.validateRequest(fromAccountNum, toAccountNum, amount, currency, idempotencyKey);
+        if (amount.stripTrailingZeros().scale() > AMOUNT_SCALE) {
+            return Optional.empty();
+        }
+        if (!pair.isLoaded()) {
+            refresh(pair);
+        }
+        if (!pair.accepts(currency)) {
+            return Optional.empty();
+        }
+
+        NettedTransfer transfer = new NettedTransfer(
+                UUID.randomUUID(),
+                idempotencyKey,
+                fromAccountNum,
+                toAccountNum,
+                amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY),
+                currency,
+                LedgerPoster.now()
+        );
+        NettedTransfer previous = inFlight.putIfAbsent(idempotencyKey, transfer);
+        if (previous != null) {
+            return Optional.of(toPendingResponse(previous));
+        }
+
+        Transaction existing = transactionRepository.findWithEntriesByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing != null) {
+            inFlight.remove(idempotencyKey);
+            if (existing.getStatus() == TransactionStatus.COMPLETED) {
+                return Optional.of(TransferResponseDTO.from(existing));
+            }
+            if (existing.getStatus() == TransactionStatus.PENDING) {
+                throw new IdempotencyConflictException(
+                        "Transfer is already being processed for idempotency key: " + idempotencyKey
+                );
+            }
+            throw new IdempotencyConflictException(
+                    "Idempotency key cannot be reused with transaction status: " + existing.getStatus()
+            );
+        }
+
+        ArchivedTransaction archived = archiveService.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (archived != null) {
+            inFlight.remove(idempotencyKey);
+            if (archived.status() == TransactionStatus.COMPLETED) {
+                return Optional.of(TransferResponseDTO.from(archived));
+            }
+            throw new IdempotencyConflictException(
+                    "Idempotency key cannot be reused with transaction status: " + archived.status()
+            );
+        }
+
+        try {
+            velocityLimitService.reserve(fromAccountNum, transfer.amount());
+        } catch (VelocityLimitExceededException ex) {
+            inFlight.remove(idempotencyKey);
+            throw ex;
+        }
+        long signedUnits = fromAccountNum.equals(pair.firstAccountNumber())
+                ? toUnits(transfer.amount())
+                : -toUnits(transfer.amount());
+
+        while (true) {
+            NettingWindow window = pair.currentWindow();
+            if (!window.enter()) {
+                continue;
+            }
+            try {
+                if (!window.reserve(signedUnits, reservedLimitUnits)) {
+                    inFlight.remove(idempotencyKey);
+                    return Optional.empty();
+                }
+                window.add(transfer);
+            } finally {
+                window.exit();
+            }
+            acceptedTransfers.increment();
+            return Optional.of(toPendingResponse(transfer));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.netting.window-ms:200}")
+    public void closeWindows() {
+        Bulkhead.TRANSFER.run(() -> {
+            for (NettingPair pair : pairs.values()) {
+                NettingWindow closed = pair.rotate();
+                closed.closeAndAwaitWriters();
+                List<NettedTransfer> transfers = closed.drain();
+                if (!transfers.isEmpty()) {
+                    settle(pair, closed.netUnits(), transfers);
+                }
+            }
+        });
+    }
+
+    public NettingStats stats() {
+        long settled = settledTransfers.sum();
+        long locks = rowLocksAcquired.sum();
+        return new NettingStats(
+                acceptedTransfers.sum(),
+                settled,
+                failedTransfers.sum(),
+                settlements.sum(),
+                locks,
+                settled > 0 ? (double) locks / settled : 0.0
+        );
+    }
+
+    private void settle(NettingPair pair, long netUnits, List<NettedTransfer> transfers) {
+        BigDecimal net = BigDecimal.valueOf(netUnits, AMOUNT_SCALE);
+        try {
+            rowLocksAcquired.add(nettingSettlementService.settle(
+                    pair.firstAccountNumber(), pair.secondAccountNumber(), net, transfers));
+            settlements.increment();
+            settledTransfers.add(transfers.size());
+        } catch (LedgerException | DataAccessException ex) {
+            log.warn("Netting settlement failed for {} <-> {}, settling {} transfers individually: {}",
+                    pair.firstAccountNumber(), pair.secondAccountNumber(), transfers.size(), ex.getMessage());
+            transfers.forEach(transfer -> settleIndividually(pair, transfer));
+        } finally {
+            transfers.forEach(transfer -> inFlight.remove(transfer.idempotencyKey()));
+            refresh(pair);
+        }
+    }
+
+    private void settleIndividually(NettingPair pair, NettedTransfer transfer) {
+        BigDecimal signed = transfer.fromAccountNumber().equals(pair.firstAccountNumber())
+                ? transfer.amount()
+                : transfer.amount().negate();
+        try {
+            rowLocksAcquired.add(nettingSettlementService.settle(
+                    pair.firstAccountNumber(), pair.secondAccountNumber(), signed, List.of(transfer)));
+            settlements.increment();
+            settledTransfers.increment();
+        } catch (LedgerException | DataAccessException ex) {
+            try {
+                nettingSettlementService.recordFailed(List.of(transfer), ex.getMessage());
+            } catch (DataAccessException recordEx) {
+                log.warn("Failed to record failed netted transfer {}: {}", transfer.idempotencyKey(), recordEx.getMessage());
+            }
+            failedTransfers.increment();
+        }
+    }
+
+    private void refresh(NettingPair pair) {
+        Account first = accountRepository.findByAccountNumber(pair.firstAccountNumber()).orElse(null);
+        Account second = accountRepository.findByAccountNumber(pair.secondAccountNumber()).orElse(null);
+        if (first == null || second == null || !first.getCurrency().equals(second.getCurrency())) {
+            pair.refresh("", false);
+            return;
+        }
+        boolean active = first.getStatus() == AccountStatus.ACTIVE && second.getStatus() == AccountStatus.ACTIVE;
+        pair.refresh(first.getCurrency(), active);
+    }
+
+    private TransferResponseDTO toPendingResponse(NettedTransfer transfer) {
+        return new TransferResponseDTO(
+                transfer.transactionId(),
+                transfer.idempotencyKey(),
+                TransactionStatus.PENDING,
+                transfer.fromAccountNumber(),
+                transfer.toAccountNumber(),
+                transfer.amount(),
+                transfer.currency(),
+                transfer.acceptedAt(),
+                null
+        );
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+}
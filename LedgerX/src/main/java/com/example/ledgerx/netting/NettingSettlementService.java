@@ -0,0 +1,84 @@
+package com.example.ledgerx.netting;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.service.AccountLockService;
+import com.example.ledgerx.service.LedgerPoster;
+import com.example.ledgerx.service.TransferRules;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class NettingSettlementService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final AccountLockService accountLockService;
+    private final LedgerPoster ledgerPoster;
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public int settle(String firstAccountNumber, String secondAccountNumber, BigDecimal net, List<NettedTransfer> transfers) {
+        Map<String, Account> locked = accountLockService.lockRowsForUpdate(List.of(firstAccountNumber, secondAccountNumber));
+        Account first = locked.get(firstAccountNumber);
+        Account second = locked.get(secondAccountNumber);
+
+        Account netPayer = net.signum() >= 0 ? first : second;
+        Account netPayee = net.signum() >= 0 ? second : first;
+        TransferRules.validateBusinessRules(netPayer, netPayee, net.abs(), transfers.get(0).currency());
+
+        List<LedgerPoster.Posting> postings = new ArrayList<>(transfers.size());
+        BigDecimal firstRunning = first.getBalance();
+        BigDecimal secondRunning = second.getBalance();
+
+        for (NettedTransfer transfer : transfers) {
+            boolean firstPays = transfer.fromAccountNumber().equals(firstAccountNumber);
+            if (firstPays) {
+                firstRunning = firstRunning.subtract(transfer.amount());
+                secondRunning = secondRunning.add(transfer.amount());
+            } else {
+                secondRunning = secondRunning.subtract(transfer.amount());
+                firstRunning = firstRunning.add(transfer.amount());
+            }
+            postings.add(new LedgerPoster.Posting(
+                    transfer.transactionId(),
+                    transfer.idempotencyKey(),
+                    firstPays ? first : second,
+                    firstPays ? second : first,
+                    transfer.amount(),
+                    transfer.currency(),
+                    firstPays ? firstRunning : secondRunning,
+                    firstPays ? secondRunning : firstRunning,
+                    transfer.acceptedAt()
+            ));
+        }
+
+        first.setBalance(first.getBalance().subtract(net));
+        second.setBalance(second.getBalance().add(net));
+        ledgerPoster.post(postings, List.of(first, second));
+        return locked.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailed(List<NettedTransfer> transfers, String error) {
+        String sanitized = sanitizeError(error);
+        ledgerPoster.recordFailed(transfers.stream()
+                .map(transfer -> new LedgerPoster.Failure(
+                        transfer.transactionId(), transfer.idempotencyKey(), sanitized, transfer.acceptedAt()))
+                .toList());
+    }
+
+    private String sanitizeError(String error) {
+        if (error == null || error.isBlank()) {
+            return "Transfer failed";
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
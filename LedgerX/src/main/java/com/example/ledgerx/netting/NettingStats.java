@@ -0,0 +1,11 @@
+package com.example.ledgerx.netting;
+
+public record NettingStats(
+        long acceptedTransfers,
+        long settledTransfers,
+        long failedTransfers,
+        long settlements,
+        long rowLocksAcquired,
+        double rowLocksPerSettledTransfer
+) {
+}
@@ -0,0 +1,69 @@
+package com.example.ledgerx.netting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class NettingWindow {
+
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final AtomicLong netUnits = new AtomicLong();
+    private final AtomicInteger writers = new AtomicInteger();
+    private final ConcurrentLinkedQueue<NettedTransfer> transfers = new ConcurrentLinkedQueue<>();
+
+    boolean enter() {
+        while (true) {
+            int current = writers.get();
+            if ((current & CLOSED) != 0) {
+                return false;
+            }
+            if (writers.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void exit() {
+        writers.decrementAndGet();
+    }
+
+    boolean reserve(long signedUnits, long limitUnits) {
+        while (true) {
+            long current = netUnits.get();
+            long next = current + signedUnits;
+            if (Math.abs(next) > limitUnits) {
+                return false;
+            }
+            if (netUnits.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    void add(NettedTransfer transfer) {
+        transfers.add(transfer);
+    }
+
+    void closeAndAwaitWriters() {
+        while (true) {
+            int current = writers.get();
+            if (writers.compareAndSet(current, current | CLOSED)) {
+                break;
+            }
+        }
+        while ((writers.get() & ~CLOSED) != 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    long netUnits() {
+        return netUnits.get();
+    }
+
+    List<NettedTransfer> drain() {
+        return new ArrayList<>(transfers);
+    }
+}
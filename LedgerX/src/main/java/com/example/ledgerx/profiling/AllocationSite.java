@@ -0,0 +1,10 @@
+package com.example.ledgerx.profiling;
+
+public record AllocationSite(
+        String frame,
+        String applicationFrame,
+        String objectClass,
+        long bytes,
+        long samples
+) {
+}
@@ -0,0 +1,53 @@
+package com.example.ledgerx.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.ledgerx.AuditWrite")
+@Label("Audit Write")
+@Category({"LedgerX", "Audit"})
+@StackTrace(false)
+public class AuditWriteEvent extends Event {
+
+    public static final String OUTBOX = "OUTBOX";
+
+    public static final String OK = "OK";
+
+    private static final EventType TYPE = EventType.getEventType(AuditWriteEvent.class);
+    private static final AuditWriteEvent DISABLED = new AuditWriteEvent();
+
+    @Label("Transfers")
+    private int transfers;
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public static AuditWriteEvent begin(String stage) {
+        if (!TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        AuditWriteEvent event = new AuditWriteEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int transfers, String outcome) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.transfers = transfers;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
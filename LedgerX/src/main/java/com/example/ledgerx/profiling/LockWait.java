@@ -0,0 +1,13 @@
+package com.example.ledgerx.profiling;
+
+import java.time.Instant;
+
+public record LockWait(
+        String eventType,
+        String lockClass,
+        String thread,
+        String frame,
+        double durationMillis,
+        Instant startedAt
+) {
+}
@@ -0,0 +1,251 @@
+package com.example.ledgerx.profiling;
+
+import com.example.ledgerx.exception.LedgerException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class ProfilingService {
+
+    private static final String LEDGERX_PREFIX = "com.example.ledgerx.";
+    private static final int TOP_ENTRIES = 10;
+
+    private final AtomicBoolean recording = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ledgerx-profiling");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${ledgerx.profiling.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.profiling.dir:${java.io.tmpdir}/ledgerx-jfr}")
+    private String recordingDir;
+
+    @Value("${ledgerx.profiling.max-duration-seconds:300}")
+    private long maxDurationSeconds;
+
+    public CompletableFuture<RecordingSummary> record(String profile, long durationSeconds) {
+        if (!enabled) {
+            throw new LedgerException("Profiling is disabled; set ledgerx.profiling.enabled=true");
+        }
+        if (durationSeconds <= 0 || durationSeconds > maxDurationSeconds) {
+            throw new LedgerException("Recording duration must be between 1 and " + maxDurationSeconds + " seconds");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException ex) {
+            throw new LedgerException("Unknown JFR profile: " + profile);
+        }
+        if (!recording.compareAndSet(false, true)) {
+            throw new LedgerException("A recording is already in progress");
+        }
+
+        UUID recordingId = UUID.randomUUID();
+        Path file = recordingPath().resolve(recordingId + ".jfr");
+        Instant startedAt = Instant.now();
+        Recording jfr = new Recording(configuration);
+        try {
+            jfr.setName("ledgerx-" + recordingId);
+            jfr.setToDisk(true);
+            jfr.setDestination(file);
+            jfr.start();
+        } catch (IOException | RuntimeException ex) {
+            jfr.close();
+            recording.set(false);
+            throw new LedgerException("Failed to start JFR recording", ex);
+        }
+        log.info("Started {}s JFR recording {} with profile {}", durationSeconds, recordingId, profile);
+
+        CompletableFuture<RecordingSummary> summary = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            try {
+                jfr.stop();
+                summary.complete(summarize(recordingId, profile, startedAt, file));
+            } catch (Throwable ex) {
+                summary.completeExceptionally(ex);
+            } finally {
+                jfr.close();
+                recording.set(false);
+            }
+        }, durationSeconds, TimeUnit.SECONDS);
+        return summary;
+    }
+
+    public Path recordingFile(UUID recordingId) {
+        return recordingPath().resolve(recordingId + ".jfr");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private RecordingSummary summarize(UUID recordingId, String profile, Instant startedAt, Path file) throws IOException {
+        Map<String, long[]> allocations = new HashMap<>();
+        Map<String, String[]> allocationKeys = new HashMap<>();
+        PriorityQueue<LockWait> lockWaits = new PriorityQueue<>(Comparator.comparingDouble(LockWait::durationMillis));
+        Map<String, double[]> stages = new HashMap<>();
+        Map<String, String[]> stageKeys = new HashMap<>();
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String type = event.getEventType().getName();
+                switch (type) {
+                    case "jdk.ObjectAllocationSample" -> addAllocation(allocations, allocationKeys, event, event.getLong("weight"));
+                    case "jdk.ObjectAllocationInNewTLAB" -> addAllocation(allocations, allocationKeys, event, event.getLong("tlabSize"));
+                    case "jdk.ObjectAllocationOutsideTLAB" -> addAllocation(allocations, allocationKeys, event, event.getLong("allocationSize"));
+                    case "jdk.JavaMonitorEnter" -> addLockWait(lockWaits, event, "monitorClass", false);
+                    case "jdk.ThreadPark" -> addLockWait(lockWaits, event, "parkedClass", true);
+                    default -> {
+                        if (type.startsWith(LEDGERX_PREFIX)) {
+                            addStage(stages, stageKeys, event, type.substring(LEDGERX_PREFIX.length()));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<AllocationSite> topAllocations = allocations.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(TOP_ENTRIES)
+                .map(entry -> {
+                    String[] key = allocationKeys.get(entry.getKey());
+                    return new AllocationSite(key[0], key[1], key[2], entry.getValue()[0], entry.getValue()[1]);
+                })
+                .toList();
+        List<LockWait> longestWaits = new ArrayList<>(lockWaits);
+        longestWaits.sort(Comparator.comparingDouble(LockWait::durationMillis).reversed());
+        List<StageTiming> stageTimings = stages.entrySet().stream()
+                .map(entry -> {
+                    String[] key = stageKeys.get(entry.getKey());
+                    double[] timing = entry.getValue();
+                    return new StageTiming(key[0], key[1], key[2], (long) timing[0], timing[1], timing[2]);
+                })
+                .sorted(Comparator.comparingDouble(StageTiming::totalMillis).reversed())
+                .toList();
+
+        return new RecordingSummary(
+                recordingId,
+                profile,
+                startedAt,
+                Instant.now(),
+                Files.size(file),
+                "/api/v1/admin/recordings/" + recordingId,
+                topAllocations,
+                longestWaits,
+                stageTimings
+        );
+    }
+
+    private void addAllocation(Map<String, long[]> allocations, Map<String, String[]> keys, RecordedEvent event, long bytes) {
+        String frame = topFrame(event);
+        RecordedClass objectClass = event.getClass("objectClass");
+        String className = objectClass != null ? objectClass.getName() : "unknown";
+        String key = frame + "|" + className;
+        keys.computeIfAbsent(key, ignored -> new String[]{frame, applicationFrame(event), className});
+        long[] totals = allocations.computeIfAbsent(key, ignored -> new long[2]);
+        totals[0] += bytes;
+        totals[1]++;
+    }
+
+    private void addLockWait(PriorityQueue<LockWait> lockWaits, RecordedEvent event, String classField,
+                             boolean applicationOnly) {
+        String applicationFrame = applicationFrame(event);
+        if (applicationOnly && applicationFrame == null) {
+            return;
+        }
+        RecordedClass lockClass = event.getClass(classField);
+        RecordedThread thread = event.getThread();
+        lockWaits.add(new LockWait(
+                event.getEventType().getName(),
+                lockClass != null ? lockClass.getName() : null,
+                thread != null ? thread.getJavaName() : null,
+                applicationFrame != null ? applicationFrame : topFrame(event),
+                event.getDuration().toNanos() / 1_000_000.0,
+                event.getStartTime()
+        ));
+        if (lockWaits.size() > TOP_ENTRIES) {
+            lockWaits.poll();
+        }
+    }
+
+    private void addStage(Map<String, double[]> stages, Map<String, String[]> keys, RecordedEvent event, String name) {
+        String stage = event.hasField("stage") ? event.getString("stage") : null;
+        String outcome = event.hasField("outcome") ? event.getString("outcome") : null;
+        String key = name + "|" + stage + "|" + outcome;
+        keys.putIfAbsent(key, new String[]{name, stage, outcome});
+        double millis = event.getDuration().toNanos() / 1_000_000.0;
+        double[] timing = stages.computeIfAbsent(key, ignored -> new double[3]);
+        timing[0]++;
+        timing[1] += millis;
+        timing[2] = Math.max(timing[2], millis);
+    }
+
+    private String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private String applicationFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(LEDGERX_PREFIX)) {
+                return describe(frame);
+            }
+        }
+        return null;
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private Path recordingPath() {
+        Path path = Path.of(recordingDir);
+        try {
+            return Files.createDirectories(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
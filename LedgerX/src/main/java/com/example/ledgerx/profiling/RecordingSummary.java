@@ -0,0 +1,18 @@
+package com.example.ledgerx.profiling;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record RecordingSummary(
+        UUID recordingId,
+        String profile,
+        Instant startedAt,
+        Instant stoppedAt,
+        long fileBytes,
+        String downloadPath,
+        List<AllocationSite> topAllocationSites,
+        List<LockWait> longestLockWaits,
+        List<StageTiming> ledgerStages
+) {
+}
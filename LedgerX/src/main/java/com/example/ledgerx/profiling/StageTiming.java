@@ -0,0 +1,11 @@
+package com.example.ledgerx.profiling;
+
+public record StageTiming(
+        String event,
+        String stage,
+        String outcome,
+        long count,
+        double totalMillis,
+        double maxMillis
+) {
+}
@@ -0,0 +1,63 @@
+package com.example.ledgerx.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.ledgerx.TransactionListing")
+@Label("Transaction Listing")
+@Category({"LedgerX", "Reads"})
+@StackTrace(false)
+public class TransactionListingEvent extends Event {
+
+    public static final String HOT = "HOT";
+    public static final String ARCHIVE = "ARCHIVE";
+
+    public static final String OK = "OK";
+
+    private static final EventType TYPE = EventType.getEventType(TransactionListingEvent.class);
+    private static final TransactionListingEvent DISABLED = new TransactionListingEvent();
+
+    @Label("Page")
+    private int page;
+
+    @Label("Size")
+    private int size;
+
+    @Label("Rows")
+    private int rows;
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public static TransactionListingEvent begin(int page, int size) {
+        if (!TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        TransactionListingEvent event = new TransactionListingEvent();
+        event.page = page;
+        event.size = size;
+        event.stage = HOT;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String stage, int rows, String outcome) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.stage = stage;
+            this.rows = rows;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
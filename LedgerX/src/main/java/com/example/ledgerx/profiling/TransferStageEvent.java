@@ -0,0 +1,70 @@
+package com.example.ledgerx.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.ledgerx.TransferStage")
+@Label("Transfer Stage")
+@Category({"LedgerX", "Transfers"})
+@StackTrace(false)
+public class TransferStageEvent extends Event {
+
+    public static final String IDEMPOTENCY = "IDEMPOTENCY";
+    public static final String VALIDATION = "VALIDATION";
+    public static final String LOCK = "LOCK";
+    public static final String POST = "POST";
+
+    public static final String OK = "OK";
+    public static final String REPLAYED = "REPLAYED";
+    public static final String COMPLETED = "COMPLETED";
+
+    private static final EventType TYPE = EventType.getEventType(TransferStageEvent.class);
+    private static final TransferStageEvent DISABLED = new TransferStageEvent();
+
+    @Label("From Account")
+    private String fromAccount;
+
+    @Label("To Account")
+    private String toAccount;
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public static TransferStageEvent begin(String fromAccount, String toAccount, String stage) {
+        if (!TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        TransferStageEvent event = new TransferStageEvent();
+        event.fromAccount = fromAccount;
+        event.toAccount = toAccount;
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public TransferStageEvent next(String nextStage) {
+        if (this == DISABLED) {
+            return this;
+        }
+        finish(OK);
+        return begin(fromAccount, toAccount, nextStage);
+    }
+
+    public void finish(String outcome) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
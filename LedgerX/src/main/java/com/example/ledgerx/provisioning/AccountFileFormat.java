@@ -0,0 +1,6 @@
+package com.example.ledgerx.provisioning;
+
+public enum AccountFileFormat {
+    CSV,
+    NDJSON
+}
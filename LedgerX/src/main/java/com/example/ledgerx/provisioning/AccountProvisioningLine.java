@@ -0,0 +1,10 @@
+package com.example.ledgerx.provisioning;
+
+import java.math.BigDecimal;
+
+public record AccountProvisioningLine(
+        String accountNumber,
+        String currency,
+        BigDecimal openingBalance
+) {
+}
@@ -0,0 +1,203 @@
+package com.example.ledgerx.provisioning;
+
+import com.example.ledgerx.api.AccountProvisioningResponseDTO;
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountProvisioningService {
+
+    private static final String COPY_IN_SQL = """
+            COPY account_provisioning_rows (job_id, line_number, account_number, currency, opening_balance,
+                                            status, error_message)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String INSERT_ACCOUNTS_SQL = """
+            with inserted as (
+                insert into accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+                select gen_random_uuid(), account_number, currency, opening_balance, 'ACTIVE', 0, now(), now()
+                from account_provisioning_rows
+                where job_id = ? and status = 'STAGED' and line_number > ? and line_number <= ?
+                on conflict (account_number) do nothing
+                returning id, account_number
+            )
+            update account_provisioning_rows r
+            set status = 'CREATED', account_id = i.id
+            from inserted i
+            where r.job_id = ? and r.status = 'STAGED' and r.line_number > ? and r.line_number <= ?
+              and r.account_number = i.account_number
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ledgerx.provisioning.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ledgerx.provisioning.chunk-size:100000}")
+    private int chunkSize;
+
+    @Value("${ledgerx.provisioning.report-dir:${java.io.tmpdir}/ledgerx-provisioning}")
+    private String reportDir;
+
+    public AccountProvisioningResponseDTO provision(InputStream body, AccountFileFormat format) {
+        return Bulkhead.BACKGROUND.call(() -> runJob(body, format));
+    }
+
+    private AccountProvisioningResponseDTO runJob(InputStream body, AccountFileFormat format) {
+        UUID jobId = UUID.randomUUID();
+        long started = System.nanoTime();
+        try {
+            long rows = stage(jobId, body, format);
+            markDuplicates(jobId);
+            insertAccounts(jobId, rows);
+            markExisting(jobId);
+            Map<String, Long> statusCounts = countByStatus(jobId);
+            Path report = writeErrorReport(jobId);
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Account provisioning job {} processed {} rows in {} ms: {}", jobId, rows, elapsedMillis, statusCounts);
+            return new AccountProvisioningResponseDTO(jobId, rows, statusCounts, report.toString(), elapsedMillis);
+        } finally {
+            jdbcTemplate.update("delete from account_provisioning_rows where job_id = ?", jobId);
+        }
+    }
+
+    public Path errorReport(UUID jobId) {
+        return Path.of(reportDir).resolve(jobId + ".csv");
+    }
+
+    private long stage(UUID jobId, InputStream body, AccountFileFormat format) {
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            ProvisioningStagingReader reader = new ProvisioningStagingReader(
+                    new InputStreamReader(body, StandardCharsets.UTF_8),
+                    format,
+                    objectMapper,
+                    jobId
+            );
+            copyManager.copyIn(COPY_IN_SQL, reader);
+            return reader.rowsStaged();
+        } catch (SQLException | IOException ex) {
+            throw new LedgerException("Failed to stage account provisioning file", ex);
+        }
+    }
+
+    private void markDuplicates(UUID jobId) {
+        jdbcTemplate.update("""
+                update account_provisioning_rows r
+                set status = 'DUPLICATE', error_message = 'Duplicate of line ' || d.first_line
+                from (
+                    select account_number, min(line_number) as first_line
+                    from account_provisioning_rows
+                    where job_id = ? and status = 'STAGED'
+                    group by account_number
+                    having count(*) > 1
+                ) d
+                where r.job_id = ? and r.status = 'STAGED'
+                  and r.account_number = d.account_number and r.line_number > d.first_line
+                """, jobId, jobId);
+    }
+
+    private void insertAccounts(UUID jobId, long rows) {
+        if (rows == 0) {
+            return;
+        }
+        int workers = (int) Math.max(1, Math.min(parallelism, (rows + chunkSize - 1) / chunkSize));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, Bulkhead.BACKGROUND.threadFactory("provisioning"));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (long start = 0; start < rows; start += chunkSize) {
+                long from = start;
+                long to = Math.min(rows, start + chunkSize);
+                futures.add(executor.submit(() -> jdbcTemplate.update(INSERT_ACCOUNTS_SQL,
+                        jobId, from, to, jobId, from, to)));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LedgerException("Account provisioning job interrupted: " + jobId, ex);
+        } catch (ExecutionException ex) {
+            throw new LedgerException("Account provisioning job failed: " + jobId, ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void markExisting(UUID jobId) {
+        jdbcTemplate.update("""
+                update account_provisioning_rows r
+                set status = 'EXISTS', account_id = a.id, error_message = 'Account already exists'
+                from accounts a
+                where r.job_id = ? and r.status = 'STAGED' and a.account_number = r.account_number
+                """, jobId);
+    }
+
+    private Path writeErrorReport(UUID jobId) {
+        Path file = errorReport(jobId);
+        try (Connection connection = dataSource.getConnection()) {
+            Files.createDirectories(file.getParent());
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                copyManager.copyOut("""
+                        COPY (
+                            select line_number, account_number, status, account_id, error_message
+                            from account_provisioning_rows
+                            where job_id = '%s' and status <> 'CREATED'
+                            order by line_number
+                        ) TO STDOUT WITH (FORMAT csv, HEADER)
+                        """.formatted(jobId), writer);
+            }
+            return file;
+        } catch (SQLException | IOException ex) {
+            throw new LedgerException("Failed to write account provisioning report for job: " + jobId, ex);
+        }
+    }
+
+    private Map<String, Long> countByStatus(UUID jobId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "select status, count(*) as row_count from account_provisioning_rows where job_id = ? group by status order by status",
+                rs -> {
+                    counts.put(rs.getString("status"), rs.getLong("row_count"));
+                },
+                jobId
+        );
+        return counts;
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.ledgerx.provisioning;
+
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final int AMOUNT_SCALE = 4;
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    private static final Pattern PREFIX = Pattern.compile("[A-Za-z0-9_-]{1,200}");
+
+    private static final String COPY_ACCOUNTS_SQL = """
+            COPY accounts (id, account_number, currency, balance, held_amount, status, version, created_at, updated_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String COPY_TRANSACTIONS_SQL = """
+            COPY transactions (id, idempotency_key, status, created_at, completed_at, from_account_id, to_account_id,
+                               from_account_number, to_account_number, amount, currency, from_balance_after,
+                               to_balance_after, compact)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String COPY_ENTRIES_SQL = """
+            COPY ledger_entries (id, transaction_id, account_id, amount, direction, created_at, balance_after)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledgerx.journal.compact:false}")
+    private boolean compactJournal;
+
+    public GeneratedDataset generate(DatasetSpec spec) {
+        validate(spec);
+        long started = System.nanoTime();
+        Simulation simulation = new Simulation(spec);
+
+        Cursor totals = simulation.cursor();
+        totals.drain();
+        long[] finalBalances = totals.balances;
+        long completed = spec.transfers() - totals.skipped;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyManager.copyIn(COPY_ACCOUNTS_SQL, new GeneratedRowsReader(new AccountRows(simulation, finalBalances)));
+                Cursor transactions = simulation.cursor();
+                copyManager.copyIn(COPY_TRANSACTIONS_SQL, new GeneratedRowsReader(
+                        () -> transactions.next() ? simulation.transactionRow(transactions, compactJournal) : null));
+                if (!compactJournal) {
+                    Cursor entries = simulation.cursor();
+                    copyManager.copyIn(COPY_ENTRIES_SQL, new GeneratedRowsReader(
+                            () -> entries.next() ? simulation.entryRows(entries) : null));
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException | IOException ex) {
+            throw new LedgerException("Failed to load synthetic dataset " + spec.prefix(), ex);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Generated dataset {} with {} accounts and {} transfers ({} skipped) in {} ms",
+                spec.prefix(), spec.accounts(), completed, totals.skipped, elapsedMillis);
+        return new GeneratedDataset(spec.prefix(), spec.accounts(), completed, totals.skipped, compactJournal, elapsedMillis);
+    }
+
+    private void validate(DatasetSpec spec) {
+        if (spec.prefix() == null || !PREFIX.matcher(spec.prefix()).matches()) {
+            throw new LedgerException("Dataset prefix must be 1-200 letters, digits, '-' or '_'");
+        }
+        if (spec.accounts() < 2) {
+            throw new LedgerException("A dataset needs at least 2 accounts");
+        }
+        if (spec.transfers() < 0 || spec.skew() < 0 || spec.historyDays() < 1) {
+            throw new LedgerException("Transfers and skew must not be negative and history must cover at least one day");
+        }
+        if (spec.currency() == null || !CURRENCY.matcher(spec.currency()).matches()) {
+            throw new LedgerException("Currency must be a 3-letter ISO code");
+        }
+        if (spec.openingBalance() == null || spec.openingBalance().signum() < 0
+                || spec.openingBalance().stripTrailingZeros().scale() > AMOUNT_SCALE
+                || spec.maxAmount() == null || spec.maxAmount().signum() <= 0) {
+            throw new LedgerException("Opening balance must not be negative and the maximum amount must be positive");
+        }
+        Boolean taken = jdbcTemplate.queryForObject(
+                "select exists (select 1 from accounts where left(account_number, length(?)) = ?)",
+                Boolean.class, spec.prefix(), spec.prefix());
+        if (Boolean.TRUE.equals(taken)) {
+            throw new LedgerException("Accounts with prefix " + spec.prefix() + " already exist");
+        }
+    }
+
+    private static String units(long value) {
+        return BigDecimal.valueOf(value, AMOUNT_SCALE).toPlainString();
+    }
+
+    private static final class Simulation {
+
+        private final DatasetSpec spec;
+        private final double[] cumulative;
+        private final long openingUnits;
+        private final long maxAmountUnits;
+        private final long startMillis;
+        private final long spanMillis;
+        private final long accountIdBits;
+        private final long transactionIdBits;
+        private final long entryIdBits;
+        private final int numberWidth;
+
+        private Simulation(DatasetSpec spec) {
+            this.spec = spec;
+            this.cumulative = spec.skew() > 0 ? zipf(spec.accounts(), spec.skew()) : null;
+            this.openingUnits = spec.openingBalance().movePointRight(AMOUNT_SCALE).longValueExact();
+            this.maxAmountUnits = Math.max(1, spec.maxAmount().movePointRight(AMOUNT_SCALE).longValue());
+            Instant now = Instant.now();
+            this.spanMillis = Duration.ofDays(spec.historyDays()).toMillis();
+            this.startMillis = now.toEpochMilli() - spanMillis;
+            SplittableRandom ids = new SplittableRandom(spec.seed() ^ now.toEpochMilli());
+            this.accountIdBits = ids.nextLong();
+            this.transactionIdBits = ids.nextLong();
+            this.entryIdBits = ids.nextLong();
+            this.numberWidth = String.valueOf(spec.accounts() - 1).length();
+        }
+
+        private Cursor cursor() {
+            return new Cursor(this);
+        }
+
+        private UUID accountId(int index) {
+            return new UUID(accountIdBits, index);
+        }
+
+        private String accountNumber(int index) {
+            String digits = Integer.toString(index);
+            return spec.prefix() + "0".repeat(numberWidth - digits.length()) + digits;
+        }
+
+        private String timestamp(long transfer) {
+            long offset = spec.transfers() == 0 ? 0 : (long) ((double) transfer / spec.transfers() * spanMillis);
+            return Instant.ofEpochMilli(startMillis + offset).toString();
+        }
+
+        private String transactionRow(Cursor cursor, boolean compact) {
+            String createdAt = timestamp(cursor.transfer);
+            return new UUID(transactionIdBits, cursor.transfer) + ","
+                    + spec.prefix() + "T" + cursor.transfer + ",COMPLETED,"
+                    + createdAt + "," + createdAt + ","
+                    + accountId(cursor.from) + "," + accountId(cursor.to) + ","
+                    + accountNumber(cursor.from) + "," + accountNumber(cursor.to) + ","
+                    + units(cursor.amount) + "," + spec.currency() + ","
+                    + units(cursor.fromBalance) + "," + units(cursor.toBalance) + ","
+                    + compact + "\n";
+        }
+
+        private String entryRows(Cursor cursor) {
+            UUID transactionId = new UUID(transactionIdBits, cursor.transfer);
+            String createdAt = timestamp(cursor.transfer);
+            String amount = units(cursor.amount);
+            return new UUID(entryIdBits, cursor.transfer * 2) + "," + transactionId + "," + accountId(cursor.from) + ","
+                    + amount + ",DEBIT," + createdAt + "," + units(cursor.fromBalance) + "\n"
+                    + new UUID(entryIdBits, cursor.transfer * 2 + 1) + "," + transactionId + "," + accountId(cursor.to) + ","
+                    + amount + ",CREDIT," + createdAt + "," + units(cursor.toBalance) + "\n";
+        }
+
+        private int sample(SplittableRandom random) {
+            if (cumulative == null) {
+                return random.nextInt(spec.accounts());
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(spec.accounts() - 1, index >= 0 ? index : -index - 1);
+        }
+
+        private static double[] zipf(int accounts, double exponent) {
+            double[] cumulative = new double[accounts];
+            double total = 0;
+            for (int rank = 0; rank < accounts; rank++) {
+                total += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < accounts; rank++) {
+                cumulative[rank] /= total;
+            }
+            return cumulative;
+        }
+    }
+
+    private static final class Cursor {
+
+        private final Simulation simulation;
+        private final SplittableRandom random;
+        private final long[] balances;
+        private long next;
+        private long skipped;
+        private long transfer;
+        private int from;
+        private int to;
+        private long amount;
+        private long fromBalance;
+        private long toBalance;
+
+        private Cursor(Simulation simulation) {
+            this.simulation = simulation;
+            this.random = new SplittableRandom(simulation.spec.seed());
+            this.balances = new long[simulation.spec.accounts()];
+            Arrays.fill(balances, simulation.openingUnits);
+        }
+
+        private void drain() {
+            boolean more = true;
+            while (more) {
+                more = next();
+            }
+        }
+
+        private boolean next() {
+            while (next < simulation.spec.transfers()) {
+                long current = next++;
+                int source = simulation.sample(random);
+                int target = simulation.sample(random);
+                while (target == source) {
+                    target = random.nextInt(simulation.spec.accounts());
+                }
+                long units = 1 + random.nextLong(simulation.maxAmountUnits);
+                if (balances[source] < units) {
+                    skipped++;
+                    continue;
+                }
+                balances[source] -= units;
+                balances[target] += units;
+                transfer = current;
+                from = source;
+                to = target;
+                amount = units;
+                fromBalance = balances[source];
+                toBalance = balances[target];
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class AccountRows implements Supplier<String> {
+
+        private final Simulation simulation;
+        private final long[] balances;
+        private final String createdAt;
+        private int index;
+
+        private AccountRows(Simulation simulation, long[] balances) {
+            this.simulation = simulation;
+            this.balances = balances;
+            this.createdAt = Instant.ofEpochMilli(simulation.startMillis).toString();
+        }
+
+        @Override
+        public String get() {
+            if (index >= balances.length) {
+                return null;
+            }
+            int current = index++;
+            return simulation.accountId(current) + "," + simulation.accountNumber(current) + ","
+                    + simulation.spec.currency() + "," + units(balances[current]) + ",0,ACTIVE,0,"
+                    + createdAt + "," + createdAt + "\n";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ledgerx.provisioning;
+
+import java.math.BigDecimal;
+
+public record DatasetSpec(
+        String prefix,
+        int accounts,
+        long transfers,
+        double skew,
+        int historyDays,
+        long seed,
+        String currency,
+        BigDecimal openingBalance,
+        BigDecimal maxAmount
+) {
+}
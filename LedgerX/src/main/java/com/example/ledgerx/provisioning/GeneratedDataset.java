@@ -0,0 +1,11 @@
+package com.example.ledgerx.provisioning;
+
+public record GeneratedDataset(
+        String prefix,
+        int accounts,
+        long transfers,
+        long skippedTransfers,
+        boolean compactJournal,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.ledgerx.provisioning;
+
+import java.io.Reader;
+import java.util.function.Supplier;
+
+class GeneratedRowsReader extends Reader {
+
+    private final Supplier<String> rows;
+
+    private String pending = "";
+    private int position;
+
+    GeneratedRowsReader(Supplier<String> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= pending.length()) {
+            String next = rows.get();
+            if (next == null) {
+                return -1;
+            }
+            pending = next;
+            position = 0;
+        }
+        int count = Math.min(length, pending.length() - position);
+        pending.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+    }
+}
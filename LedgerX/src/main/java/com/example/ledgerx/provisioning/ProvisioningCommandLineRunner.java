@@ -0,0 +1,68 @@
+package com.example.ledgerx.provisioning;
+
+import com.example.ledgerx.api.AccountProvisioningResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProvisioningCommandLineRunner implements ApplicationRunner {
+
+    private final AccountProvisioningService accountProvisioningService;
+    private final DatasetGenerator datasetGenerator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (args.containsOption("provision-accounts")) {
+            Path file = Path.of(option(args, "provision-accounts", ""));
+            AccountFileFormat format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".ndjson")
+                    ? AccountFileFormat.NDJSON
+                    : AccountFileFormat.CSV;
+            try (InputStream body = Files.newInputStream(file)) {
+                AccountProvisioningResponseDTO result = accountProvisioningService.provision(body, format);
+                log.info("Provisioned {} from {}: {} (error report {})",
+                        result.jobId(), file, result.statusCounts(), result.errorReport());
+            }
+        } else if (args.containsOption("generate-dataset")) {
+            DatasetSpec spec = new DatasetSpec(
+                    option(args, "prefix", "SYN-" + UUID.randomUUID().toString().substring(0, 8) + "-"),
+                    Integer.parseInt(option(args, "accounts", "10000")),
+                    Long.parseLong(option(args, "transfers", "100000")),
+                    Double.parseDouble(option(args, "skew", "0")),
+                    Integer.parseInt(option(args, "history-days", "30")),
+                    Long.parseLong(option(args, "seed", "42")),
+                    option(args, "currency", "USD"),
+                    new BigDecimal(option(args, "opening-balance", "10000.0000")),
+                    new BigDecimal(option(args, "max-amount", "100.0000"))
+            );
+            GeneratedDataset dataset = datasetGenerator.generate(spec);
+            log.info("Generated dataset {}", dataset);
+        } else {
+            return;
+        }
+        if (!args.containsOption("keep-running")) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private String option(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() || values.get(0).isBlank() ? defaultValue : values.get(0);
+    }
+}
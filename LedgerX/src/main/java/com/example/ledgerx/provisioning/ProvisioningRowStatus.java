@@ -0,0 +1,9 @@
+package com.example.ledgerx.provisioning;
+
+public enum ProvisioningRowStatus {
+    STAGED,
+    REJECTED,
+    DUPLICATE,
+    EXISTS,
+    CREATED
+}
@@ -0,0 +1,195 @@
+package com.example.ledgerx.provisioning;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+class ProvisioningStagingReader extends Reader {
+
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int MAX_SCALE = 4;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+
+    private final BufferedReader source;
+    private final AccountFileFormat format;
+    private final ObjectMapper objectMapper;
+    private final String jobId;
+
+    private String pending = "";
+    private int position;
+    private long lineNumber;
+    private boolean firstLine = true;
+
+    ProvisioningStagingReader(Reader source, AccountFileFormat format, ObjectMapper objectMapper, UUID jobId) {
+        this.source = new BufferedReader(source, 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.jobId = jobId.toString();
+    }
+
+    long rowsStaged() {
+        return lineNumber;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position >= pending.length()) {
+            String next = nextStagingLine();
+            if (next == null) {
+                return -1;
+            }
+            pending = next;
+            position = 0;
+        }
+        int count = Math.min(length, pending.length() - position);
+        pending.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private String nextStagingLine() throws IOException {
+        while (true) {
+            String line = source.readLine();
+            if (line == null) {
+                return null;
+            }
+            boolean header = firstLine && format == AccountFileFormat.CSV
+                    && line.toLowerCase(Locale.ROOT).startsWith("account");
+            firstLine = false;
+            if (line.isBlank() || header) {
+                continue;
+            }
+            lineNumber++;
+            return toStagingRow(parse(line));
+        }
+    }
+
+    private ParsedLine parse(String line) {
+        AccountProvisioningLine parsed;
+        if (format == AccountFileFormat.NDJSON) {
+            try {
+                parsed = objectMapper.readValue(line, AccountProvisioningLine.class);
+            } catch (RuntimeException ex) {
+                return ParsedLine.rejected("Malformed NDJSON row");
+            }
+        } else {
+            List<String> fields = splitCsv(line);
+            if (fields.size() < 2 || fields.size() > 3) {
+                return ParsedLine.rejected("Expected columns: account_number,currency[,opening_balance]");
+            }
+            BigDecimal openingBalance;
+            try {
+                openingBalance = fields.size() < 3 || fields.get(2).isBlank() ? null : new BigDecimal(fields.get(2).trim());
+            } catch (NumberFormatException ex) {
+                return ParsedLine.rejected("Invalid opening balance");
+            }
+            parsed = new AccountProvisioningLine(fields.get(0), fields.get(1), openingBalance);
+        }
+
+        String accountNumber = trimToNull(parsed.accountNumber());
+        String currency = trimToNull(parsed.currency());
+        BigDecimal openingBalance = parsed.openingBalance() != null ? parsed.openingBalance() : BigDecimal.ZERO;
+        if (accountNumber == null) {
+            return ParsedLine.rejected("Account number is required");
+        }
+        if (accountNumber.length() > MAX_TEXT_LENGTH) {
+            return ParsedLine.rejected("Account number exceeds " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (currency == null || !CURRENCY.matcher(currency).matches()) {
+            return ParsedLine.rejected("Currency must be a 3-letter ISO code");
+        }
+        if (openingBalance.signum() < 0) {
+            return ParsedLine.rejected("Opening balance must not be negative");
+        }
+        if (openingBalance.stripTrailingZeros().scale() > MAX_SCALE
+                || openingBalance.precision() - openingBalance.scale() > MAX_INTEGER_DIGITS) {
+            return ParsedLine.rejected("Opening balance is out of range");
+        }
+        return new ParsedLine(accountNumber, currency, openingBalance, ProvisioningRowStatus.STAGED, null);
+    }
+
+    private String toStagingRow(ParsedLine line) {
+        StringBuilder row = new StringBuilder(96);
+        row.append(jobId).append(',').append(lineNumber).append(',');
+        appendText(row, line.accountNumber()).append(',');
+        appendText(row, line.currency()).append(',');
+        if (line.openingBalance() != null) {
+            row.append(line.openingBalance().toPlainString());
+        }
+        row.append(',');
+        row.append(line.status().name()).append(',');
+        appendText(row, line.errorMessage()).append('\n');
+        return row.toString();
+    }
+
+    private StringBuilder appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private record ParsedLine(
+            String accountNumber,
+            String currency,
+            BigDecimal openingBalance,
+            ProvisioningRowStatus status,
+            String errorMessage
+    ) {
+        static ParsedLine rejected(String errorMessage) {
+            return new ParsedLine(null, null, null, ProvisioningRowStatus.REJECTED, errorMessage);
+        }
+    }
+}
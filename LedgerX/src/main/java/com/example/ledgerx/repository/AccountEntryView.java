@@ -0,0 +1,12 @@
+package com.example.ledgerx.repository;
+
+import java.math.BigDecimal;
+
+public interface AccountEntryView {
+
+    BigDecimal getAmount();
+
+    String getDirection();
+
+    BigDecimal getBalanceAfter();
+}
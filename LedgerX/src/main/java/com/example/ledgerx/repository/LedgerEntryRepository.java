@@ -2,8 +2,38 @@ package com.example.ledgerx.repository;
 
 import com.example.ledgerx.entity.LedgerEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
+
+    @Query(value = """
+            select amount, direction, balance_after as "balanceAfter"
+            from account_entries
+            where account_id = :accountId and created_at <= :asOf
+            order by created_at desc, id desc
+            limit 1
+            """, nativeQuery = true)
+    Optional<AccountEntryView> findLatestEntry(@Param("accountId") UUID accountId, @Param("asOf") Instant asOf);
+
+    @Query(value = """
+            select amount, direction, balance_after as "balanceAfter"
+            from account_entries
+            where account_id = :accountId and created_at > :asOf
+            order by created_at, id
+            limit 1
+            """, nativeQuery = true)
+    Optional<AccountEntryView> findEarliestEntryAfter(@Param("accountId") UUID accountId, @Param("asOf") Instant asOf);
+
+    @Query(value = """
+            select coalesce(sum(case when direction = 'CREDIT' then amount else -amount end), 0)
+            from account_entries
+            where account_id = :accountId and created_at > :asOf
+            """, nativeQuery = true)
+    BigDecimal sumSignedAmountsAfter(@Param("accountId") UUID accountId, @Param("asOf") Instant asOf);
 }
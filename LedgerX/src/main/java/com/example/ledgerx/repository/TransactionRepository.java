@@ -4,6 +4,8 @@ import com.example.ledgerx.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -12,5 +14,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
 
     Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 
+    @Query("""
+            select t from Transaction t
+            left join fetch t.ledgerEntries e
+            left join fetch e.account
+            where t.idempotencyKey = :idempotencyKey
+            """)
+    Optional<Transaction> findWithEntriesByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
     Page<Transaction> findAllByOrderByCreatedAtDesc(Pageable pageable);
 }
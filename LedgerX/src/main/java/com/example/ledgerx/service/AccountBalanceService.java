@@ -0,0 +1,90 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.AccountBalanceResponseDTO;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchivedEntry;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.repository.AccountEntryView;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceService {
+
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final ArchiveService archiveService;
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccountBalanceResponseDTO getBalance(String accountNumber, Instant asOf) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        if (asOf == null) {
+            return toResponse(account, account.getBalance(), Instant.now());
+        }
+        if (account.getCreatedAt() != null && asOf.isBefore(account.getCreatedAt())) {
+            throw new LedgerException("Account " + accountNumber + " did not exist at " + asOf);
+        }
+
+        return toResponse(account, balanceAsOf(account, asOf), asOf);
+    }
+
+    private BigDecimal balanceAsOf(Account account, Instant asOf) {
+        Optional<AccountEntryView> latest = ledgerEntryRepository.findLatestEntry(account.getId(), asOf);
+        if (latest.isPresent() && latest.get().getBalanceAfter() != null) {
+            return latest.get().getBalanceAfter();
+        }
+
+        boolean archived = false;
+        if (latest.isEmpty() && archiveService.reaches(asOf)) {
+            Optional<ArchivedEntry> archivedLatest = archiveService.findLatestEntry(account.getId(), asOf);
+            Optional<ArchivedEntry> archivedNext = archivedLatest.isPresent()
+                    ? Optional.empty()
+                    : archiveService.findEarliestEntryAfter(account.getId(), asOf);
+            archived = archivedLatest.isPresent() || archivedNext.isPresent();
+            if (archivedLatest.isPresent() && archivedLatest.get().balanceAfter() != null) {
+                return archivedLatest.get().balanceAfter();
+            }
+            if (archivedNext.isPresent() && archivedNext.get().balanceAfter() != null) {
+                return archivedNext.get().balanceAfter().subtract(archivedNext.get().signedAmount());
+            }
+        }
+
+        if (latest.isEmpty() && !archived) {
+            Optional<AccountEntryView> next = ledgerEntryRepository.findEarliestEntryAfter(account.getId(), asOf);
+            if (next.isEmpty()) {
+                return account.getBalance();
+            }
+            if (next.get().getBalanceAfter() != null) {
+                return next.get().getBalanceAfter().subtract(signedAmount(next.get()));
+            }
+        }
+
+        BigDecimal laterMovements = ledgerEntryRepository.sumSignedAmountsAfter(account.getId(), asOf);
+        if (archiveService.reaches(asOf)) {
+            laterMovements = laterMovements.add(archiveService.sumSignedAmountsAfter(account.getId(), asOf));
+        }
+        return account.getBalance().subtract(laterMovements);
+    }
+
+    private BigDecimal signedAmount(AccountEntryView entry) {
+        return EntryDirection.CREDIT.name().equals(entry.getDirection()) ? entry.getAmount() : entry.getAmount().negate();
+    }
+
+    private AccountBalanceResponseDTO toResponse(Account account, BigDecimal balance, Instant asOf) {
+        return new AccountBalanceResponseDTO(account.getAccountNumber(), account.getCurrency(), balance, asOf);
+    }
+}
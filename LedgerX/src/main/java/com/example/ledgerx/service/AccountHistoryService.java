@@ -0,0 +1,165 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.AccountHistoryEntryDTO;
+import com.example.ledgerx.api.AccountHistoryResponseDTO;
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AccountHistoryService {
+
+    private static final String LEDGER_BRANCH = """
+            select transaction_id, created_at, direction, amount, balance_after
+            from ledger_entries
+            where account_id = ?""";
+
+    private static final String COMPACT_DEBIT_BRANCH = """
+            select id, created_at, 'DEBIT', amount, from_balance_after
+            from transactions
+            where compact and from_account_id = ?""";
+
+    private static final String COMPACT_CREDIT_BRANCH = """
+            select id, created_at, 'CREDIT', amount, to_balance_after
+            from transactions
+            where compact and to_account_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountDirectory accountDirectory;
+
+    @Value("${ledgerx.history.max-page-size:200}")
+    private int maxPageSize;
+
+    public AccountHistoryResponseDTO getHistory(
+            String accountNumber,
+            String direction,
+            String status,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String cursor,
+            int size
+    ) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new LedgerException("size must be between 1 and " + maxPageSize);
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new LedgerException("minAmount must not be greater than maxAmount");
+        }
+        EntryDirection entryDirection = direction != null ? parse(EntryDirection.class, "direction", direction) : null;
+        TransactionStatus transactionStatus = status != null ? parse(TransactionStatus.class, "status", status) : null;
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        UUID accountId = accountDirectory.find(accountNumber)
+                .or(() -> accountDirectory.reload(accountNumber))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber))
+                .id();
+        if (transactionStatus != null && transactionStatus != TransactionStatus.COMPLETED) {
+            return new AccountHistoryResponseDTO(accountNumber, List.of(), null);
+        }
+
+        List<Object> args = new ArrayList<>();
+        List<String> branches = new ArrayList<>();
+        branches.add(branch(LEDGER_BRANCH, "transaction_id", accountId, entryDirection, minAmount, maxAmount, after, size, args));
+        if (entryDirection != EntryDirection.CREDIT) {
+            branches.add(branch(COMPACT_DEBIT_BRANCH, "id", accountId, null, minAmount, maxAmount, after, size, args));
+        }
+        if (entryDirection != EntryDirection.DEBIT) {
+            branches.add(branch(COMPACT_CREDIT_BRANCH, "id", accountId, null, minAmount, maxAmount, after, size, args));
+        }
+        String sql = String.join("\nunion all\n", branches) + "\norder by created_at desc, transaction_id desc\nlimit ?";
+        args.add(size + 1);
+
+        List<AccountHistoryEntryDTO> entries = jdbcTemplate.query(sql, (rs, rowNum) -> new AccountHistoryEntryDTO(
+                rs.getObject("transaction_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant(),
+                TransactionStatus.COMPLETED.name(),
+                rs.getString("direction"),
+                rs.getBigDecimal("amount"),
+                rs.getBigDecimal("balance_after")
+        ), args.toArray());
+        if (entries.size() <= size) {
+            return new AccountHistoryResponseDTO(accountNumber, entries, null);
+        }
+        List<AccountHistoryEntryDTO> page = entries.subList(0, size);
+        AccountHistoryEntryDTO last = page.get(size - 1);
+        return new AccountHistoryResponseDTO(accountNumber, List.copyOf(page),
+                new Cursor(last.createdAt(), last.transactionId()).encode());
+    }
+
+    private String branch(
+            String select,
+            String idColumn,
+            UUID accountId,
+            EntryDirection direction,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            Cursor after,
+            int size,
+            List<Object> args
+    ) {
+        StringBuilder sql = new StringBuilder("(").append(select);
+        args.add(accountId);
+        if (direction != null) {
+            sql.append(" and direction = ?");
+            args.add(direction.name());
+        }
+        if (minAmount != null) {
+            sql.append(" and amount >= ?");
+            args.add(minAmount);
+        }
+        if (maxAmount != null) {
+            sql.append(" and amount <= ?");
+            args.add(maxAmount);
+        }
+        if (after != null) {
+            sql.append(" and (created_at, ").append(idColumn).append(") < (?, ?)");
+            args.add(Timestamp.from(after.createdAt()));
+            args.add(after.transactionId());
+        }
+        sql.append("\norder by created_at desc, ").append(idColumn).append(" desc\nlimit ?)");
+        args.add(size + 1);
+        return sql.toString();
+    }
+
+    private <E extends Enum<E>> E parse(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new LedgerException("Unsupported " + name + ": " + value);
+        }
+    }
+
+    private record Cursor(Instant createdAt, UUID transactionId) {
+
+        private static Cursor decode(String value) {
+            int separator = value.indexOf('.');
+            try {
+                long micros = Long.parseLong(value.substring(0, separator), 36);
+                Instant createdAt = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        Math.floorMod(micros, 1_000_000L) * 1_000);
+                return new Cursor(createdAt, UUID.fromString(value.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new LedgerException("Invalid cursor: " + value);
+            }
+        }
+
+        private String encode() {
+            long micros = createdAt.getEpochSecond() * 1_000_000 + createdAt.getNano() / 1_000;
+            return Long.toString(micros, 36) + "." + transactionId;
+        }
+    }
+}
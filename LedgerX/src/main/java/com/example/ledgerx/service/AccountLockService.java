@@ -0,0 +1,132 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class AccountLockService {
+
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    private static final String LOCK_ROWS_SQL = """
+            select id, account_number, currency, balance, held_amount, status, version
+            from accounts
+            where id = any(?)
+            order by id
+            for update
+            """;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountDirectory accountDirectory;
+
+    private final LongAdder rowLocksAcquired = new LongAdder();
+
+    @Value("${ledgerx.transfer.lock-timeout-ms:3000}")
+    private long lockTimeoutMillis;
+
+    public long rowLocksAcquired() {
+        return rowLocksAcquired.sum();
+    }
+
+    public Map<String, Account> lockForUpdate(List<String> accountNumbers) {
+        return lock(accountNumbers, this::lockByIds);
+    }
+
+    public Map<String, Account> lockRowsForUpdate(List<String> accountNumbers) {
+        return lock(accountNumbers, this::lockRowsByIds);
+    }
+
+    private Map<String, Account> lock(List<String> accountNumbers, Function<Map<String, UUID>, Map<String, Account>> lockByIds) {
+        List<String> ordered = accountNumbers.stream().distinct().sorted().toList();
+        Map<String, UUID> ids = new LinkedHashMap<>();
+        for (String accountNumber : ordered) {
+            ids.put(accountNumber, accountDirectory.find(accountNumber)
+                    .orElseThrow(() -> notFound(accountNumber))
+                    .id());
+        }
+
+        Map<String, Account> locked = lockByIds.apply(ids);
+        if (locked.size() < ordered.size()) {
+            for (String accountNumber : ordered) {
+                if (!locked.containsKey(accountNumber)) {
+                    ids.put(accountNumber, accountDirectory.reload(accountNumber)
+                            .orElseThrow(() -> notFound(accountNumber))
+                            .id());
+                }
+            }
+            locked = lockByIds.apply(ids);
+            for (String accountNumber : ordered) {
+                if (!locked.containsKey(accountNumber)) {
+                    throw notFound(accountNumber);
+                }
+            }
+        }
+
+        locked.values().forEach(accountDirectory::observe);
+        return locked;
+    }
+
+    private Map<String, Account> lockByIds(Map<String, UUID> ids) {
+        Map<String, Account> locked = new HashMap<>(ids.size() * 2);
+        List<Account> accounts = entityManager
+                .createQuery("select a from Account a where a.id in :ids order by a.id", Account.class)
+                .setParameter("ids", ids.values())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(LOCK_TIMEOUT_HINT, lockTimeoutMillis)
+                .getResultList();
+        rowLocksAcquired.add(accounts.size());
+        for (Account account : accounts) {
+            if (account.getId().equals(ids.get(account.getAccountNumber()))) {
+                locked.put(account.getAccountNumber(), account);
+            }
+        }
+        return locked;
+    }
+
+    private Map<String, Account> lockRowsByIds(Map<String, UUID> ids) {
+        Map<String, Account> locked = new HashMap<>(ids.size() * 2);
+        jdbcTemplate.execute("set local lock_timeout = '" + lockTimeoutMillis + "ms'");
+        jdbcTemplate.query(
+                LOCK_ROWS_SQL,
+                rs -> {
+                    rowLocksAcquired.increment();
+                    Account account = Account.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .accountNumber(rs.getString("account_number"))
+                            .currency(rs.getString("currency"))
+                            .balance(rs.getBigDecimal("balance"))
+                            .heldAmount(rs.getBigDecimal("held_amount"))
+                            .status(AccountStatus.valueOf(rs.getString("status")))
+                            .version(rs.getLong("version"))
+                            .build();
+                    if (account.getId().equals(ids.get(account.getAccountNumber()))) {
+                        locked.put(account.getAccountNumber(), account);
+                    }
+                },
+                (Object) ids.values().toArray(UUID[]::new)
+        );
+        return locked;
+    }
+
+    private AccountNotFoundException notFound(String accountNumber) {
+        return new AccountNotFoundException("Account not found: " + accountNumber);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class AccountSnapshotCache {
+
+    private static final String PROBE_SQL = """
+            select id, account_number, currency, balance, held_amount, status, version
+            from accounts
+            where account_number in (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder fastRejections = new LongAdder();
+
+    public void trackPendingCredit(String accountNumber) {
+        entries.compute(accountNumber, (ignored, current) -> {
+            Entry entry = current == null ? new Entry() : current;
+            entry.pendingCredits.incrementAndGet();
+            return entry;
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entries.computeIfPresent(accountNumber, (ignored, current) ->
+                        current.pendingCredits.decrementAndGet() == 0 && current.snapshot.get() == null ? null : current);
+            }
+        });
+    }
+
+
+    public void observeAfterCommit(Account... accounts) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Account account : accounts) {
+                    observe(account);
+                }
+            }
+        });
+    }
+
+    public void observe(Account account) {
+        if (account.getVersion() == null) {
+            return;
+        }
+        AccountSnapshot snapshot = new AccountSnapshot(
+                account.getId(),
+                account.getAvailableBalance(),
+                account.getStatus(),
+                account.getVersion()
+        );
+        entry(account.getAccountNumber()).snapshot.accumulateAndGet(snapshot,
+                (current, next) -> current == null || !current.id().equals(next.id()) || next.version() >= current.version()
+                        ? next
+                        : current);
+    }
+
+    public void rejectIfCertainToFail(String fromAccountNum, String toAccountNum, BigDecimal amount, String currency) {
+        if (!looksCertainToFail(fromAccountNum, toAccountNum, amount)) {
+            return;
+        }
+
+        probes.increment();
+        Map<String, Account> current = probe(fromAccountNum, toAccountNum);
+        current.values().forEach(this::observe);
+
+        for (String accountNumber : List.of(fromAccountNum, toAccountNum).stream().sorted().toList()) {
+            if (!current.containsKey(accountNumber)) {
+                fastRejections.increment();
+                throw new AccountNotFoundException("Account not found: " + accountNumber);
+            }
+        }
+
+        try {
+            TransferRules.validateBusinessRules(current.get(fromAccountNum), current.get(toAccountNum), amount, currency);
+        } catch (InsufficientFundsException ex) {
+            if (pendingCredits(fromAccountNum) > 0) {
+                return;
+            }
+            fastRejections.increment();
+            throw ex;
+        } catch (RuntimeException ex) {
+            fastRejections.increment();
+            throw ex;
+        }
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long fastRejections() {
+        return fastRejections.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean looksCertainToFail(String fromAccountNum, String toAccountNum, BigDecimal amount) {
+        AccountSnapshot from = snapshot(fromAccountNum);
+        AccountSnapshot to = snapshot(toAccountNum);
+        if (from != null && from.status() == AccountStatus.FROZEN || to != null && to.status() == AccountStatus.FROZEN) {
+            return true;
+        }
+        return from != null && from.availableBalance().compareTo(amount) < 0 && pendingCredits(fromAccountNum) == 0;
+    }
+
+    private Map<String, Account> probe(String fromAccountNum, String toAccountNum) {
+        Map<String, Account> accounts = new HashMap<>(4);
+        jdbcTemplate.query(PROBE_SQL, rs -> {
+            Account account = Account.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .accountNumber(rs.getString("account_number"))
+                    .currency(rs.getString("currency"))
+                    .balance(rs.getBigDecimal("balance"))
+                    .heldAmount(rs.getBigDecimal("held_amount"))
+                    .status(AccountStatus.valueOf(rs.getString("status")))
+                    .version(rs.getLong("version"))
+                    .build();
+            accounts.put(account.getAccountNumber(), account);
+        }, fromAccountNum, toAccountNum);
+        return accounts;
+    }
+
+    private AccountSnapshot snapshot(String accountNumber) {
+        Entry entry = entries.get(accountNumber);
+        return entry == null ? null : entry.snapshot.get();
+    }
+
+    private int pendingCredits(String accountNumber) {
+        Entry entry = entries.get(accountNumber);
+        return entry == null ? 0 : entry.pendingCredits.get();
+    }
+
+    private Entry entry(String accountNumber) {
+        return entries.computeIfAbsent(accountNumber, ignored -> new Entry());
+    }
+
+    private record AccountSnapshot(UUID id, BigDecimal availableBalance, AccountStatus status, long version) {
+    }
+
+    private static final class Entry {
+
+        private final AtomicReference<AccountSnapshot> snapshot = new AtomicReference<>();
+        private final AtomicInteger pendingCredits = new AtomicInteger();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.directory.AccountStatusChangedEvent;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AccountStatusService {
+
+    private final AccountLockService accountLockService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional
+    public Account changeStatus(String accountNumber, AccountStatus status) {
+        Account account = accountLockService.lockForUpdate(List.of(accountNumber)).get(accountNumber);
+        if (account.getStatus() == status) {
+            return account;
+        }
+        account.setStatus(status);
+        accountSnapshotCache.observeAfterCommit(account);
+        applicationEventPublisher.publishEvent(new AccountStatusChangedEvent(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getCurrency(),
+                status
+        ));
+        return account;
+    }
+}
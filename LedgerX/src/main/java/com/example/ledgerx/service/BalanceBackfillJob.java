@@ -0,0 +1,193 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.bulkhead.Bulkhead;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceBackfillJob {
+
+    private static final int UPDATE_BATCH_SIZE = 1_000;
+
+    private static final String MOVEMENTS_SQL = """
+            select id, account_id, amount, direction, balance_after, created_at, true as ledger_entry
+            from ledger_entries
+            where account_id = any(?)
+            union all
+            select t.id, t.from_account_id, t.amount, 'DEBIT', t.from_balance_after, t.created_at, false
+            from transactions t
+            where t.compact and t.from_account_id = any(?)
+            union all
+            select md5(t.id::text || ':CREDIT')::uuid, t.to_account_id, t.amount, 'CREDIT', t.to_balance_after, t.created_at, false
+            from transactions t
+            where t.compact and t.to_account_id = any(?)
+            order by account_id, created_at desc, id desc
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveService archiveService;
+
+    @Value("${ledgerx.backfill.balance-after.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.backfill.balance-after.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ledgerx.backfill.balance-after.range-size:500}")
+    private int rangeSize;
+
+    @Value("${ledgerx.backfill.balance-after.chunk-size:50}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public long backfill() {
+        Boolean pending = jdbcTemplate.queryForObject(
+                "select exists (select 1 from ledger_entries where balance_after is null)",
+                Boolean.class
+        );
+        if (!Boolean.TRUE.equals(pending)) {
+            return 0;
+        }
+
+        List<AccountRange> ranges = loadAccountRanges();
+        AtomicLong updated = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, parallelism), Bulkhead.BACKGROUND.threadFactory("backfill"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (AccountRange range : ranges) {
+                futures.add(executor.submit(() -> updated.addAndGet(backfillRange(range))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Balance backfill interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Balance backfill failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Backfilled balance_after on {} ledger entries across {} account ranges", updated.get(), ranges.size());
+        return updated.get();
+    }
+
+    private List<AccountRange> loadAccountRanges() {
+        List<AccountRange> ranges = new ArrayList<>();
+        List<UUID> current = new ArrayList<>(rangeSize);
+        jdbcTemplate.query("select id from accounts order by id", rs -> {
+            current.add(rs.getObject("id", UUID.class));
+            if (current.size() == rangeSize) {
+                ranges.add(new AccountRange(current.get(0), current.get(current.size() - 1)));
+                current.clear();
+            }
+        });
+        if (!current.isEmpty()) {
+            ranges.add(new AccountRange(current.get(0), current.get(current.size() - 1)));
+        }
+        return ranges;
+    }
+
+    private long backfillRange(AccountRange range) {
+        List<UUID> accountIds = jdbcTemplate.queryForList(
+                """
+                        select distinct account_id
+                        from ledger_entries
+                        where account_id between ? and ? and balance_after is null
+                        order by account_id
+                        """,
+                UUID.class,
+                range.firstId(),
+                range.lastId()
+        );
+        long updated = 0;
+        for (int start = 0; start < accountIds.size(); start += Math.max(1, chunkSize)) {
+            List<UUID> chunk = accountIds.subList(start, Math.min(accountIds.size(), start + Math.max(1, chunkSize)));
+            Long chunkUpdated = transactionTemplate.execute(status -> backfillAccounts(chunk));
+            updated += chunkUpdated != null ? chunkUpdated : 0;
+        }
+        return updated;
+    }
+
+    private long backfillAccounts(List<UUID> accountIds) {
+        UUID[] ids = accountIds.toArray(UUID[]::new);
+        Map<UUID, BigDecimal> running = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, balance from accounts where id = any(?) order by id for share",
+                rs -> {
+                    running.put(rs.getObject("id", UUID.class), rs.getBigDecimal("balance"));
+                },
+                (Object) ids
+        );
+
+        List<Object[]> batch = new ArrayList<>(UPDATE_BATCH_SIZE);
+        long[] count = {0};
+        jdbcTemplate.query(MOVEMENTS_SQL,
+                rs -> {
+                    UUID accountId = rs.getObject("account_id", UUID.class);
+                    BigDecimal balanceAfter = running.get(accountId);
+                    BigDecimal amount = rs.getBigDecimal("amount");
+                    BigDecimal signed = "CREDIT".equals(rs.getString("direction")) ? amount : amount.negate();
+                    running.put(accountId, balanceAfter.subtract(signed));
+
+                    if (rs.getBoolean("ledger_entry") && rs.getBigDecimal("balance_after") == null) {
+                        Instant createdAt = rs.getTimestamp("created_at").toInstant();
+                        if (archiveService.reaches(createdAt)) {
+                            balanceAfter = balanceAfter.subtract(archiveService.sumSignedAmountsAfter(accountId, createdAt));
+                        }
+                        batch.add(new Object[]{balanceAfter, rs.getObject("id", UUID.class)});
+                        if (batch.size() == UPDATE_BATCH_SIZE) {
+                            count[0] += flush(batch);
+                        }
+                    }
+                },
+                ids, ids, ids
+        );
+        count[0] += flush(batch);
+        return count[0];
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("update ledger_entries set balance_after = ? where id = ?", batch);
+        int flushed = batch.size();
+        batch.clear();
+        return flushed;
+    }
+
+    private record AccountRange(UUID firstId, UUID lastId) {
+    }
+}
@@ -7,6 +7,7 @@ import com.example.ledgerx.repository.AuditLogRepository;
 import com.example.ledgerx.repository.LedgerEntryRepository;
 import com.example.ledgerx.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,12 +25,16 @@ public class DemoService {
     private final AuditLogRepository auditLogRepository;
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionWatermark transactionWatermark;
 
     @Transactional
     public void resetDemoState() {
         ledgerEntryRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from audit_outbox");
         auditLogRepository.deleteAllInBatch();
         transactionRepository.deleteAllInBatch();
+        transactionWatermark.advance();
 
         Account accountA = accountRepository.findByAccountNumber(ACCOUNT_A)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + ACCOUNT_A));
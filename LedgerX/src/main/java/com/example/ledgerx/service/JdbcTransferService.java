@@ -0,0 +1,121 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledgerx.transfer.engine", havingValue = "jdbc")
+public class JdbcTransferService implements TransferService {
+
+    private static final String FIND_BY_IDEMPOTENCY_KEY_SQL = """
+            select t.id, t.idempotency_key, t.status, t.created_at, t.completed_at, t.from_account_number,
+                   t.to_account_number, t.amount, t.currency, le.direction, le.amount as entry_amount,
+                   a.account_number as entry_account_number, a.currency as entry_currency
+            from transactions t
+            left join ledger_entries le on le.transaction_id = t.id and t.amount is null
+            left join accounts a on a.id = le.account_id
+            where t.idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferGuard transferGuard;
+    private final LedgerPoster ledgerPoster;
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public TransferResponseDTO processTransfer(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey
+    ) {
+        return transferGuard.process(
+                fromAccountNum,
+                toAccountNum,
+                amount,
+                currency,
+                idempotencyKey,
+                this::findByIdempotencyKey,
+                stages -> ledgerPoster.transfer(fromAccountNum, toAccountNum, amount, currency, idempotencyKey, stages)
+        );
+    }
+
+    private TransferResponseDTO findByIdempotencyKey(String idempotencyKey) {
+        List<StoredRow> rows = jdbcTemplate.query(FIND_BY_IDEMPOTENCY_KEY_SQL, this::mapStoredRow, idempotencyKey);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        TransferResponseDTO stored = rows.get(0).transfer();
+        if (stored.amount() != null) {
+            return stored;
+        }
+        StoredRow debit = findEntry(rows, EntryDirection.DEBIT);
+        StoredRow credit = findEntry(rows, EntryDirection.CREDIT);
+        return new TransferResponseDTO(
+                stored.id(),
+                stored.idempotencyKey(),
+                stored.status(),
+                debit != null ? debit.entryAccountNumber() : null,
+                credit != null ? credit.entryAccountNumber() : null,
+                debit != null ? debit.entryAmount() : null,
+                debit != null ? debit.entryCurrency() : null,
+                stored.createdAt(),
+                stored.completedAt()
+        );
+    }
+
+    private StoredRow findEntry(List<StoredRow> rows, EntryDirection direction) {
+        return rows.stream()
+                .filter(row -> row.direction() == direction)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private StoredRow mapStoredRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        String direction = rs.getString("direction");
+        return new StoredRow(
+                new TransferResponseDTO(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("idempotency_key"),
+                        TransactionStatus.valueOf(rs.getString("status")),
+                        rs.getString("from_account_number"),
+                        rs.getString("to_account_number"),
+                        rs.getBigDecimal("amount"),
+                        rs.getString("currency"),
+                        rs.getTimestamp("created_at").toInstant(),
+                        completedAt == null ? null : completedAt.toInstant()
+                ),
+                direction == null ? null : EntryDirection.valueOf(direction),
+                rs.getString("entry_account_number"),
+                rs.getBigDecimal("entry_amount"),
+                rs.getString("entry_currency")
+        );
+    }
+
+    private record StoredRow(
+            TransferResponseDTO transfer,
+            EntryDirection direction,
+            String entryAccountNumber,
+            BigDecimal entryAmount,
+            String entryCurrency
+    ) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ledgerx.transfer.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTransferService implements TransferService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransferGuard transferGuard;
+    private final LedgerPoster ledgerPoster;
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public TransferResponseDTO processTransfer(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey
+    ) {
+        return transferGuard.process(
+                fromAccountNum,
+                toAccountNum,
+                amount,
+                currency,
+                idempotencyKey,
+                key -> transactionRepository.findWithEntriesByIdempotencyKey(key).map(TransferResponseDTO::from).orElse(null),
+                stages -> ledgerPoster.transfer(fromAccountNum, toAccountNum, amount, currency, idempotencyKey, stages)
+        );
+    }
+}
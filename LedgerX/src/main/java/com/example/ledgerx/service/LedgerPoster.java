@@ -0,0 +1,203 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.audit.TransferCompletedEvent;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.EntryDirection;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.profiling.TransferStageEvent;
+import com.example.ledgerx.velocity.VelocityDebit;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerPoster {
+
+    private static final String UPDATE_ACCOUNT_SQL = """
+            update accounts set balance = ?, held_amount = ?, version = version + 1, updated_at = ? where id = ?
+            """;
+
+    private static final String INSERT_TRANSACTION_SQL = """
+            insert into transactions (id, idempotency_key, status, error_message, created_at, completed_at,
+                                      from_account_id, to_account_id, from_account_number, to_account_number,
+                                      amount, currency, from_balance_after, to_balance_after, compact)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LEDGER_ENTRY_SQL = """
+            insert into ledger_entries (id, transaction_id, account_id, amount, direction, created_at, balance_after)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountLockService accountLockService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final VelocityLimitService velocityLimitService;
+
+    @Value("${ledgerx.journal.compact:false}")
+    private boolean compactJournal;
+
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public TransferResponseDTO transfer(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey,
+            TransferGuard.Stages stages
+    ) {
+        UUID transactionId = UUID.randomUUID();
+        Instant createdAt = now();
+
+        stages.next(TransferStageEvent.LOCK);
+        Map<String, Account> lockedAccounts = accountLockService.lockRowsForUpdate(List.of(fromAccountNum, toAccountNum));
+        Account fromAccount = lockedAccounts.get(fromAccountNum);
+        Account toAccount = lockedAccounts.get(toAccountNum);
+
+        stages.next(TransferStageEvent.POST);
+        accountSnapshotCache.observe(fromAccount);
+        accountSnapshotCache.observe(toAccount);
+        TransferRules.validateBusinessRules(fromAccount, toAccount, amount, currency);
+
+        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
+        toAccount.setBalance(toAccount.getBalance().add(amount));
+        Instant completedAt = post(
+                List.of(new Posting(transactionId, idempotencyKey, fromAccount, toAccount, amount, currency,
+                        fromAccount.getBalance(), toAccount.getBalance(), createdAt)),
+                List.of(fromAccount, toAccount)
+        );
+
+        accountSnapshotCache.observeAfterCommit(fromAccount, toAccount);
+        return new TransferResponseDTO(
+                transactionId,
+                idempotencyKey,
+                TransactionStatus.COMPLETED,
+                fromAccountNum,
+                toAccountNum,
+                amount,
+                currency,
+                createdAt,
+                completedAt
+        );
+    }
+
+    public Instant post(List<Posting> postings, Collection<Account> accounts) {
+        velocityLimitService.enforce(postings.stream()
+                .map(posting -> new VelocityDebit(posting.from(), posting.amount()))
+                .toList());
+        Instant postedAt = now();
+        Timestamp posted = Timestamp.from(postedAt);
+        List<Object[]> transactionRows = new ArrayList<>(postings.size());
+        List<Object[]> entryRows = new ArrayList<>(compactJournal ? 0 : postings.size() * 2);
+        for (Posting posting : postings) {
+            transactionRows.add(new Object[]{
+                    posting.transactionId(),
+                    posting.idempotencyKey(),
+                    TransactionStatus.COMPLETED.name(),
+                    null,
+                    Timestamp.from(posting.acceptedAt()),
+                    posted,
+                    posting.from().getId(),
+                    posting.to().getId(),
+                    posting.from().getAccountNumber(),
+                    posting.to().getAccountNumber(),
+                    posting.amount(),
+                    posting.currency(),
+                    posting.fromBalanceAfter(),
+                    posting.toBalanceAfter(),
+                    compactJournal
+            });
+            if (compactJournal) {
+                continue;
+            }
+            entryRows.add(new Object[]{
+                    UUID.randomUUID(), posting.transactionId(), posting.from().getId(), posting.amount(),
+                    EntryDirection.DEBIT.name(), posted, posting.fromBalanceAfter()
+            });
+            entryRows.add(new Object[]{
+                    UUID.randomUUID(), posting.transactionId(), posting.to().getId(), posting.amount(),
+                    EntryDirection.CREDIT.name(), posted, posting.toBalanceAfter()
+            });
+        }
+
+        List<Object[]> accountRows = accounts.stream()
+                .sorted(Comparator.comparing(Account::getId))
+                .map(account -> new Object[]{account.getBalance(), account.getHeldAmount(), posted, account.getId()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_ACCOUNT_SQL, accountRows);
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactionRows);
+        if (!entryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY_SQL, entryRows);
+        }
+        for (Account account : accounts) {
+            if (account.getVersion() != null) {
+                account.setVersion(account.getVersion() + 1);
+            }
+        }
+
+        for (Posting posting : postings) {
+            applicationEventPublisher.publishEvent(new TransferCompletedEvent(
+                    posting.transactionId(),
+                    posting.idempotencyKey(),
+                    posting.from().getAccountNumber(),
+                    posting.to().getAccountNumber(),
+                    posting.amount(),
+                    posting.currency(),
+                    posting.acceptedAt()
+            ));
+        }
+        return postedAt;
+    }
+
+    public void recordFailed(List<Failure> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Timestamp failedAt = Timestamp.from(now());
+        List<Object[]> rows = new ArrayList<>(failures.size());
+        for (Failure failure : failures) {
+            rows.add(new Object[]{
+                    failure.transactionId(), failure.idempotencyKey(), TransactionStatus.FAILED.name(), failure.error(),
+                    Timestamp.from(failure.acceptedAt()), failedAt,
+                    null, null, null, null, null, null, null, null, false
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, rows);
+    }
+
+    public record Posting(
+            UUID transactionId,
+            String idempotencyKey,
+            Account from,
+            Account to,
+            BigDecimal amount,
+            String currency,
+            BigDecimal fromBalanceAfter,
+            BigDecimal toBalanceAfter,
+            Instant acceptedAt
+    ) {
+    }
+
+    public record Failure(UUID transactionId, String idempotencyKey, String error, Instant acceptedAt) {
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.ledgerx.service;
 
 import com.example.ledgerx.api.TransactionResponseDTO;
-import com.example.ledgerx.entity.EntryDirection;
-import com.example.ledgerx.entity.LedgerEntry;
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchivedTransaction;
 import com.example.ledgerx.entity.Transaction;
 import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.profiling.TransactionListingEvent;
 import com.example.ledgerx.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -20,6 +23,7 @@ import java.util.List;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final ArchiveService archiveService;
 
     @Transactional(readOnly = true)
     public Page<TransactionResponseDTO> getTransactions(int page, int size) {
@@ -30,49 +34,34 @@ public class TransactionService {
             throw new LedgerException("size must be greater than zero");
         }
 
-        return transactionRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size))
-                .map(this::toResponseDTO);
+        TransactionListingEvent listing = TransactionListingEvent.begin(page, size);
+        try {
+            PageRequest pageRequest = PageRequest.of(page, size);
+            Page<TransactionResponseDTO> hot = transactionRepository.findAllByOrderByCreatedAtDesc(pageRequest)
+                    .map(this::toResponseDTO);
+            long archived = archiveService.archivedTransactionCount();
+            if (archived == 0 || hot.getNumberOfElements() == size) {
+                listing.finish(TransactionListingEvent.HOT, hot.getNumberOfElements(), TransactionListingEvent.OK);
+                return archived == 0 ? hot : new PageImpl<>(hot.getContent(), pageRequest, hot.getTotalElements() + archived);
+            }
+
+            List<TransactionResponseDTO> content = new ArrayList<>(hot.getContent());
+            long archiveOffset = Math.max(0, pageRequest.getOffset() - hot.getTotalElements());
+            archiveService.recentTransactions(archiveOffset, size - content.size())
+                    .forEach(transaction -> content.add(toResponseDTO(transaction)));
+            listing.finish(TransactionListingEvent.ARCHIVE, content.size(), TransactionListingEvent.OK);
+            return new PageImpl<>(content, pageRequest, hot.getTotalElements() + archived);
+        } catch (RuntimeException ex) {
+            listing.finish(TransactionListingEvent.HOT, 0, ex.getClass().getSimpleName());
+            throw ex;
+        }
     }
 
     public TransactionResponseDTO toResponseDTO(Transaction transaction) {
-        List<LedgerEntry> entries = transaction.getLedgerEntries() != null ? transaction.getLedgerEntries() : List.of();
-
-        LedgerEntry debitEntry = findEntry(entries, EntryDirection.DEBIT);
-        LedgerEntry creditEntry = findEntry(entries, EntryDirection.CREDIT);
-
-        String fromAccount = debitEntry != null && debitEntry.getAccount() != null
-                ? debitEntry.getAccount().getAccountNumber()
-                : null;
-        String toAccount = creditEntry != null && creditEntry.getAccount() != null
-                ? creditEntry.getAccount().getAccountNumber()
-                : null;
-
-        BigDecimal amount = debitEntry != null
-                ? debitEntry.getAmount()
-                : creditEntry != null ? creditEntry.getAmount() : null;
-
-        String currency = debitEntry != null && debitEntry.getAccount() != null
-                ? debitEntry.getAccount().getCurrency()
-                : creditEntry != null && creditEntry.getAccount() != null
-                ? creditEntry.getAccount().getCurrency()
-                : null;
-
-        return new TransactionResponseDTO(
-                transaction.getId(),
-                transaction.getCreatedAt(),
-                transaction.getStatus() != null ? transaction.getStatus().name() : null,
-                fromAccount,
-                toAccount,
-                amount,
-                currency,
-                transaction.getIdempotencyKey()
-        );
+        return TransactionResponseDTO.from(TransferResponseDTO.from(transaction));
     }
 
-    private LedgerEntry findEntry(List<LedgerEntry> entries, EntryDirection direction) {
-        return entries.stream()
-                .filter(entry -> entry.getDirection() == direction)
-                .findFirst()
-                .orElse(null);
+    public TransactionResponseDTO toResponseDTO(ArchivedTransaction transaction) {
+        return TransactionResponseDTO.from(TransferResponseDTO.from(transaction));
     }
 }
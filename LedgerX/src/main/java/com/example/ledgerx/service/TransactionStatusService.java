@@ -1,42 +1,176 @@
 package com.example.ledgerx.service;
 
-import com.example.ledgerx.entity.Transaction;
-import com.example.ledgerx.entity.TransactionStatus;
-import com.example.ledgerx.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionStatusService {
 
     private static final int MAX_ERROR_LENGTH = 255;
 
-    private final TransactionRepository transactionRepository;
+    private static final String UPSERT_FAILED_SQL = """
+            insert into transactions (id, idempotency_key, status, error_message, created_at, completed_at)
+            values (?, ?, 'FAILED', ?, ?, ?)
+            on conflict (idempotency_key) do update
+            set status = 'FAILED', error_message = excluded.error_message, completed_at = excluded.completed_at
+            where transactions.status <> 'COMPLETED'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionWatermark transactionWatermark;
+
+    private final ConcurrentHashMap<String, FailedTransaction> pendingFailures = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<FailedTransaction> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private TransactionTemplate failureTransaction;
+
+    @Value("${ledgerx.failed-transactions.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ledgerx.failed-transactions.max-wait-ms:1000}")
+    private long maxWaitMillis;
+
+    @PostConstruct
+    void init() {
+        failureTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        failureTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void recordFailedTransaction(String idempotencyKey, String error) {
         if (idempotencyKey == null || idempotencyKey.isBlank()) {
             return;
         }
+        FailedTransaction failure = new FailedTransaction(
+                idempotencyKey, sanitizeError(error), Instant.now(), new CompletableFuture<>()
+        );
+        pendingFailures.put(idempotencyKey, failure);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            awaitWritten(failure);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                awaitWritten(failure);
+            }
+        });
+    }
+
+    public boolean hasPendingFailure(String idempotencyKey) {
+        return idempotencyKey != null && pendingFailures.containsKey(idempotencyKey);
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.failed-transactions.flush-interval-ms:1000}")
+    public void flushFailedTransactions() {
+        if (pendingFailures.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<FailedTransaction> batch = new ArrayList<>(Math.min(batchSize, pendingFailures.size()));
+            for (FailedTransaction failure : pendingFailures.values()) {
+                batch.add(failure);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
-        Transaction transaction = transactionRepository.findByIdempotencyKey(idempotencyKey)
-                .orElseGet(() -> Transaction.builder()
-                        .idempotencyKey(idempotencyKey)
-                        .build());
+    @PreDestroy
+    void flushOnShutdown() {
+        flushFailedTransactions();
+    }
 
-        if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+    private void awaitWritten(FailedTransaction failure) {
+        queue.add(failure);
+        try {
+            if (!writeLock.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Failed transaction {} not written within {} ms, retrying on next flush",
+                        failure.idempotencyKey(), maxWaitMillis);
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
             return;
         }
+        try {
+            drainQueue(failure);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void drainQueue(FailedTransaction failure) {
+        List<FailedTransaction> batch = new ArrayList<>();
+        while (!failure.written().isDone()) {
+            FailedTransaction next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                if (!next.written().isDone()) {
+                    batch.add(next);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
 
-        transaction.setStatus(TransactionStatus.FAILED);
-        transaction.setErrorMessage(sanitizeError(error));
-        transaction.setCompletedAt(Instant.now());
-        transactionRepository.save(transaction);
+    private void writeBatch(List<FailedTransaction> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (FailedTransaction failure : batch) {
+            Timestamp failedAt = Timestamp.from(failure.failedAt());
+            rows.add(new Object[]{UUID.randomUUID(), failure.idempotencyKey(), failure.error(), failedAt, failedAt});
+        }
+        try {
+            failureTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_FAILED_SQL, rows);
+                transactionWatermark.advance();
+            });
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Failed to record {} failed transactions, retrying on next flush: {}", batch.size(), ex.getMessage());
+            batch.forEach(failure -> failure.written().completeExceptionally(ex));
+            return;
+        }
+        batch.forEach(failure -> {
+            pendingFailures.remove(failure.idempotencyKey(), failure);
+            failure.written().complete(null);
+        });
     }
 
     private String sanitizeError(String error) {
@@ -45,4 +179,12 @@ public class TransactionStatusService {
         }
         return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
     }
+
+    private record FailedTransaction(
+            String idempotencyKey,
+            String error,
+            Instant failedAt,
+            CompletableFuture<Void> written
+    ) {
+    }
 }
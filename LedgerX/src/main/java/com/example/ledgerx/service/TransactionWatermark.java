@@ -0,0 +1,49 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.archive.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionWatermark {
+
+    private static final String CURRENT_SQL = """
+            select e.epoch, t.created_at, t.id
+            from transaction_epoch e
+            left join lateral (
+                select created_at, id from transactions
+                order by created_at desc, id desc
+                limit 1
+            ) t on true
+            """;
+
+    private static final String ADVANCE_SQL = "update transaction_epoch set epoch = epoch + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+
+    public void advance() {
+        jdbcTemplate.update(ADVANCE_SQL);
+    }
+
+    public String current(int page, int size) {
+        String persisted = jdbcTemplate.query(CURRENT_SQL, rs -> {
+            rs.next();
+            String epoch = Long.toString(rs.getLong("epoch"), 36);
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            if (createdAt == null) {
+                return epoch + ".0";
+            }
+            UUID id = rs.getObject("id", UUID.class);
+            long micros = createdAt.toInstant().getEpochSecond() * 1_000_000 + createdAt.getNanos() / 1_000;
+            return epoch + "." + Long.toString(micros, 36) + "."
+                    + Long.toString(id.getLeastSignificantBits() ^ id.getMostSignificantBits(), 36);
+        });
+        return persisted + "." + archiveService.archivedTransactionCount() + "." + page + "." + size;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchivedTransaction;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import com.example.ledgerx.profiling.TransferStageEvent;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class TransferGuard {
+
+    private final TransactionStatusService transactionStatusService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ArchiveService archiveService;
+    private final VelocityLimitService velocityLimitService;
+
+    public TransferResponseDTO process(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey,
+            Function<String, TransferResponseDTO> findExisting,
+            Function<Stages, TransferResponseDTO> posting
+    ) {
+        Stages stages = new Stages(TransferStageEvent.begin(fromAccountNum, toAccountNum, TransferStageEvent.IDEMPOTENCY));
+        try {
+            TransferResponseDTO replayed = replay(findExisting.apply(idempotencyKey), idempotencyKey);
+            if (replayed != null) {
+                stages.finish(TransferStageEvent.REPLAYED);
+                return replayed;
+            }
+
+            try {
+                stages.next(TransferStageEvent.VALIDATION);
+                TransferRules.validateRequest(fromAccountNum, toAccountNum, amount, currency, idempotencyKey);
+                accountSnapshotCache.rejectIfCertainToFail(fromAccountNum, toAccountNum, amount, currency);
+                velocityLimitService.reserve(fromAccountNum, amount);
+                accountSnapshotCache.trackPendingCredit(toAccountNum);
+
+                TransferResponseDTO posted = posting.apply(stages);
+                stages.finish(TransferStageEvent.COMPLETED);
+                return posted;
+            } catch (LedgerException ex) {
+                if (!(ex instanceof IdempotencyConflictException) && !(ex instanceof VelocityLimitExceededException)) {
+                    transactionStatusService.recordFailedTransaction(idempotencyKey, ex.getMessage());
+                }
+                throw ex;
+            }
+        } catch (RuntimeException ex) {
+            stages.finish(ex.getClass().getSimpleName());
+            throw ex;
+        }
+    }
+
+    private TransferResponseDTO replay(TransferResponseDTO existing, String idempotencyKey) {
+        if (existing != null) {
+            if (existing.status() == TransactionStatus.COMPLETED) {
+                return existing;
+            }
+            if (existing.status() == TransactionStatus.PENDING) {
+                throw new IdempotencyConflictException(
+                        "Transfer is already being processed for idempotency key: " + idempotencyKey
+                );
+            }
+            throw new IdempotencyConflictException(
+                    "Idempotency key cannot be reused with transaction status: " + existing.status()
+            );
+        }
+        ArchivedTransaction archived = archiveService.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (archived != null) {
+            if (archived.status() == TransactionStatus.COMPLETED) {
+                return TransferResponseDTO.from(archived);
+            }
+            throw new IdempotencyConflictException(
+                    "Idempotency key cannot be reused with transaction status: " + archived.status()
+            );
+        }
+        if (transactionStatusService.hasPendingFailure(idempotencyKey)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency key cannot be reused with transaction status: " + TransactionStatus.FAILED
+            );
+        }
+        return null;
+    }
+
+    public static final class Stages {
+
+        private TransferStageEvent current;
+
+        private Stages(TransferStageEvent current) {
+            this.current = current;
+        }
+
+        public void next(String stage) {
+            current = current.next(stage);
+        }
+
+        private void finish(String outcome) {
+            current.finish(outcome);
+        }
+    }
+}
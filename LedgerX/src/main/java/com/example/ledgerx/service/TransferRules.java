@@ -0,0 +1,54 @@
+package com.example.ledgerx.service;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.AccountFrozenException;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import com.example.ledgerx.exception.LedgerException;
+
+import java.math.BigDecimal;
+
+public final class TransferRules {
+
+    private TransferRules() {
+    }
+
+    public static void validateRequest(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String idempotencyKey
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new LedgerException("Idempotency key is required");
+        }
+        if (fromAccountNum == null || fromAccountNum.isBlank() || toAccountNum == null || toAccountNum.isBlank()) {
+            throw new LedgerException("Both source and destination account numbers are required");
+        }
+        if (fromAccountNum.equals(toAccountNum)) {
+            throw new LedgerException("Source and destination accounts must be different");
+        }
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new LedgerException("Transfer amount must be greater than zero");
+        }
+        if (currency == null || currency.isBlank()) {
+            throw new LedgerException("Currency is required");
+        }
+    }
+
+    public static void validateBusinessRules(Account fromAccount, Account toAccount, BigDecimal amount, String currency) {
+        boolean matchingCurrencies = currency.equals(fromAccount.getCurrency()) && currency.equals(toAccount.getCurrency());
+        if (!matchingCurrencies) {
+            throw new LedgerException("Currency mismatch between transfer request and account currencies");
+        }
+
+        if (fromAccount.getStatus() == AccountStatus.FROZEN || toAccount.getStatus() == AccountStatus.FROZEN) {
+            throw new AccountFrozenException("Cannot process transfer because one or more accounts are frozen");
+        }
+
+        if (fromAccount.getAvailableBalance().compareTo(amount) < 0) {
+            throw new InsufficientFundsException("Insufficient funds in account: " + fromAccount.getAccountNumber());
+        }
+    }
+}
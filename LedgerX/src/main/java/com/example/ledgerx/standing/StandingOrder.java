@@ -0,0 +1,26 @@
+package com.example.ledgerx.standing;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record StandingOrder(
+        UUID id,
+        String idempotencyKey,
+        StandingOrderStatus status,
+        String fromAccount,
+        String toAccount,
+        BigDecimal amount,
+        String currency,
+        StandingOrderFrequency frequency,
+        Instant startAt,
+        Instant endAt,
+        long nextOccurrence,
+        Instant nextRunAt,
+        long executedCount,
+        long failedCount,
+        UUID lastTransactionId,
+        String lastError,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.ledgerx.standing;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+public enum StandingOrderFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public Instant occurrence(Instant startAt, long occurrence) {
+        return switch (this) {
+            case DAILY -> startAt.plus(occurrence, ChronoUnit.DAYS);
+            case WEEKLY -> startAt.plus(occurrence * 7, ChronoUnit.DAYS);
+            case MONTHLY -> startAt.atZone(ZoneOffset.UTC).plusMonths(occurrence).toInstant();
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.ledgerx.standing;
+
+public record StandingOrderRun(
+        long claimed,
+        long executed,
+        long failed,
+        long replayed,
+        int batches,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,604 @@
+package com.example.ledgerx.standing;
+
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.StandingOrderNotFoundException;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import com.example.ledgerx.service.LedgerPoster;
+import com.example.ledgerx.service.TransferRules;
+import com.example.ledgerx.velocity.VelocityBudget;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StandingOrderService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final String OCCURRENCE_KEY_PREFIX = "standing-order:";
+
+    private static final String SELECT_ORDER_SQL = """
+            select o.id, o.idempotency_key, o.status, payer.account_number as from_account,
+                   payee.account_number as to_account, o.amount, o.currency, o.frequency, o.start_at, o.end_at,
+                   o.next_occurrence, o.next_run_at, o.executed_count, o.failed_count, o.last_transaction_id,
+                   o.last_error, o.created_at
+            from standing_orders o
+            join accounts payer on payer.id = o.account_id
+            join accounts payee on payee.id = o.payee_account_id
+            """;
+
+    private static final String INSERT_ORDER_SQL = """
+            insert into standing_orders (id, idempotency_key, account_id, payee_account_id, amount, currency, frequency,
+                                         status, start_at, end_at, next_occurrence, next_run_at, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, 0, ?, now(), now())
+            """;
+
+    private static final String CLAIM_SQL = """
+            with due as (
+                select id
+                from standing_orders
+                where status = 'ACTIVE' and next_run_at <= now() and (claimed_until is null or claimed_until < now())
+                order by next_run_at
+                limit ?
+                for update skip locked
+            )
+            update standing_orders o
+            set claimed_until = now() + make_interval(secs => ?)
+            from due, accounts payer, accounts payee
+            where o.id = due.id and payer.id = o.account_id and payee.id = o.payee_account_id
+            returning o.id, o.account_id, o.payee_account_id, payer.account_number as from_account,
+                      payee.account_number as to_account, o.amount, o.currency, o.frequency, o.start_at, o.end_at,
+                      o.next_occurrence
+            """;
+
+    private static final String ADVANCE_ORDER_SQL = """
+            update standing_orders
+            set next_occurrence = next_occurrence + 1, next_run_at = ?,
+                status = case when status = 'ACTIVE' then ? else status end,
+                claimed_until = null, executed_count = executed_count + ?, failed_count = failed_count + ?,
+                last_transaction_id = ?, last_error = ?, updated_at = now()
+            where id = ? and next_occurrence = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerPoster ledgerPoster;
+    private final VelocityLimitService velocityLimitService;
+
+    @Value("${ledgerx.standing-orders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ledgerx.standing-orders.claim-size:5000}")
+    private int claimSize;
+
+    @Value("${ledgerx.standing-orders.chunk-size:250}")
+    private int chunkSize;
+
+    @Value("${ledgerx.standing-orders.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ledgerx.standing-orders.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${ledgerx.standing-orders.max-per-second:0}")
+    private long maxPerSecond;
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public StandingOrder create(
+            String fromAccountNum,
+            String toAccountNum,
+            BigDecimal amount,
+            String currency,
+            String frequency,
+            Instant startAt,
+            Instant endAt,
+            String idempotencyKey
+    ) {
+        TransferRules.validateRequest(fromAccountNum, toAccountNum, amount, currency, idempotencyKey);
+        StandingOrderFrequency schedule = parseFrequency(frequency);
+        StandingOrder existing = findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing != null) {
+            if (!existing.fromAccount().equals(fromAccountNum)
+                    || !existing.toAccount().equals(toAccountNum)
+                    || existing.amount().compareTo(amount) != 0
+                    || !existing.currency().equals(currency)
+                    || existing.frequency() != schedule) {
+                throw new IdempotencyConflictException(
+                        "Idempotency key was already used for a different standing order: " + idempotencyKey
+                );
+            }
+            return existing;
+        }
+
+        Instant start = (startAt != null ? startAt : Instant.now()).truncatedTo(ChronoUnit.MICROS);
+        if (endAt != null && endAt.isBefore(start)) {
+            throw new LedgerException("Standing order end must not be before its start");
+        }
+        Map<String, Account> accounts = readAccounts(fromAccountNum, toAccountNum);
+        Account payer = accounts.get(fromAccountNum);
+        Account payee = accounts.get(toAccountNum);
+        if (!currency.equals(payer.getCurrency()) || !currency.equals(payee.getCurrency())) {
+            throw new LedgerException("Currency mismatch between standing order and account currencies");
+        }
+
+        UUID id = UUID.randomUUID();
+        try {
+            jdbcTemplate.update(
+                    INSERT_ORDER_SQL,
+                    id,
+                    idempotencyKey,
+                    payer.getId(),
+                    payee.getId(),
+                    amount,
+                    currency,
+                    schedule.name(),
+                    Timestamp.from(start),
+                    endAt == null ? null : Timestamp.from(endAt),
+                    Timestamp.from(start)
+            );
+        } catch (DuplicateKeyException ex) {
+            throw new IdempotencyConflictException("Standing order is already being created for idempotency key: " + idempotencyKey);
+        }
+        return get(id);
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public StandingOrder cancel(UUID orderId) {
+        StandingOrder order = jdbcTemplate.query(SELECT_ORDER_SQL + " where o.id = ? for update of o", this::mapOrder, orderId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new StandingOrderNotFoundException("Standing order not found: " + orderId));
+        if (order.status() == StandingOrderStatus.CANCELLED) {
+            return order;
+        }
+        if (order.status() != StandingOrderStatus.ACTIVE) {
+            throw new LedgerException("Standing order " + orderId + " is already " + order.status());
+        }
+        jdbcTemplate.update(
+                "update standing_orders set status = 'CANCELLED', claimed_until = null, updated_at = now() where id = ?",
+                orderId
+        );
+        return get(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public StandingOrder get(UUID orderId) {
+        return jdbcTemplate.query(SELECT_ORDER_SQL + " where o.id = ?", this::mapOrder, orderId).stream()
+                .findFirst()
+                .orElseThrow(() -> new StandingOrderNotFoundException("Standing order not found: " + orderId));
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.standing-orders.interval-ms:1000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runDue();
+        }
+    }
+
+    public StandingOrderRun runDue() {
+        long started = System.nanoTime();
+        Totals totals = new Totals();
+        int batches = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, parallelism), Bulkhead.BACKGROUND.threadFactory("standing-orders"));
+        try {
+            while (true) {
+                long batchStarted = System.nanoTime();
+                List<DueOrder> claimed = transactionTemplate.execute(status ->
+                        jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> mapDue(rs), claimSize, leaseSeconds));
+                if (claimed == null || claimed.isEmpty()) {
+                    break;
+                }
+                batches++;
+                totals.claimed.add(claimed.size());
+                execute(executor, partition(claimed), totals);
+                pace(batchStarted, claimed.size());
+                if (claimed.size() < claimSize) {
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        StandingOrderRun run = new StandingOrderRun(
+                totals.claimed.sum(),
+                totals.executed.sum(),
+                totals.failed.sum(),
+                totals.replayed.sum(),
+                batches,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+        );
+        if (run.claimed() > 0) {
+            log.info("Standing orders: claimed {}, executed {}, failed {}, replayed {} in {} batches, {} ms",
+                    run.claimed(), run.executed(), run.failed(), run.replayed(), run.batches(), run.elapsedMillis());
+        }
+        return run;
+    }
+
+    private void execute(ExecutorService executor, List<List<DueOrder>> groups, Totals totals) {
+        List<Future<?>> futures = new ArrayList<>(groups.size());
+        for (List<DueOrder> group : groups) {
+            futures.add(executor.submit(() -> {
+                for (int start = 0; start < group.size(); start += chunkSize) {
+                    List<DueOrder> chunk = group.subList(start, Math.min(group.size(), start + chunkSize));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> applyChunk(chunk, totals));
+                    } catch (DataAccessException ex) {
+                        log.warn("Standing order chunk of {} orders will be retried after its lease expires: {}",
+                                chunk.size(), ex.getMessage());
+                    }
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LedgerException("Standing order run interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new LedgerException("Standing order run failed", ex.getCause());
+        }
+    }
+
+    private void applyChunk(List<DueOrder> orders, Totals totals) {
+        jdbcTemplate.execute("set local lock_timeout = '3s'");
+
+        Set<UUID> active = new HashSet<>();
+        Map<UUID, Long> claimedOccurrences = new HashMap<>();
+        orders.forEach(order -> claimedOccurrences.put(order.id(), order.occurrence()));
+        jdbcTemplate.query(
+                "select id, next_occurrence from standing_orders where id = any(?) and status = 'ACTIVE' order by id for update",
+                rs -> {
+                    UUID id = rs.getObject("id", UUID.class);
+                    if (claimedOccurrences.get(id) == rs.getLong("next_occurrence")) {
+                        active.add(id);
+                    }
+                },
+                (Object) orders.stream().map(DueOrder::id).toArray(UUID[]::new)
+        );
+        List<DueOrder> runnable = orders.stream().filter(order -> active.contains(order.id())).toList();
+        if (runnable.isEmpty()) {
+            return;
+        }
+
+        Map<String, ExistingTransaction> existing = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, idempotency_key, status from transactions where idempotency_key = any(?)",
+                rs -> {
+                    existing.put(rs.getString("idempotency_key"), new ExistingTransaction(
+                            rs.getObject("id", UUID.class),
+                            TransactionStatus.valueOf(rs.getString("status"))
+                    ));
+                },
+                (Object) runnable.stream().map(DueOrder::idempotencyKey).toArray(String[]::new)
+        );
+
+        UUID[] accountIds = runnable.stream()
+                .filter(order -> !existing.containsKey(order.idempotencyKey()))
+                .flatMap(order -> Stream.of(order.fromAccountId(), order.toAccountId()))
+                .distinct()
+                .toArray(UUID[]::new);
+        Map<UUID, Account> accounts = new HashMap<>();
+        jdbcTemplate.query(
+                """
+                        select id, account_number, currency, balance, held_amount, status
+                        from accounts
+                        where id = any(?)
+                        order by id
+                        for update
+                        """,
+                rs -> {
+                    Account account = Account.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .accountNumber(rs.getString("account_number"))
+                            .currency(rs.getString("currency"))
+                            .balance(rs.getBigDecimal("balance"))
+                            .heldAmount(rs.getBigDecimal("held_amount"))
+                            .status(AccountStatus.valueOf(rs.getString("status")))
+                            .build();
+                    accounts.put(account.getId(), account);
+                },
+                (Object) accountIds
+        );
+        VelocityBudget velocityBudget = velocityLimitService.budget(accounts.values());
+
+        Instant now = LedgerPoster.now();
+        List<LedgerPoster.Posting> postings = new ArrayList<>();
+        List<LedgerPoster.Failure> failures = new ArrayList<>();
+        List<Object[]> orderUpdates = new ArrayList<>(runnable.size());
+        Map<UUID, Account> touched = new HashMap<>();
+        long executed = 0;
+        long failed = 0;
+        long replayed = 0;
+
+        for (DueOrder order : runnable) {
+            ExistingTransaction previous = existing.get(order.idempotencyKey());
+            if (previous != null) {
+                boolean completed = previous.status() == TransactionStatus.COMPLETED;
+                orderUpdates.add(advance(order, completed ? 1 : 0, completed ? 0 : 1, previous.id(),
+                        completed ? null : "Occurrence already recorded with status: " + previous.status()));
+                replayed++;
+                continue;
+            }
+
+            UUID transactionId = UUID.randomUUID();
+            try {
+                TransferRules.validateRequest(
+                        order.fromAccount(), order.toAccount(), order.amount(), order.currency(), order.idempotencyKey()
+                );
+                velocityLimitService.reserve(order.fromAccount(), order.amount());
+                Account from = requireAccount(accounts, order.fromAccountId(), order.fromAccount());
+                Account to = requireAccount(accounts, order.toAccountId(), order.toAccount());
+                TransferRules.validateBusinessRules(from, to, order.amount(), order.currency());
+                velocityBudget.reserve(from, order.amount());
+
+                from.setBalance(from.getBalance().subtract(order.amount()));
+                to.setBalance(to.getBalance().add(order.amount()));
+                touched.put(from.getId(), from);
+                touched.put(to.getId(), to);
+
+                postings.add(new LedgerPoster.Posting(transactionId, order.idempotencyKey(), from, to, order.amount(),
+                        order.currency(), from.getBalance(), to.getBalance(), now));
+                orderUpdates.add(advance(order, 1, 0, transactionId, null));
+                executed++;
+            } catch (VelocityLimitExceededException ex) {
+                orderUpdates.add(advance(order, 0, 1, null, sanitizeError(ex.getMessage())));
+                failed++;
+            } catch (LedgerException ex) {
+                String error = sanitizeError(ex.getMessage());
+                failures.add(new LedgerPoster.Failure(transactionId, order.idempotencyKey(), error, now));
+                orderUpdates.add(advance(order, 0, 1, transactionId, error));
+                failed++;
+            }
+        }
+
+        ledgerPoster.post(postings, touched.values());
+        ledgerPoster.recordFailed(failures);
+        jdbcTemplate.batchUpdate(ADVANCE_ORDER_SQL, orderUpdates);
+        totals.executed.add(executed);
+        totals.failed.add(failed);
+        totals.replayed.add(replayed);
+    }
+
+    private Object[] advance(DueOrder order, int executed, int failed, UUID transactionId, String error) {
+        long next = order.occurrence() + 1;
+        Instant nextRunAt = order.frequency().occurrence(order.startAt(), next);
+        boolean finished = order.endAt() != null && nextRunAt.isAfter(order.endAt());
+        return new Object[]{
+                Timestamp.from(nextRunAt),
+                finished ? StandingOrderStatus.FINISHED.name() : StandingOrderStatus.ACTIVE.name(),
+                executed,
+                failed,
+                transactionId,
+                error,
+                order.id(),
+                order.occurrence()
+        };
+    }
+
+    private List<List<DueOrder>> partition(List<DueOrder> orders) {
+        Map<UUID, UUID> parent = new HashMap<>();
+        for (DueOrder order : orders) {
+            union(parent, order.fromAccountId(), order.toAccountId());
+        }
+        Map<UUID, List<DueOrder>> components = new HashMap<>();
+        for (DueOrder order : orders) {
+            components.computeIfAbsent(find(parent, order.fromAccountId()), ignored -> new ArrayList<>()).add(order);
+        }
+
+        List<List<DueOrder>> ordered = new ArrayList<>(components.values());
+        ordered.sort(Comparator.comparingInt((List<DueOrder> component) -> component.size()).reversed());
+        int groupCount = Math.min(Math.max(1, parallelism), ordered.size());
+        List<List<DueOrder>> groups = new ArrayList<>(groupCount);
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(Comparator.comparingInt((Integer group) -> groups.get(group).size()));
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+            lightest.add(i);
+        }
+        for (List<DueOrder> component : ordered) {
+            int group = lightest.poll();
+            groups.get(group).addAll(component);
+            lightest.add(group);
+        }
+        return groups;
+    }
+
+    private UUID find(Map<UUID, UUID> parent, UUID node) {
+        UUID root = node;
+        UUID next;
+        while ((next = parent.getOrDefault(root, root)) != root) {
+            root = next;
+        }
+        parent.put(node, root);
+        return root;
+    }
+
+    private void union(Map<UUID, UUID> parent, UUID a, UUID b) {
+        UUID rootA = find(parent, a);
+        UUID rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootA, rootB);
+        }
+    }
+
+    private void pace(long batchStarted, int orders) {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(orders) / maxPerSecond;
+        long remaining = minimumNanos - (System.nanoTime() - batchStarted);
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Optional<StandingOrder> findByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.query(SELECT_ORDER_SQL + " where o.idempotency_key = ?", this::mapOrder, idempotencyKey)
+                .stream()
+                .findFirst();
+    }
+
+    private Map<String, Account> readAccounts(String fromAccountNum, String toAccountNum) {
+        Map<String, Account> accounts = new HashMap<>(4);
+        jdbcTemplate.query(
+                "select id, account_number, currency, status from accounts where account_number in (?, ?)",
+                rs -> {
+                    Account account = Account.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .accountNumber(rs.getString("account_number"))
+                            .currency(rs.getString("currency"))
+                            .status(AccountStatus.valueOf(rs.getString("status")))
+                            .build();
+                    accounts.put(account.getAccountNumber(), account);
+                },
+                fromAccountNum,
+                toAccountNum
+        );
+        for (String accountNumber : List.of(fromAccountNum, toAccountNum)) {
+            if (!accounts.containsKey(accountNumber)) {
+                throw new AccountNotFoundException("Account not found: " + accountNumber);
+            }
+        }
+        return accounts;
+    }
+
+    private Account requireAccount(Map<UUID, Account> accounts, UUID accountId, String accountNumber) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+        }
+        return account;
+    }
+
+    private StandingOrderFrequency parseFrequency(String frequency) {
+        try {
+            return StandingOrderFrequency.valueOf(frequency.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new LedgerException("Frequency must be DAILY, WEEKLY or MONTHLY: " + frequency);
+        }
+    }
+
+    private String sanitizeError(String error) {
+        if (error == null || error.isBlank()) {
+            return "Transfer failed";
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private DueOrder mapDue(ResultSet rs) throws SQLException {
+        Timestamp endAt = rs.getTimestamp("end_at");
+        return new DueOrder(
+                rs.getObject("id", UUID.class),
+                rs.getObject("account_id", UUID.class),
+                rs.getObject("payee_account_id", UUID.class),
+                rs.getString("from_account"),
+                rs.getString("to_account"),
+                rs.getBigDecimal("amount"),
+                rs.getString("currency"),
+                StandingOrderFrequency.valueOf(rs.getString("frequency")),
+                rs.getTimestamp("start_at").toInstant(),
+                endAt == null ? null : endAt.toInstant(),
+                rs.getLong("next_occurrence")
+        );
+    }
+
+    private StandingOrder mapOrder(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp endAt = rs.getTimestamp("end_at");
+        return new StandingOrder(
+                rs.getObject("id", UUID.class),
+                rs.getString("idempotency_key"),
+                StandingOrderStatus.valueOf(rs.getString("status")),
+                rs.getString("from_account"),
+                rs.getString("to_account"),
+                rs.getBigDecimal("amount"),
+                rs.getString("currency"),
+                StandingOrderFrequency.valueOf(rs.getString("frequency")),
+                rs.getTimestamp("start_at").toInstant(),
+                endAt == null ? null : endAt.toInstant(),
+                rs.getLong("next_occurrence"),
+                rs.getTimestamp("next_run_at").toInstant(),
+                rs.getLong("executed_count"),
+                rs.getLong("failed_count"),
+                rs.getObject("last_transaction_id", UUID.class),
+                rs.getString("last_error"),
+                rs.getTimestamp("created_at").toInstant()
+        );
+    }
+
+    private record DueOrder(
+            UUID id,
+            UUID fromAccountId,
+            UUID toAccountId,
+            String fromAccount,
+            String toAccount,
+            BigDecimal amount,
+            String currency,
+            StandingOrderFrequency frequency,
+            Instant startAt,
+            Instant endAt,
+            long occurrence
+    ) {
+        String idempotencyKey() {
+            return OCCURRENCE_KEY_PREFIX + id + ":" + occurrence;
+        }
+    }
+
+    private record ExistingTransaction(UUID id, TransactionStatus status) {
+    }
+
+    private static final class Totals {
+
+        private final LongAdder claimed = new LongAdder();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder replayed = new LongAdder();
+    }
+}
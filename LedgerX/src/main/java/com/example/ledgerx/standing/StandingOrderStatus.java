@@ -0,0 +1,7 @@
+package com.example.ledgerx.standing;
+
+public enum StandingOrderStatus {
+    ACTIVE,
+    CANCELLED,
+    FINISHED
+}
@@ -0,0 +1,19 @@
+package com.example.ledgerx.statement;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+
+public record AccountStatement(
+        String accountNumber,
+        YearMonth month,
+        String currency,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        BigDecimal totalDebits,
+        BigDecimal totalCredits,
+        long debitCount,
+        long creditCount,
+        Instant generatedAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.ledgerx.statement;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+public record StatementRun(
+        YearMonth month,
+        int ranges,
+        int completedRanges,
+        long statements,
+        Instant startedAt,
+        Instant completedAt
+) {
+}
@@ -0,0 +1,335 @@
+package com.example.ledgerx.statement;
+
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.StatementNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementService {
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+    private static final UUID HIGHEST_ID = new UUID(-1L, -1L);
+
+    private static final String BOUNDARIES_SQL = """
+            select id from (
+                select id, row_number() over (order by id) as position
+                from accounts
+                where created_at < ?
+            ) ranked
+            where position > 1 and (position - 1) % ? = 0
+            order by id
+            """;
+
+    private static final String CREATE_RUN_SQL = """
+            insert into statement_runs (period_start, ranges, started_at)
+            values (?, ?, now())
+            on conflict (period_start) do nothing
+            """;
+
+    private static final String CREATE_CHECKPOINT_SQL = """
+            insert into statement_checkpoints (period_start, range_index, first_account_id, end_account_id)
+            values (?, ?, ?, ?)
+            """;
+
+    private static final String PENDING_RANGES_SQL = """
+            select range_index, first_account_id, end_account_id
+            from statement_checkpoints
+            where period_start = ? and completed_at is null
+            order by range_index
+            """;
+
+    private static final String CLAIM_RANGE_SQL = """
+            select range_index from statement_checkpoints
+            where period_start = ? and range_index = ? and completed_at is null
+            for update skip locked
+            """;
+
+    private static final String SUMMARIZE_RANGE_SQL = """
+            insert into account_statements (account_number, period_start, account_id, currency, opening_balance,
+                                            closing_balance, total_debits, total_credits, debit_count, credit_count,
+                                            generated_at)
+            select a.account_number, ?, a.id, a.currency,
+                   a.balance - coalesce(m.later, 0) - coalesce(m.credits, 0) + coalesce(m.debits, 0),
+                   a.balance - coalesce(m.later, 0),
+                   coalesce(m.debits, 0), coalesce(m.credits, 0),
+                   coalesce(m.debit_count, 0), coalesce(m.credit_count, 0),
+                   now()
+            from accounts a
+            left join (
+                select e.account_id,
+                       sum(e.amount) filter (where e.in_period and e.direction = 'DEBIT') as debits,
+                       count(*) filter (where e.in_period and e.direction = 'DEBIT') as debit_count,
+                       sum(e.amount) filter (where e.in_period and e.direction = 'CREDIT') as credits,
+                       count(*) filter (where e.in_period and e.direction = 'CREDIT') as credit_count,
+                       sum(case when e.direction = 'CREDIT' then e.amount else -e.amount end)
+                           filter (where not e.in_period) as later
+                from (
+                    select account_id, amount, direction, created_at < ? as in_period
+                    from account_entries
+                    where account_id >= ? and account_id < ? and created_at >= ?
+                ) e
+                group by e.account_id
+            ) m on m.account_id = a.id
+            where a.id >= ? and a.id < ? and a.created_at < ?
+            on conflict (account_number, period_start) do update
+            set account_id = excluded.account_id,
+                currency = excluded.currency,
+                opening_balance = excluded.opening_balance,
+                closing_balance = excluded.closing_balance,
+                total_debits = excluded.total_debits,
+                total_credits = excluded.total_credits,
+                debit_count = excluded.debit_count,
+                credit_count = excluded.credit_count,
+                generated_at = excluded.generated_at
+            """;
+
+    private static final String COMPLETE_RANGE_SQL = """
+            update statement_checkpoints
+            set statements = ?, completed_at = now()
+            where period_start = ? and range_index = ?
+            """;
+
+    private static final String COMPLETE_RUN_SQL = """
+            update statement_runs r
+            set completed_at = now()
+            where r.period_start = ? and r.completed_at is null
+              and not exists (
+                  select 1 from statement_checkpoints c
+                  where c.period_start = r.period_start and c.completed_at is null
+              )
+            """;
+
+    private static final String RUN_SQL = """
+            select r.period_start, r.ranges, r.started_at, r.completed_at,
+                   count(c.completed_at) as completed_ranges,
+                   coalesce(sum(c.statements), 0) as statements
+            from statement_runs r
+            left join statement_checkpoints c on c.period_start = r.period_start
+            where r.period_start = ?
+            group by r.period_start
+            """;
+
+    private static final String STATEMENT_SQL = """
+            select account_number, period_start, currency, opening_balance, closing_balance, total_debits,
+                   total_credits, debit_count, credit_count, generated_at
+            from account_statements
+            where account_number = ? and period_start = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveService archiveService;
+
+    @Value("${ledgerx.statements.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.statements.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ledgerx.statements.range-size:1000}")
+    private int rangeSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            jdbcTemplate.query("select period_start from statement_runs where completed_at is null order by period_start",
+                            (rs, rowNum) -> YearMonth.from(rs.getDate("period_start").toLocalDate()))
+                    .forEach(this::generate);
+        }
+    }
+
+    @Scheduled(cron = "${ledgerx.statements.cron:0 30 0 1 * *}", zone = "UTC")
+    public void scheduledGenerate() {
+        if (enabled) {
+            generate(YearMonth.now(ZoneOffset.UTC).minusMonths(1));
+        }
+    }
+
+    public StatementRun generate(YearMonth month) {
+        Instant periodStart = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant periodEnd = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        if (periodEnd.isAfter(Instant.now())) {
+            throw new LedgerException("Statements can only be generated for closed months: " + month);
+        }
+        if (archiveService.reaches(periodStart)) {
+            throw new LedgerException("Ledger entries for " + month + " have already been archived");
+        }
+
+        long started = System.nanoTime();
+        List<StatementRange> pending = plan(month, periodEnd);
+        LongAdder claimed = new LongAdder();
+        LongAdder statements = new LongAdder();
+        Semaphore connections = new Semaphore(Math.max(1, parallelism));
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("ledgerx-statements-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            pool.invoke(new RangeTask(pending, 0, pending.size(), range -> {
+                connections.acquireUninterruptibly();
+                try {
+                    int written = summarizeRange(month, periodStart, periodEnd, range);
+                    if (written >= 0) {
+                        claimed.increment();
+                        statements.add(written);
+                    }
+                } finally {
+                    connections.release();
+                }
+            }));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        jdbcTemplate.update(COMPLETE_RUN_SQL, Date.valueOf(month.atDay(1)));
+        log.info("Statements for {}: {} of {} pending ranges processed, {} statements written in {} ms",
+                month, claimed.sum(), pending.size(), statements.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return run(month);
+    }
+
+    public StatementRun run(YearMonth month) {
+        return jdbcTemplate.query(RUN_SQL, (rs, rowNum) -> toRun(rs), Date.valueOf(month.atDay(1))).stream()
+                .findFirst()
+                .orElseThrow(() -> new StatementNotFoundException("No statement run for " + month));
+    }
+
+    public AccountStatement find(String accountNumber, YearMonth month) {
+        return jdbcTemplate.query(STATEMENT_SQL, (rs, rowNum) -> toStatement(rs),
+                        accountNumber, Date.valueOf(month.atDay(1))).stream()
+                .findFirst()
+                .orElseThrow(() -> new StatementNotFoundException(
+                        "No statement for account " + accountNumber + " in " + month));
+    }
+
+    private List<StatementRange> plan(YearMonth month, Instant periodEnd) {
+        Date periodStart = Date.valueOf(month.atDay(1));
+        List<UUID> boundaries = jdbcTemplate.query(BOUNDARIES_SQL,
+                (rs, rowNum) -> rs.getObject("id", UUID.class),
+                Timestamp.from(periodEnd), Math.max(1, rangeSize));
+
+        List<StatementRange> ranges = new ArrayList<>(boundaries.size() + 1);
+        UUID first = LOWEST_ID;
+        for (UUID boundary : boundaries) {
+            ranges.add(new StatementRange(ranges.size(), first, boundary));
+            first = boundary;
+        }
+        ranges.add(new StatementRange(ranges.size(), first, HIGHEST_ID));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(CREATE_RUN_SQL, periodStart, ranges.size()) == 1) {
+                jdbcTemplate.batchUpdate(CREATE_CHECKPOINT_SQL, ranges.stream()
+                        .map(range -> new Object[]{periodStart, range.index(), range.firstId(), range.endId()})
+                        .toList());
+            }
+        });
+        return jdbcTemplate.query(PENDING_RANGES_SQL, (rs, rowNum) -> new StatementRange(
+                rs.getInt("range_index"),
+                rs.getObject("first_account_id", UUID.class),
+                rs.getObject("end_account_id", UUID.class)
+        ), periodStart);
+    }
+
+    private int summarizeRange(YearMonth month, Instant periodStart, Instant periodEnd, StatementRange range) {
+        Date period = Date.valueOf(month.atDay(1));
+        Integer written = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.queryForList(CLAIM_RANGE_SQL, Integer.class, period, range.index()).isEmpty()) {
+                return -1;
+            }
+            int rows = jdbcTemplate.update(SUMMARIZE_RANGE_SQL,
+                    period,
+                    Timestamp.from(periodEnd), range.firstId(), range.endId(), Timestamp.from(periodStart),
+                    range.firstId(), range.endId(), Timestamp.from(periodEnd));
+            jdbcTemplate.update(COMPLETE_RANGE_SQL, rows, period, range.index());
+            return rows;
+        });
+        return written != null ? written : -1;
+    }
+
+    private StatementRun toRun(ResultSet rs) throws SQLException {
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        return new StatementRun(
+                YearMonth.from(rs.getDate("period_start").toLocalDate()),
+                rs.getInt("ranges"),
+                rs.getInt("completed_ranges"),
+                rs.getLong("statements"),
+                rs.getTimestamp("started_at").toInstant(),
+                completedAt != null ? completedAt.toInstant() : null
+        );
+    }
+
+    private AccountStatement toStatement(ResultSet rs) throws SQLException {
+        return new AccountStatement(
+                rs.getString("account_number"),
+                YearMonth.from(rs.getDate("period_start").toLocalDate()),
+                rs.getString("currency"),
+                rs.getBigDecimal("opening_balance"),
+                rs.getBigDecimal("closing_balance"),
+                rs.getBigDecimal("total_debits"),
+                rs.getBigDecimal("total_credits"),
+                rs.getLong("debit_count"),
+                rs.getLong("credit_count"),
+                rs.getTimestamp("generated_at").toInstant()
+        );
+    }
+
+    private record StatementRange(int index, UUID firstId, UUID endId) {
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final List<StatementRange> ranges;
+        private final int from;
+        private final int to;
+        private final Consumer<StatementRange> work;
+
+        private RangeTask(List<StatementRange> ranges, int from, int to, Consumer<StatementRange> work) {
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    work.accept(ranges.get(from));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(ranges, from, middle, work), new RangeTask(ranges, middle, to, work));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.ledgerx.stream;
+
+import com.example.ledgerx.api.TransactionResponseDTO;
+import com.example.ledgerx.audit.TransferCompletedEvent;
+import com.example.ledgerx.entity.TransactionStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionStreamService {
+
+    private static final String TRANSACTION_EVENT = "transaction";
+    private static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final Object publishLock = new Object();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<TransferCompletedEvent> published = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean missedWhileIdle = new AtomicBoolean();
+    private final LongAdder slowConsumersClosed = new LongAdder();
+
+    private StreamedTransaction[] replayRing;
+    private long nextSequence = 1;
+    private long lastGapSequence;
+    private ExecutorService dispatcher;
+    private Thread fanOut;
+    private volatile boolean running = true;
+
+    @Value("${ledgerx.stream.replay-size:1024}")
+    private int replaySize;
+
+    @Value("${ledgerx.stream.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    @Value("${ledgerx.stream.timeout-ms:300000}")
+    private long timeoutMillis;
+
+    @Value("${ledgerx.stream.dispatcher-threads:2}")
+    private int dispatcherThreads;
+
+    @PostConstruct
+    void init() {
+        replayRing = new StreamedTransaction[Math.max(1, replaySize)];
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatcherThreads), runnable -> {
+            Thread thread = new Thread(runnable, "ledgerx-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        fanOut = new Thread(this::fanOut, "ledgerx-stream-fan-out");
+        fanOut.setDaemon(true);
+        fanOut.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(fanOut);
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(Math.max(1, subscriberQueueSize)));
+        emitter.onCompletion(subscriber::release);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        synchronized (publishLock) {
+            subscribers.add(subscriber);
+            if (missedWhileIdle.getAndSet(false)) {
+                lastGapSequence = nextSequence++;
+                replayRing[slot(lastGapSequence)] = null;
+            }
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long resumeAfter = parseSequence(lastEventId);
+                long oldest = Math.max(1, nextSequence - replayRing.length);
+                long missed = nextSequence - 1 - resumeAfter;
+                if (resumeAfter < 0 || resumeAfter + 1 < oldest || resumeAfter < lastGapSequence
+                        || missed < 0 || missed > subscriberQueueSize) {
+                    subscriber.resetSequence = nextSequence - 1;
+                } else {
+                    for (long sequence = resumeAfter + 1; sequence < nextSequence; sequence++) {
+                        subscriber.queue.offer(replayRing[slot(sequence)]);
+                    }
+                }
+            }
+        }
+        subscriber.scheduleDrain();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        if (subscribers.isEmpty()) {
+            missedWhileIdle.set(true);
+            if (subscribers.isEmpty()) {
+                return;
+            }
+        }
+        published.offer(event);
+        LockSupport.unpark(fanOut);
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            subscriber.scheduleDrain();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long slowConsumersClosed() {
+        return slowConsumersClosed.sum();
+    }
+
+    private void fanOut() {
+        while (running) {
+            TransferCompletedEvent event = published.poll();
+            if (event == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                publish(event);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to stream transaction {}: {}", event.transactionId(), ex.getMessage());
+            }
+        }
+    }
+
+    private void publish(TransferCompletedEvent event) {
+        String payload = objectMapper.writeValueAsString(new TransactionResponseDTO(
+                event.transactionId(),
+                event.createdAt(),
+                TransactionStatus.COMPLETED.name(),
+                event.fromAccountNumber(),
+                event.toAccountNumber(),
+                event.amount(),
+                event.currency(),
+                event.idempotencyKey()
+        ));
+        synchronized (publishLock) {
+            StreamedTransaction transaction = new StreamedTransaction(nextSequence++, payload);
+            replayRing[slot(transaction.sequence())] = transaction;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(transaction);
+            }
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % replayRing.length);
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator <= 0 || !lastEventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private record StreamedTransaction(long sequence, String payload) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<StreamedTransaction> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean greetingDue = new AtomicBoolean(true);
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private volatile long resetSequence = -1;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, ArrayBlockingQueue<StreamedTransaction> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private void offer(StreamedTransaction transaction) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(transaction)) {
+                slowConsumersClosed.increment();
+                log.debug("Closing slow transaction stream subscriber after {} queued events", queue.size());
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (greetingDue.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("connected"));
+                }
+                long reset = resetSequence;
+                if (reset >= 0) {
+                    resetSequence = -1;
+                    emitter.send(SseEmitter.event().id(streamId + "-" + reset).name(RESET_EVENT).data(""));
+                }
+                StreamedTransaction transaction;
+                while (!closed && (transaction = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(streamId + "-" + transaction.sequence())
+                            .name(TRANSACTION_EVENT)
+                            .data(transaction.payload()));
+                }
+                if (heartbeatDue.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (!queue.isEmpty() || heartbeatDue.get())) {
+                scheduleDrain();
+            }
+        }
+
+        private void release() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void close() {
+            release();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ledgerx.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class SlidingWindowCounter {
+
+    private static final int STAMP = 0;
+    private static final int COUNT = 1;
+    private static final int UNITS = 2;
+    private static final int SLOT_WIDTH = 3;
+
+    private final int buckets;
+    private final AtomicLongArray slots;
+
+    SlidingWindowCounter(int buckets) {
+        this.buckets = buckets;
+        this.slots = new AtomicLongArray(buckets * SLOT_WIDTH);
+    }
+
+    void add(long bucket, long count, long units) {
+        int base = (int) (bucket % buckets) * SLOT_WIDTH;
+        while (true) {
+            long stamp = slots.get(base + STAMP);
+            if (stamp == bucket) {
+                slots.getAndAdd(base + COUNT, count);
+                slots.getAndAdd(base + UNITS, units);
+                return;
+            }
+            if (stamp < 0) {
+                Thread.onSpinWait();
+            } else if (stamp > bucket) {
+                return;
+            } else if (slots.compareAndSet(base + STAMP, stamp, -bucket - 1)) {
+                slots.set(base + COUNT, 0);
+                slots.set(base + UNITS, 0);
+                slots.set(base + STAMP, bucket);
+            }
+        }
+    }
+
+    long[] sum(long currentBucket) {
+        long oldest = currentBucket - buckets;
+        long count = 0;
+        long units = 0;
+        for (int base = 0; base < slots.length(); base += SLOT_WIDTH) {
+            long stamp = slots.get(base + STAMP);
+            if (stamp > oldest && stamp <= currentBucket) {
+                count += slots.get(base + COUNT);
+                units += slots.get(base + UNITS);
+            }
+        }
+        return new long[]{count, units};
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ledgerx.velocity;
+
+import com.example.ledgerx.entity.Account;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public final class VelocityBudget {
+
+    private final VelocityLimitService velocityLimitService;
+    private final Map<UUID, long[]> used;
+
+    VelocityBudget(VelocityLimitService velocityLimitService, Map<UUID, long[]> used) {
+        this.velocityLimitService = velocityLimitService;
+        this.used = used;
+    }
+
+    public void reserve(Account account, BigDecimal amount) {
+        velocityLimitService.admit(account, used, amount);
+    }
+}
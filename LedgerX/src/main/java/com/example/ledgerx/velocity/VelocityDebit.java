@@ -0,0 +1,8 @@
+package com.example.ledgerx.velocity;
+
+import com.example.ledgerx.entity.Account;
+
+import java.math.BigDecimal;
+
+public record VelocityDebit(Account account, BigDecimal amount) {
+}
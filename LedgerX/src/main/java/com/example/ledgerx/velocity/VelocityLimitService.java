@@ -0,0 +1,343 @@
+package com.example.ledgerx.velocity;
+
+import com.example.ledgerx.audit.TransferCompletedEvent;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VelocityLimitService {
+
+    private static final int AMOUNT_SCALE = 4;
+    private static final BigDecimal MAX_UNITS = BigDecimal.valueOf(Long.MAX_VALUE / 1024);
+
+    private static final String REBUILD_SQL = """
+            select a.account_number, floor(extract(epoch from e.created_at) * 1000 / ?)::bigint as bucket,
+                   count(*) as transfers, sum(e.amount) as amount
+            from account_entries e
+            join accounts a on a.id = e.account_id
+            where e.direction = 'DEBIT' and e.created_at >= ?
+            group by a.account_number, bucket
+            """;
+
+    private static final String UPSERT_BUCKET_SQL = """
+            insert into velocity_buckets (account_id, window_name, bucket, transfers, units)
+            values (?, ?, ?, ?, ?)
+            on conflict (account_id, window_name, bucket) do update
+            set transfers = velocity_buckets.transfers + excluded.transfers,
+                units = velocity_buckets.units + excluded.units
+            """;
+
+    private static final String WINDOW_USAGE_SQL = """
+            select account_id, sum(transfers) as transfers, sum(units) as units
+            from velocity_buckets
+            where account_id = any(?) and window_name = ? and bucket > ?
+            group by account_id
+            """;
+
+    private static final String ACCOUNT_USAGE_SQL = """
+            select coalesce(sum(b.transfers), 0) as transfers, coalesce(sum(b.units), 0) as units
+            from velocity_buckets b
+            join accounts a on a.id = b.account_id
+            where a.account_number = ? and b.window_name = ? and b.bucket > ?
+            """;
+
+    private static final String PRUNE_SQL = "delete from velocity_buckets where window_name = ? and bucket <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<String, AccountVelocity> accounts = new ConcurrentHashMap<>();
+
+    private VelocityWindow[] windows = new VelocityWindow[0];
+    private long[] maxTransfers;
+    private long[] maxUnits;
+
+    @Value("${ledgerx.velocity.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.velocity.minute.max-transfers:0}")
+    private long minuteMaxTransfers;
+
+    @Value("${ledgerx.velocity.minute.max-amount:0}")
+    private BigDecimal minuteMaxAmount;
+
+    @Value("${ledgerx.velocity.hour.max-transfers:0}")
+    private long hourMaxTransfers;
+
+    @Value("${ledgerx.velocity.hour.max-amount:0}")
+    private BigDecimal hourMaxAmount;
+
+    @Value("${ledgerx.velocity.day.max-transfers:0}")
+    private long dayMaxTransfers;
+
+    @Value("${ledgerx.velocity.day.max-amount:0}")
+    private BigDecimal dayMaxAmount;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        List<VelocityWindow> limited = new ArrayList<>();
+        List<long[]> limits = new ArrayList<>();
+        addLimit(limited, limits, VelocityWindow.MINUTE, minuteMaxTransfers, minuteMaxAmount);
+        addLimit(limited, limits, VelocityWindow.HOUR, hourMaxTransfers, hourMaxAmount);
+        addLimit(limited, limits, VelocityWindow.DAY, dayMaxTransfers, dayMaxAmount);
+        windows = limited.toArray(VelocityWindow[]::new);
+        maxTransfers = limits.stream().mapToLong(limit -> limit[0]).toArray();
+        maxUnits = limits.stream().mapToLong(limit -> limit[1]).toArray();
+        if (windows.length > 0) {
+            rebuild();
+        }
+    }
+
+    public void reserve(String accountNumber, BigDecimal amount) {
+        if (windows.length == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long units = toUnits(amount);
+        AccountVelocity velocity = velocity(accountNumber, now);
+        long[] buckets = new long[windows.length];
+        for (int i = 0; i < windows.length; i++) {
+            buckets[i] = windows[i].bucketOf(now);
+            velocity.counters[i].add(buckets[i], 1, units);
+        }
+
+        for (int i = 0; i < windows.length; i++) {
+            long[] used = velocity.counters[i].sum(buckets[i]);
+            if (used[0] > maxTransfers[i] || used[1] > maxUnits[i]) {
+                release(velocity, buckets, units);
+                throw new VelocityLimitExceededException(describeBreach(accountNumber, i, used[0] > maxTransfers[i]));
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(velocity, buckets, units);
+                }
+            });
+        } else {
+            release(velocity, buckets, units);
+        }
+    }
+
+    public VelocityBudget budget(Collection<Account> accounts) {
+        if (windows.length == 0) {
+            return new VelocityBudget(this, new HashMap<>());
+        }
+        UUID[] accountIds = accounts.stream().map(Account::getId).toArray(UUID[]::new);
+        return new VelocityBudget(this, windowUsage(accountIds, System.currentTimeMillis()));
+    }
+
+    public void enforce(List<VelocityDebit> debits) {
+        if (windows.length == 0 || debits.isEmpty()) {
+            return;
+        }
+        Map<UUID, long[]> payers = new TreeMap<>();
+        Map<UUID, String> accountNumbers = new HashMap<>();
+        for (VelocityDebit debit : debits) {
+            long[] debited = payers.computeIfAbsent(debit.account().getId(), ignored -> new long[2]);
+            debited[0]++;
+            debited[1] += toUnits(debit.amount());
+            accountNumbers.put(debit.account().getId(), debit.account().getAccountNumber());
+        }
+
+        long now = System.currentTimeMillis();
+        for (VelocityWindow window : windows) {
+            long bucket = window.bucketOf(now);
+            jdbcTemplate.batchUpdate(UPSERT_BUCKET_SQL, payers.entrySet().stream()
+                    .map(payer -> new Object[]{
+                            payer.getKey(), window.name(), bucket, payer.getValue()[0], payer.getValue()[1]
+                    })
+                    .toList());
+        }
+        windowUsage(payers.keySet().toArray(UUID[]::new), now)
+                .forEach((accountId, used) -> check(accountNumbers.get(accountId), used, 0, 0));
+    }
+
+    void admit(Account account, Map<UUID, long[]> used, BigDecimal amount) {
+        if (windows.length == 0) {
+            return;
+        }
+        long units = toUnits(amount);
+        long[] totals = used.computeIfAbsent(account.getId(), ignored -> new long[windows.length * 2]);
+        check(account.getAccountNumber(), totals, 1, units);
+        for (int i = 0; i < windows.length; i++) {
+            totals[i * 2]++;
+            totals[i * 2 + 1] += units;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        if (windows.length == 0 || event.fromAccountNumber() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        AccountVelocity velocity = velocity(event.fromAccountNumber(), now);
+        long units = toUnits(event.amount());
+        for (int i = 0; i < windows.length; i++) {
+            velocity.counters[i].add(windows[i].bucketOf(now), 1, units);
+        }
+    }
+
+    public List<VelocityUsage> usage(String accountNumber) {
+        List<VelocityUsage> usage = new ArrayList<>(windows.length);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < windows.length; i++) {
+            long[] used = jdbcTemplate.queryForObject(ACCOUNT_USAGE_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong("transfers"), rs.getLong("units")},
+                    accountNumber, windows[i].name(), windows[i].bucketOf(now) - windows[i].buckets());
+            usage.add(new VelocityUsage(
+                    windows[i],
+                    used[0],
+                    BigDecimal.valueOf(used[1], AMOUNT_SCALE),
+                    maxTransfers[i] == Long.MAX_VALUE ? null : maxTransfers[i],
+                    maxUnits[i] == Long.MAX_VALUE ? null : BigDecimal.valueOf(maxUnits[i], AMOUNT_SCALE)
+            ));
+        }
+        return usage;
+    }
+
+    @Scheduled(fixedDelayString = "${ledgerx.velocity.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        if (windows.length == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long cutoff = now - windows[windows.length - 1].lengthMillis();
+        accounts.keySet().forEach(accountNumber -> accounts.computeIfPresent(accountNumber,
+                (key, velocity) -> velocity.lastSeenMillis < cutoff ? null : velocity));
+        for (VelocityWindow window : windows) {
+            jdbcTemplate.update(PRUNE_SQL, window.name(), window.bucketOf(now) - window.buckets());
+        }
+    }
+
+    private Map<UUID, long[]> windowUsage(UUID[] accountIds, long now) {
+        Map<UUID, long[]> used = new HashMap<>();
+        for (int i = 0; i < windows.length; i++) {
+            int index = i;
+            jdbcTemplate.query(WINDOW_USAGE_SQL, rs -> {
+                long[] totals = used.computeIfAbsent(rs.getObject("account_id", UUID.class),
+                        ignored -> new long[windows.length * 2]);
+                totals[index * 2] = rs.getLong("transfers");
+                totals[index * 2 + 1] = rs.getLong("units");
+            }, accountIds, windows[i].name(), windows[i].bucketOf(now) - windows[i].buckets());
+        }
+        return used;
+    }
+
+    private void check(String accountNumber, long[] totals, long transfers, long units) {
+        for (int i = 0; i < windows.length; i++) {
+            boolean byCount = totals[i * 2] + transfers > maxTransfers[i];
+            if (byCount || totals[i * 2 + 1] + units > maxUnits[i]) {
+                throw new VelocityLimitExceededException(describeBreach(accountNumber, i, byCount));
+            }
+        }
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        long now = System.currentTimeMillis();
+        long rows = 0;
+        for (int i = 0; i < windows.length; i++) {
+            VelocityWindow window = windows[i];
+            long cutoff = (window.bucketOf(now) - window.buckets() + 1) * window.bucketMillis();
+            List<DebitBucket> buckets = jdbcTemplate.query(REBUILD_SQL,
+                    (rs, rowNum) -> new DebitBucket(
+                            rs.getString("account_number"),
+                            rs.getLong("bucket"),
+                            rs.getLong("transfers"),
+                            toUnits(rs.getBigDecimal("amount"))
+                    ),
+                    window.bucketMillis(), new Timestamp(cutoff));
+            for (DebitBucket bucket : buckets) {
+                velocity(bucket.accountNumber(), now).counters[i].add(bucket.bucket(), bucket.transfers(), bucket.units());
+            }
+            rows += buckets.size();
+        }
+        log.info("Velocity counters rebuilt for {} accounts from {} buckets in {} ms",
+                accounts.size(), rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private AccountVelocity velocity(String accountNumber, long now) {
+        AccountVelocity velocity = accounts.computeIfAbsent(accountNumber, ignored -> new AccountVelocity(windows));
+        velocity.lastSeenMillis = now;
+        return velocity;
+    }
+
+    private void release(AccountVelocity velocity, long[] buckets, long units) {
+        for (int i = 0; i < windows.length; i++) {
+            velocity.counters[i].add(buckets[i], -1, -units);
+        }
+    }
+
+    private String describeBreach(String accountNumber, int index, boolean byCount) {
+        String window = windows[index].name().toLowerCase(Locale.ROOT);
+        String limit = byCount
+                ? maxTransfers[index] + " transfers"
+                : BigDecimal.valueOf(maxUnits[index], AMOUNT_SCALE).toPlainString() + " in transfers";
+        return "Velocity limit exceeded for account " + accountNumber + ": at most " + limit + " per " + window;
+    }
+
+    private void addLimit(List<VelocityWindow> limited, List<long[]> limits, VelocityWindow window,
+                          long transfers, BigDecimal amount) {
+        if (transfers <= 0 && amount.signum() <= 0) {
+            return;
+        }
+        limited.add(window);
+        limits.add(new long[]{
+                transfers > 0 ? transfers : Long.MAX_VALUE,
+                amount.signum() > 0 ? toUnits(amount) : Long.MAX_VALUE
+        });
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        BigDecimal units = amount.movePointRight(AMOUNT_SCALE).setScale(0, RoundingMode.CEILING);
+        return units.compareTo(MAX_UNITS) > 0 ? MAX_UNITS.longValue() : units.longValue();
+    }
+
+    private record DebitBucket(String accountNumber, long bucket, long transfers, long units) {
+    }
+
+    private static final class AccountVelocity {
+
+        private final SlidingWindowCounter[] counters;
+        private volatile long lastSeenMillis;
+
+        private AccountVelocity(VelocityWindow[] windows) {
+            counters = new SlidingWindowCounter[windows.length];
+            for (int i = 0; i < windows.length; i++) {
+                counters[i] = new SlidingWindowCounter(windows[i].buckets());
+            }
+        }
+    }
+}
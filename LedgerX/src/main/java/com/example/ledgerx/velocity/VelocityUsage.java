@@ -0,0 +1,12 @@
+package com.example.ledgerx.velocity;
+
+import java.math.BigDecimal;
+
+public record VelocityUsage(
+        VelocityWindow window,
+        long transfers,
+        BigDecimal amount,
+        Long maxTransfers,
+        BigDecimal maxAmount
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.ledgerx.velocity;
+
+public enum VelocityWindow {
+    MINUTE(1_000L, 60),
+    HOUR(60_000L, 60),
+    DAY(3_600_000L, 24);
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    VelocityWindow(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    int buckets() {
+        return buckets;
+    }
+
+    long bucketOf(long epochMillis) {
+        return epochMillis / bucketMillis;
+    }
+
+    long lengthMillis() {
+        return bucketMillis * buckets;
+    }
+}
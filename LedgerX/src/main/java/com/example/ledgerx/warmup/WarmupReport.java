@@ -0,0 +1,24 @@
+package com.example.ledgerx.warmup;
+
+import java.time.Instant;
+import java.util.List;
+
+public record WarmupReport(
+        WarmupState state,
+        Instant startedAt,
+        Instant completedAt,
+        long durationMillis,
+        int connectionsOpened,
+        int transfers,
+        int replays,
+        int reads,
+        int serializations,
+        String prewarmMode,
+        List<String> prewarmedRelations,
+        long prewarmedBlocks,
+        String error
+) {
+    static WarmupReport of(WarmupState state) {
+        return new WarmupReport(state, null, null, 0, 0, 0, 0, 0, 0, null, List.of(), 0, null);
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.ledgerx.warmup;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import com.example.ledgerx.service.AccountHistoryService;
+import com.example.ledgerx.service.TransactionService;
+import com.example.ledgerx.service.TransferService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService {
+
+    private static final String PREWARM_AVAILABLE_SQL = "select exists (select 1 from pg_extension where extname = 'pg_prewarm')";
+    private static final String RELATION_EXISTS_SQL = "select to_regclass(?) is not null";
+
+    private static final List<IndexProbe> INDEX_PROBES = List.of(
+            new IndexProbe("idx_transactions_created_at_id",
+                    "select count(*) from (select 1 from transactions order by created_at desc, id desc limit ?) hot"),
+            new IndexProbe("idx_ledger_entries_account_history",
+                    "select count(*) from (select 1 from ledger_entries order by account_id, created_at desc, transaction_id desc limit ?) hot"),
+            new IndexProbe("accounts_account_number_key",
+                    "select count(*) from (select 1 from accounts order by account_number limit ?) hot"),
+            new IndexProbe("transactions_idempotency_key_key",
+                    "select count(*) from (select 1 from transactions order by idempotency_key limit ?) hot")
+    );
+
+    private final TransferService transferService;
+    private final TransactionService transactionService;
+    private final AccountBalanceService accountBalanceService;
+    private final AccountHistoryService accountHistoryService;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${ledgerx.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledgerx.warmup.transfers:500}")
+    private int transfers;
+
+    @Value("${ledgerx.warmup.max-duration-ms:60000}")
+    private long maxDurationMillis;
+
+    @Value("${ledgerx.warmup.account-prefix:LEDGERX-WARMUP-}")
+    private String accountPrefix;
+
+    @Value("${ledgerx.warmup.currency:USD}")
+    private String currency;
+
+    @Value("${ledgerx.warmup.prewarm-relations:accounts_pkey,accounts_account_number_key,transactions_idempotency_key_key,idx_transactions_created_at_id,idx_ledger_entries_account_history}")
+    private List<String> prewarmRelations;
+
+    @Value("${ledgerx.warmup.probe-rows:10000}")
+    private int probeRows;
+
+    private volatile WarmupReport report;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    public WarmupReport report() {
+        WarmupReport current = report;
+        if (current != null) {
+            return current;
+        }
+        return WarmupReport.of(enabled ? WarmupState.PENDING : WarmupState.DISABLED);
+    }
+
+    public WarmupReport warmUp() {
+        AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        long deadline = started + maxDurationMillis * 1_000_000;
+        report = new WarmupReport(WarmupState.RUNNING, startedAt, null, 0, 0, 0, 0, 0, 0, null, List.of(), 0, null);
+        Progress progress = new Progress();
+        try {
+            progress.connections = primeConnections();
+            prewarm(progress);
+            exercise(progress, deadline);
+            report = progress.toReport(WarmupState.COMPLETED, startedAt, started, null);
+            log.info("Warm-up finished in {} ms: {} connections, {} transfers, {} replays, {} reads, {} relations prewarmed ({})",
+                    report.durationMillis(), report.connectionsOpened(), report.transfers(), report.replays(),
+                    report.reads(), report.prewarmedRelations().size(), report.prewarmMode());
+        } catch (RuntimeException ex) {
+            report = progress.toReport(WarmupState.FAILED, startedAt, started, ex.getMessage());
+            log.warn("Warm-up stopped after {} ms, accepting traffic anyway", report.durationMillis(), ex);
+        } finally {
+            AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+        return report;
+    }
+
+    private int primeConnections() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return 0;
+        }
+        int target = Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to open warm-up connections", ex);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Failed to return warm-up connection", ex);
+                }
+            }
+        }
+        return connections.size();
+    }
+
+    private void prewarm(Progress progress) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(PREWARM_AVAILABLE_SQL, Boolean.class))) {
+            progress.prewarmMode = "pg_prewarm";
+            for (String relation : prewarmRelations) {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(RELATION_EXISTS_SQL, Boolean.class, relation))) {
+                    Long blocks = jdbcTemplate.queryForObject("select pg_prewarm(?::regclass)", Long.class, relation);
+                    progress.prewarmedRelations.add(relation);
+                    progress.prewarmedBlocks += blocks != null ? blocks : 0;
+                }
+            }
+            return;
+        }
+        progress.prewarmMode = "index-scan";
+        for (IndexProbe probe : INDEX_PROBES) {
+            jdbcTemplate.queryForObject(probe.sql(), Long.class, probeRows);
+            progress.prewarmedRelations.add(probe.index());
+        }
+    }
+
+    private void exercise(Progress progress, long deadline) {
+        String from = scratchAccount("A");
+        String to = scratchAccount("B");
+        String run = UUID.randomUUID().toString();
+        BigDecimal amount = new BigDecimal("1.0000");
+        for (int i = 0; i < transfers && System.nanoTime() < deadline; i++) {
+            String outKey = "warmup-" + run + "-" + i + "-out";
+            TransferResponseDTO out = transferService.processTransfer(from, to, amount, currency, outKey);
+            TransferResponseDTO back = transferService.processTransfer(to, from, amount, currency, "warmup-" + run + "-" + i + "-back");
+            TransferResponseDTO replay = transferService.processTransfer(from, to, amount, currency, outKey);
+            progress.transfers += 2;
+            progress.replays++;
+            serialize(progress, out);
+            serialize(progress, back);
+            serialize(progress, replay);
+
+            serialize(progress, accountBalanceService.getBalance(from, null));
+            serialize(progress, accountHistoryService.getHistory(from, null, null, null, null, null, 20));
+            serialize(progress, transactionService.getTransactions(0, 20));
+            progress.reads += 3;
+        }
+    }
+
+    private String scratchAccount(String suffix) {
+        String accountNumber = accountPrefix + suffix;
+        if (accountRepository.findByAccountNumber(accountNumber).isEmpty()) {
+            try {
+                accountRepository.save(Account.builder()
+                        .accountNumber(accountNumber)
+                        .currency(currency)
+                        .balance(new BigDecimal("1000.0000"))
+                        .status(AccountStatus.ACTIVE)
+                        .build());
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Warm-up account {} was created concurrently", accountNumber);
+            }
+        }
+        return accountNumber;
+    }
+
+    private void serialize(Progress progress, Object value) {
+        objectMapper.writeValueAsBytes(value);
+        progress.serializations++;
+    }
+
+    private record IndexProbe(String index, String sql) {
+    }
+
+    private static final class Progress {
+
+        private final List<String> prewarmedRelations = new ArrayList<>();
+        private int connections;
+        private int transfers;
+        private int replays;
+        private int reads;
+        private int serializations;
+        private String prewarmMode;
+        private long prewarmedBlocks;
+
+        private WarmupReport toReport(WarmupState state, Instant startedAt, long started, String error) {
+            return new WarmupReport(
+                    state,
+                    startedAt,
+                    Instant.now(),
+                    (System.nanoTime() - started) / 1_000_000,
+                    connections,
+                    transfers,
+                    replays,
+                    reads,
+                    serializations,
+                    prewarmMode,
+                    List.copyOf(prewarmedRelations),
+                    prewarmedBlocks,
+                    error
+            );
+        }
+    }
+}
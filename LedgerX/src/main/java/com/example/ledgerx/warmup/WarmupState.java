@@ -0,0 +1,9 @@
+package com.example.ledgerx.warmup;
+
+public enum WarmupState {
+    DISABLED,
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
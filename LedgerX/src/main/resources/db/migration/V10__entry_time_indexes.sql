@@ -0,0 +1,2 @@
+CREATE INDEX idx_ledger_entries_created_at_brin ON ledger_entries USING brin (created_at);
+CREATE INDEX idx_transactions_created_at_brin ON transactions USING brin (created_at);
@@ -0,0 +1,33 @@
+CREATE TABLE statement_runs (
+    period_start DATE PRIMARY KEY,
+    ranges INTEGER NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE statement_checkpoints (
+    period_start DATE NOT NULL,
+    range_index INTEGER NOT NULL,
+    first_account_id UUID NOT NULL,
+    end_account_id UUID NOT NULL,
+    statements INTEGER,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (period_start, range_index),
+    CONSTRAINT fk_statement_checkpoints_run
+        FOREIGN KEY (period_start) REFERENCES statement_runs (period_start)
+);
+
+CREATE TABLE account_statements (
+    account_number VARCHAR(255) NOT NULL,
+    period_start DATE NOT NULL,
+    account_id UUID NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    opening_balance NUMERIC(19, 4) NOT NULL,
+    closing_balance NUMERIC(19, 4) NOT NULL,
+    total_debits NUMERIC(19, 4) NOT NULL,
+    total_credits NUMERIC(19, 4) NOT NULL,
+    debit_count BIGINT NOT NULL,
+    credit_count BIGINT NOT NULL,
+    generated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (account_number, period_start)
+);
@@ -0,0 +1,25 @@
+CREATE TABLE ledger_merkle_leaves (
+    leaf_index BIGINT PRIMARY KEY,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL UNIQUE,
+    bucket_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    entry_count INTEGER NOT NULL,
+    audit_count INTEGER NOT NULL,
+    leaf_hash BYTEA NOT NULL
+);
+
+CREATE TABLE ledger_merkle_nodes (
+    level SMALLINT NOT NULL,
+    position BIGINT NOT NULL,
+    hash BYTEA NOT NULL,
+    PRIMARY KEY (level, position)
+);
+
+CREATE TABLE ledger_merkle_roots (
+    leaf_count BIGINT PRIMARY KEY,
+    sealed_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    root_hash BYTEA NOT NULL,
+    signature VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_audit_logs_timestamp_brin ON audit_logs USING brin ("timestamp");
@@ -0,0 +1,11 @@
+CREATE INDEX idx_ledger_entries_account_history
+    ON ledger_entries (account_id, created_at DESC, transaction_id DESC) INCLUDE (amount, direction, balance_after);
+DROP INDEX idx_ledger_entries_account_id_created_at;
+DROP INDEX idx_ledger_entries_account_id;
+
+CREATE INDEX idx_transactions_compact_from_account_history
+    ON transactions (from_account_id, created_at DESC, id DESC) INCLUDE (amount, from_balance_after) WHERE compact;
+CREATE INDEX idx_transactions_compact_to_account_history
+    ON transactions (to_account_id, created_at DESC, id DESC) INCLUDE (amount, to_balance_after) WHERE compact;
+DROP INDEX idx_transactions_compact_from_account_created_at;
+DROP INDEX idx_transactions_compact_to_account_created_at;
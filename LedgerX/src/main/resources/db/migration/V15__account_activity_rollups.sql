@@ -0,0 +1,13 @@
+CREATE TABLE account_activity_rollups (
+    account_number VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    action VARCHAR(255) NOT NULL,
+    event_count BIGINT NOT NULL,
+    total_amount NUMERIC(38, 4) NOT NULL,
+    PRIMARY KEY (account_number, bucket_start, action)
+);
+
+INSERT INTO account_activity_rollups (account_number, bucket_start, action, event_count, total_amount)
+SELECT account_number, date_trunc('hour', "timestamp", 'UTC'), action, count(*), sum(amount)
+FROM audit_logs
+GROUP BY 1, 2, 3;
@@ -0,0 +1,29 @@
+CREATE TABLE standing_orders (
+    id UUID PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    account_id UUID NOT NULL,
+    payee_account_id UUID NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    frequency VARCHAR(16) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    start_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_at TIMESTAMP WITH TIME ZONE,
+    next_occurrence BIGINT NOT NULL DEFAULT 0,
+    next_run_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    executed_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    last_transaction_id UUID,
+    last_error VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_standing_orders_account
+        FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_standing_orders_payee_account
+        FOREIGN KEY (payee_account_id) REFERENCES accounts (id),
+    CONSTRAINT chk_standing_orders_amount_positive CHECK (amount > 0)
+);
+
+CREATE INDEX idx_standing_orders_active_next_run_at ON standing_orders (next_run_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_standing_orders_account_id ON standing_orders (account_id);
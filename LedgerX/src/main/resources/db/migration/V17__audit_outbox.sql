@@ -0,0 +1,8 @@
+CREATE TABLE audit_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    transaction_id UUID NOT NULL,
+    from_account_number VARCHAR(255) NOT NULL,
+    to_account_number VARCHAR(255) NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,6 @@
+CREATE TABLE transaction_epoch (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    epoch BIGINT NOT NULL
+);
+
+INSERT INTO transaction_epoch (id, epoch) VALUES (1, 0);
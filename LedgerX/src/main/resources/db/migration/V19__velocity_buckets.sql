@@ -0,0 +1,17 @@
+CREATE TABLE velocity_buckets (
+    account_id UUID NOT NULL,
+    window_name VARCHAR(16) NOT NULL,
+    bucket BIGINT NOT NULL,
+    transfers BIGINT NOT NULL,
+    units BIGINT NOT NULL,
+    PRIMARY KEY (account_id, window_name, bucket)
+);
+
+INSERT INTO velocity_buckets (account_id, window_name, bucket, transfers, units)
+SELECT e.account_id, w.window_name, floor(extract(epoch FROM e.created_at) * 1000 / w.bucket_millis)::BIGINT,
+       count(*), ceil(sum(e.amount) * 10000)::BIGINT
+FROM account_entries e
+CROSS JOIN (VALUES ('MINUTE', 1000, 60), ('HOUR', 60000, 60), ('DAY', 3600000, 24)) AS w (window_name, bucket_millis, buckets)
+WHERE e.direction = 'DEBIT'
+  AND e.created_at > now() - make_interval(secs => w.bucket_millis * w.buckets / 1000.0)
+GROUP BY 1, 2, 3;
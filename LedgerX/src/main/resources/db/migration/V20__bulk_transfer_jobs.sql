@@ -0,0 +1,19 @@
+CREATE TABLE bulk_transfer_jobs (
+    id UUID PRIMARY KEY,
+    status VARCHAR(32) NOT NULL,
+    row_count BIGINT NOT NULL,
+    result_file VARCHAR(1024),
+    error_message VARCHAR(255),
+    elapsed_millis BIGINT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE bulk_transfer_job_counts (
+    job_id UUID NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    row_count BIGINT NOT NULL,
+    PRIMARY KEY (job_id, status),
+    CONSTRAINT fk_bulk_transfer_job_counts_job
+        FOREIGN KEY (job_id) REFERENCES bulk_transfer_jobs (id) ON DELETE CASCADE
+);
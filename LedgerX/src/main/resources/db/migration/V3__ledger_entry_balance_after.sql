@@ -0,0 +1,3 @@
+ALTER TABLE ledger_entries ADD COLUMN balance_after NUMERIC(19, 4);
+
+CREATE INDEX idx_ledger_entries_account_id_created_at ON ledger_entries (account_id, created_at);
@@ -0,0 +1,15 @@
+CREATE TABLE bulk_transfer_rows (
+    job_id UUID NOT NULL,
+    line_number BIGINT NOT NULL,
+    idempotency_key VARCHAR(255),
+    from_account VARCHAR(255),
+    to_account VARCHAR(255),
+    amount NUMERIC(19, 4),
+    currency VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    error_message VARCHAR(255),
+    transaction_id UUID,
+    CONSTRAINT pk_bulk_transfer_rows PRIMARY KEY (job_id, line_number)
+);
+
+CREATE INDEX idx_bulk_transfer_rows_job_id_status ON bulk_transfer_rows (job_id, status);
@@ -0,0 +1,14 @@
+CREATE TABLE archive_segments (
+    file_name VARCHAR(255) PRIMARY KEY,
+    period_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    period_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    first_created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    transaction_count INTEGER NOT NULL,
+    entry_count INTEGER NOT NULL,
+    file_sha256 VARCHAR(64) NOT NULL,
+    content_sha256 VARCHAR(64) NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_archive_segments_period ON archive_segments (period_start, period_end);
@@ -0,0 +1,27 @@
+ALTER TABLE accounts ADD COLUMN held_amount NUMERIC(19, 4) NOT NULL DEFAULT 0;
+
+ALTER TABLE accounts ADD CONSTRAINT chk_accounts_held_amount_within_balance
+    CHECK (held_amount >= 0 AND held_amount <= balance);
+
+CREATE TABLE holds (
+    id UUID PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    account_id UUID NOT NULL,
+    payee_account_id UUID NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    captured_amount NUMERIC(19, 4),
+    transaction_id UUID,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    resolved_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_holds_account
+        FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_holds_payee_account
+        FOREIGN KEY (payee_account_id) REFERENCES accounts (id),
+    CONSTRAINT chk_holds_amount_positive CHECK (amount > 0)
+);
+
+CREATE INDEX idx_holds_active_expires_at ON holds (expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_holds_account_id ON holds (account_id);
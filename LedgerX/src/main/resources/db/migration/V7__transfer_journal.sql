@@ -0,0 +1,30 @@
+ALTER TABLE transactions
+    ADD COLUMN from_account_id UUID,
+    ADD COLUMN to_account_id UUID,
+    ADD COLUMN from_account_number VARCHAR(255),
+    ADD COLUMN to_account_number VARCHAR(255),
+    ADD COLUMN amount NUMERIC(19, 4),
+    ADD COLUMN currency VARCHAR(3),
+    ADD COLUMN from_balance_after NUMERIC(19, 4),
+    ADD COLUMN to_balance_after NUMERIC(19, 4),
+    ADD COLUMN compact BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE transactions ADD CONSTRAINT chk_transactions_compact_journal
+    CHECK (NOT compact OR (from_account_id IS NOT NULL AND to_account_id IS NOT NULL AND amount IS NOT NULL));
+
+CREATE INDEX idx_transactions_compact_from_account_created_at
+    ON transactions (from_account_id, created_at) WHERE compact;
+CREATE INDEX idx_transactions_compact_to_account_created_at
+    ON transactions (to_account_id, created_at) WHERE compact;
+
+CREATE VIEW account_entries AS
+SELECT e.id, e.transaction_id, e.account_id, e.amount, e.direction, e.created_at, e.balance_after
+FROM ledger_entries e
+UNION ALL
+SELECT t.id, t.id, t.from_account_id, t.amount, 'DEBIT', t.created_at, t.from_balance_after
+FROM transactions t
+WHERE t.compact
+UNION ALL
+SELECT md5(t.id::text || ':CREDIT')::uuid, t.id, t.to_account_id, t.amount, 'CREDIT', t.created_at, t.to_balance_after
+FROM transactions t
+WHERE t.compact;
@@ -0,0 +1,9 @@
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(64) PRIMARY KEY,
+    base_url VARCHAR(255) NOT NULL,
+    backend_pid INTEGER NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_cluster_nodes_heartbeat_at ON cluster_nodes (heartbeat_at);
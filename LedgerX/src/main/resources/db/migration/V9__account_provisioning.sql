@@ -0,0 +1,14 @@
+CREATE UNLOGGED TABLE account_provisioning_rows (
+    job_id UUID NOT NULL,
+    line_number BIGINT NOT NULL,
+    account_number VARCHAR(255),
+    currency VARCHAR(255),
+    opening_balance NUMERIC(19, 4),
+    status VARCHAR(32) NOT NULL,
+    error_message VARCHAR(255),
+    account_id UUID,
+    CONSTRAINT pk_account_provisioning_rows PRIMARY KEY (job_id, line_number)
+);
+
+CREATE INDEX idx_account_provisioning_rows_job_id_account_number
+    ON account_provisioning_rows (job_id, account_number);
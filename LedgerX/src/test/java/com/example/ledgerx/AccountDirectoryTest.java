@@ -0,0 +1,166 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.directory.AccountDirectory;
+import com.example.ledgerx.directory.AccountDirectoryEntry;
+import com.example.ledgerx.directory.AccountDirectoryStats;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.AccountFrozenException;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountStatusService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class AccountDirectoryTest {
+
+    private static final int ACCOUNT_COUNT = 50_000;
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.0000");
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountStatusService accountStatusService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        List<Object[]> rows = new ArrayList<>(ACCOUNT_COUNT);
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), accountNumber(i), CURRENCY, INITIAL_BALANCE,
+                    i % 1_000 == 0 ? AccountStatus.FROZEN.name() : AccountStatus.ACTIVE.name()});
+        }
+        jdbcTemplate.batchUpdate(
+                """
+                        insert into accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, 0, now(), now())
+                        """,
+                rows
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldLoadEveryAccountAndReportFootprint() {
+        accountDirectory.load();
+
+        AccountDirectoryStats stats = accountDirectory.stats();
+        assertTrue(stats.entries() >= ACCOUNT_COUNT);
+        assertTrue(stats.footprintBytes() > 0);
+        assertTrue(stats.loadMillis() >= 0);
+
+        long missesBefore = stats.misses();
+        for (int i = 0; i < ACCOUNT_COUNT; i += 97) {
+            AccountDirectoryEntry entry = accountDirectory.find(accountNumber(i)).orElseThrow();
+            Account account = accountRepository.findById(entry.id()).orElseThrow();
+            assertEquals(accountNumber(i), account.getAccountNumber());
+            assertEquals(account.getStatus(), entry.status());
+            assertEquals(CURRENCY, entry.currency());
+        }
+        assertEquals(missesBefore, accountDirectory.stats().misses());
+    }
+
+    @Test
+    void shouldRecoverFromStaleIdsWhenAccountIsRecreated() {
+        accountDirectory.load();
+        String from = accountNumber(1);
+        String to = accountNumber(2);
+
+        jdbcTemplate.update("delete from accounts where account_number = ?", to);
+        jdbcTemplate.update(
+                """
+                        insert into accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+                        values (?, ?, ?, ?, 'ACTIVE', 0, now(), now())
+                        """,
+                UUID.randomUUID(), to, CURRENCY, INITIAL_BALANCE
+        );
+
+        TransferResponseDTO response = transferService.processTransfer(
+                from, to, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString());
+        assertEquals(TransactionStatus.COMPLETED, response.status());
+        assertEquals(accountRepository.findByAccountNumber(to).orElseThrow().getId(),
+                accountDirectory.find(to).orElseThrow().id());
+
+        assertThrows(AccountNotFoundException.class, () -> transferService.processTransfer(
+                from, "LG-MISSING", BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void shouldServeStatusChangesFromTheDirectory() {
+        accountDirectory.load();
+        String from = accountNumber(3);
+        String to = accountNumber(4);
+        long missesBefore = accountDirectory.stats().misses();
+
+        accountStatusService.changeStatus(to, AccountStatus.FROZEN);
+        assertEquals(AccountStatus.FROZEN, accountDirectory.find(to).orElseThrow().status());
+        assertThrows(AccountFrozenException.class, () -> transferService.processTransfer(
+                from, to, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()));
+
+        accountStatusService.changeStatus(to, AccountStatus.ACTIVE);
+        assertEquals(AccountStatus.ACTIVE, accountDirectory.find(to).orElseThrow().status());
+        assertEquals(missesBefore, accountDirectory.stats().misses());
+        assertEquals(TransactionStatus.COMPLETED, transferService.processTransfer(
+                from, to, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()).status());
+
+        assertThrows(AccountNotFoundException.class,
+                () -> accountStatusService.changeStatus("LG-MISSING", AccountStatus.FROZEN));
+    }
+
+    private static String accountNumber(int index) {
+        return String.format("DIR-%08d", index);
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
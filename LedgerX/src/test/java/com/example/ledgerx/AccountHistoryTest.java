@@ -0,0 +1,134 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.AccountHistoryEntryDTO;
+import com.example.ledgerx.api.AccountHistoryResponseDTO;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.provisioning.DatasetGenerator;
+import com.example.ledgerx.provisioning.DatasetSpec;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountHistoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class AccountHistoryTest {
+
+    private static final String PREFIX = "HIST-";
+    private static final String ACCOUNT = PREFIX + "00";
+
+    @Autowired
+    private AccountHistoryService accountHistoryService;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        datasetGenerator.generate(new DatasetSpec(PREFIX, 6, 600, 1.0, 3, 46L, "USD",
+                new BigDecimal("1000.0000"), new BigDecimal("50.0000")));
+        jdbcTemplate.update("""
+                update transactions set compact = true
+                where id in (select id from transactions order by created_at limit 200)
+                """);
+        jdbcTemplate.update("delete from ledger_entries e using transactions t where t.id = e.transaction_id and t.compact");
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldPageThroughAccountHistoryAcrossBothJournals() {
+        List<UUID> expected = jdbcTemplate.queryForList("""
+                select e.transaction_id from account_entries e join accounts a on a.id = e.account_id
+                where a.account_number = ?
+                order by e.created_at desc, e.transaction_id desc
+                """, UUID.class, ACCOUNT);
+        assertTrue(expected.size() > 100);
+        assertEquals(expected, pageAll(null, null, null));
+
+        List<UUID> debits = jdbcTemplate.queryForList("""
+                select e.transaction_id from account_entries e join accounts a on a.id = e.account_id
+                where a.account_number = ? and e.direction = 'DEBIT' and e.amount between 10 and 30
+                order by e.created_at desc, e.transaction_id desc
+                """, UUID.class, ACCOUNT);
+        assertTrue(debits.size() > 10);
+        assertEquals(debits, pageAll("debit", new BigDecimal("10"), new BigDecimal("30")));
+
+        AccountHistoryResponseDTO first = accountHistoryService.getHistory(ACCOUNT, null, null, null, null, null, 5);
+        AccountHistoryEntryDTO top = first.entries().get(0);
+        assertEquals("COMPLETED", top.status());
+        BigDecimal balance = jdbcTemplate.queryForObject("select balance from accounts where account_number = ?",
+                BigDecimal.class, ACCOUNT);
+        assertEquals(0, balance.compareTo(top.balanceAfter()));
+
+        assertTrue(accountHistoryService.getHistory(ACCOUNT, null, "FAILED", null, null, null, 5).entries().isEmpty());
+        assertEquals(5, accountHistoryService.getHistory(ACCOUNT, null, "COMPLETED", null, null, null, 5).entries().size());
+        assertThrows(LedgerException.class,
+                () -> accountHistoryService.getHistory(ACCOUNT, null, null, null, null, "not-a-cursor", 5));
+        assertThrows(LedgerException.class,
+                () -> accountHistoryService.getHistory(ACCOUNT, "SIDEWAYS", null, null, null, null, 5));
+        assertThrows(LedgerException.class,
+                () -> accountHistoryService.getHistory(ACCOUNT, null, null, BigDecimal.TEN, BigDecimal.ONE, null, 5));
+        assertThrows(LedgerException.class,
+                () -> accountHistoryService.getHistory(ACCOUNT, null, null, null, null, null, 0));
+        assertThrows(AccountNotFoundException.class,
+                () -> accountHistoryService.getHistory(PREFIX + "MISSING", null, null, null, null, null, 5));
+    }
+
+    private List<UUID> pageAll(String direction, BigDecimal minAmount, BigDecimal maxAmount) {
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            AccountHistoryResponseDTO page = accountHistoryService.getHistory(
+                    ACCOUNT, direction, null, minAmount, maxAmount, cursor, 7);
+            assertTrue(page.entries().size() <= 7);
+            page.entries().forEach(entry -> ids.add(entry.transactionId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.AccountProvisioningResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.provisioning.AccountFileFormat;
+import com.example.ledgerx.provisioning.AccountProvisioningService;
+import com.example.ledgerx.provisioning.DatasetGenerator;
+import com.example.ledgerx.provisioning.DatasetSpec;
+import com.example.ledgerx.provisioning.GeneratedDataset;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.provisioning.chunk-size=2")
+class AccountProvisioningTest {
+
+    @Autowired
+    private AccountProvisioningService accountProvisioningService;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        accountRepository.save(Account.builder()
+                .accountNumber("ACC-PROV-EXISTING")
+                .currency("USD")
+                .balance(BigDecimal.ZERO)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldProvisionValidRowsAndReportTheRest() throws Exception {
+        String csv = """
+                account_number,currency,opening_balance
+                ACC-PROV-1,USD,100.5000
+                ACC-PROV-2,EUR,
+                ACC-PROV-1,USD,1.0000
+
+                ACC-PROV-EXISTING,USD,5
+                ACC-PROV-3,usd,5
+                ACC-PROV-4,USD,-1
+                ACC-PROV-5,USD,1.00001
+                "ACC-PROV-6",GBP,42
+                only-one-column
+                """;
+
+        AccountProvisioningResponseDTO result = accountProvisioningService.provision(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), AccountFileFormat.CSV);
+
+        assertEquals(9, result.rows());
+        assertEquals(Map.of("CREATED", 3L, "DUPLICATE", 1L, "EXISTS", 1L, "REJECTED", 4L), result.statusCounts());
+        assertEquals(0, new BigDecimal("100.5000").compareTo(
+                accountRepository.findByAccountNumber("ACC-PROV-1").orElseThrow().getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                accountRepository.findByAccountNumber("ACC-PROV-2").orElseThrow().getBalance()));
+        assertEquals("GBP", accountRepository.findByAccountNumber("ACC-PROV-6").orElseThrow().getCurrency());
+
+        List<String> report = Files.readAllLines(Path.of(result.errorReport()));
+        assertEquals(7, report.size());
+        assertTrue(report.get(1).startsWith("3,ACC-PROV-1,DUPLICATE,,Duplicate of line 1"));
+        assertTrue(report.get(2).startsWith("4,ACC-PROV-EXISTING,EXISTS,"));
+        assertTrue(report.get(3).contains("Currency must be a 3-letter ISO code"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from account_provisioning_rows", Integer.class));
+
+        String ndjson = """
+                {"accountNumber":"ACC-PROV-7","currency":"USD","openingBalance":7.25}
+                {"accountNumber":"ACC-PROV-7","currency":"USD"}
+                not json
+                """;
+        AccountProvisioningResponseDTO second = accountProvisioningService.provision(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), AccountFileFormat.NDJSON);
+        assertEquals(Map.of("CREATED", 1L, "DUPLICATE", 1L, "REJECTED", 1L), second.statusCounts());
+    }
+
+    @Test
+    void shouldGenerateSkewedDatasetWithConsistentHistory() {
+        DatasetSpec spec = new DatasetSpec("SYN-TEST-", 50, 2000, 1.1, 10, 7L, "USD",
+                new BigDecimal("100.0000"), new BigDecimal("40.0000"));
+
+        GeneratedDataset dataset = datasetGenerator.generate(spec);
+
+        assertEquals(50, dataset.accounts());
+        assertEquals(2000, dataset.transfers() + dataset.skippedTransfers());
+        assertEquals(dataset.transfers(), transactionRepository.count());
+        assertEquals(dataset.transfers() * 2, ledgerEntryRepository.count());
+        assertEquals(0, new BigDecimal("5000.0000").compareTo(jdbcTemplate.queryForObject(
+                "select sum(balance) from accounts where account_number like 'SYN-TEST-%'", BigDecimal.class)));
+
+        Long hottest = jdbcTemplate.queryForObject(
+                "select count(*) from account_entries e join accounts a on a.id = e.account_id where a.account_number = 'SYN-TEST-00'",
+                Long.class);
+        Long coldest = jdbcTemplate.queryForObject(
+                "select count(*) from account_entries e join accounts a on a.id = e.account_id where a.account_number = 'SYN-TEST-49'",
+                Long.class);
+        assertTrue(hottest > coldest * 5, "hot " + hottest + " cold " + coldest);
+
+        List<Map<String, Object>> mismatched = jdbcTemplate.queryForList("""
+                select a.account_number
+                from accounts a
+                where a.account_number like 'SYN-TEST-%'
+                  and a.balance <> coalesce((
+                      select e.balance_after from account_entries e
+                      where e.account_id = a.id
+                      order by e.created_at desc, e.transaction_id desc
+                      limit 1
+                  ), 100)
+                """);
+        assertTrue(mismatched.isEmpty(), "latest balance_after differs from balance for " + mismatched);
+
+        Account hot = accountRepository.findByAccountNumber("SYN-TEST-00").orElseThrow();
+        assertEquals(0, hot.getBalance().compareTo(
+                accountBalanceService.getBalance("SYN-TEST-00", Instant.now()).balance()));
+
+        assertThrows(LedgerException.class, () -> datasetGenerator.generate(spec));
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.audit.AccountActivity;
+import com.example.ledgerx.audit.ActivityBucket;
+import com.example.ledgerx.audit.ActivityGranularity;
+import com.example.ledgerx.audit.ActivityRollupService;
+import com.example.ledgerx.audit.AuditEventListener;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.AuditLog;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.audit.drain-interval-ms=600000")
+class ActivityRollupTest {
+
+    private static final String ACCOUNT_A = "ACC-ROLLUP-A";
+    private static final String ACCOUNT_B = "ACC-ROLLUP-B";
+    private static final String CURRENCY = "USD";
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private AuditEventListener auditEventListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        accountRepository.saveAll(List.of(account(ACCOUNT_A), account(ACCOUNT_B)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldKeepHourlyRollupsInStepWithTheAuditLog() throws InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "rollup-out-" + i);
+        }
+        for (int i = 0; i < 2; i++) {
+            transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("2.5000"), CURRENCY, "rollup-back-" + i);
+        }
+        awaitAudits(16);
+
+        Instant now = Instant.now();
+        AccountActivity hourly = activityRollupService.activity(ACCOUNT_A, ActivityGranularity.HOUR, now.minus(Duration.ofHours(2)), now);
+        long transfersOut = hourly.buckets().stream().mapToLong(ActivityBucket::transfersOut).sum();
+        long transfersIn = hourly.buckets().stream().mapToLong(ActivityBucket::transfersIn).sum();
+        BigDecimal volumeOut = hourly.buckets().stream().map(ActivityBucket::volumeOut).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal volumeIn = hourly.buckets().stream().map(ActivityBucket::volumeIn).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(6, transfersOut);
+        assertEquals(2, transfersIn);
+        assertEquals(0, new BigDecimal("60.0000").compareTo(volumeOut));
+        assertEquals(0, new BigDecimal("5.0000").compareTo(volumeIn));
+
+        Long mismatches = jdbcTemplate.queryForObject("""
+                select count(*) from (
+                    select account_number, date_trunc('hour', "timestamp", 'UTC') as bucket_start, action,
+                           count(*) as event_count, sum(amount) as total_amount
+                    from audit_logs
+                    group by 1, 2, 3
+                ) expected
+                full join account_activity_rollups r using (account_number, bucket_start, action)
+                where r.event_count is distinct from expected.event_count
+                   or r.total_amount is distinct from expected.total_amount
+                """, Long.class);
+        assertEquals(0, mismatches);
+
+        Instant day = now.truncatedTo(ChronoUnit.DAYS).minus(Duration.ofDays(3));
+        activityRollupService.record(List.of(
+                audit(ACCOUNT_A, "TRANSFER_OUT", "4.0000", day.plus(Duration.ofMinutes(10))),
+                audit(ACCOUNT_A, "TRANSFER_OUT", "6.0000", day.plus(Duration.ofMinutes(50))),
+                audit(ACCOUNT_A, "TRANSFER_IN", "1.0000", day.plus(Duration.ofHours(5)))
+        ));
+        AccountActivity past = activityRollupService.activity(ACCOUNT_A, ActivityGranularity.HOUR, day, day.plus(Duration.ofDays(1)));
+        assertEquals(List.of(
+                new ActivityBucket(day, 0, BigDecimal.ZERO, 2, new BigDecimal("10.0000")),
+                new ActivityBucket(day.plus(Duration.ofHours(5)), 1, new BigDecimal("1.0000"), 0, BigDecimal.ZERO)
+        ), past.buckets());
+
+        AccountActivity daily = activityRollupService.activity(ACCOUNT_A, ActivityGranularity.DAY,
+                day.plus(Duration.ofHours(1)), now);
+        assertEquals(day, daily.from());
+        assertEquals(day, daily.buckets().get(0).bucketStart());
+        assertEquals(2, daily.buckets().get(0).transfersOut());
+        assertEquals(1, daily.buckets().get(0).transfersIn());
+        assertEquals(6, daily.buckets().stream().skip(1).mapToLong(ActivityBucket::transfersOut).sum());
+
+        assertThrows(LedgerException.class,
+                () -> activityRollupService.activity(ACCOUNT_A, ActivityGranularity.HOUR, now, now.minusSeconds(1)));
+        assertThrows(LedgerException.class,
+                () -> activityRollupService.activity(ACCOUNT_A, ActivityGranularity.HOUR, Instant.EPOCH, now));
+        assertThrows(AccountNotFoundException.class,
+                () -> activityRollupService.activity("ACC-ROLLUP-MISSING", ActivityGranularity.DAY, day, now));
+    }
+
+    @Test
+    void shouldFoldADrainedBatchIntoOneUpsertPerAccountBucketAndAction() {
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofDays(2));
+        assertEquals(2, activityRollupService.record(List.of(
+                audit(ACCOUNT_A, "TRANSFER_OUT", "1.0000", hour.plus(Duration.ofMinutes(1))),
+                audit(ACCOUNT_A, "TRANSFER_OUT", "2.0000", hour.plus(Duration.ofMinutes(59))),
+                audit(ACCOUNT_B, "TRANSFER_IN", "3.0000", hour.plus(Duration.ofMinutes(30)))
+        )));
+
+        for (int i = 0; i < 120; i++) {
+            jdbcTemplate.update("""
+                    insert into audit_outbox (transaction_id, from_account_number, to_account_number, amount)
+                    values (gen_random_uuid(), ?, ?, 1.5000)
+                    """, i % 3 == 0 ? ACCOUNT_B : ACCOUNT_A, i % 3 == 0 ? ACCOUNT_A : ACCOUNT_B);
+        }
+        assertEquals(120, auditEventListener.drain());
+        assertEquals(240, auditLogRepository.count());
+        assertEquals(6, jdbcTemplate.queryForObject(
+                "select count(*) from account_activity_rollups", Integer.class));
+        assertEquals(80, jdbcTemplate.queryForObject("""
+                select event_count from account_activity_rollups
+                where account_number = ? and action = 'TRANSFER_OUT' and bucket_start > ?
+                """, Long.class, ACCOUNT_A, Timestamp.from(hour)));
+        assertEquals(0, new BigDecimal("60.0000").compareTo(jdbcTemplate.queryForObject("""
+                select total_amount from account_activity_rollups
+                where account_number = ? and action = 'TRANSFER_IN' and bucket_start > ?
+                """, BigDecimal.class, ACCOUNT_A, Timestamp.from(hour))));
+    }
+
+    private void awaitAudits(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (auditLogRepository.count() < expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(expected, auditLogRepository.count());
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .currency(CURRENCY)
+                .balance(new BigDecimal("1000.0000"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private AuditLog audit(String accountNumber, String action, String amount, Instant timestamp) {
+        return AuditLog.builder()
+                .accountNumber(accountNumber)
+                .action(action)
+                .amount(new BigDecimal(amount))
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from account_activity_rollups");
+        jdbcTemplate.update("delete from audit_outbox");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransactionResponseDTO;
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.archive.ArchiveSegmentInfo;
+import com.example.ledgerx.archive.ArchiveService;
+import com.example.ledgerx.archive.ArchiveVerification;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import com.example.ledgerx.service.TransactionService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.archive.dir=${java.io.tmpdir}/ledgerx-archive-test")
+class ArchiveTest {
+
+    private static final String ACCOUNT_A = "ACC-ARCHIVE-A";
+    private static final String ACCOUNT_B = "ACC-ARCHIVE-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("10.0000");
+    private static final Path ARCHIVE_DIR = Path.of(System.getProperty("java.io.tmpdir"), "ledgerx-archive-test");
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID accountAId;
+    private UUID accountBId;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        accountAId = UUID.randomUUID();
+        accountBId = UUID.randomUUID();
+        insertAccount(accountAId, ACCOUNT_A, "970.0000");
+        insertAccount(accountBId, ACCOUNT_B, "1030.0000");
+
+        for (int day = 10; day <= 12; day++) {
+            int transferred = day - 9;
+            insertTransfer("archive-key-" + day, Instant.parse("2025-03-%02dT12:00:00Z".formatted(day)),
+                    new BigDecimal("1000.0000").subtract(TRANSFER_AMOUNT.multiply(BigDecimal.valueOf(transferred))),
+                    new BigDecimal("1000.0000").add(TRANSFER_AMOUNT.multiply(BigDecimal.valueOf(transferred))));
+        }
+        jdbcTemplate.update(
+                """
+                        insert into transactions (id, idempotency_key, status, error_message, created_at, completed_at)
+                        values (?, 'archive-key-failed', 'FAILED', 'Insufficient funds', ?, ?)
+                        """,
+                UUID.randomUUID(),
+                Timestamp.from(Instant.parse("2025-03-13T08:00:00Z")),
+                Timestamp.from(Instant.parse("2025-03-13T08:00:01Z"))
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (ArchiveSegmentInfo segment : archiveService.segments()) {
+            Files.deleteIfExists(ARCHIVE_DIR.resolve(segment.fileName()));
+        }
+        jdbcTemplate.update("delete from archive_segments");
+        archiveService.refreshCatalog();
+        clearDatabase();
+    }
+
+    @Test
+    void shouldArchiveClosedMonthsAndReadThroughSegments() throws Exception {
+        TransferResponseDTO hot = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("5.0000"), CURRENCY, UUID.randomUUID().toString());
+
+        List<ArchiveSegmentInfo> segments = archiveService.archiveClosedMonths();
+        assertEquals(1, segments.size());
+        ArchiveSegmentInfo segment = segments.get(0);
+        assertEquals(4, segment.transactionCount());
+        assertEquals(6, segment.entryCount());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(2, ledgerEntryRepository.count());
+
+        ArchiveVerification verification = archiveService.verify(segment.fileName());
+        assertTrue(verification.valid(), verification.message());
+
+        Page<TransactionResponseDTO> page = transactionService.getTransactions(0, 10);
+        assertEquals(5, page.getTotalElements());
+        assertEquals(hot.id(), page.getContent().get(0).id());
+        assertEquals("archive-key-failed", page.getContent().get(1).idempotencyKey());
+        assertEquals(ACCOUNT_A, page.getContent().get(2).fromAccount());
+        assertEquals("archive-key-10", transactionService.getTransactions(2, 2).getContent().get(0).idempotencyKey());
+
+        assertBalance(ACCOUNT_A, "2025-03-01T00:00:00Z", "1000.0000");
+        assertBalance(ACCOUNT_A, "2025-03-11T18:00:00Z", "980.0000");
+        assertBalance(ACCOUNT_B, "2025-03-12T18:00:00Z", "1030.0000");
+        assertBalance(ACCOUNT_A, "2025-06-01T00:00:00Z", "970.0000");
+
+        TransferResponseDTO replayed = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, TRANSFER_AMOUNT, CURRENCY, "archive-key-11");
+        assertEquals(TransactionStatus.COMPLETED, replayed.status());
+        assertEquals(Instant.parse("2025-03-11T12:00:00Z"), replayed.createdAt());
+        assertEquals(0, new BigDecimal("965.0000").compareTo(
+                accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getBalance()));
+        assertThrows(IdempotencyConflictException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, TRANSFER_AMOUNT, CURRENCY, "archive-key-failed"));
+
+        Path file = ARCHIVE_DIR.resolve(segment.fileName());
+        byte[] original = Files.readAllBytes(file);
+        byte[] tampered = original.clone();
+        tampered[tampered.length / 2] ^= 0x01;
+        Files.write(file, tampered);
+        assertFalse(archiveService.verify(segment.fileName()).valid());
+        Files.write(file, original);
+        assertTrue(archiveService.verify(segment.fileName()).valid());
+    }
+
+    private void assertBalance(String accountNumber, String asOf, String expected) {
+        BigDecimal balance = accountBalanceService.getBalance(accountNumber, Instant.parse(asOf)).balance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), accountNumber + " at " + asOf + " was " + balance);
+    }
+
+    private void insertAccount(UUID id, String accountNumber, String balance) {
+        jdbcTemplate.update(
+                """
+                        insert into accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+                        values (?, ?, ?, ?, 'ACTIVE', 0, ?, now())
+                        """,
+                id, accountNumber, CURRENCY, new BigDecimal(balance), Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"))
+        );
+    }
+
+    private void insertTransfer(String idempotencyKey, Instant createdAt, BigDecimal fromBalance, BigDecimal toBalance) {
+        UUID transactionId = UUID.randomUUID();
+        Timestamp timestamp = Timestamp.from(createdAt);
+        jdbcTemplate.update(
+                """
+                        insert into transactions (id, idempotency_key, status, error_message, created_at, completed_at)
+                        values (?, ?, 'COMPLETED', null, ?, ?)
+                        """,
+                transactionId, idempotencyKey, timestamp, timestamp
+        );
+        jdbcTemplate.update(
+                """
+                        insert into ledger_entries (id, transaction_id, account_id, amount, direction, created_at, balance_after)
+                        values (?, ?, ?, ?, 'DEBIT', ?, ?), (?, ?, ?, ?, 'CREDIT', ?, ?)
+                        """,
+                UUID.randomUUID(), transactionId, accountAId, TRANSFER_AMOUNT, timestamp, fromBalance,
+                UUID.randomUUID(), transactionId, accountBId, TRANSFER_AMOUNT, timestamp, toBalance
+        );
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import com.example.ledgerx.service.BalanceBackfillJob;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.backfill.balance-after.chunk-size=1")
+class BalanceAsOfTest {
+
+    private static final String ACCOUNT_A = "ACC-ASOF-A";
+    private static final String ACCOUNT_B = "ACC-ASOF-B";
+    private static final String ACCOUNT_C = "ACC-ASOF-C";
+    private static final String CURRENCY = "USD";
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private BalanceBackfillJob balanceBackfillJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        accountRepository.saveAll(List.of(account(ACCOUNT_A), account(ACCOUNT_B), account(ACCOUNT_C)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldRecordBalanceAfterAndAnswerAsOfQueries() throws InterruptedException {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "asof-1");
+        Thread.sleep(5);
+        Instant afterFirst = Instant.now();
+        Thread.sleep(5);
+        transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("4.0000"), CURRENCY, "asof-2");
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_C, new BigDecimal("1.0000"), CURRENCY, "asof-3");
+
+        UUID accountA = accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getId();
+        List<BigDecimal> balancesAfter = jdbcTemplate.queryForList(
+                "select balance_after from ledger_entries where account_id = ? order by created_at, id",
+                BigDecimal.class, accountA);
+        assertEquals(3, balancesAfter.size());
+        assertEquals(0, new BigDecimal("90.0000").compareTo(balancesAfter.get(0)));
+        assertEquals(0, new BigDecimal("94.0000").compareTo(balancesAfter.get(1)));
+        assertEquals(0, new BigDecimal("93.0000").compareTo(balancesAfter.get(2)));
+
+        assertBalance(ACCOUNT_A, afterFirst, "90.0000");
+        assertBalance(ACCOUNT_B, afterFirst, "110.0000");
+        assertBalance(ACCOUNT_C, afterFirst, "100.0000");
+        assertBalance(ACCOUNT_A, Instant.now(), "93.0000");
+
+        jdbcTemplate.update("update ledger_entries set balance_after = null");
+        assertBalance(ACCOUNT_A, afterFirst, "90.0000");
+        assertEquals(6, balanceBackfillJob.backfill());
+        assertEquals(balancesAfter, jdbcTemplate.queryForList(
+                "select balance_after from ledger_entries where account_id = ? order by created_at, id",
+                BigDecimal.class, accountA));
+        assertEquals(0, balanceBackfillJob.backfill());
+    }
+
+    @Test
+    void shouldBreakTimestampTiesByEntryId() {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "tie-1");
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("5.0000"), CURRENCY, "tie-2");
+
+        Instant tie = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.update("update ledger_entries set created_at = ?, balance_after = null", Timestamp.from(tie));
+        jdbcTemplate.update("update transactions set created_at = ?", Timestamp.from(tie));
+        jdbcTemplate.update("update accounts set created_at = ?", Timestamp.from(tie.minusSeconds(60)));
+        balanceBackfillJob.backfill();
+
+        assertBalance(ACCOUNT_A, tie, "85.0000");
+        assertBalance(ACCOUNT_B, tie, "115.0000");
+        assertBalance(ACCOUNT_A, tie.minusNanos(1000), "100.0000");
+        UUID accountA = accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getId();
+        BigDecimal lastById = jdbcTemplate.queryForObject(
+                "select balance_after from ledger_entries where account_id = ? order by id desc limit 1",
+                BigDecimal.class, accountA);
+        assertEquals(0, new BigDecimal("85.0000").compareTo(lastById));
+    }
+
+    @Test
+    void shouldBackfillAcrossCompactJournalRows() throws InterruptedException {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "mix-1");
+        Thread.sleep(5);
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("5.0000"), CURRENCY, "mix-2");
+        Thread.sleep(5);
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_C, new BigDecimal("1.0000"), CURRENCY, "mix-3");
+
+        UUID accountA = accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getId();
+        UUID accountB = accountRepository.findByAccountNumber(ACCOUNT_B).orElseThrow().getId();
+        jdbcTemplate.update("""
+                update transactions
+                set compact = true, from_account_id = ?, to_account_id = ?,
+                    amount = 5.0000, from_balance_after = 85.0000, to_balance_after = 115.0000
+                where idempotency_key = 'mix-2'
+                """, accountA, accountB);
+        jdbcTemplate.update("""
+                delete from ledger_entries e using transactions t
+                where e.transaction_id = t.id and t.idempotency_key = 'mix-2'
+                """);
+        jdbcTemplate.update("update ledger_entries set balance_after = null");
+
+        assertEquals(4, balanceBackfillJob.backfill());
+        List<BigDecimal> balancesAfter = jdbcTemplate.queryForList(
+                "select balance_after from ledger_entries where account_id = ? order by created_at, id",
+                BigDecimal.class, accountA);
+        assertEquals(2, balancesAfter.size());
+        assertEquals(0, new BigDecimal("90.0000").compareTo(balancesAfter.get(0)));
+        assertEquals(0, new BigDecimal("84.0000").compareTo(balancesAfter.get(1)));
+        BigDecimal firstCredit = jdbcTemplate.queryForObject(
+                "select balance_after from ledger_entries where account_id = ?", BigDecimal.class, accountB);
+        assertEquals(0, new BigDecimal("110.0000").compareTo(firstCredit));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from transactions where compact and from_balance_after is null", Integer.class));
+    }
+
+    private void assertBalance(String accountNumber, Instant asOf, String expected) {
+        BigDecimal balance = accountBalanceService.getBalance(accountNumber, asOf).balance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), accountNumber + " at " + asOf + " was " + balance);
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .currency(CURRENCY)
+                .balance(new BigDecimal("100.0000"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.BulkTransferResponseDTO;
+import com.example.ledgerx.bulk.BulkTransferFormat;
+import com.example.ledgerx.bulk.BulkTransferJobStatus;
+import com.example.ledgerx.bulk.BulkTransferIngestionService;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransactionStatusService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.bulk.chunk-size=3",
+        "ledgerx.velocity.enabled=true",
+        "ledgerx.velocity.minute.max-transfers=3"
+})
+class BulkTransferIngestionTest {
+
+    private static final String CURRENCY = "USD";
+    private static final List<String> ACCOUNTS = List.of("A", "B", "C");
+    private static final List<String> LINES = List.of(
+            "1,A,B,30.0000",
+            "2,B,C,500.0000",
+            "1,A,B,30.0000",
+            "3,C,A,10.0000",
+            "pre,A,C,5.0000",
+            "2,B,C,500.0000",
+            "4,A,C,1.0000",
+            "5,A,B,1.0000",
+            "6,B,A,20.0000"
+    );
+
+    @Autowired
+    private BulkTransferIngestionService bulkTransferIngestionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionStatusService transactionStatusService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        for (String prefix : List.of("BULK", "DIRECT", "FALLBACK")) {
+            for (String name : ACCOUNTS) {
+                accountRepository.save(Account.builder()
+                        .accountNumber(accountNumber(prefix, name))
+                        .currency(CURRENCY)
+                        .balance(new BigDecimal("100.0000"))
+                        .status(AccountStatus.ACTIVE)
+                        .build());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop trigger if exists bulk_test_poison on transactions");
+        jdbcTemplate.execute("drop trigger if exists bulk_test_poison on bulk_transfer_rows");
+        jdbcTemplate.execute("drop function if exists bulk_test_poison()");
+        clearDatabase();
+    }
+
+    @Test
+    void shouldMatchTheSingleTransferPathRowForRow() throws Exception {
+        for (String prefix : List.of("BULK", "DIRECT")) {
+            transferService.processTransfer(accountNumber(prefix, "A"), accountNumber(prefix, "C"),
+                    new BigDecimal("5.0000"), CURRENCY, prefix.toLowerCase() + "-pre");
+        }
+
+        StringBuilder csv = new StringBuilder("idempotency_key,from_account,to_account,amount,currency\n");
+        for (String line : LINES) {
+            String[] fields = line.split(",");
+            csv.append("bulk-").append(fields[0]).append(',')
+                    .append(accountNumber("BULK", fields[1])).append(',')
+                    .append(accountNumber("BULK", fields[2])).append(',')
+                    .append(fields[3]).append(',').append(CURRENCY).append('\n');
+        }
+        BulkTransferResponseDTO result = ingest(csv.toString());
+
+        for (String line : LINES) {
+            String[] fields = line.split(",");
+            try {
+                transferService.processTransfer(accountNumber("DIRECT", fields[1]), accountNumber("DIRECT", fields[2]),
+                        new BigDecimal(fields[3]), CURRENCY, "direct-" + fields[0]);
+            } catch (LedgerException ignored) {
+            }
+        }
+        transactionStatusService.flushFailedTransactions();
+
+        assertEquals(BulkTransferJobStatus.COMPLETED, result.status());
+        assertEquals(LINES.size(), result.rows());
+        assertEquals(Map.of("COMPLETED", 4L, "REPLAYED", 2L, "FAILED", 3L), result.statusCounts());
+        for (String name : ACCOUNTS) {
+            assertEquals(0, balance("DIRECT", name).compareTo(balance("BULK", name)), "balance of " + name);
+            assertEquals(entryCount("DIRECT", name), entryCount("BULK", name), "ledger entries of " + name);
+        }
+        assertEquals(failedTransactions("direct-", "DIRECT"), failedTransactions("bulk-", "BULK"));
+        assertEquals(Map.of("2", "Insufficient funds in account: ACC-X-B"), failedTransactions("bulk-", "BULK"));
+
+        List<String> results = Files.readAllLines(Path.of(result.resultFile()));
+        assertEquals(LINES.size() + 1, results.size());
+        assertTrue(results.get(3).startsWith("3,bulk-1,REPLAYED,"));
+        assertTrue(results.get(8).startsWith("8,bulk-5,FAILED,,"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from bulk_transfer_rows where job_id = ?", Integer.class, result.jobId()));
+    }
+
+    @Test
+    void shouldReplayAFailedChunkRowByRow() throws Exception {
+        jdbcTemplate.execute("""
+                create or replace function bulk_test_poison() returns trigger language plpgsql as $$
+                begin
+                    if new.idempotency_key = 'fallback-poison' then
+                        raise exception 'poisoned row';
+                    end if;
+                    return new;
+                end
+                $$
+                """);
+        jdbcTemplate.execute("""
+                create trigger bulk_test_poison before insert on transactions
+                for each row execute function bulk_test_poison()
+                """);
+
+        String csv = """
+                fallback-1,ACC-FALLBACK-A,ACC-FALLBACK-B,10.0000,USD
+                fallback-poison,ACC-FALLBACK-B,ACC-FALLBACK-C,10.0000,USD
+                fallback-2,ACC-FALLBACK-C,ACC-FALLBACK-A,200.0000,USD
+                """;
+        BulkTransferResponseDTO result = ingest(csv);
+        transactionStatusService.flushFailedTransactions();
+
+        assertEquals(Map.of("COMPLETED", 1L, "FAILED", 2L), result.statusCounts());
+        assertEquals(0, new BigDecimal("90.0000").compareTo(balance("FALLBACK", "A")));
+        assertEquals(0, new BigDecimal("110.0000").compareTo(balance("FALLBACK", "B")));
+        assertEquals(0, new BigDecimal("100.0000").compareTo(balance("FALLBACK", "C")));
+        assertEquals(Map.of("2", "Insufficient funds in account: ACC-X-C"), failedTransactions("fallback-", "FALLBACK"));
+
+        List<String> results = Files.readAllLines(Path.of(result.resultFile()));
+        assertEquals("2,fallback-poison,FAILED,,System busy, please retry the transaction",
+                results.get(2).replace("\"", ""));
+        assertNull(jdbcTemplate.query("select id from transactions where idempotency_key = 'fallback-poison'",
+                rs -> rs.next() ? rs.getObject("id") : null));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from bulk_transfer_rows where job_id = ?", Integer.class, result.jobId()));
+    }
+
+    @Test
+    void shouldAcceptTheFileBeforeApplyingIt() throws Exception {
+        String csv = """
+                async-1,ACC-BULK-A,ACC-BULK-B,10.0000,USD
+                async-2,ACC-BULK-B,ACC-BULK-C,20.0000,USD
+                """;
+        BulkTransferResponseDTO accepted;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "select id from accounts where account_number = 'ACC-BULK-A' for update")) {
+                lock.executeQuery();
+            }
+
+            accepted = bulkTransferIngestionService.submit(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BulkTransferFormat.CSV);
+            assertEquals(BulkTransferJobStatus.RUNNING, accepted.status());
+            assertEquals(2, accepted.rows());
+            assertNull(accepted.resultFile());
+            assertEquals(BulkTransferJobStatus.RUNNING,
+                    bulkTransferIngestionService.job(accepted.jobId()).orElseThrow().status());
+            assertEquals(0, new BigDecimal("100.0000").compareTo(balance("BULK", "A")));
+            connection.rollback();
+        }
+
+        BulkTransferResponseDTO result = await(accepted.jobId());
+        assertEquals(BulkTransferJobStatus.COMPLETED, result.status());
+        assertEquals(Map.of("COMPLETED", 2L), result.statusCounts());
+        assertNotNull(result.elapsedMillis());
+        assertEquals(0, new BigDecimal("90.0000").compareTo(balance("BULK", "A")));
+        assertEquals(0, new BigDecimal("90.0000").compareTo(balance("BULK", "B")));
+        assertEquals(0, new BigDecimal("120.0000").compareTo(balance("BULK", "C")));
+        assertEquals(3, Files.readAllLines(Path.of(result.resultFile())).size());
+        assertTrue(bulkTransferIngestionService.job(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void shouldReportAJobThatFailsWhileApplying() {
+        jdbcTemplate.execute("""
+                create or replace function bulk_test_poison() returns trigger language plpgsql as $$
+                begin
+                    if new.idempotency_key = 'fallback-poison' then
+                        raise exception 'poisoned row';
+                    end if;
+                    return new;
+                end
+                $$
+                """);
+        jdbcTemplate.execute("""
+                create trigger bulk_test_poison before update on bulk_transfer_rows
+                for each row when (new.status <> 'DUPLICATE') execute function bulk_test_poison()
+                """);
+
+        BulkTransferResponseDTO result = ingest("""
+                fallback-poison,ACC-FALLBACK-A,ACC-FALLBACK-B,10.0000,USD
+                """);
+
+        assertEquals(BulkTransferJobStatus.FAILED, result.status());
+        assertEquals(1, result.rows());
+        assertTrue(result.errorMessage().startsWith("Bulk transfer job failed: " + result.jobId()));
+        assertNull(result.resultFile());
+        assertEquals(Map.of("STAGED", 1L), result.statusCounts());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from bulk_transfer_rows where job_id = ?", Integer.class, result.jobId()));
+    }
+
+    private BulkTransferResponseDTO ingest(String csv) {
+        BulkTransferResponseDTO accepted = bulkTransferIngestionService.submit(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BulkTransferFormat.CSV);
+        return await(accepted.jobId());
+    }
+
+    private BulkTransferResponseDTO await(UUID jobId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        BulkTransferResponseDTO job = bulkTransferIngestionService.job(jobId).orElseThrow();
+        while (job.status() == BulkTransferJobStatus.RUNNING && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            job = bulkTransferIngestionService.job(jobId).orElseThrow();
+        }
+        return job;
+    }
+
+    private String accountNumber(String prefix, String name) {
+        return "ACC-" + prefix + "-" + name;
+    }
+
+    private BigDecimal balance(String prefix, String name) {
+        return accountRepository.findByAccountNumber(accountNumber(prefix, name)).orElseThrow().getBalance();
+    }
+
+    private Long entryCount(String prefix, String name) {
+        return jdbcTemplate.queryForObject("""
+                select count(*) from ledger_entries le join accounts a on a.id = le.account_id
+                where a.account_number = ?
+                """, Long.class, accountNumber(prefix, name));
+    }
+
+    private Map<String, String> failedTransactions(String keyPrefix, String accountPrefix) {
+        Map<String, String> failures = new TreeMap<>();
+        jdbcTemplate.query(
+                "select idempotency_key, error_message from transactions where status = 'FAILED' and idempotency_key like ?",
+                rs -> {
+                    failures.put(rs.getString("idempotency_key").substring(keyPrefix.length()),
+                            rs.getString("error_message").replace("ACC-" + accountPrefix + "-", "ACC-X-"));
+                },
+                keyPrefix + "%"
+        );
+        return failures;
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from account_activity_rollups");
+        jdbcTemplate.update("delete from bulk_transfer_jobs");
+        jdbcTemplate.update("delete from velocity_buckets");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.audit.AuditEventListener;
+import com.example.ledgerx.bulkhead.Bulkhead;
+import com.example.ledgerx.bulkhead.BulkheadStats;
+import com.example.ledgerx.bulkhead.Bulkheads;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.BulkheadFullException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.bulkhead.read.threads=2",
+        "ledgerx.bulkhead.read.queue=2",
+        "ledgerx.bulkhead.read.pool-size=2",
+        "ledgerx.bulkhead.background.threads=1",
+        "ledgerx.bulkhead.background.queue=1",
+        "ledgerx.audit.drain-interval-ms=600000"
+})
+class BulkheadTest {
+
+    private static final String ACCOUNT_A = "ACC-BULKHEAD-A";
+    private static final String ACCOUNT_B = "ACC-BULKHEAD-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+    private static final int TRANSFERS = 20;
+    private static final long MAX_TRANSFER_MILLIS = 1_000;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AuditEventListener auditEventListener;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldKeepTransfersFlowingWhileReadBulkheadIsSaturated() throws Exception {
+        List<CompletableFuture<Boolean>> slowReads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            slowReads.add(bulkheads.read().submit(() -> {
+                jdbcTemplate.execute("select pg_sleep(2)");
+                return true;
+            }));
+        }
+        assertThrows(BulkheadFullException.class, () -> bulkheads.read().submit(() -> true));
+
+        BulkheadStats read = stats(Bulkhead.READ);
+        assertEquals(2, read.queued());
+        assertEquals(1, read.rejected());
+        assertEquals(2, read.poolSize());
+        assertTrue(read.saturation() >= 0.5);
+
+        long slowest = 0;
+        for (int i = 0; i < TRANSFERS; i++) {
+            long started = System.nanoTime();
+            TransferResponseDTO response = bulkheads.transfer()
+                    .submit(() -> transferService.processTransfer(
+                            ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()))
+                    .get(5, TimeUnit.SECONDS);
+            slowest = Math.max(slowest, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            assertEquals(TransactionStatus.COMPLETED, response.status());
+        }
+        assertTrue(slowest < MAX_TRANSFER_MILLIS, "Slowest transfer took " + slowest + " ms while reads were saturated");
+        assertTrue(stats(Bulkhead.READ).activeConnections() <= 2);
+
+        for (CompletableFuture<Boolean> slowRead : slowReads) {
+            assertTrue(slowRead.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(TRANSFERS, transactionRepository.count());
+    }
+
+    @Test
+    void shouldKeepEveryAuditWhenBackgroundBulkheadIsFull() throws Exception {
+        auditEventListener.drain();
+        List<CompletableFuture<Boolean>> slowJobs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            slowJobs.add(bulkheads.background().submit(() -> {
+                jdbcTemplate.execute("select pg_sleep(2)");
+                return true;
+            }));
+        }
+        long deferredBefore = auditEventListener.deferredDrains();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            long started = System.nanoTime();
+            TransferResponseDTO response = bulkheads.transfer()
+                    .submit(() -> transferService.processTransfer(
+                            ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(TransactionStatus.COMPLETED, response.status());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < MAX_TRANSFER_MILLIS);
+        }
+        assertTrue(auditEventListener.deferredDrains() > deferredBefore);
+        assertEquals(TRANSFERS, jdbcTemplate.queryForObject("select count(*) from audit_outbox", Integer.class));
+
+        for (CompletableFuture<Boolean> slowJob : slowJobs) {
+            assertTrue(slowJob.get(10, TimeUnit.SECONDS));
+        }
+        auditEventListener.drain();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from audit_outbox", Integer.class));
+        assertEquals(2L * TRANSFERS, auditLogRepository.count());
+        assertEquals(TRANSFERS, jdbcTemplate.queryForObject(
+                "select count(*) from audit_logs where action = 'TRANSFER_OUT' and account_number = ?",
+                Integer.class, ACCOUNT_A));
+    }
+
+    @Test
+    void shouldRunScheduledJobsOnTheBackgroundBulkhead() throws Exception {
+        CompletableFuture<Bulkhead> bound = new CompletableFuture<>();
+        taskScheduler.execute(() -> bound.complete(Bulkhead.current()));
+        assertEquals(Bulkhead.BACKGROUND, bound.get(5, TimeUnit.SECONDS));
+    }
+
+    private BulkheadStats stats(Bulkhead bulkhead) {
+        return bulkheads.stats().stream()
+                .filter(stats -> stats.bulkhead() == bulkhead)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from audit_outbox");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.cluster.ClusterService;
+import com.example.ledgerx.cluster.ClusterStatus;
+import com.example.ledgerx.cluster.TransferForwarder;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "ledgerx.cluster.enabled=true",
+                "ledgerx.cluster.node-id=node-a",
+                "ledgerx.cluster.partitions=16",
+                "ledgerx.cluster.heartbeat-ms=600000"
+        }
+)
+class ClusterTest {
+
+    private static final String PEER_NODE = "node-b";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldSplitPartitionsForwardToOwnerAndTakeOverWhenPeerDies() throws Exception {
+        clusterService.heartbeat();
+        ClusterStatus alone = clusterService.status();
+        assertEquals(16, alone.ownedPartitions().size());
+        assertEquals(Map.of("node-a", 16), alone.partitionsByNode());
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        try (Connection peer = DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword())) {
+            try (PreparedStatement register = peer.prepareStatement("""
+                    insert into cluster_nodes (node_id, base_url, backend_pid, started_at, heartbeat_at)
+                    values (?, ?, pg_backend_pid(), now(), now())
+                    """)) {
+                register.setString(1, PEER_NODE);
+                register.setString(2, baseUrl());
+                register.executeUpdate();
+            }
+
+            clusterService.heartbeat();
+            List<Integer> kept = clusterService.status().ownedPartitions();
+            assertTrue(!kept.isEmpty() && kept.size() < 16, "node-a kept " + kept);
+            for (int partition : IntStream.range(0, 16).filter(p -> !kept.contains(p)).toArray()) {
+                assertTrue(tryLock(peer, partition));
+            }
+
+            clusterService.heartbeat();
+            ClusterStatus split = clusterService.status();
+            assertEquals(0, split.unownedPartitions());
+            assertEquals(16 - kept.size(), split.partitionsByNode().get(PEER_NODE));
+
+            String remote = accountWithOwner(true);
+            String local = accountWithOwner(false);
+            createAccounts(remote, local);
+
+            HttpResponse<String> forwarded = transfer(remote, local);
+            assertEquals(200, forwarded.statusCode());
+            assertTrue(forwarded.body().contains("\"status\":\"COMPLETED\""));
+            assertEquals(1, clusterService.status().forwardedTransfers());
+            assertEquals(1, clusterService.status().receivedForwards());
+
+            HttpResponse<String> forged = transfer(remote, local, TransferForwarder.FORWARDED_BY_HEADER, PEER_NODE);
+            assertEquals(200, forged.statusCode());
+            assertEquals(1, clusterService.status().rejectedForwards());
+            assertEquals(2, clusterService.status().forwardedTransfers());
+            assertEquals(2, clusterService.status().receivedForwards());
+
+            jdbcTemplate.update("update cluster_nodes set base_url = 'http://127.0.0.1:1' where node_id = ?", PEER_NODE);
+            clusterService.heartbeat();
+            HttpResponse<String> fallback = transfer(remote, local);
+            assertEquals(200, fallback.statusCode());
+            assertEquals(1, clusterService.status().forwardFailures());
+
+            assertEquals(0, new BigDecimal("997.0000").compareTo(
+                    accountRepository.findByAccountNumber(remote).orElseThrow().getBalance()));
+        }
+
+        jdbcTemplate.update("update cluster_nodes set heartbeat_at = now() - interval '1 hour' where node_id = ?", PEER_NODE);
+        clusterService.heartbeat();
+        ClusterStatus takenOver = clusterService.status();
+        assertEquals(16, takenOver.ownedPartitions().size());
+        assertEquals(Map.of("node-a", 16), takenOver.partitionsByNode());
+    }
+
+    private HttpResponse<String> transfer(String from, String to, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl() + "/api/v1/transfers"))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"fromAccount":"%s","toAccount":"%s","amount":1.0000,"currency":"%s"}
+                        """.formatted(from, to, CURRENCY)));
+        for (int i = 0; i < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String accountWithOwner(boolean remote) {
+        for (int i = 0; ; i++) {
+            String accountNumber = "ACC-CLUSTER-" + i;
+            if (clusterService.remoteOwner(accountNumber).isPresent() == remote) {
+                return accountNumber;
+            }
+        }
+    }
+
+    private void createAccounts(String... accountNumbers) {
+        for (String accountNumber : accountNumbers) {
+            accountRepository.save(Account.builder()
+                    .accountNumber(accountNumber)
+                    .currency(CURRENCY)
+                    .balance(INITIAL_BALANCE)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    private boolean tryLock(Connection connection, int partition) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("select pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, ClusterService.LOCK_NAMESPACE);
+            statement.setInt(2, partition);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + environment.getProperty("local.server.port");
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from cluster_nodes where node_id = ?", PEER_NODE);
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
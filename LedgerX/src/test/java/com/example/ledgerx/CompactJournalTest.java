@@ -0,0 +1,137 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransactionResponseDTO;
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountBalanceService;
+import com.example.ledgerx.service.TransactionService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.journal.compact=true")
+class CompactJournalTest {
+
+    private static final String ACCOUNT_A = "ACC-JOURNAL-A";
+    private static final String ACCOUNT_B = "ACC-JOURNAL-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.0000");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldWriteOneJournalRowPerTransferAndDeriveEntries() throws Exception {
+        TransferResponseDTO first = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("30.0000"), CURRENCY, "journal-1");
+        Thread.sleep(5);
+        Instant between = Instant.now();
+        Thread.sleep(5);
+        transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("10.0000"), CURRENCY, "journal-2");
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("5.0000"), CURRENCY, "journal-3");
+
+        assertEquals(3, transactionRepository.count());
+        assertEquals(0, ledgerEntryRepository.count());
+        Account accountA = accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow();
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from account_entries where account_id = ?", Integer.class, accountA.getId()));
+        assertEquals(0, new BigDecimal("75.0000").compareTo(accountA.getBalance()));
+
+        List<TransactionResponseDTO> feed = transactionService.getTransactions(0, 10).getContent();
+        assertEquals(3, feed.size());
+        TransactionResponseDTO latest = feed.get(0);
+        assertEquals("journal-3", latest.idempotencyKey());
+        assertEquals(ACCOUNT_A, latest.fromAccount());
+        assertEquals(ACCOUNT_B, latest.toAccount());
+        assertEquals(0, new BigDecimal("5.0000").compareTo(latest.amount()));
+        assertEquals(CURRENCY, latest.currency());
+
+        TransferResponseDTO replayed = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("30.0000"), CURRENCY, "journal-1");
+        assertEquals(first.id(), replayed.id());
+        assertEquals(ACCOUNT_A, replayed.fromAccount());
+        assertEquals(ACCOUNT_B, replayed.toAccount());
+        assertEquals(0, new BigDecimal("30.0000").compareTo(replayed.amount()));
+        assertEquals(CURRENCY, replayed.currency());
+
+        assertBalance(ACCOUNT_A, between, "70.0000");
+        assertBalance(ACCOUNT_B, between, "130.0000");
+        assertBalance(ACCOUNT_B, Instant.now(), "125.0000");
+    }
+
+    private void assertBalance(String accountNumber, Instant asOf, String expected) {
+        BigDecimal balance = accountBalanceService.getBalance(accountNumber, asOf).balance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), accountNumber + " at " + asOf + " was " + balance);
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
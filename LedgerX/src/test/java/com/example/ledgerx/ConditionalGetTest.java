@@ -0,0 +1,174 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransactionStatusService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalGetTest {
+
+    private static final String ACCOUNT_A = "ACC-ETAG-A";
+    private static final String ACCOUNT_B = "ACC-ETAG-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionStatusService transactionStatusService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldAnswerUnchangedAccountsAndPagesWithNotModified() throws Exception {
+        String accountPath = "/api/v1/accounts/" + ACCOUNT_A;
+        String pagePath = "/api/v1/transactions?page=0&size=5";
+
+        HttpResponse<String> account = get(accountPath, null);
+        HttpResponse<String> page = get(pagePath, null);
+        String accountTag = account.headers().firstValue("ETag").orElseThrow();
+        String pageTag = page.headers().firstValue("ETag").orElseThrow();
+        assertEquals(200, account.statusCode());
+        assertEquals(200, page.statusCode());
+
+        HttpResponse<String> unchangedAccount = get(accountPath, accountTag);
+        HttpResponse<String> unchangedPage = get(pagePath, "W/" + pageTag);
+        assertEquals(304, unchangedAccount.statusCode());
+        assertEquals(304, unchangedPage.statusCode());
+        assertTrue(unchangedAccount.body().isEmpty());
+        assertEquals(accountTag, unchangedAccount.headers().firstValue("ETag").orElseThrow());
+        assertEquals(304, get("/api/v1/accounts/" + ACCOUNT_B, "\"stale\", *").statusCode());
+
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "etag-1");
+
+        HttpResponse<String> changedAccount = get(accountPath, accountTag);
+        HttpResponse<String> changedPage = get(pagePath, pageTag);
+        assertEquals(200, changedAccount.statusCode());
+        assertEquals(200, changedPage.statusCode());
+        assertTrue(changedAccount.body().contains("990"));
+        assertTrue(changedPage.body().contains("etag-1"));
+        assertNotEquals(accountTag, changedAccount.headers().firstValue("ETag").orElseThrow());
+        assertNotEquals(pageTag, changedPage.headers().firstValue("ETag").orElseThrow());
+
+        String nextPageTag = changedPage.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get(pagePath, nextPageTag).statusCode());
+        assertEquals(200, get("/api/v1/transactions?page=1&size=5", nextPageTag).statusCode());
+        assertEquals(200, get("/api/v1/transactions?page=0&size=6", nextPageTag).statusCode());
+        assertEquals(404, get("/api/v1/accounts/ACC-ETAG-MISSING", "*").statusCode());
+    }
+
+    @Test
+    void shouldChangePageTagWhenAnExistingRowIsRewritten() throws Exception {
+        String pagePath = "/api/v1/transactions?page=0&size=5";
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "etag-2");
+        String pageTag = get(pagePath, null).headers().firstValue("ETag").orElseThrow();
+
+        assertThrows(InsufficientFundsException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("5000.0000"), CURRENCY, "etag-3"));
+        String failedTag = get(pagePath, pageTag).headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(pageTag, failedTag);
+
+        jdbcTemplate.update("""
+                update transactions set created_at = created_at - interval '1 hour'
+                where idempotency_key = 'etag-3'
+                """);
+        String olderTag = get(pagePath, failedTag).headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get(pagePath, olderTag).statusCode());
+
+        transactionStatusService.recordFailedTransaction("etag-3", "Retried failure");
+        HttpResponse<String> rewritten = get(pagePath, olderTag);
+        assertEquals(200, rewritten.statusCode());
+        assertNotEquals(olderTag, rewritten.headers().firstValue("ETag").orElseThrow());
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl() + path)).GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + environment.getProperty("local.server.port");
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
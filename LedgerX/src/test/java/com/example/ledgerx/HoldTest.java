@@ -0,0 +1,153 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.Transaction;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.hold.Hold;
+import com.example.ledgerx.hold.HoldService;
+import com.example.ledgerx.hold.HoldStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.holds.sweep-interval-ms=3600000")
+class HoldTest {
+
+    private static final String ACCOUNT_A = "ACC-HOLD-A";
+    private static final String ACCOUNT_B = "ACC-HOLD-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.0000");
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldReserveAvailableBalanceAndCaptureIntoPostedTransfer() {
+        Hold hold = holdService.place(ACCOUNT_A, ACCOUNT_B, new BigDecimal("60.0000"), CURRENCY, null, "hold-1");
+        assertEquals(HoldStatus.ACTIVE, hold.status());
+        assertAccount(ACCOUNT_A, "100.0000", "60.0000");
+        assertEquals(hold.id(), holdService.place(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("60.0000"), CURRENCY, null, "hold-1").id());
+        assertThrows(IdempotencyConflictException.class, () -> holdService.place(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("61.0000"), CURRENCY, null, "hold-1"));
+
+        assertThrows(InsufficientFundsException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("50.0000"), CURRENCY, UUID.randomUUID().toString()));
+        assertThrows(InsufficientFundsException.class, () -> holdService.place(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("50.0000"), CURRENCY, null, "hold-2"));
+        transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("40.0000"), CURRENCY, UUID.randomUUID().toString());
+        assertAccount(ACCOUNT_A, "60.0000", "60.0000");
+
+        Hold captured = holdService.capture(hold.id(), new BigDecimal("45.0000"));
+        assertEquals(HoldStatus.CAPTURED, captured.status());
+        assertEquals(0, new BigDecimal("45.0000").compareTo(captured.capturedAmount()));
+        assertAccount(ACCOUNT_A, "15.0000", "0.0000");
+        assertAccount(ACCOUNT_B, "185.0000", "0.0000");
+
+        Transaction transaction = transactionRepository.findById(captured.transactionId()).orElseThrow();
+        assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+        assertEquals("hold-capture:" + hold.id(), transaction.getIdempotencyKey());
+        assertEquals(captured.id(), holdService.capture(hold.id(), null).id());
+        assertEquals(4, ledgerEntryRepository.count());
+        assertThrows(LedgerException.class, () -> holdService.release(hold.id()));
+    }
+
+    @Test
+    void shouldReleaseVoidedAndExpiredHolds() {
+        Hold voided = holdService.place(ACCOUNT_A, ACCOUNT_B, new BigDecimal("30.0000"), CURRENCY, null, "hold-void");
+        Hold expiring = holdService.place(ACCOUNT_A, ACCOUNT_B, new BigDecimal("20.0000"), CURRENCY, 60L, "hold-expire");
+        assertAccount(ACCOUNT_A, "100.0000", "50.0000");
+
+        assertEquals(HoldStatus.VOIDED, holdService.release(voided.id()).status());
+        assertEquals(HoldStatus.VOIDED, holdService.release(voided.id()).status());
+        assertAccount(ACCOUNT_A, "100.0000", "20.0000");
+
+        jdbcTemplate.update("update holds set expires_at = now() - interval '1 second' where id = ?", expiring.id());
+        assertThrows(LedgerException.class, () -> holdService.capture(expiring.id(), null));
+        assertEquals(1, holdService.sweepExpired());
+        assertEquals(HoldStatus.EXPIRED, holdService.get(expiring.id()).status());
+        assertAccount(ACCOUNT_A, "100.0000", "0.0000");
+        assertEquals(0, holdService.sweepExpired());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    private void assertAccount(String accountNumber, String balance, String held) {
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertEquals(0, new BigDecimal(balance).compareTo(account.getBalance()), accountNumber + " balance");
+        assertEquals(0, new BigDecimal(held).compareTo(account.getHeldAmount()), accountNumber + " held amount");
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from holds");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
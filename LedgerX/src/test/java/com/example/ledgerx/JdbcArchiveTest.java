@@ -0,0 +1,7 @@
+package com.example.ledgerx;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "ledgerx.transfer.engine=jdbc")
+class JdbcArchiveTest extends ArchiveTest {
+}
@@ -0,0 +1,22 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.service.JdbcTransferService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "ledgerx.transfer.engine=jdbc")
+class JdbcTransferServiceConcurrencyTest extends TransferServiceConcurrencyTest {
+
+    @Autowired
+    private TransferService jdbcTransferService;
+
+    @Test
+    void shouldRunOnTheJdbcEngine() {
+        assertEquals(JdbcTransferService.class, AopUtils.getTargetClass(jdbcTransferService));
+    }
+}
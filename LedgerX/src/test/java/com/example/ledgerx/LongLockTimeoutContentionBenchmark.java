@@ -0,0 +1,7 @@
+package com.example.ledgerx;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "ledgerx.transfer.lock-timeout-ms=${ledgerx.benchmark.long-lock-timeout:3000}")
+class LongLockTimeoutContentionBenchmark extends TransferContentionBenchmark {
+}
@@ -0,0 +1,195 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.merkle.MerkleRoot;
+import com.example.ledgerx.merkle.MerkleService;
+import com.example.ledgerx.merkle.MerkleVerification;
+import com.example.ledgerx.merkle.TamperReason;
+import com.example.ledgerx.merkle.TamperedBucket;
+import com.example.ledgerx.provisioning.DatasetGenerator;
+import com.example.ledgerx.provisioning.DatasetSpec;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.merkle.settle-seconds=0",
+        "ledgerx.merkle.max-buckets-per-run=720"
+})
+class MerkleTest {
+
+    private static final String PREFIX = "MRKL-";
+    private static final String DISTINCT_BUCKETS_SQL = """
+            select count(distinct floor(extract(epoch from activity.at) / 60)) from (
+                select created_at as at from account_entries where created_at < ?
+                union all
+                select "timestamp" from audit_logs where "timestamp" < ?
+            ) activity
+            """;
+
+    @Autowired
+    private MerkleService merkleService;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        datasetGenerator.generate(new DatasetSpec(PREFIX, 12, 400, 1.0, 2, 45L, "USD",
+                new BigDecimal("500.0000"), new BigDecimal("20.0000")));
+        Instant now = Instant.now();
+        for (int i = 1; i <= 5; i++) {
+            insertAudit(PREFIX + "00", "TRANSFER_OUT", now.minus(i * 7L, ChronoUnit.HOURS));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldSealBucketsIncrementallyAndPinpointTampering() {
+        MerkleRoot root = sealAll();
+        assertTrue(root.signatureValid());
+        Timestamp sealedUntil = Timestamp.from(root.sealedUntil());
+        long buckets = jdbcTemplate.queryForObject(DISTINCT_BUCKETS_SQL, Long.class, sealedUntil, sealedUntil);
+        assertEquals(buckets, root.leafCount());
+        assertEquals(buckets, jdbcTemplate.queryForObject("select count(*) from ledger_merkle_leaves", Long.class));
+
+        MerkleVerification clean = merkleService.verify(Instant.EPOCH, Instant.now());
+        assertTrue(clean.valid(), clean.tamperedBuckets().toString());
+        assertEquals(buckets, clean.bucketsChecked());
+
+        Map<String, Object> entry = jdbcTemplate.queryForMap("""
+                select e.id, e.created_at, a.account_number from ledger_entries e join accounts a on a.id = e.account_id
+                where e.created_at < ? order by e.created_at, e.id limit 1 offset 40
+                """, sealedUntil);
+        Instant entryBucket = ((Timestamp) entry.get("created_at")).toInstant().truncatedTo(ChronoUnit.MINUTES);
+        jdbcTemplate.update("update ledger_entries set amount = amount + 1 where id = ?", entry.get("id"));
+        MerkleVerification changed = merkleService.verify(Instant.EPOCH, Instant.now());
+        assertFalse(changed.valid());
+        assertEquals(1, changed.tamperedBuckets().size());
+        TamperedBucket changedBucket = changed.tamperedBuckets().get(0);
+        assertEquals(TamperReason.DATA_CHANGED, changedBucket.reason());
+        assertEquals(entryBucket, changedBucket.bucketStart());
+        MerkleVerification accountCheck = merkleService.verifyAccount((String) entry.get("account_number"),
+                Instant.EPOCH, Instant.now());
+        assertEquals(List.of(changedBucket), accountCheck.tamperedBuckets());
+        assertTrue(accountCheck.bucketsChecked() < buckets);
+        jdbcTemplate.update("update ledger_entries set amount = amount - 1 where id = ?", entry.get("id"));
+
+        Instant emptyBucket = firstEmptyBucket(root.sealedUntil());
+        UUID audit = insertAudit(PREFIX + "01", "TRANSFER_IN", emptyBucket.plusSeconds(30));
+        MerkleVerification untracked = merkleService.verify(Instant.EPOCH, Instant.now());
+        assertEquals(1, untracked.tamperedBuckets().size());
+        assertEquals(TamperReason.UNTRACKED_ROWS, untracked.tamperedBuckets().get(0).reason());
+        assertEquals(emptyBucket, untracked.tamperedBuckets().get(0).bucketStart());
+        assertNull(untracked.tamperedBuckets().get(0).leafIndex());
+        jdbcTemplate.update("delete from audit_logs where id = ?", audit);
+
+        byte[] node = jdbcTemplate.queryForObject("select hash from ledger_merkle_nodes where level = 1 and position = 0", byte[].class);
+        jdbcTemplate.update("update ledger_merkle_nodes set hash = sha256(hash) where level = 1 and position = 0");
+        MerkleVerification forged = merkleService.verify(Instant.EPOCH, Instant.now());
+        assertFalse(forged.valid());
+        assertTrue(forged.tamperedBuckets().stream().allMatch(bucket -> bucket.reason() == TamperReason.PROOF_MISMATCH));
+        assertTrue(forged.tamperedBuckets().stream().anyMatch(bucket -> Long.valueOf(0).equals(bucket.leafIndex())));
+        jdbcTemplate.update("update ledger_merkle_nodes set hash = ? where level = 1 and position = 0", node);
+        assertTrue(merkleService.verify(Instant.EPOCH, Instant.now()).valid());
+
+        jdbcTemplate.update("update ledger_merkle_roots set signature = repeat('0', 64) where leaf_count = ?", root.leafCount());
+        assertFalse(merkleService.latest().orElseThrow().signatureValid());
+        MerkleVerification unsigned = merkleService.verify(Instant.EPOCH, Instant.now());
+        assertFalse(unsigned.rootSignatureValid());
+        assertFalse(unsigned.valid());
+        assertTrue(unsigned.tamperedBuckets().isEmpty());
+    }
+
+    private MerkleRoot sealAll() {
+        MerkleRoot root = merkleService.seal().orElseThrow();
+        int runs = 1;
+        while (true) {
+            MerkleRoot next = merkleService.seal().orElseThrow();
+            if (next.sealedUntil().equals(root.sealedUntil())) {
+                break;
+            }
+            root = next;
+            runs++;
+        }
+        assertTrue(runs > 1);
+        return root;
+    }
+
+    private Instant firstEmptyBucket(Instant sealedUntil) {
+        Set<Instant> used = new HashSet<>();
+        jdbcTemplate.query("select created_at from account_entries", rs -> {
+            used.add(rs.getTimestamp("created_at").toInstant().truncatedTo(ChronoUnit.MINUTES));
+        });
+        jdbcTemplate.query("select \"timestamp\" from audit_logs", rs -> {
+            used.add(rs.getTimestamp("timestamp").toInstant().truncatedTo(ChronoUnit.MINUTES));
+        });
+        Instant bucket = jdbcTemplate.queryForObject("select min(bucket_start) from ledger_merkle_leaves", Timestamp.class)
+                .toInstant();
+        while (used.contains(bucket)) {
+            bucket = bucket.plus(1, ChronoUnit.MINUTES);
+        }
+        assertTrue(bucket.isBefore(sealedUntil));
+        return bucket;
+    }
+
+    private UUID insertAudit(String accountNumber, String action, Instant timestamp) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into audit_logs (id, account_number, action, amount, \"timestamp\") values (?, ?, ?, ?, ?)",
+                id, accountNumber, action, new BigDecimal("1.0000"), Timestamp.from(timestamp));
+        return id;
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from ledger_merkle_roots");
+        jdbcTemplate.update("delete from ledger_merkle_nodes");
+        jdbcTemplate.update("delete from ledger_merkle_leaves");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.netting.NettingService;
+import com.example.ledgerx.netting.NettingStats;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountLockService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.netting.pairs=ACC-A-001:ACC-B-001",
+        "ledgerx.netting.reserved-limit=100000.0000",
+        "ledgerx.netting.window-ms=50"
+})
+class NettingThroughputTest {
+
+    private static final String ACCOUNT_A = "ACC-A-001";
+    private static final String ACCOUNT_B = "ACC-B-001";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.0000");
+    private static final BigDecimal A_TO_B = new BigDecimal("10.0000");
+    private static final BigDecimal B_TO_A = new BigDecimal("5.0000");
+    private static final int TOTAL_TRANSFERS = 400;
+
+    @Autowired
+    private NettingService nettingService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountLockService accountLockService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldSettleBackAndForthTransfersWithFewerRowLocks() throws InterruptedException {
+        long directLocksBefore = accountLockService.rowLocksAcquired();
+        runConcurrently(i -> transferService.processTransfer(
+                i % 2 == 0 ? ACCOUNT_A : ACCOUNT_B,
+                i % 2 == 0 ? ACCOUNT_B : ACCOUNT_A,
+                i % 2 == 0 ? A_TO_B : B_TO_A,
+                CURRENCY,
+                UUID.randomUUID().toString()
+        ));
+        double directLocksPerTransfer = (double) (accountLockService.rowLocksAcquired() - directLocksBefore) / TOTAL_TRANSFERS;
+
+        NettingStats before = nettingService.stats();
+        runConcurrently(i -> nettingService.tryAccept(
+                i % 2 == 0 ? ACCOUNT_A : ACCOUNT_B,
+                i % 2 == 0 ? ACCOUNT_B : ACCOUNT_A,
+                i % 2 == 0 ? A_TO_B : B_TO_A,
+                CURRENCY,
+                UUID.randomUUID().toString()
+        ).orElseThrow(() -> new IllegalStateException("Transfer was not accepted into the netting window")));
+        awaitSettled(before.settledTransfers() + TOTAL_TRANSFERS);
+        NettingStats after = nettingService.stats();
+
+        long settled = after.settledTransfers() - before.settledTransfers();
+        long locks = after.rowLocksAcquired() - before.rowLocksAcquired();
+        double nettedLocksPerTransfer = (double) locks / settled;
+
+        assertEquals(TOTAL_TRANSFERS, settled);
+        assertEquals(0L, after.failedTransfers() - before.failedTransfers());
+        assertTrue(directLocksPerTransfer >= 2.0, "Direct path locked " + directLocksPerTransfer + " rows per transfer");
+        assertTrue(nettedLocksPerTransfer < directLocksPerTransfer,
+                "Netted path locked " + nettedLocksPerTransfer + " rows per transfer");
+
+        BigDecimal expectedShift = A_TO_B.subtract(B_TO_A).multiply(BigDecimal.valueOf(TOTAL_TRANSFERS));
+        Account reloadedA = accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow();
+        Account reloadedB = accountRepository.findByAccountNumber(ACCOUNT_B).orElseThrow();
+        assertEquals(0, reloadedA.getBalance().compareTo(INITIAL_BALANCE.subtract(expectedShift)));
+        assertEquals(0, reloadedB.getBalance().compareTo(INITIAL_BALANCE.add(expectedShift)));
+
+        long completedTransactions = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getStatus() == TransactionStatus.COMPLETED)
+                .count();
+        assertEquals(2L * TOTAL_TRANSFERS, completedTransactions);
+        assertEquals(4L * TOTAL_TRANSFERS, ledgerEntryRepository.count());
+    }
+
+    @Test
+    void shouldSettleTransfersIndividuallyWhenTheNetSettlementFails() throws InterruptedException {
+        jdbcTemplate.update("update accounts set balance = 5.0000 where account_number = ?", ACCOUNT_A);
+        NettingStats before = nettingService.stats();
+
+        String covered = UUID.randomUUID().toString();
+        String uncovered = UUID.randomUUID().toString();
+        assertEquals(TransactionStatus.PENDING, nettingService.tryAccept(
+                ACCOUNT_B, ACCOUNT_A, new BigDecimal("3.0000"), CURRENCY, covered).orElseThrow().status());
+        assertEquals(TransactionStatus.PENDING, nettingService.tryAccept(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, uncovered).orElseThrow().status());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (transactionRepository.count() < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        NettingStats after = nettingService.stats();
+        assertEquals(1L, after.settledTransfers() - before.settledTransfers());
+        assertEquals(1L, after.failedTransfers() - before.failedTransfers());
+        assertEquals(TransactionStatus.COMPLETED,
+                transactionRepository.findWithEntriesByIdempotencyKey(covered).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.FAILED,
+                transactionRepository.findWithEntriesByIdempotencyKey(uncovered).orElseThrow().getStatus());
+        assertEquals(0, new BigDecimal("8.0000").compareTo(
+                accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getBalance()));
+        assertEquals(0, new BigDecimal("9997.0000").compareTo(
+                accountRepository.findByAccountNumber(ACCOUNT_B).orElseThrow().getBalance()));
+    }
+
+    private void runConcurrently(TransferCall call) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(20);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch completionLatch = new CountDownLatch(TOTAL_TRANSFERS);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        try {
+            for (int i = 0; i < TOTAL_TRANSFERS; i++) {
+                int index = i;
+                executorService.submit(() -> {
+                    try {
+                        startLatch.await();
+                        call.run(index);
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    } finally {
+                        completionLatch.countDown();
+                    }
+                });
+            }
+
+            startLatch.countDown();
+            boolean finished = completionLatch.await(90, TimeUnit.SECONDS);
+            assertTrue(finished, "Not all transfer tasks completed in time");
+        } finally {
+            executorService.shutdownNow();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        if (!failures.isEmpty()) {
+            fail("Transfer failures detected. First error: " + failures.peek());
+        }
+    }
+
+    private void awaitSettled(long expectedSettled) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (nettingService.stats().settledTransfers() < expectedSettled && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @FunctionalInterface
+    private interface TransferCall {
+        void run(int index);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.hold.Hold;
+import com.example.ledgerx.hold.HoldService;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.holds.sweep-interval-ms=3600000")
+class PostingTimestampsTest {
+
+    private static final String ACCOUNT_A = "ACC-POST-A";
+    private static final String ACCOUNT_B = "ACC-POST-B";
+    private static final String CURRENCY = "USD";
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        accountRepository.saveAll(List.of(account(ACCOUNT_A), account(ACCOUNT_B)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldStampAcceptanceOnTransactionsAndPostingTimeOnEntries() {
+        TransferResponseDTO transfer = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "post-1");
+        Hold hold = holdService.place(ACCOUNT_A, ACCOUNT_B, new BigDecimal("20.0000"), CURRENCY, null, "post-hold");
+        holdService.capture(hold.id(), null);
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap(
+                "select created_at, completed_at from transactions where idempotency_key = 'post-1'");
+        assertEquals(transfer.createdAt(), ((Timestamp) stored.get("created_at")).toInstant());
+        assertEquals(transfer.completedAt(), ((Timestamp) stored.get("completed_at")).toInstant());
+        assertFalse(transfer.completedAt().isBefore(transfer.createdAt()));
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from transactions where status = 'COMPLETED'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from transactions where completed_at < created_at", Integer.class));
+        assertEquals(4, jdbcTemplate.queryForObject("""
+                select count(*) from ledger_entries e join transactions t on t.id = e.transaction_id
+                where e.created_at = t.completed_at
+                """, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                select count(*) from accounts a join transactions t on a.id in (t.from_account_id, t.to_account_id)
+                where a.account_number in (?, ?) and a.updated_at < t.completed_at
+                """, Integer.class, ACCOUNT_A, ACCOUNT_B));
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .currency(CURRENCY)
+                .balance(new BigDecimal("100.0000"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from holds");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.profiling.ProfilingService;
+import com.example.ledgerx.profiling.RecordingSummary;
+import com.example.ledgerx.profiling.StageTiming;
+import com.example.ledgerx.profiling.TransferStageEvent;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransactionService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "ledgerx.profiling.enabled=true")
+class ProfilingTest {
+
+    private static final String ACCOUNT_A = "ACC-JFR-A";
+    private static final String ACCOUNT_B = "ACC-JFR-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldRecordLedgerEventsAndSummarizeRecording() throws Exception {
+        CompletableFuture<RecordingSummary> pending = profilingService.record("profile", 2);
+        assertThrows(LedgerException.class, () -> profilingService.record("profile", 2));
+
+        for (int i = 0; i < 20; i++) {
+            transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString());
+        }
+        assertThrows(LedgerException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, new BigDecimal("5000.0000"), CURRENCY, UUID.randomUUID().toString()));
+        transactionService.getTransactions(0, 10);
+
+        RecordingSummary summary = pending.get(30, TimeUnit.SECONDS);
+        Path file = profilingService.recordingFile(summary.recordingId());
+        assertTrue(Files.size(file) > 0);
+        assertEquals(Files.size(file), summary.fileBytes());
+
+        assertEquals(20, count(summary, "TransferStage", TransferStageEvent.LOCK, TransferStageEvent.OK));
+        assertEquals(20, count(summary, "TransferStage", TransferStageEvent.POST, TransferStageEvent.COMPLETED));
+        assertEquals(1, count(summary, "TransferStage", TransferStageEvent.VALIDATION, "InsufficientFundsException")
+                + count(summary, "TransferStage", TransferStageEvent.POST, "InsufficientFundsException"));
+        assertEquals(1, summary.ledgerStages().stream()
+                .filter(stage -> stage.event().equals("TransactionListing"))
+                .mapToLong(StageTiming::count)
+                .sum());
+        assertTrue(summary.ledgerStages().stream().anyMatch(stage -> stage.event().equals("AuditWrite")));
+        assertTrue(summary.topAllocationSites().size() <= 10);
+
+        assertThrows(LedgerException.class, () -> profilingService.record("no-such-profile", 1));
+        profilingService.record("default", 1).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotAllocateStageEventsWhileNoRecordingIsRunning() {
+        TransferStageEvent first = TransferStageEvent.begin(ACCOUNT_A, ACCOUNT_B, TransferStageEvent.IDEMPOTENCY);
+        assertSame(first, TransferStageEvent.begin(ACCOUNT_B, ACCOUNT_A, TransferStageEvent.IDEMPOTENCY));
+        assertSame(first, first.next(TransferStageEvent.LOCK));
+        first.finish(TransferStageEvent.COMPLETED);
+    }
+
+    private long count(RecordingSummary summary, String event, String stage, String outcome) {
+        return summary.ledgerStages().stream()
+                .filter(timing -> timing.event().equals(event)
+                        && stage.equals(timing.stage())
+                        && outcome.equals(timing.outcome()))
+                .mapToLong(StageTiming::count)
+                .sum();
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
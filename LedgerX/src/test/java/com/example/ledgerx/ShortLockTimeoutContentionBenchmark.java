@@ -0,0 +1,7 @@
+package com.example.ledgerx;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "ledgerx.transfer.lock-timeout-ms=${ledgerx.benchmark.short-lock-timeout:100}")
+class ShortLockTimeoutContentionBenchmark extends TransferContentionBenchmark {
+}
@@ -0,0 +1,214 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.StandingOrderNotFoundException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.standing.StandingOrder;
+import com.example.ledgerx.standing.StandingOrderRun;
+import com.example.ledgerx.standing.StandingOrderService;
+import com.example.ledgerx.standing.StandingOrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.standing-orders.enabled=false",
+        "ledgerx.standing-orders.claim-size=40",
+        "ledgerx.standing-orders.chunk-size=7",
+        "ledgerx.standing-orders.parallelism=3",
+        "ledgerx.velocity.enabled=true",
+        "ledgerx.velocity.minute.max-amount=50.0000"
+})
+class StandingOrderTest {
+
+    private static final String CURRENCY = "USD";
+    private static final int PAYERS = 20;
+
+    @Autowired
+    private StandingOrderService standingOrderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < PAYERS; i++) {
+            accounts.add(account("ACC-SO-PAYER-" + i, "100.0000"));
+        }
+        accounts.add(account("ACC-SO-PAYEE", "0.0000"));
+        accounts.add(account("ACC-SO-POOR", "1.0000"));
+        accounts.add(account("ACC-SO-LIMITED", "1000.0000"));
+        accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldExecuteDueOccurrencesOnceAndAdvanceTheSchedule() {
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MICROS).minus(Duration.ofDays(1)).minusSeconds(60);
+        List<UUID> orders = new ArrayList<>();
+        for (int i = 0; i < PAYERS; i++) {
+            orders.add(standingOrderService.create("ACC-SO-PAYER-" + i, "ACC-SO-PAYEE", new BigDecimal("5.0000"),
+                    CURRENCY, "daily", start, null, "so-" + i).id());
+        }
+        StandingOrder poor = standingOrderService.create("ACC-SO-POOR", "ACC-SO-PAYEE", new BigDecimal("5.0000"),
+                CURRENCY, "DAILY", start, start.plus(Duration.ofHours(1)), "so-poor");
+
+        StandingOrderRun first = standingOrderService.runDue();
+        assertEquals(PAYERS + 1, first.claimed());
+        assertEquals(PAYERS, first.executed());
+        assertEquals(1, first.failed());
+
+        StandingOrderRun second = standingOrderService.runDue();
+        assertEquals(PAYERS, second.claimed());
+        assertEquals(PAYERS, second.executed());
+        assertEquals(0, standingOrderService.runDue().claimed());
+
+        for (UUID id : orders) {
+            StandingOrder order = standingOrderService.get(id);
+            assertEquals(2, order.nextOccurrence());
+            assertEquals(2, order.executedCount());
+            assertEquals(start.plus(Duration.ofDays(2)), order.nextRunAt());
+            assertEquals(StandingOrderStatus.ACTIVE, order.status());
+        }
+        StandingOrder finished = standingOrderService.get(poor.id());
+        assertEquals(StandingOrderStatus.FINISHED, finished.status());
+        assertEquals(1, finished.failedCount());
+        assertEquals("Insufficient funds in account: ACC-SO-POOR", finished.lastError());
+
+        BigDecimal payee = accountRepository.findByAccountNumber("ACC-SO-PAYEE").orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal("200.0000").compareTo(payee));
+        assertEquals(0, new BigDecimal("90.0000").compareTo(
+                accountRepository.findByAccountNumber("ACC-SO-PAYER-0").orElseThrow().getBalance()));
+        assertEquals(2L * PAYERS + 1, transactionRepository.count());
+        Long keys = jdbcTemplate.queryForObject(
+                "select count(distinct idempotency_key) from transactions where idempotency_key like 'standing-order:%'",
+                Long.class);
+        assertEquals(2L * PAYERS + 1, keys);
+    }
+
+    @Test
+    void shouldReplayAnAlreadyPostedOccurrenceWithoutPostingAgain() {
+        StandingOrder order = standingOrderService.create("ACC-SO-PAYER-0", "ACC-SO-PAYEE", new BigDecimal("5.0000"),
+                CURRENCY, "WEEKLY", Instant.now().minusSeconds(60), null, "so-replay");
+        assertEquals(1, standingOrderService.runDue().executed());
+
+        jdbcTemplate.update("update standing_orders set next_occurrence = 0, next_run_at = start_at where id = ?", order.id());
+        StandingOrderRun replay = standingOrderService.runDue();
+        assertEquals(1, replay.replayed());
+        assertEquals(0, replay.executed());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(0, new BigDecimal("95.0000").compareTo(
+                accountRepository.findByAccountNumber("ACC-SO-PAYER-0").orElseThrow().getBalance()));
+        assertEquals(order.startAt().plus(Duration.ofDays(7)), standingOrderService.get(order.id()).nextRunAt());
+    }
+
+    @Test
+    void shouldHonourIdempotencyAndCancellation() {
+        Instant start = Instant.now().plus(Duration.ofDays(1));
+        StandingOrder order = standingOrderService.create("ACC-SO-PAYER-1", "ACC-SO-PAYEE", new BigDecimal("3.0000"),
+                CURRENCY, "MONTHLY", start, null, "so-idem");
+        assertEquals(order.id(), standingOrderService.create("ACC-SO-PAYER-1", "ACC-SO-PAYEE", new BigDecimal("3.0000"),
+                CURRENCY, "MONTHLY", start, null, "so-idem").id());
+        assertThrows(IdempotencyConflictException.class, () -> standingOrderService.create("ACC-SO-PAYER-1",
+                "ACC-SO-PAYEE", new BigDecimal("4.0000"), CURRENCY, "MONTHLY", start, null, "so-idem"));
+        assertThrows(LedgerException.class, () -> standingOrderService.create("ACC-SO-PAYER-1", "ACC-SO-PAYEE",
+                new BigDecimal("3.0000"), CURRENCY, "HOURLY", start, null, "so-bad-frequency"));
+        assertThrows(LedgerException.class, () -> standingOrderService.create("ACC-SO-PAYER-1", "ACC-SO-PAYEE",
+                new BigDecimal("3.0000"), CURRENCY, "DAILY", start, start.minusSeconds(1), "so-bad-range"));
+        assertEquals(0, standingOrderService.runDue().claimed());
+
+        StandingOrder cancelled = standingOrderService.cancel(order.id());
+        assertEquals(StandingOrderStatus.CANCELLED, cancelled.status());
+        assertEquals(StandingOrderStatus.CANCELLED, standingOrderService.cancel(order.id()).status());
+        assertNull(cancelled.lastTransactionId());
+        jdbcTemplate.update("update standing_orders set next_run_at = now() - interval '1 minute' where id = ?", order.id());
+        assertEquals(0, standingOrderService.runDue().claimed());
+        assertThrows(StandingOrderNotFoundException.class, () -> standingOrderService.get(UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldRecordAVelocityBreachAsAFailedOccurrence() {
+        Instant start = Instant.now().minusSeconds(60);
+        StandingOrder first = standingOrderService.create("ACC-SO-LIMITED", "ACC-SO-PAYEE", new BigDecimal("30.0000"),
+                CURRENCY, "DAILY", start, null, "so-velocity-1");
+        StandingOrder second = standingOrderService.create("ACC-SO-LIMITED", "ACC-SO-PAYEE", new BigDecimal("30.0000"),
+                CURRENCY, "DAILY", start, null, "so-velocity-2");
+
+        StandingOrderRun run = standingOrderService.runDue();
+        assertEquals(2, run.claimed());
+        assertEquals(1, run.executed());
+        assertEquals(1, run.failed());
+
+        List<StandingOrder> orders = List.of(standingOrderService.get(first.id()), standingOrderService.get(second.id()));
+        StandingOrder breached = orders.stream().filter(order -> order.failedCount() == 1).findFirst().orElseThrow();
+        assertEquals(1, breached.nextOccurrence());
+        assertEquals(0, breached.executedCount());
+        assertEquals(StandingOrderStatus.ACTIVE, breached.status());
+        assertNull(breached.lastTransactionId());
+        assertTrue(breached.lastError().contains("ACC-SO-LIMITED"), breached.lastError());
+
+        assertEquals(1, transactionRepository.count());
+        assertEquals(0, new BigDecimal("970.0000").compareTo(
+                accountRepository.findByAccountNumber("ACC-SO-LIMITED").orElseThrow().getBalance()));
+    }
+
+    private Account account(String accountNumber, String balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .currency(CURRENCY)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from standing_orders");
+        jdbcTemplate.update("delete from account_activity_rollups");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
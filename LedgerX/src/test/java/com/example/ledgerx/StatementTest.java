@@ -0,0 +1,145 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.provisioning.DatasetGenerator;
+import com.example.ledgerx.provisioning.DatasetSpec;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.statement.AccountStatement;
+import com.example.ledgerx.statement.StatementRun;
+import com.example.ledgerx.statement.StatementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.statements.range-size=7",
+        "ledgerx.statements.parallelism=2"
+})
+class StatementTest {
+
+    private static final String PREFIX = "STMT-";
+    private static final YearMonth MONTH = YearMonth.now(ZoneOffset.UTC).minusMonths(1);
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+        datasetGenerator.generate(new DatasetSpec(PREFIX, 20, 1500, 1.0, 90, 11L, "USD",
+                new BigDecimal("100.0000"), new BigDecimal("30.0000")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldPrecomputeMonthlyStatementsAndResumeFromCheckpoints() {
+        StatementRun run = statementService.generate(MONTH);
+
+        assertEquals(3, run.ranges());
+        assertEquals(3, run.completedRanges());
+        assertEquals(20, run.statements());
+        assertNotNull(run.completedAt());
+
+        Instant periodStart = MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant periodEnd = MONTH.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        BigDecimal openingTotal = BigDecimal.ZERO;
+        BigDecimal closingTotal = BigDecimal.ZERO;
+        for (int i = 0; i < 20; i++) {
+            String accountNumber = PREFIX + String.format("%02d", i);
+            AccountStatement statement = statementService.find(accountNumber, MONTH);
+            Map<String, Object> expected = jdbcTemplate.queryForMap("""
+                    select coalesce(sum(e.amount) filter (where e.direction = 'DEBIT'), 0) as debits,
+                           count(*) filter (where e.direction = 'DEBIT') as debit_count,
+                           coalesce(sum(e.amount) filter (where e.direction = 'CREDIT'), 0) as credits,
+                           count(*) filter (where e.direction = 'CREDIT') as credit_count
+                    from account_entries e join accounts a on a.id = e.account_id
+                    where a.account_number = ? and e.created_at >= ? and e.created_at < ?
+                    """, accountNumber, Timestamp.from(periodStart), Timestamp.from(periodEnd));
+            List<BigDecimal> before = jdbcTemplate.queryForList("""
+                    select e.balance_after from account_entries e join accounts a on a.id = e.account_id
+                    where a.account_number = ? and e.created_at < ?
+                    order by e.created_at desc, e.transaction_id desc
+                    limit 1
+                    """, BigDecimal.class, accountNumber, Timestamp.from(periodStart));
+            BigDecimal opening = before.isEmpty() ? new BigDecimal("100.0000") : before.get(0);
+
+            assertEquals(0, ((BigDecimal) expected.get("debits")).compareTo(statement.totalDebits()), accountNumber);
+            assertEquals(0, ((BigDecimal) expected.get("credits")).compareTo(statement.totalCredits()), accountNumber);
+            assertEquals(((Number) expected.get("debit_count")).longValue(), statement.debitCount(), accountNumber);
+            assertEquals(((Number) expected.get("credit_count")).longValue(), statement.creditCount(), accountNumber);
+            assertEquals(0, opening.compareTo(statement.openingBalance()), accountNumber);
+            assertEquals(0, statement.openingBalance().add(statement.totalCredits()).subtract(statement.totalDebits())
+                    .compareTo(statement.closingBalance()), accountNumber);
+            openingTotal = openingTotal.add(statement.openingBalance());
+            closingTotal = closingTotal.add(statement.closingBalance());
+        }
+        assertEquals(0, new BigDecimal("2000.0000").compareTo(openingTotal));
+        assertEquals(0, new BigDecimal("2000.0000").compareTo(closingTotal));
+
+        Date period = Date.valueOf(MONTH.atDay(1));
+        jdbcTemplate.update("delete from account_statements");
+        jdbcTemplate.update("update statement_checkpoints set completed_at = null, statements = null where period_start = ? and range_index = 1", period);
+        jdbcTemplate.update("update statement_runs set completed_at = null where period_start = ?", period);
+
+        StatementRun resumed = statementService.generate(MONTH);
+        assertEquals(3, resumed.completedRanges());
+        assertNotNull(resumed.completedAt());
+        assertEquals(7, jdbcTemplate.queryForObject("select count(*) from account_statements", Integer.class));
+
+        assertThrows(LedgerException.class, () -> statementService.generate(YearMonth.now(ZoneOffset.UTC)));
+        assertThrows(LedgerException.class, () -> statementService.find(PREFIX + "00", MONTH.minusMonths(1)));
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from account_statements");
+        jdbcTemplate.update("delete from statement_checkpoints");
+        jdbcTemplate.update("delete from statement_runs");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
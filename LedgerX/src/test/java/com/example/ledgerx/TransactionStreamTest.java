@@ -0,0 +1,199 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import com.example.ledgerx.stream.TransactionStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TransactionStreamTest {
+
+    private static final String ACCOUNT_A = "ACC-STREAM-A";
+    private static final String ACCOUNT_B = "ACC-STREAM-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldStreamCommittedTransfersAndResumeFromLastEventId() throws Exception {
+        String firstKey = UUID.randomUUID().toString();
+        String secondKey = UUID.randomUUID().toString();
+        String lastEventId;
+
+        try (Stream<String> lines = openStream(null)) {
+            Iterator<String> events = lines.iterator();
+            transfer(firstKey);
+            StreamEvent first = nextTransaction(events);
+            assertTrue(first.data().contains(firstKey));
+            assertTrue(first.data().contains("\"status\":\"COMPLETED\""));
+            lastEventId = first.id();
+        }
+
+        transfer(secondKey);
+
+        try (Stream<String> lines = openStream(lastEventId)) {
+            StreamEvent replayed = nextTransaction(lines.iterator());
+            assertTrue(replayed.data().contains(secondKey));
+        }
+
+        try (Stream<String> lines = openStream("unknown-42")) {
+            Iterator<String> events = lines.iterator();
+            assertEquals("reset", nextEvent(events).name());
+        }
+    }
+
+    @Test
+    void shouldResetResumedStreamWhenTransfersCommittedWithoutSubscribers() throws Exception {
+        String lastEventId;
+        try (Stream<String> lines = openStream(null)) {
+            Iterator<String> events = lines.iterator();
+            transfer(UUID.randomUUID().toString());
+            lastEventId = nextTransaction(events).id();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (transactionStreamService.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            transactionStreamService.sendHeartbeats();
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        assertEquals(0, transactionStreamService.subscriberCount());
+
+        transfer(UUID.randomUUID().toString());
+
+        try (Stream<String> lines = openStream(lastEventId)) {
+            assertEquals("reset", nextEvent(lines.iterator()).name());
+        }
+    }
+
+    private Stream<String> openStream(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + environment.getProperty("local.server.port") + "/api/v1/transactions/stream"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = httpClient
+                .sendAsync(request.GET().build(), HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private StreamEvent nextTransaction(Iterator<String> lines) {
+        StreamEvent event = nextEvent(lines);
+        while (!"transaction".equals(event.name())) {
+            event = nextEvent(lines);
+        }
+        return event;
+    }
+
+    private StreamEvent nextEvent(Iterator<String> lines) {
+        String id = null;
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (name != null) {
+                    return new StreamEvent(id, name, data.toString());
+                }
+                continue;
+            }
+            if (line.startsWith("id:")) {
+                id = line.substring(3).trim();
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5));
+            }
+        }
+        throw new AssertionError("Stream ended before the next event");
+    }
+
+    private void transfer(String idempotencyKey) {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, idempotencyKey);
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    private record StreamEvent(String id, String name, String data) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import({TestcontainersConfiguration.class, TransferConnectionUsageTest.ConnectionTrackingConfiguration.class})
+@SpringBootTest
+class TransferConnectionUsageTest {
+
+    private static final String ACCOUNT_A = "ACC-A-001";
+    private static final String ACCOUNT_B = "ACC-B-001";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.0000");
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("1.0000");
+    private static final int MEASURED_TRANSFERS = 20;
+    private static final int MAX_STATEMENTS_PER_TRANSFER = 16;
+    private static final int MAX_STATEMENTS_PER_REPLAY = 1;
+    private static final long MAX_CONNECTION_HOLD_MILLIS = 250;
+
+    private static final ConnectionTracker TRACKER = new ConnectionTracker();
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldHoldOneConnectionBrieflyPerTransfer() {
+        transfer(UUID.randomUUID().toString());
+
+        for (int i = 0; i < MEASURED_TRANSFERS; i++) {
+            String idempotencyKey = UUID.randomUUID().toString();
+            ConnectionUsage usage = TRACKER.measure(() -> transfer(idempotencyKey));
+            TransferResponseDTO response = usage.result();
+
+            assertEquals(TransactionStatus.COMPLETED, response.status());
+            assertEquals(ACCOUNT_A, response.fromAccount());
+            assertEquals(ACCOUNT_B, response.toAccount());
+            assertEquals(0, TRANSFER_AMOUNT.compareTo(response.amount()));
+            assertEquals(CURRENCY, response.currency());
+            assertEquals(1, usage.connections(), "A transfer must check out exactly one connection");
+            assertTrue(usage.statements() <= MAX_STATEMENTS_PER_TRANSFER,
+                    "Transfer issued " + usage.statements() + " statements");
+            assertTrue(usage.maxHoldMillis() <= MAX_CONNECTION_HOLD_MILLIS,
+                    "Transfer held its connection for " + usage.maxHoldMillis() + " ms");
+        }
+    }
+
+    @Test
+    void shouldAnswerReplayFromSingleFetchJoinedQuery() {
+        String idempotencyKey = UUID.randomUUID().toString();
+        TransferResponseDTO original = transfer(idempotencyKey);
+
+        ConnectionUsage usage = TRACKER.measure(() -> transfer(idempotencyKey));
+        TransferResponseDTO replay = usage.result();
+
+        assertEquals(original.id(), replay.id());
+        assertEquals(ACCOUNT_A, replay.fromAccount());
+        assertEquals(ACCOUNT_B, replay.toAccount());
+        assertEquals(0, TRANSFER_AMOUNT.compareTo(replay.amount()));
+        assertEquals(1, usage.connections());
+        assertEquals(MAX_STATEMENTS_PER_REPLAY, usage.statements());
+    }
+
+    private TransferResponseDTO transfer(String idempotencyKey) {
+        return transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, TRANSFER_AMOUNT, CURRENCY, idempotencyKey);
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class ConnectionTrackingConfiguration {
+
+        @Bean
+        static BeanPostProcessor connectionTrackingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource)) {
+                        return new TrackingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class TrackingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return TRACKER.track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return TRACKER.track(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    static class ConnectionTracker {
+
+        private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+        private final ThreadLocal<ConnectionUsage> current = new ThreadLocal<>();
+
+        ConnectionUsage measure(Supplier<TransferResponseDTO> work) {
+            ConnectionUsage usage = new ConnectionUsage();
+            current.set(usage);
+            try {
+                usage.result = work.get();
+            } finally {
+                current.remove();
+            }
+            return usage;
+        }
+
+        Connection track(Connection connection) {
+            ConnectionUsage usage = current.get();
+            if (usage == null) {
+                return connection;
+            }
+            usage.connections++;
+            long acquiredAt = System.nanoTime();
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionTracker.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            usage.statements++;
+                        }
+                        if (method.getName().equals("close")) {
+                            usage.holdNanos = Math.max(usage.holdNanos, System.nanoTime() - acquiredAt);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+            );
+        }
+    }
+
+    static class ConnectionUsage {
+
+        private int connections;
+        private int statements;
+        private long holdNanos;
+        private TransferResponseDTO result;
+
+        int connections() {
+            return connections;
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        long maxHoldMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(holdNanos);
+        }
+
+        TransferResponseDTO result() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+abstract class TransferContentionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferContentionBenchmark.class);
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000.0000");
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("1.0000");
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final String LOCK_TIMEOUT_STATE = "55P03";
+    private static final String DEADLOCK_STATE = "40P01";
+    private static final String CSV_HEADER = "threads,accounts,skew,direction,lock_timeout_ms,pool_size,transfers,"
+            + "completed,lock_timeouts,deadlocks,other_failures,elapsed_ms,throughput_tps,p50_ms,p99_ms,max_ms";
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldWriteContentionMatrix() throws Exception {
+        List<Integer> threadCounts = intList("threads", "4,16,64");
+        List<Integer> accountCounts = intList("accounts", "2,16,256");
+        List<Skew> skews = list("skew", "uniform,zipf").stream().map(Skew::parse).toList();
+        List<Direction> directions = list("directions", "one-way,mixed,cycle").stream().map(Direction::parse).toList();
+        long lockTimeout = environment.getRequiredProperty("ledgerx.transfer.lock-timeout-ms", Long.class);
+        int transfers = Integer.parseInt(property("transfers", "1000"));
+        Path output = Path.of(property("output", "build/reports/contention/contention.csv"));
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        boolean newFile = !Files.exists(output) || Files.size(output) == 0;
+        int cell = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (newFile) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            for (int accounts : accountCounts) {
+                for (Skew skew : skews) {
+                    for (Direction direction : directions) {
+                        for (int threads : threadCounts) {
+                            Cell scenario = new Cell(cell++, threads, accounts, skew, direction, lockTimeout, transfers);
+                            CellResult result = run(scenario);
+                            String row = scenario.toCsv(poolSize, result);
+                            writer.write(row);
+                            writer.newLine();
+                            writer.flush();
+                            log.info("contention {}", row);
+                        }
+                    }
+                }
+            }
+        }
+        log.info("Contention matrix for a {} ms lock timeout written to {}", lockTimeout, output.toAbsolutePath());
+        assertTrue(cell > 0);
+    }
+
+    private CellResult run(Cell cell) throws Exception {
+        clearDatabase();
+        List<String> accountNumbers = createAccounts(cell);
+        PairPicker picker = new PairPicker(cell.accounts(), cell.skew());
+
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            transferService.processTransfer(accountNumbers.get(i), accountNumbers.get((i + 1) % accountNumbers.size()),
+                    TRANSFER_AMOUNT, CURRENCY, UUID.randomUUID().toString());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(cell.threads());
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(cell.transfers());
+        List<Future<WorkerResult>> futures = new ArrayList<>(cell.threads());
+        long started;
+        try {
+            for (int worker = 0; worker < cell.threads(); worker++) {
+                int workerIndex = worker;
+                SplittableRandom random = new SplittableRandom(31L * cell.index() + worker);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return runWorker(cell, workerIndex, random, picker, accountNumbers, remaining);
+                }));
+            }
+            started = System.nanoTime();
+            start.countDown();
+            List<WorkerResult> results = new ArrayList<>(futures.size());
+            for (Future<WorkerResult> future : futures) {
+                results.add(future.get(10, TimeUnit.MINUTES));
+            }
+            long elapsedNanos = System.nanoTime() - started;
+            return CellResult.merge(results, elapsedNanos);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private WorkerResult runWorker(
+            Cell cell,
+            int workerIndex,
+            SplittableRandom random,
+            PairPicker picker,
+            List<String> accountNumbers,
+            AtomicInteger remaining
+    ) {
+        long[] latencies = new long[cell.transfers()];
+        int count = 0;
+        int completed = 0;
+        int lockTimeouts = 0;
+        int deadlocks = 0;
+        int otherFailures = 0;
+        while (remaining.getAndDecrement() > 0) {
+            int[] pair = picker.pick(random);
+            boolean forward = switch (cell.direction()) {
+                case ONE_WAY -> true;
+                case MIXED -> random.nextBoolean();
+                case CYCLE -> workerIndex % 2 == 0;
+            };
+            String from = accountNumbers.get(forward ? pair[0] : pair[1]);
+            String to = accountNumbers.get(forward ? pair[1] : pair[0]);
+
+            long sent = System.nanoTime();
+            try {
+                transferService.processTransfer(from, to, TRANSFER_AMOUNT, CURRENCY, UUID.randomUUID().toString());
+                completed++;
+            } catch (RuntimeException ex) {
+                String state = sqlState(ex);
+                if (DEADLOCK_STATE.equals(state)) {
+                    deadlocks++;
+                } else if (LOCK_TIMEOUT_STATE.equals(state) || ex.getClass().getSimpleName().contains("LockTimeout")) {
+                    lockTimeouts++;
+                } else {
+                    otherFailures++;
+                }
+            }
+            latencies[count++] = System.nanoTime() - sent;
+        }
+        return new WorkerResult(Arrays.copyOf(latencies, count), completed, lockTimeouts, deadlocks, otherFailures);
+    }
+
+    private List<String> createAccounts(Cell cell) {
+        List<String> accountNumbers = new ArrayList<>(cell.accounts());
+        List<Object[]> rows = new ArrayList<>(cell.accounts());
+        for (int i = 0; i < cell.accounts(); i++) {
+            String accountNumber = String.format("BENCH-%04d-%05d", cell.index(), i);
+            accountNumbers.add(accountNumber);
+            rows.add(new Object[]{UUID.randomUUID(), accountNumber, CURRENCY, INITIAL_BALANCE});
+        }
+        jdbcTemplate.batchUpdate(
+                """
+                        insert into accounts (id, account_number, currency, balance, status, version, created_at, updated_at)
+                        values (?, ?, ?, ?, 'ACTIVE', 0, now(), now())
+                        """,
+                rows
+        );
+        assertEquals(cell.accounts(), accountRepository.count());
+        return accountNumbers;
+    }
+
+    private static String sqlState(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("ledgerx.benchmark." + name, defaultValue);
+    }
+
+    private static List<String> list(String name, String defaultValue) {
+        return Arrays.stream(property(name, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private static List<Integer> intList(String name, String defaultValue) {
+        return list(name, defaultValue).stream().map(Integer::parseInt).toList();
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    private enum Skew {
+        UNIFORM,
+        ZIPF;
+
+        private static Skew parse(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private enum Direction {
+        ONE_WAY,
+        MIXED,
+        CYCLE;
+
+        private static Direction parse(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private record Cell(
+            int index,
+            int threads,
+            int accounts,
+            Skew skew,
+            Direction direction,
+            long lockTimeoutMillis,
+            int transfers
+    ) {
+        private String toCsv(int poolSize, CellResult result) {
+            return String.format(Locale.ROOT, "%d,%d,%s,%s,%d,%d,%d,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f",
+                    threads, accounts, skew.name().toLowerCase(Locale.ROOT),
+                    direction.name().toLowerCase(Locale.ROOT).replace('_', '-'), lockTimeoutMillis, poolSize,
+                    result.attempts(), result.completed(), result.lockTimeouts(), result.deadlocks(), result.otherFailures(),
+                    TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()), result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0));
+        }
+    }
+
+    private static final class PairPicker {
+
+        private final int accounts;
+        private final double[] cumulative;
+
+        private PairPicker(int accounts, Skew skew) {
+            this.accounts = accounts;
+            this.cumulative = new double[accounts];
+            double total = 0;
+            for (int rank = 0; rank < accounts; rank++) {
+                total += skew == Skew.ZIPF ? 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT) : 1.0;
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < accounts; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        private int[] pick(SplittableRandom random) {
+            int first = sample(random);
+            int second = sample(random);
+            while (second == first) {
+                second = accounts == 2 ? 1 - first : sample(random);
+            }
+            return first < second ? new int[]{first, second} : new int[]{second, first};
+        }
+
+        private int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(accounts - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    private record WorkerResult(long[] latencies, int completed, int lockTimeouts, int deadlocks, int otherFailures) {
+    }
+
+    private record CellResult(
+            long[] latencies,
+            int completed,
+            int lockTimeouts,
+            int deadlocks,
+            int otherFailures,
+            long elapsedNanos
+    ) {
+        private static CellResult merge(List<WorkerResult> results, long elapsedNanos) {
+            long[] latencies = results.stream().flatMapToLong(result -> Arrays.stream(result.latencies())).sorted().toArray();
+            return new CellResult(
+                    latencies,
+                    results.stream().mapToInt(WorkerResult::completed).sum(),
+                    results.stream().mapToInt(WorkerResult::lockTimeouts).sum(),
+                    results.stream().mapToInt(WorkerResult::deadlocks).sum(),
+                    results.stream().mapToInt(WorkerResult::otherFailures).sum(),
+                    elapsedNanos
+            );
+        }
+
+        private int attempts() {
+            return latencies.length;
+        }
+
+        private double throughput() {
+            return completed / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        private double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1_000_000.0;
+        }
+    }
+}
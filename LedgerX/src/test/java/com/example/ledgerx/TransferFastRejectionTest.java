@@ -0,0 +1,178 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.TransferResponseDTO;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.entity.Transaction;
+import com.example.ledgerx.entity.TransactionStatus;
+import com.example.ledgerx.exception.AccountFrozenException;
+import com.example.ledgerx.exception.AccountNotFoundException;
+import com.example.ledgerx.exception.IdempotencyConflictException;
+import com.example.ledgerx.exception.InsufficientFundsException;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.AccountSnapshotCache;
+import com.example.ledgerx.service.TransactionStatusService;
+import com.example.ledgerx.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class TransferFastRejectionTest {
+
+    private static final String ACCOUNT_A = "ACC-FAST-A";
+    private static final String ACCOUNT_B = "ACC-FAST-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.0000");
+    private static final BigDecimal OVERDRAFT_AMOUNT = new BigDecimal("500.0000");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionStatusService transactionStatusService;
+
+    @Autowired
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionStatusService.flushFailedTransactions();
+        clearDatabase();
+    }
+
+    @Test
+    void shouldRejectRepeatedOverdraftBeforeLockingAndBatchFailures() {
+        assertThrows(InsufficientFundsException.class, () -> transfer(UUID.randomUUID().toString()));
+
+        long rejectionsBefore = accountSnapshotCache.fastRejections();
+        List<String> retryKeys = List.of(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString()
+        );
+        for (String retryKey : retryKeys) {
+            assertThrows(InsufficientFundsException.class, () -> transfer(retryKey));
+        }
+        assertEquals(rejectionsBefore + retryKeys.size(), accountSnapshotCache.fastRejections());
+
+        assertThrows(IdempotencyConflictException.class, () -> transfer(retryKeys.get(0)));
+
+        for (String retryKey : retryKeys) {
+            Transaction failed = transactionRepository.findByIdempotencyKey(retryKey).orElseThrow();
+            assertEquals(TransactionStatus.FAILED, failed.getStatus());
+            assertEquals("Insufficient funds in account: " + ACCOUNT_A, failed.getErrorMessage());
+        }
+        assertEquals(0, ledgerEntryRepository.count());
+    }
+
+    @Test
+    void shouldNotRejectWhenSnapshotIsStale() {
+        assertThrows(InsufficientFundsException.class, () -> transfer(UUID.randomUUID().toString()));
+
+        jdbcTemplate.update(
+                "update accounts set balance = balance + ?, version = version + 1 where account_number = ?",
+                OVERDRAFT_AMOUNT,
+                ACCOUNT_A
+        );
+
+        TransferResponseDTO response = transfer(UUID.randomUUID().toString());
+
+        assertEquals(TransactionStatus.COMPLETED, response.status());
+        assertEquals(0, INITIAL_BALANCE.compareTo(
+                accountRepository.findByAccountNumber(ACCOUNT_A).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void shouldRejectFrozenAccountFromSnapshot() {
+        jdbcTemplate.update("update accounts set status = 'FROZEN', version = version + 1 where account_number = ?", ACCOUNT_B);
+        assertThrows(AccountFrozenException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()));
+
+        long rejectionsBefore = accountSnapshotCache.fastRejections();
+        assertThrows(AccountFrozenException.class, () -> transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()));
+        assertEquals(rejectionsBefore + 1, accountSnapshotCache.fastRejections());
+
+        jdbcTemplate.update("update accounts set status = 'ACTIVE', version = version + 1 where account_number = ?", ACCOUNT_B);
+        TransferResponseDTO response = transferService.processTransfer(
+                ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString());
+        assertEquals(TransactionStatus.COMPLETED, response.status());
+    }
+
+    @Test
+    void shouldNotCacheAccountsThatWereNeverLockedOrProbed() {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString());
+        int cached = accountSnapshotCache.size();
+
+        for (int i = 0; i < 50; i++) {
+            String missing = "ACC-FAST-MISSING-" + i;
+            assertThrows(AccountNotFoundException.class, () -> transferService.processTransfer(
+                    ACCOUNT_A, missing, BigDecimal.ONE, CURRENCY, UUID.randomUUID().toString()));
+        }
+
+        assertEquals(cached, accountSnapshotCache.size());
+    }
+
+    private TransferResponseDTO transfer(String idempotencyKey) {
+        return transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, OVERDRAFT_AMOUNT, CURRENCY, idempotencyKey);
+    }
+
+    private void clearDatabase() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
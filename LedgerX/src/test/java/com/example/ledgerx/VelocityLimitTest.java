@@ -0,0 +1,186 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.GlobalExceptionHandler;
+import com.example.ledgerx.entity.Account;
+import com.example.ledgerx.entity.AccountStatus;
+import com.example.ledgerx.exception.LedgerException;
+import com.example.ledgerx.exception.VelocityLimitExceededException;
+import com.example.ledgerx.hold.Hold;
+import com.example.ledgerx.hold.HoldService;
+import com.example.ledgerx.hold.HoldStatus;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.service.TransferService;
+import com.example.ledgerx.velocity.VelocityLimitService;
+import com.example.ledgerx.velocity.VelocityUsage;
+import com.example.ledgerx.velocity.VelocityWindow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.velocity.enabled=true",
+        "ledgerx.velocity.minute.max-transfers=3",
+        "ledgerx.velocity.hour.max-amount=100.0000"
+})
+class VelocityLimitTest {
+
+    private static final String ACCOUNT_A = "ACC-VELOCITY-A";
+    private static final String ACCOUNT_B = "ACC-VELOCITY-B";
+    private static final String CURRENCY = "USD";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.0000");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private VelocityLimitService velocityLimitService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        clearDatabase();
+
+        Account accountA = Account.builder()
+                .accountNumber(ACCOUNT_A)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        Account accountB = Account.builder()
+                .accountNumber(ACCOUNT_B)
+                .currency(CURRENCY)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        accountRepository.saveAll(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase();
+    }
+
+    @Test
+    void shouldRejectTransfersBeyondWindowLimitsAndRebuildFromEntries() {
+        for (int i = 0; i < 3; i++) {
+            transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "velocity-a-" + i);
+        }
+        VelocityLimitExceededException byCount = assertThrows(VelocityLimitExceededException.class,
+                () -> transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, "velocity-a-3"));
+        assertTrue(byCount.getMessage().contains("3 transfers per minute"));
+        assertEquals(3, transactionRepository.count());
+        assertEquals(429, new GlobalExceptionHandler().handleVelocityLimitExceeded(byCount).getStatusCode().value());
+
+        transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("60.0000"), CURRENCY, "velocity-b-0");
+        assertThrows(LedgerException.class, () -> transferService.processTransfer(
+                ACCOUNT_B, ACCOUNT_A, new BigDecimal("30.0000"), "EUR", "velocity-b-1"));
+        VelocityLimitExceededException byAmount = assertThrows(VelocityLimitExceededException.class,
+                () -> transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("50.0000"), CURRENCY, "velocity-b-2"));
+        assertTrue(byAmount.getMessage().contains("100.0000 in transfers per hour"));
+        transferService.processTransfer(ACCOUNT_B, ACCOUNT_A, new BigDecimal("40.0000"), CURRENCY, "velocity-b-3");
+
+        assertUsage(velocityLimitService.usage(ACCOUNT_A), 3, "30.0000");
+        assertUsage(velocityLimitService.usage(ACCOUNT_B), 2, "100.0000");
+
+        VelocityLimitService rebuilt = applicationContext.getAutowireCapableBeanFactory()
+                .createBean(VelocityLimitService.class);
+        assertUsage(rebuilt.usage(ACCOUNT_A), 3, "30.0000");
+        assertUsage(rebuilt.usage(ACCOUNT_B), 2, "100.0000");
+    }
+
+    @Test
+    void shouldCountDebitsPostedByOtherNodes() {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("10.0000"), CURRENCY, "velocity-node-0");
+        recordPeerDebit(ACCOUNT_A, new BigDecimal("10.0000"));
+        recordPeerDebit(ACCOUNT_A, new BigDecimal("10.0000"));
+        assertUsage(velocityLimitService.usage(ACCOUNT_A), 3, "30.0000");
+
+        VelocityLimitExceededException byCount = assertThrows(VelocityLimitExceededException.class,
+                () -> transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, CURRENCY, "velocity-node-1"));
+        assertTrue(byCount.getMessage().contains("3 transfers per minute"));
+        assertEquals(1, transactionRepository.count());
+        assertUsage(velocityLimitService.usage(ACCOUNT_A), 3, "30.0000");
+    }
+
+    @Test
+    void shouldCountHoldCapturesAgainstTheWindow() {
+        transferService.processTransfer(ACCOUNT_A, ACCOUNT_B, new BigDecimal("50.0000"), CURRENCY, "velocity-hold-0");
+        Hold hold = holdService.place(ACCOUNT_A, ACCOUNT_B, new BigDecimal("60.0000"), CURRENCY, null, "velocity-hold-1");
+
+        VelocityLimitExceededException byAmount = assertThrows(VelocityLimitExceededException.class,
+                () -> holdService.capture(hold.id(), null));
+        assertTrue(byAmount.getMessage().contains("100.0000 in transfers per hour"));
+        assertEquals(HoldStatus.ACTIVE, holdService.get(hold.id()).status());
+
+        holdService.capture(hold.id(), new BigDecimal("50.0000"));
+        assertEquals(HoldStatus.CAPTURED, holdService.get(hold.id()).status());
+        assertUsage(velocityLimitService.usage(ACCOUNT_A), 2, "100.0000");
+    }
+
+    private void recordPeerDebit(String accountNumber, BigDecimal amount) {
+        jdbcTemplate.update("""
+                insert into velocity_buckets (account_id, window_name, bucket, transfers, units)
+                select a.id, w.window_name, floor(extract(epoch from now()) * 1000 / w.bucket_millis)::bigint, 1, ? * 10000
+                from accounts a
+                cross join (values ('MINUTE', 1000), ('HOUR', 60000)) as w (window_name, bucket_millis)
+                where a.account_number = ?
+                on conflict (account_id, window_name, bucket) do update
+                set transfers = velocity_buckets.transfers + excluded.transfers,
+                    units = velocity_buckets.units + excluded.units
+                """, amount, accountNumber);
+    }
+
+    private void assertUsage(List<VelocityUsage> usage, long minuteTransfers, String hourAmount) {
+        VelocityUsage minute = usage.stream().filter(window -> window.window() == VelocityWindow.MINUTE).findFirst().orElseThrow();
+        VelocityUsage hour = usage.stream().filter(window -> window.window() == VelocityWindow.HOUR).findFirst().orElseThrow();
+        assertEquals(minuteTransfers, minute.transfers());
+        assertEquals(0, new BigDecimal(hourAmount).compareTo(hour.amount()));
+    }
+
+    private void clearDatabase() {
+        jdbcTemplate.update("delete from holds");
+        jdbcTemplate.update("delete from velocity_buckets");
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ledgerx;
+
+import com.example.ledgerx.api.HealthController;
+import com.example.ledgerx.repository.AccountRepository;
+import com.example.ledgerx.repository.AuditLogRepository;
+import com.example.ledgerx.repository.LedgerEntryRepository;
+import com.example.ledgerx.repository.TransactionRepository;
+import com.example.ledgerx.warmup.WarmupReport;
+import com.example.ledgerx.warmup.WarmupService;
+import com.example.ledgerx.warmup.WarmupState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "ledgerx.warmup.enabled=true",
+        "ledgerx.warmup.transfers=20",
+        "ledgerx.warmup.account-prefix=WARMUP-TEST-"
+})
+class WarmupTest {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private HealthController healthController;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @AfterEach
+    void tearDown() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldWarmUpBeforeAcceptingTraffic() {
+        WarmupReport report = warmupService.report();
+        assertEquals(WarmupState.COMPLETED, report.state());
+        assertNotNull(report.completedAt());
+        assertEquals(40, report.transfers());
+        assertEquals(20, report.replays());
+        assertEquals(60, report.reads());
+        assertEquals(120, report.serializations());
+        assertTrue(report.connectionsOpened() > 0);
+        assertFalse(report.prewarmedRelations().isEmpty());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+        assertEquals(200, healthController.ready().getStatusCode().value());
+
+        for (String suffix : new String[]{"A", "B"}) {
+            BigDecimal balance = accountRepository.findByAccountNumber("WARMUP-TEST-" + suffix).orElseThrow().getBalance();
+            assertEquals(0, new BigDecimal("1000.0000").compareTo(balance));
+        }
+        long transactions = transactionRepository.count();
+        assertTrue(transactions >= 40);
+
+        AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        assertEquals(503, healthController.ready().getStatusCode().value());
+        WarmupReport rerun = warmupService.warmUp();
+        assertEquals(WarmupState.COMPLETED, rerun.state());
+        assertEquals(200, healthController.ready().getStatusCode().value());
+        assertEquals(transactions + 40, transactionRepository.count());
+    }
+}
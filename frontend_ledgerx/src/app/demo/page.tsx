@@ -27,6 +27,7 @@ import {
   getAccount,
   getRecentTransactions,
   resetSystem,
+  subscribeToTransactions,
 } from "@/lib/api/ledgerClient";
 import type { Account, SpringPage, Transaction } from "@/lib/api/types";
 import { cn } from "@/lib/utils";
@@ -40,6 +41,7 @@ const ACCOUNT_B_NUMBER =
   process.env.NEXT_PUBLIC_ACCOUNT_B ??
   "ACC-B-001";
 const POLL_INTERVAL_MS = 2_000;
+const STREAM_WALLET_REFRESH_MS = 2_000;
 const TRANSACTIONS_PAGE_SIZE = 12;
 const DEFAULT_CURRENCY = "USD";
 const STRESS_TRANSFER_AMOUNT = 1;
@@ -47,6 +49,42 @@ const STRESS_TRANSFER_AMOUNT = 1;
 type WalletKey = "A" | "B";
 type FlashDirection = "up" | "down" | null;
 
+const WALLET_ACCOUNTS: Record<WalletKey, string> = {
+  A: ACCOUNT_A_NUMBER,
+  B: ACCOUNT_B_NUMBER,
+};
+
+function affectedWallets(transaction: Transaction): WalletKey[] {
+  return (Object.keys(WALLET_ACCOUNTS) as WalletKey[]).filter(
+    (key) =>
+      transaction.fromAccount === WALLET_ACCOUNTS[key] ||
+      transaction.toAccount === WALLET_ACCOUNTS[key],
+  );
+}
+
+function prependTransaction(
+  page: SpringPage<Transaction> | null,
+  transaction: Transaction,
+): SpringPage<Transaction> | null {
+  if (!page || page.content.some((existing) => existing.id === transaction.id)) {
+    return page;
+  }
+
+  const content = [transaction, ...page.content].slice(0, TRANSACTIONS_PAGE_SIZE);
+  const totalElements = page.totalElements + 1;
+  const totalPages = Math.ceil(totalElements / TRANSACTIONS_PAGE_SIZE);
+
+  return {
+    ...page,
+    content,
+    totalElements,
+    totalPages,
+    numberOfElements: content.length,
+    last: page.number >= totalPages - 1,
+    empty: false,
+  };
+}
+
 function toNumber(value: number | string | null | undefined): number {
   const parsed = typeof value === "number" ? value : Number(value ?? 0);
   return Number.isFinite(parsed) ? parsed : 0;
@@ -198,6 +236,7 @@ export default function DemoPage() {
   const [isResetting, setIsResetting] = useState(false);
   const [liveError, setLiveError] = useState<string | null>(null);
   const [lastPolledAt, setLastPolledAt] = useState<Date | null>(null);
+  const [isStreamConnected, setIsStreamConnected] = useState(false);
 
   const previousBalancesRef = useRef<Record<WalletKey, number | null>>({
     A: null,
@@ -208,6 +247,9 @@ export default function DemoPage() {
     B: null,
   });
   const pollingLockRef = useRef(false);
+  const currentPageRef = useRef(0);
+  const walletRefreshTimeoutRef = useRef<ReturnType<typeof setTimeout> | null>(null);
+  const pendingWalletRefreshRef = useRef<Set<WalletKey>>(new Set());
   const hasLoadedRef = useRef(false);
 
   const fromAccountNumber = isDirectionSwapped ? ACCOUNT_B_NUMBER : ACCOUNT_A_NUMBER;
@@ -312,13 +354,17 @@ export default function DemoPage() {
     hasLoadedRef.current = true;
     void refreshDashboard(shouldNotifyOnError, true, currentPage);
 
-    const intervalId = window.setInterval(() => {
-      void refreshDashboard(false, false, currentPage);
-    }, POLL_INTERVAL_MS);
+    const intervalId = isStreamConnected
+      ? null
+      : window.setInterval(() => {
+          void refreshDashboard(false, false, currentPage);
+        }, POLL_INTERVAL_MS);
     const flashTimeouts = flashTimeoutRef.current;
 
     return () => {
-      clearInterval(intervalId);
+      if (intervalId !== null) {
+        clearInterval(intervalId);
+      }
 
       const timers = Object.values(flashTimeouts);
       for (const timer of timers) {
@@ -327,7 +373,64 @@ export default function DemoPage() {
         }
       }
     };
-  }, [backendStatus, currentPage, refreshDashboard]);
+  }, [backendStatus, currentPage, isStreamConnected, refreshDashboard]);
+
+  const refreshDashboardRef = useRef(refreshDashboard);
+
+  useEffect(() => {
+    currentPageRef.current = currentPage;
+    refreshDashboardRef.current = refreshDashboard;
+  }, [currentPage, refreshDashboard]);
+
+  useEffect(() => {
+    if (!isBackendReady || typeof EventSource === "undefined") {
+      return;
+    }
+
+    const pendingWallets = pendingWalletRefreshRef.current;
+    const scheduleWalletRefresh = (keys: WalletKey[]) => {
+      keys.forEach((key) => pendingWallets.add(key));
+      if (pendingWallets.size === 0 || walletRefreshTimeoutRef.current) {
+        return;
+      }
+      walletRefreshTimeoutRef.current = setTimeout(() => {
+        walletRefreshTimeoutRef.current = null;
+        const keysToRefresh = [...pendingWallets];
+        pendingWallets.clear();
+        Promise.all(
+          keysToRefresh.map((key) =>
+            getAccount(WALLET_ACCOUNTS[key]).then((account) => applyWalletUpdate(key, account)),
+          ),
+        )
+          .then(() => setLastPolledAt(new Date()))
+          .catch((error: unknown) => setLiveError(getErrorMessage(error)));
+      }, STREAM_WALLET_REFRESH_MS);
+    };
+
+    const unsubscribe = subscribeToTransactions({
+      onOpen: () => setIsStreamConnected(true),
+      onError: () => setIsStreamConnected(false),
+      onReset: () => {
+        void refreshDashboardRef.current(false, true, currentPageRef.current);
+      },
+      onTransaction: (transaction) => {
+        if (currentPageRef.current === 0) {
+          setTransactionsPage((current) => prependTransaction(current, transaction));
+        }
+        scheduleWalletRefresh(affectedWallets(transaction));
+      },
+    });
+
+    return () => {
+      unsubscribe();
+      setIsStreamConnected(false);
+      if (walletRefreshTimeoutRef.current) {
+        clearTimeout(walletRefreshTimeoutRef.current);
+        walletRefreshTimeoutRef.current = null;
+      }
+      pendingWallets.clear();
+    };
+  }, [applyWalletUpdate, isBackendReady]);
 
   async function handleManualTransfer(event: FormEvent<HTMLFormElement>) {
     event.preventDefault();
@@ -105,7 +105,7 @@ export function RecentTransactionsTable({
       <CardHeader>
         <CardTitle className="text-base">Live Ledger</CardTitle>
         <CardDescription>
-          Latest transactions (refreshes every 2 seconds)
+          Latest transactions (streamed live, polls every 2 seconds if the stream drops)
         </CardDescription>
       </CardHeader>
       <CardContent>
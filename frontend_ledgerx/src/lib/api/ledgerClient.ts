@@ -242,6 +242,32 @@ export async function getRecentTransactions(
   );
 }
 
+type TransactionStreamHandlers = {
+  onTransaction: (transaction: Transaction) => void;
+  onReset: () => void;
+  onOpen: () => void;
+  onError: () => void;
+};
+
+export function subscribeToTransactions(
+  handlers: TransactionStreamHandlers,
+): () => void {
+  const source = new EventSource(`${API_BASE_URL}/api/v1/transactions/stream`);
+
+  source.addEventListener("transaction", (event) => {
+    try {
+      handlers.onTransaction(JSON.parse((event as MessageEvent<string>).data) as Transaction);
+    } catch {
+      handlers.onReset();
+    }
+  });
+  source.addEventListener("reset", () => handlers.onReset());
+  source.onopen = () => handlers.onOpen();
+  source.onerror = () => handlers.onError();
+
+  return () => source.close();
+}
+
 export async function executeTransfer(
   payload: TransferRequest,
 ): Promise<Transaction> {